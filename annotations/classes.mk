@@ -17,7 +17,9 @@ ANNOTATION_SOURCE_JAVA = \
     com/google/j2objc/annotations/AutoreleasePool.java \
     com/google/j2objc/annotations/GenerateObjectiveCGenerics.java \
     com/google/j2objc/annotations/J2ObjCIncompatible.java \
+    com/google/j2objc/annotations/LazyEnumConstants.java \
     com/google/j2objc/annotations/LoopTranslation.java \
+    com/google/j2objc/annotations/NoAutoreleasePool.java \
     com/google/j2objc/annotations/ObjectiveCAdapterMethod.java \
     com/google/j2objc/annotations/ObjectiveCAdapterProtocol.java \
     com/google/j2objc/annotations/ObjectiveCName.java \
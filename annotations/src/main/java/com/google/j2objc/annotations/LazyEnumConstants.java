@@ -0,0 +1,36 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.j2objc.annotations;
+
+import static java.lang.annotation.ElementType.TYPE;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation applicable to enums to create each enum constant on its first access, instead of
+ * creating all constants when the enum class is initialized. This reduces the startup cost and
+ * memory use of very large enums where only a few constants are used.
+ *
+ * <p>The constants' names are stored in a static table, so valueOf() only creates the constant
+ * it returns. values() and reflection still create all constants. Since a constant's constructor
+ * runs when the constant is first accessed, the annotated enum's constants can't have constructor
+ * arguments or class bodies, and a constructor must not access the constant it is creating.
+ * Enums with this annotation can't be translated with ARC.
+ */
+@Target({TYPE})
+@Retention(RetentionPolicy.CLASS)
+public @interface LazyEnumConstants {}
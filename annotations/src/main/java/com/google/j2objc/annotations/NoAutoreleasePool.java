@@ -0,0 +1,47 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.j2objc.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation that stops the translator from automatically adding autorelease pools to loops,
+ * when it is run with -Xauto-autorelease-pools. It applies to all loops in an annotated type,
+ * method or constructor, or to the loop that declares an annotated loop variable.
+ *
+ * <p>Example usage:
+ * <pre>
+ * public void doWork(Iterable&lt;Runnable&gt; workToDo) {
+ *   // Each iteration is short, so the cost of a pool isn't worth it.
+ *   for (&#64;NoAutoreleasePool Runnable item : workToDo) {
+ *     item.run();
+ *   }
+ * }
+ * </pre>
+ *
+ * @see AutoreleasePool
+ */
+@Target({
+  ElementType.TYPE,
+  ElementType.METHOD,
+  ElementType.CONSTRUCTOR,
+  ElementType.LOCAL_VARIABLE
+})
+@Retention(RetentionPolicy.SOURCE)
+public @interface NoAutoreleasePool {
+}
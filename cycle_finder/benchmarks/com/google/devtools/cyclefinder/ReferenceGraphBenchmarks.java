@@ -0,0 +1,84 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.devtools.cyclefinder;
+
+import java.util.List;
+
+/**
+ * Times the strongly connected component and shortest cycle searches on a
+ * graph of about a million edges. The graph has the same shape as
+ * ReferenceGraphTest.testDeepGraph: components of eight nodes joined by a
+ * chain, a back edge and chords, with forward edges between components. The
+ * node count can be passed as the only argument.
+ */
+class ReferenceGraphBenchmarks {
+
+  private static final int COMPONENT_SIZE = 8;
+  private static final int DEFAULT_NODE_COUNT = 360_000;
+  private static final int ROUNDS = 3;
+
+  public static void main(String[] args) {
+    int nodeCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NODE_COUNT;
+    TypeNode[] nodes = new TypeNode[nodeCount];
+    for (int i = 0; i < nodeCount; i++) {
+      String name = "T" + i;
+      nodes[i] = new TypeNode("Lp/" + name + ";", name, "p." + name);
+    }
+
+    System.out.println("Running ReferenceGraph benchmarks on "
+        + Runtime.getRuntime().availableProcessors() + " processors...");
+    for (int round = 0; round < ROUNDS; round++) {
+      long startTime = System.nanoTime();
+      ReferenceGraph graph = new ReferenceGraph();
+      int edgeCount = 0;
+      for (int i = 0; i < nodeCount; i++) {
+        int componentStart = i - i % COMPONENT_SIZE;
+        if (i + 1 < nodeCount) {
+          graph.addEdge(Edge.newFieldEdge(nodes[i], nodes[i + 1], "f" + (i + 1)));
+          edgeCount++;
+        }
+        if (i % COMPONENT_SIZE == COMPONENT_SIZE - 1) {
+          graph.addEdge(Edge.newFieldEdge(nodes[i], nodes[componentStart], "b" + componentStart));
+          edgeCount++;
+        }
+        int chord = componentStart + (i * 3 + 2) % COMPONENT_SIZE;
+        if (chord != i && chord != i + 1) {
+          graph.addEdge(Edge.newFieldEdge(nodes[i], nodes[chord], "c" + chord));
+          edgeCount++;
+        }
+        int forward = i + 5 * COMPONENT_SIZE;
+        if (forward < nodeCount) {
+          graph.addEdge(Edge.newFieldEdge(nodes[i], nodes[forward], "f" + forward));
+          edgeCount++;
+        }
+      }
+      long builtTime = System.nanoTime();
+
+      List<ReferenceGraph> components = graph.getStronglyConnectedComponents(graph.getNodes());
+      long componentsTime = System.nanoTime();
+
+      int cycleCount = 0;
+      for (ReferenceGraph component : components) {
+        cycleCount += component.findShortestCycles().size();
+      }
+      long cyclesTime = System.nanoTime();
+
+      System.out.printf("%d nodes, %d edges: build %6.0f ms, %d components %6.0f ms,"
+          + " %d cycles %6.0f ms%n", nodeCount, edgeCount, (builtTime - startTime) / 1e6,
+          components.size(), (componentsTime - builtTime) / 1e6, cycleCount,
+          (cyclesTime - componentsTime) / 1e6);
+    }
+  }
+}
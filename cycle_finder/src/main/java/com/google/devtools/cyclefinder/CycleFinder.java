@@ -15,8 +15,6 @@
 package com.google.devtools.cyclefinder;
 
 import com.google.common.base.Strings;
-import com.google.common.collect.Iterables;
-import com.google.common.collect.Sets;
 import com.google.common.io.Files;
 import com.google.devtools.j2objc.ast.CompilationUnit;
 import com.google.devtools.j2objc.file.RegularInputFile;
@@ -141,6 +139,10 @@ public class CycleFinder {
         NameList.createFromFiles(options.getSuppressListFiles(), options.fileEncoding());
     final GraphBuilder graphBuilder =
         new GraphBuilder(suppressList, options.externalAnnotations());
+    // Libraries summarized by an earlier run don't need to be parsed again.
+    for (String fragmentFile : options.getGraphFragmentFiles()) {
+      graphBuilder.readFragment(new File(fragmentFile));
+    }
 
     List<String> sourceFiles = options.getSourceFiles();
     File strippedDir = stripIncompatible(sourceFiles, parser);
@@ -162,19 +164,34 @@ public class CycleFinder {
       return;
     }
 
+    if (options.getGraphFragmentOutputFile() != null) {
+      graphBuilder.writeFragment(new File(options.getGraphFragmentOutputFile()));
+    }
+
     // Construct the graph.
     referenceGraph = graphBuilder.constructGraph().getGraph();
   }
 
   public List<List<Edge>> findCycles() {
-    for (ReferenceGraph component :
-        referenceGraph.getStronglyConnectedComponents(getSeedNodes(referenceGraph))) {
-      handleStronglyConnectedComponent(component);
-    }
+    cycles.addAll(findCycles(referenceGraph, restrictToList));
     return cycles;
   }
 
-  private Set<TypeNode> getSeedNodes(ReferenceGraph graph) {
+  /**
+   * Returns at least one cycle for each type in a strongly connected component of the graph. If
+   * restrictToList is not null, only cycles containing one of its types are returned.
+   */
+  static List<List<Edge>> findCycles(ReferenceGraph graph, NameList restrictToList) {
+    // The components are independent, so their cycles are searched in parallel. The results are
+    // still collected in the components' order.
+    List<List<Edge>> result = new ArrayList<>();
+    graph.getStronglyConnectedComponents(getSeedNodes(graph, restrictToList)).parallelStream()
+        .map(subgraph -> handleStronglyConnectedComponent(subgraph, restrictToList))
+        .forEachOrdered(result::addAll);
+    return result;
+  }
+
+  private static Set<TypeNode> getSeedNodes(ReferenceGraph graph, NameList restrictToList) {
     if (restrictToList == null) {
       return graph.getNodes();
     }
@@ -187,27 +204,23 @@ public class CycleFinder {
     return seedNodes;
   }
 
-  private void handleStronglyConnectedComponent(ReferenceGraph subgraph) {
+  private static List<List<Edge>> handleStronglyConnectedComponent(
+      ReferenceGraph subgraph, NameList restrictToList) {
     // Make sure to find at least one cycle for each type in the SCC.
-    Set<TypeNode> unusedTypes = Sets.newHashSet(subgraph.getNodes());
-    while (!unusedTypes.isEmpty()) {
-      TypeNode root = Iterables.getFirst(unusedTypes, null);
-      assert root != null;
-      List<Edge> cycle = subgraph.findShortestCycle(root);
-      if (shouldAddCycle(cycle)) {
-        cycles.add(cycle);
-      }
-      for (Edge e : cycle) {
-        unusedTypes.remove(e.getOrigin());
+    List<List<Edge>> componentCycles = new ArrayList<>();
+    for (List<Edge> cycle : subgraph.findShortestCycles()) {
+      if (shouldAddCycle(cycle, restrictToList)) {
+        componentCycles.add(cycle);
       }
     }
+    return componentCycles;
   }
 
   public ReferenceGraph getReferenceGraph() {
     return referenceGraph;
   }
 
-  private boolean shouldAddCycle(List<Edge> cycle) {
+  private static boolean shouldAddCycle(List<Edge> cycle, NameList restrictToList) {
     if (restrictToList == null) {
       return true;
     }
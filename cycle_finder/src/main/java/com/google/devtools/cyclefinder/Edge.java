@@ -33,6 +33,12 @@ class Edge {
     this.description = description;
   }
 
+  // Recreates an edge that was read from a graph fragment.
+  static Edge restore(
+      TypeNode origin, TypeNode target, String fieldQualifiedName, String description) {
+    return new Edge(origin, target, fieldQualifiedName, description);
+  }
+
   public static Edge newFieldEdge(TypeNode origin, TypeNode target, String fieldName) {
     return new Edge(origin, target, origin.getQualifiedName() + '.' + fieldName,
         "(field " + fieldName + " with type " + target.getName() + ")");
@@ -73,6 +79,10 @@ class Edge {
     return fieldQualifiedName;
   }
 
+  String getDescription() {
+    return description;
+  }
+
   @Override
   public String toString() {
     return origin.getName() + " -> " + description;
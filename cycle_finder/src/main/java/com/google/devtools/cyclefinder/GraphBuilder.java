@@ -37,6 +37,15 @@ import com.google.devtools.j2objc.util.TypeUtil;
 import com.google.j2objc.annotations.RetainedWith;
 import com.google.j2objc.annotations.Weak;
 import com.google.j2objc.annotations.WeakOuter;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -64,6 +73,9 @@ import org.checkerframework.afu.scenelib.el.AScene;
  */
 public class GraphBuilder {
 
+  private static final int FRAGMENT_MAGIC = 0x4a32434b;  // "J2CK"
+  private static final int FRAGMENT_VERSION = 1;
+
   private final Map<String, TypeNode> allTypes = new HashMap<>();
   private final NameList suppressList;
   private final AScene scene;
@@ -89,6 +101,127 @@ public class GraphBuilder {
     return graph;
   }
 
+  /**
+   * Writes the types and references collected so far to a graph fragment. A later run can merge
+   * the fragment with {@link #readFragment} instead of parsing the same sources again.
+   */
+  public void writeFragment(File file) throws IOException {
+    try (DataOutputStream out =
+        new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+      out.writeInt(FRAGMENT_MAGIC);
+      out.writeInt(FRAGMENT_VERSION);
+      Map<TypeNode, Integer> nodeIndices = new HashMap<>();
+      out.writeInt(allTypes.size());
+      for (TypeNode node : allTypes.values()) {
+        nodeIndices.put(node, nodeIndices.size());
+        out.writeUTF(node.getSignature());
+        writeNullableString(out, node.getName());
+        writeNullableString(out, node.getQualifiedName());
+      }
+      List<Edge> edges = new ArrayList<>();
+      for (TypeNode node : graph.getNodes()) {
+        edges.addAll(graph.getEdges(node));
+      }
+      out.writeInt(edges.size());
+      for (Edge e : edges) {
+        writeEdge(out, e, nodeIndices);
+      }
+      out.writeInt(possibleOuterEdges.size());
+      for (Map.Entry<TypeNode, Edge> entry : possibleOuterEdges.entries()) {
+        out.writeInt(nodeIndices.get(entry.getKey()));
+        writeEdge(out, entry.getValue(), nodeIndices);
+      }
+      out.writeInt(superclasses.size());
+      for (Map.Entry<TypeNode, TypeNode> entry : superclasses.entrySet()) {
+        out.writeInt(nodeIndices.get(entry.getKey()));
+        out.writeInt(nodeIndices.get(entry.getValue()));
+      }
+      out.writeInt(subtypes.size());
+      for (Map.Entry<TypeNode, TypeNode> entry : subtypes.entries()) {
+        out.writeInt(nodeIndices.get(entry.getKey()));
+        out.writeInt(nodeIndices.get(entry.getValue()));
+      }
+      out.writeInt(hasOuterRef.size());
+      for (TypeNode node : hasOuterRef) {
+        out.writeInt(nodeIndices.get(node));
+      }
+    }
+  }
+
+  /**
+   * Merges a graph fragment written by {@link #writeFragment} into this builder. Fragments must be
+   * read before any source is visited, so that the types they contain aren't followed again.
+   */
+  public void readFragment(File file) throws IOException {
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+      if (in.readInt() != FRAGMENT_MAGIC) {
+        throw new IOException(file + " is not a reference graph fragment");
+      }
+      int version = in.readInt();
+      if (version != FRAGMENT_VERSION) {
+        throw new IOException(
+            "Unsupported reference graph fragment version " + version + " in " + file);
+      }
+      TypeNode[] nodes = new TypeNode[in.readInt()];
+      for (int i = 0; i < nodes.length; i++) {
+        String signature = in.readUTF();
+        String name = readNullableString(in);
+        String qualifiedName = readNullableString(in);
+        TypeNode node = allTypes.get(signature);
+        if (node == null) {
+          node = new TypeNode(signature, name, qualifiedName);
+          allTypes.put(signature, node);
+        }
+        nodes[i] = node;
+      }
+      for (int n = in.readInt(); n > 0; n--) {
+        graph.addEdge(readEdge(in, nodes));
+      }
+      for (int n = in.readInt(); n > 0; n--) {
+        TypeNode declarationType = nodes[in.readInt()];
+        possibleOuterEdges.put(declarationType, readEdge(in, nodes));
+      }
+      for (int n = in.readInt(); n > 0; n--) {
+        TypeNode type = nodes[in.readInt()];
+        superclasses.put(type, nodes[in.readInt()]);
+      }
+      for (int n = in.readInt(); n > 0; n--) {
+        TypeNode supertype = nodes[in.readInt()];
+        subtypes.put(supertype, nodes[in.readInt()]);
+      }
+      for (int n = in.readInt(); n > 0; n--) {
+        hasOuterRef.add(nodes[in.readInt()]);
+      }
+    }
+  }
+
+  private static void writeEdge(DataOutputStream out, Edge e, Map<TypeNode, Integer> nodeIndices)
+      throws IOException {
+    out.writeInt(nodeIndices.get(e.getOrigin()));
+    out.writeInt(nodeIndices.get(e.getTarget()));
+    writeNullableString(out, e.getFieldQualifiedName());
+    out.writeUTF(e.getDescription());
+  }
+
+  private static Edge readEdge(DataInputStream in, TypeNode[] nodes) throws IOException {
+    TypeNode origin = nodes[in.readInt()];
+    TypeNode target = nodes[in.readInt()];
+    String fieldQualifiedName = readNullableString(in);
+    return Edge.restore(origin, target, fieldQualifiedName, in.readUTF());
+  }
+
+  private static void writeNullableString(DataOutputStream out, String s) throws IOException {
+    out.writeBoolean(s != null);
+    if (s != null) {
+      out.writeUTF(s);
+    }
+  }
+
+  private static String readNullableString(DataInputStream in) throws IOException {
+    return in.readBoolean() ? in.readUTF() : null;
+  }
+
   private void addEdge(Edge e) {
     if (!e.getOrigin().equals(e.getTarget())) {
       graph.addEdge(e);
@@ -62,6 +62,8 @@ class Options {
   private String bootclasspath;
   private final List<String> suppressListFiles = Lists.newArrayList();
   private final List<String> restrictToListFiles = Lists.newArrayList();
+  private final List<String> graphFragmentFiles = Lists.newArrayList();
+  private String graphFragmentOutputFile;
   private List<String> sourceFiles = Lists.newArrayList();
   private String fileEncoding = System.getProperty("file.encoding", "UTF-8");
   private boolean printReferenceGraph = false;
@@ -85,6 +87,10 @@ class Options {
     return sourcepath;
   }
 
+  public void setSourcepath(String sourcepath) {
+    this.sourcepath = sourcepath;
+  }
+
   public String getClasspath() {
     return classpath;
   }
@@ -113,6 +119,22 @@ class Options {
     restrictToListFiles.add(fileName);
   }
 
+  public List<String> getGraphFragmentFiles() {
+    return graphFragmentFiles;
+  }
+
+  public void addGraphFragmentFile(String fileName) {
+    graphFragmentFiles.add(fileName);
+  }
+
+  public String getGraphFragmentOutputFile() {
+    return graphFragmentOutputFile;
+  }
+
+  public void setGraphFragmentOutputFile(String fileName) {
+    graphFragmentOutputFile = fileName;
+  }
+
   private void addManifest(String manifestFile) throws IOException {
     try (BufferedReader in =
         Files.newReader(new File(manifestFile), Charset.forName(fileEncoding))) {
@@ -214,6 +236,16 @@ class Options {
           usage("--restrict-to requires an argument");
         }
         options.restrictToListFiles.add(args[nArg]);
+      } else if (arg.equals("--graph-fragment")) {
+        if (++nArg == args.length) {
+          usage("--graph-fragment requires an argument");
+        }
+        options.graphFragmentFiles.add(args[nArg]);
+      } else if (arg.equals("--write-graph-fragment")) {
+        if (++nArg == args.length) {
+          usage("--write-graph-fragment requires an argument");
+        }
+        options.graphFragmentOutputFile = args[nArg];
       } else if (arg.equals("--sourcefilelist") || arg.equals("-s")) {
         if (++nArg == args.length) {
           usage("--sourcefilelist requires an argument");
@@ -269,7 +301,7 @@ class Options {
     while (nArg < args.length) {
       options.sourceFiles.add(args[nArg++]);
     }
-    if (options.sourceFiles.isEmpty()) {
+    if (options.sourceFiles.isEmpty() && options.graphFragmentFiles.isEmpty()) {
       usage("no source files");
     }
 
@@ -19,7 +19,7 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.SetMultimap;
 import java.io.PrintStream;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -53,47 +53,91 @@ public class ReferenceGraph {
         Tarjans.getStronglyConnectedComponents(edges, seedNodes);
     List<ReferenceGraph> components = new ArrayList<>();
     for (List<TypeNode> componentNodes : componentNodesList) {
-      components.add(getSubgraph(componentNodes));
+      components.add(getSubgraph(new HashSet<>(componentNodes)));
     }
     return components;
   }
 
   /**
-   * Runs a version of Dijkstra's algorithm to find a tight cycle in the given
-   * strongly connected component.
+   * Finds a tight cycle through each node of this graph, which must be a strongly connected
+   * component. Every node is on at least one of the returned cycles.
    */
-  public List<Edge> findShortestCycle(TypeNode root) {
-    Map<TypeNode, Edge> backlinks = new HashMap<>();
-    Set<TypeNode> visited = new HashSet<>();
-    List<TypeNode> toVisit = Lists.newArrayList(root);
-    outer: while (true) {
-      List<TypeNode> visitNext = new ArrayList<>();
-      for (TypeNode source : toVisit) {
-        visited.add(source);
-        for (Edge e : edges.get(source)) {
-          TypeNode target = e.getTarget();
-          if (!visited.contains(target)) {
-            visitNext.add(target);
-            backlinks.put(target, e);
-          } else if (target.equals(root)) {
-            backlinks.put(root, e);
-            break outer;
+  public List<List<Edge>> findShortestCycles() {
+    // Index the nodes once, so that each search only needs to reset a few arrays.
+    List<TypeNode> nodes = new ArrayList<>(edges.keySet());
+    Map<TypeNode, Integer> nodeIndices = new HashMap<>();
+    for (int i = 0; i < nodes.size(); i++) {
+      nodeIndices.put(nodes.get(i), i);
+    }
+    int n = nodes.size();
+    Edge[][] outgoing = new Edge[n][];
+    int[][] successors = new int[n][];
+    for (int v = 0; v < n; v++) {
+      Set<Edge> nodeEdges = edges.get(nodes.get(v));
+      outgoing[v] = nodeEdges.toArray(new Edge[0]);
+      successors[v] = new int[outgoing[v].length];
+      for (int i = 0; i < outgoing[v].length; i++) {
+        successors[v][i] = nodeIndices.get(outgoing[v][i].getTarget());
+      }
+    }
+
+    List<List<Edge>> cycles = new ArrayList<>();
+    boolean[] onCycle = new boolean[n];
+    int[] visitedBy = new int[n];
+    Arrays.fill(visitedBy, -1);
+    int[] predecessors = new int[n];
+    Edge[] backlinks = new Edge[n];
+    int[] queue = new int[n];
+    for (int root = 0; root < n; root++) {
+      if (onCycle[root]) {
+        continue;
+      }
+      List<Edge> cycle =
+          findShortestCycle(
+              root, outgoing, successors, visitedBy, predecessors, backlinks, queue);
+      for (Edge e : cycle) {
+        onCycle[nodeIndices.get(e.getOrigin())] = true;
+      }
+      cycles.add(cycle);
+    }
+    return cycles;
+  }
+
+  /**
+   * Runs a breadth-first search from root for the shortest path back to it, and returns the
+   * edges of that cycle.
+   */
+  private static List<Edge> findShortestCycle(
+      int root, Edge[][] outgoing, int[][] successors, int[] visitedBy, int[] predecessors,
+      Edge[] backlinks, int[] queue) {
+    int head = 0;
+    int tail = 0;
+    queue[tail++] = root;
+    visitedBy[root] = root;
+    while (head < tail) {
+      int source = queue[head++];
+      for (int i = 0; i < successors[source].length; i++) {
+        int target = successors[source][i];
+        if (target == root) {
+          List<Edge> cycle = new ArrayList<>();
+          cycle.add(outgoing[source][i]);
+          for (int v = source; v != root; v = predecessors[v]) {
+            cycle.add(backlinks[v]);
           }
+          return Lists.newArrayList(Lists.reverse(cycle));
+        }
+        if (visitedBy[target] != root) {
+          visitedBy[target] = root;
+          predecessors[target] = source;
+          backlinks[target] = outgoing[source][i];
+          queue[tail++] = target;
         }
       }
-      toVisit = visitNext;
-    }
-    List<Edge> cycle = new ArrayList<>();
-    TypeNode curNode = root;
-    while (!curNode.equals(root) || cycle.size() == 0) {
-      Edge nextEdge = backlinks.get(curNode);
-      cycle.add(nextEdge);
-      curNode = nextEdge.getOrigin();
     }
-    return Lists.newArrayList(Lists.reverse(cycle));
+    throw new AssertionError("Node is not part of a strongly connected component");
   }
 
-  private ReferenceGraph getSubgraph(Collection<TypeNode> vertices) {
+  private ReferenceGraph getSubgraph(Set<TypeNode> vertices) {
     ReferenceGraph subgraph = new ReferenceGraph();
     for (TypeNode type : vertices) {
       for (Edge e : edges.get(type)) {
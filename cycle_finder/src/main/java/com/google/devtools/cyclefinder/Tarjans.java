@@ -16,6 +16,8 @@ package com.google.devtools.cyclefinder;
 
 import com.google.common.collect.SetMultimap;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,20 +26,59 @@ import java.util.Set;
 /**
  * An implementation of Tarjan's strongly connected components algorithm.
  * http://en.wikipedia.org/wiki/Tarjan's_strongly_connected_components_algorithm
+ *
+ * <p>The graph is converted to int indices first, and the depth-first search keeps its own call
+ * stack so that long reference chains can't overflow the thread's stack.
  */
 class Tarjans {
 
-  private final SetMultimap<TypeNode, Edge> edges;
   private final Set<TypeNode> seedTypes;
+  private final Map<TypeNode, Integer> nodeIndices = new HashMap<>();
+  private final List<TypeNode> nodes = new ArrayList<>();
+  private final int[][] successors;
+
   private int vIndex = 0;
-  // In case of performance issues, consider a data structure with faster .contains().
-  private ArrayList<Vertex> stack = new ArrayList<>();
-  private Map<TypeNode, Vertex> vertices = new HashMap<>();
+  private final int[] index;
+  private final int[] lowlink;
+  private final BitSet onStack;
+  private final int[] stack;
+  private int stackSize = 0;
+  // The depth-first search's call stack, with the position in each vertex's successors.
+  private final int[] callStack;
+  private final int[] nextSuccessor;
   private List<List<TypeNode>> stronglyConnectedComponents = new ArrayList<>();
 
   private Tarjans(SetMultimap<TypeNode, Edge> edges, Set<TypeNode> seedTypes) {
-    this.edges = edges;
     this.seedTypes = seedTypes;
+    for (TypeNode type : edges.keySet()) {
+      getNodeIndex(type);
+    }
+    List<int[]> successorList = new ArrayList<>();
+    for (int v = 0; v < nodes.size(); v++) {
+      Set<Edge> outgoing = edges.get(nodes.get(v));
+      int[] targets = new int[outgoing.size()];
+      int i = 0;
+      for (Edge edge : outgoing) {
+        // May add new nodes, which have no outgoing edges.
+        targets[i++] = getNodeIndex(edge.getTarget());
+      }
+      successorList.add(targets);
+    }
+    for (TypeNode type : seedTypes) {
+      getNodeIndex(type);
+    }
+    int n = nodes.size();
+    successors = new int[n][];
+    for (int v = 0; v < n; v++) {
+      successors[v] = v < successorList.size() ? successorList.get(v) : new int[0];
+    }
+    index = new int[n];
+    Arrays.fill(index, -1);
+    lowlink = new int[n];
+    onStack = new BitSet(n);
+    stack = new int[n];
+    callStack = new int[n];
+    nextSuccessor = new int[n];
   }
 
   public static List<List<TypeNode>> getStronglyConnectedComponents(
@@ -49,62 +90,74 @@ class Tarjans {
 
   private void run() {
     for (TypeNode type : seedTypes) {
-      Vertex v = getVertex(type);
-      if (v.index == -1) {
+      int v = nodeIndices.get(type);
+      if (index[v] == -1) {
         visit(v);
       }
     }
   }
 
-  private void visit(Vertex v) {
-    v.index = v.lowlink = vIndex++;
-    stack.add(v);
-
-    for (Edge edge : edges.get(v.type)) {
-      Vertex w = getVertex(edge.getTarget());
-      if (w.index == -1) {
-        visit(w);
-        v.lowlink = Math.min(v.lowlink, w.lowlink);
-      } else if (stack.contains(w)) {
-        v.lowlink = Math.min(v.lowlink, w.index);
+  private void visit(int root) {
+    int callDepth = 0;
+    push(root);
+    callStack[callDepth++] = root;
+    while (callDepth > 0) {
+      int v = callStack[callDepth - 1];
+      if (nextSuccessor[v] < successors[v].length) {
+        int w = successors[v][nextSuccessor[v]++];
+        if (index[w] == -1) {
+          push(w);
+          callStack[callDepth++] = w;
+        } else if (onStack.get(w)) {
+          lowlink[v] = Math.min(lowlink[v], index[w]);
+        }
+        continue;
       }
-    }
 
-    if (v.lowlink == v.index) {
-      int idx = stack.indexOf(v);
-      assert idx >= 0;
-      List<Vertex> stronglyConnected = stack.subList(idx, stack.size());
-      if (stronglyConnected.size() > 1) {
-        List<TypeNode> stronglyConnectedTypes = new ArrayList<>(stronglyConnected.size());
-        for (Vertex ver : stronglyConnected) {
-          stronglyConnectedTypes.add(ver.type);
-        }
-        stronglyConnectedComponents.add(stronglyConnectedTypes);
+      // All successors of v are visited, return from v.
+      callDepth--;
+      if (lowlink[v] == index[v]) {
+        popComponent(v);
+      }
+      if (callDepth > 0) {
+        int caller = callStack[callDepth - 1];
+        lowlink[caller] = Math.min(lowlink[caller], lowlink[v]);
       }
-      stronglyConnected.clear();  // Removes the sublist from stack.
     }
   }
 
-  private Vertex getVertex(TypeNode type) {
-    Vertex v = vertices.get(type);
-    if (v == null) {
-      v = new Vertex(type);
-      vertices.put(type, v);
-    }
-    return v;
+  private void push(int v) {
+    index[v] = lowlink[v] = vIndex++;
+    stack[stackSize++] = v;
+    onStack.set(v);
   }
 
-  private static class Vertex {
-    private int index = -1;
-    private int lowlink = -1;
-    private TypeNode type;
-
-    private Vertex(TypeNode type) {
-      this.type = type;
+  private void popComponent(int v) {
+    int idx = stackSize - 1;
+    while (stack[idx] != v) {
+      idx--;
     }
+    int size = stackSize - idx;
+    if (size > 1) {
+      List<TypeNode> stronglyConnectedTypes = new ArrayList<>(size);
+      for (int i = idx; i < stackSize; i++) {
+        stronglyConnectedTypes.add(nodes.get(stack[i]));
+      }
+      stronglyConnectedComponents.add(stronglyConnectedTypes);
+    }
+    for (int i = idx; i < stackSize; i++) {
+      onStack.clear(stack[i]);
+    }
+    stackSize = idx;
+  }
 
-    public String toString() {
-      return type.toString();
+  private int getNodeIndex(TypeNode type) {
+    Integer v = nodeIndices.get(type);
+    if (v == null) {
+      v = nodes.size();
+      nodes.add(type);
+      nodeIndices.put(type, v);
     }
+    return v;
   }
 }
@@ -0,0 +1,54 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.devtools.cyclefinder;
+
+import com.google.devtools.j2objc.Options;
+import com.google.devtools.j2objc.ast.CompilationUnit;
+import com.google.devtools.j2objc.pipeline.ReferenceCycleDetector;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.List;
+
+/**
+ * Runs the cycle finder's analysis on the units of a j2objc translation, so that a separate
+ * cycle_finder pass over the same sources isn't needed. The translator loads this class by name
+ * when -Xfind-reference-cycles is specified.
+ */
+public class TranslationCycleDetector implements ReferenceCycleDetector {
+
+  private GraphBuilder graphBuilder;
+
+  @Override
+  public void start(Options options) throws IOException {
+    NameList suppressList = NameList.createFromFiles(
+        options.getReferenceCycleSuppressLists(), options.fileUtil().getFileEncoding());
+    graphBuilder = new GraphBuilder(suppressList, options.externalAnnotations());
+  }
+
+  @Override
+  public synchronized void addUnit(CompilationUnit unit) {
+    graphBuilder.visitAST(unit);
+  }
+
+  @Override
+  public int reportCycles(PrintStream out) {
+    ReferenceGraph graph = graphBuilder.constructGraph().getGraph();
+    List<List<Edge>> cycles = CycleFinder.findCycles(graph, null);
+    if (!cycles.isEmpty()) {
+      CycleFinder.printCycles(cycles, out);
+    }
+    return cycles.size();
+  }
+}
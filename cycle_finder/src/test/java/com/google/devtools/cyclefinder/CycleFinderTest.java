@@ -16,6 +16,7 @@ package com.google.devtools.cyclefinder;
 
 import com.google.common.base.Joiner;
 import com.google.common.io.Files;
+import com.google.devtools.j2objc.J2ObjC;
 import com.google.devtools.j2objc.util.ErrorUtil;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
@@ -401,6 +402,53 @@ public class CycleFinderTest extends TestCase {
     assertContains("C -> (field a with type A)", graph);
   }
 
+  public void testGraphFragment() throws Exception {
+    // Summarize the library, which has no cycles on its own.
+    addSourceFile("Lib.java", "class Lib { Listener listener; }");
+    addSourceFile("Listener.java", "interface Listener {}");
+    addSourceFile("Unused.java", "class Unused { Listener listener; }");
+    File fragment = new File(tempDir, "lib.fragment");
+    Options options = new Options();
+    options.setGraphFragmentOutputFile(fragment.getPath());
+    findCycles(options);
+    assertNoCycles();
+    assertTrue(fragment.exists());
+
+    // Only the application is parsed, the library's graph is merged from the fragment.
+    inputFiles.clear();
+    addSourceFile("App.java", "class App implements Listener { Lib lib; }");
+    options = new Options();
+    options.setSourcepath(tempDir.getPath());
+    options.addGraphFragmentFile(fragment.getPath());
+    printReferenceGraph = true;
+    findCycles(options);
+    assertCycle("LLib;", "LApp;");
+    // Types that the application doesn't reference are only known from the fragment.
+    assertContains("Unused -> (field listener with type Listener)", printReferenceGraphToString());
+  }
+
+  public void testTranslatorFindsReferenceCycles() throws Exception {
+    addSourceFile("A.java", "class A { B b; }");
+    addSourceFile("B.java", "class B { A a; }");
+    com.google.devtools.j2objc.Options options = new com.google.devtools.j2objc.Options();
+    options.load(new String[] {
+        "-d", new File(tempDir, "out").getPath(),
+        "-sourcepath", tempDir.getPath(),
+        "-classpath", System.getProperty("java.class.path"),
+        "-Xfind-reference-cycles"});
+    PrintStream savedOut = System.out;
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    System.setOut(new PrintStream(out));
+    try {
+      J2ObjC.run(inputFiles, options);
+    } finally {
+      System.setOut(savedOut);
+    }
+    assertContains("1 reference cycle found", Joiner.on("\n").join(ErrorUtil.getErrorMessages()));
+    assertContains("LA;", out.toString());
+    assertContains("LB;", out.toString());
+  }
+
   public void testInnerClassWithExternalWeakOuter() throws Exception {
     String externalWeakOuterAnnotation =
         "package com.google.j2objc.annotations: "
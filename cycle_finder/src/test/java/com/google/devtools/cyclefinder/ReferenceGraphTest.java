@@ -0,0 +1,124 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.devtools.cyclefinder;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import junit.framework.TestCase;
+
+/**
+ * Tests for the graph algorithms of ReferenceGraph, on synthetic graphs.
+ */
+public class ReferenceGraphTest extends TestCase {
+
+  private static TypeNode[] createNodes(int count) {
+    TypeNode[] nodes = new TypeNode[count];
+    for (int i = 0; i < count; i++) {
+      String name = "T" + i;
+      nodes[i] = new TypeNode("Lp/" + name + ";", name, "p." + name);
+    }
+    return nodes;
+  }
+
+  private static void addEdge(ReferenceGraph graph, TypeNode origin, TypeNode target) {
+    graph.addEdge(Edge.newFieldEdge(origin, target, "f" + target.getName()));
+  }
+
+  public void testShortestCycle() {
+    // A ring of 4 types with a shortcut from T3 back to T1.
+    TypeNode[] nodes = createNodes(4);
+    ReferenceGraph graph = new ReferenceGraph();
+    for (int i = 0; i < 4; i++) {
+      addEdge(graph, nodes[i], nodes[(i + 1) % 4]);
+    }
+    addEdge(graph, nodes[3], nodes[1]);
+
+    List<ReferenceGraph> components = graph.getStronglyConnectedComponents(graph.getNodes());
+    assertEquals(1, components.size());
+    List<List<Edge>> cycles = components.get(0).findShortestCycles();
+    Set<TypeNode> covered = new HashSet<>();
+    for (List<Edge> cycle : cycles) {
+      assertCycle(cycle);
+      for (Edge e : cycle) {
+        covered.add(e.getOrigin());
+      }
+    }
+    assertEquals(4, covered.size());
+    for (List<Edge> cycle : cycles) {
+      if (cycle.get(0).getOrigin().equals(nodes[1])) {
+        // T1 -> T2 -> T3 -> T1 rather than through T0.
+        assertEquals(3, cycle.size());
+      }
+    }
+  }
+
+  public void testSelfReference() {
+    TypeNode[] nodes = createNodes(1);
+    ReferenceGraph graph = new ReferenceGraph();
+    addEdge(graph, nodes[0], nodes[0]);
+
+    // A type referencing itself isn't reported as a component.
+    assertTrue(graph.getStronglyConnectedComponents(graph.getNodes()).isEmpty());
+  }
+
+  // A synthetic graph with a 40K deep reference chain through 5K components of 8 types each,
+  // with chords inside the components and edges forward to later components. The chain is deeper
+  // than a recursive search of the graph could go.
+  public void testDeepGraph() {
+    int componentSize = 8;
+    int nodeCount = 40_000;
+    TypeNode[] nodes = createNodes(nodeCount);
+    ReferenceGraph graph = new ReferenceGraph();
+    for (int i = 0; i < nodeCount; i++) {
+      int componentStart = i - i % componentSize;
+      if (i + 1 < nodeCount) {
+        addEdge(graph, nodes[i], nodes[i + 1]);
+      }
+      if (i % componentSize == componentSize - 1) {
+        addEdge(graph, nodes[i], nodes[componentStart]);
+      }
+      int chord = componentStart + (i * 3 + 2) % componentSize;
+      if (chord != i && chord != i + 1) {
+        addEdge(graph, nodes[i], nodes[chord]);
+      }
+      if (i + 5 * componentSize < nodeCount) {
+        addEdge(graph, nodes[i], nodes[i + 5 * componentSize]);
+      }
+    }
+
+    List<ReferenceGraph> components = graph.getStronglyConnectedComponents(graph.getNodes());
+    assertEquals(nodeCount / componentSize, components.size());
+    for (ReferenceGraph component : components) {
+      assertEquals(componentSize, component.getNodes().size());
+      Set<TypeNode> covered = new HashSet<>();
+      for (List<Edge> cycle : component.findShortestCycles()) {
+        assertCycle(cycle);
+        for (Edge e : cycle) {
+          covered.add(e.getOrigin());
+        }
+      }
+      assertEquals(component.getNodes(), covered);
+    }
+  }
+
+  private static void assertCycle(List<Edge> cycle) {
+    assertFalse(cycle.isEmpty());
+    for (int i = 0; i < cycle.size(); i++) {
+      Edge next = cycle.get((i + 1) % cycle.size());
+      assertEquals(cycle.get(i).getTarget(), next.getOrigin());
+    }
+  }
+}
@@ -166,6 +166,19 @@ CF_EXTERN_C_END
     return CLASS##_values_[CLASS##_Enum_##CONSTANT];                          \
   }
 
+/*!
+ * Defines the getter for a constant of an enum annotated with LazyEnumConstants,
+ * which creates the constant on its first access.
+ *
+ * @define J2OBJC_LAZY_ENUM_CONSTANT
+ * @param CLASS The enum class.
+ * @param CONSTANT The name of the enum constant.
+ */
+#define J2OBJC_LAZY_ENUM_CONSTANT(CLASS, CONSTANT)                            \
+  __attribute__((always_inline)) inline CLASS *CLASS##_get_##CONSTANT(void) { \
+    return CLASS##_fromOrdinal(CLASS##_Enum_##CONSTANT);                      \
+  }
+
 #define BOXED_INC_AND_DEC_INNER(CNAME, VALUE_METHOD, TYPE, OPNAME, OP) \
   __attribute__((always_inline)) inline TYPE *JreBoxedPre##OPNAME##CNAME( \
       __unsafe_unretained TYPE **value) { \
@@ -118,6 +118,12 @@ typedef struct J2ObjcResourceDefinition {
 FOUNDATION_EXPORT int32_t JreIndexOfStr(NSString *str, NSString **values, int32_t size);
 FOUNDATION_EXPORT NSString *JreEnumConstantName(IOSClass *enumClass, int32_t ordinal);
 
+/*!
+ * Returns the ordinal of an enum constant, without sending it a message. Throws
+ * NullPointerException if the constant is nil. Used by switch statements on enums.
+ */
+FOUNDATION_EXPORT int32_t JreEnumOrdinal(id e);
+
 /*!
  * Macros that simplify the syntax for loading of static fields.
  *
@@ -135,14 +141,18 @@ FOUNDATION_EXPORT NSString *JreEnumConstantName(IOSClass *enumClass, int32_t ord
  * internal to the enum class.
  * JreLoadEnum provides the enum value while ensuring the enum class is
  * initialized.
+ * JreLoadLazyEnum provides the value of an enum annotated with
+ * LazyEnumConstants, creating it if it hasn't been accessed yet.
  *
  * @define JreEnum
  * @define JreLoadEnum
+ * @define JreLoadLazyEnum
  * @param CLASS The enum class name.
  * @param VALUE The enum value name.
  */
 #define JreEnum(CLASS, VALUE) CLASS##_values_[CLASS##_Enum_##VALUE]
 #define JreLoadEnum(CLASS, VALUE) (CLASS##_initialize(), CLASS##_values_[CLASS##_Enum_##VALUE])
+#define JreLoadLazyEnum(CLASS, VALUE) CLASS##_fromOrdinal(CLASS##_Enum_##VALUE)
 
 /*!
  * The implementations for retaining and releasing constructors.
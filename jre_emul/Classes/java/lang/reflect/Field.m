@@ -104,6 +104,10 @@ static void ReadRawValue(
   }
   if (IsStatic(field)) {
     const void *addr = JrePtrAtIndex(field->ptrTable_, field->metadata_->staticRefIdx);
+    if (addr && (field->metadata_->modifiers & JavaLangReflectModifier_ENUM) && !*(id *)addr) {
+      // Constants of enums annotated with LazyEnumConstants are created on first access.
+      [field->declaringClass_ getEnumConstantsShared];
+    }
     if (addr) {
       [type __readRawValue:rawValue fromAddress:addr];
     } else {
@@ -381,6 +381,10 @@ public abstract class Enum<E extends Enum<E>>
 
     /*-[
     J2OBJC_ETERNAL_SINGLETON
+
+    int32_t JreEnumOrdinal(id e) {
+      return ((JavaLangEnum *) nil_chk(e))->ordinal_;
+    }
     ]-*/
 
     // BEGIN Android-removed: dynamic constants not supported on Android.
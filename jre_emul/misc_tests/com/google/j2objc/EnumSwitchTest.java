@@ -0,0 +1,123 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.j2objc;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests switch statements on enums, which read the ordinal with JreEnumOrdinal(). Also includes a
+ * micro benchmark of a state machine dispatched by an enum switch, that prints the average cost
+ * of a dispatch.
+ */
+public class EnumSwitchTest extends TestCase {
+
+  enum State { IDLE, READING, WRITING, CLOSED }
+
+  private static final int WARMUP_ITERATIONS = 5;
+  private static final int MEASURED_ITERATIONS = 10;
+  private static final int DISPATCHES_PER_ITERATION = 1_000_000;
+
+  private static State next(State state) {
+    switch (state) {
+      case IDLE:
+        return State.READING;
+      case READING:
+        return State.WRITING;
+      case WRITING:
+        return State.IDLE;
+      default:
+        return State.CLOSED;
+    }
+  }
+
+  private static int weight(State state) {
+    int weight = 0;
+    switch (state) {
+      case CLOSED:
+        weight++;
+        // fall through
+      case WRITING:
+        weight++;
+        // fall through
+      case READING:
+        weight++;
+        // fall through
+      case IDLE:
+        weight++;
+    }
+    return weight;
+  }
+
+  public void testSwitchStatement() {
+    assertEquals(State.READING, next(State.IDLE));
+    assertEquals(State.WRITING, next(State.READING));
+    assertEquals(State.IDLE, next(State.WRITING));
+    assertEquals(State.CLOSED, next(State.CLOSED));
+  }
+
+  public void testFallThrough() {
+    int total = 0;
+    for (State state : State.values()) {
+      total += weight(state);
+    }
+    assertEquals(10, total);
+  }
+
+  public void testNullSwitchValueThrows() {
+    try {
+      next(null);
+      fail("NullPointerException expected");
+    } catch (NullPointerException e) {
+      // Expected.
+    }
+    try {
+      weight(null);
+      fail("NullPointerException expected");
+    } catch (NullPointerException e) {
+      // Expected.
+    }
+  }
+
+  /**
+   * Runs the state machine in warmup and measured iterations, like a JMH average time benchmark,
+   * and prints the average time per dispatch. Only the result is checked, since timings depend
+   * on the device.
+   */
+  public void testDispatchBenchmark() {
+    State state = State.IDLE;
+    long checksum = 0;
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      for (int j = 0; j < DISPATCHES_PER_ITERATION; j++) {
+        state = next(state);
+        checksum += weight(state);
+      }
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+      for (int j = 0; j < DISPATCHES_PER_ITERATION; j++) {
+        state = next(state);
+        checksum += weight(state);
+      }
+    }
+    long elapsed = System.nanoTime() - start;
+    long dispatches = 2L * MEASURED_ITERATIONS * DISPATCHES_PER_ITERATION;
+    System.out.println(String.format("EnumSwitchTest.dispatch: %.2f ns/op (%d ops)",
+        (double) elapsed / dispatches, dispatches));
+
+    // The states cycle with period 3, each cycle weighing 3 + 1 + 2.
+    long iterations = (long) (WARMUP_ITERATIONS + MEASURED_ITERATIONS) * DISPATCHES_PER_ITERATION;
+    assertEquals(iterations / 3 * 6, checksum);
+  }
+}
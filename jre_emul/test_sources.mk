@@ -285,6 +285,7 @@ TEST_SOURCES := \
     com/google/j2objc/AssertTest.java \
     com/google/j2objc/ClassTest.java \
     com/google/j2objc/EmbeddedResourceTest.java \
+    com/google/j2objc/EnumSwitchTest.java \
     com/google/j2objc/EnvironmentUtil.java \
     com/google/j2objc/FieldTest.java \
     com/google/j2objc/IterableTest.java \
@@ -35,6 +35,7 @@ import com.google.devtools.j2objc.util.NameTable;
 import com.google.devtools.j2objc.util.PackageInfoLookup;
 import com.google.devtools.j2objc.util.PackagePrefixes;
 import com.google.devtools.j2objc.util.SourceVersion;
+import com.google.devtools.j2objc.util.TranslationStats;
 import com.google.devtools.j2objc.util.Version;
 import java.io.File;
 import java.io.FileFilter;
@@ -96,6 +97,13 @@ public class Options {
   private boolean nullMarked = false;
   private TimingLevel timingLevel = TimingLevel.NONE;
   private boolean dumpAST = false;
+  private boolean findReferenceCycles = false;
+  private final List<String> referenceCycleSuppressLists = new ArrayList<>();
+  private int autoreleasePoolThreshold = 0; // Loops aren't given pools automatically by default.
+  private boolean elideBorrowedRetains = true;
+  private boolean foldConstants = false;
+  private boolean scalarizeRecords = true;
+  private int inlineFunctionLimit = 0; // Accessors aren't inlined into headers by default.
   private String lintArgument = "-Xlint:none"; // Disable all lint warnings by default.
   private boolean reportJavadocWarnings = false;
   private boolean translateBootclasspath = false;
@@ -122,6 +130,7 @@ public class Options {
   private PackagePrefixes packagePrefixes = new PackagePrefixes(packageInfoLookup);
   private final ExternalAnnotations externalAnnotations = new ExternalAnnotations();
   private final List<String> entryClasses = new ArrayList<>();
+  private final TranslationStats translationStats = new TranslationStats();
 
   private SourceVersion sourceVersion = null;
 
@@ -157,6 +166,10 @@ public class Options {
     "-Xforce-incomplete-java8"
   );
   private static final String BATCH_PROCESSING_MAX_FLAG = "--batch-translate-max=";
+  private static final String AUTO_AUTORELEASE_POOLS_FLAG = "-Xauto-autorelease-pools";
+  private static final int DEFAULT_AUTORELEASE_POOL_THRESHOLD = 4;
+  private static final String INLINE_ACCESSORS_FLAG = "-Xinline-accessors";
+  private static final int DEFAULT_INLINE_FUNCTION_LIMIT = 16;
 
   /**
    * Types of memory management to be used by translated code.
@@ -599,12 +612,46 @@ public class Options {
         translateBootclasspath = true;
       } else if (arg.equals("-Xdump-ast")) {
         dumpAST = true;
+      } else if (arg.equals("-Xfind-reference-cycles")) {
+        findReferenceCycles = true;
+      } else if (arg.equals("-Xreference-cycles-suppress-list")) {
+        referenceCycleSuppressLists.add(getArgValue(args, arg));
+      } else if (arg.equals(AUTO_AUTORELEASE_POOLS_FLAG)) {
+        autoreleasePoolThreshold = DEFAULT_AUTORELEASE_POOL_THRESHOLD;
+      } else if (arg.startsWith(AUTO_AUTORELEASE_POOLS_FLAG + ":")) {
+        String value = arg.substring(AUTO_AUTORELEASE_POOLS_FLAG.length() + 1);
+        try {
+          autoreleasePoolThreshold = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+          autoreleasePoolThreshold = 0;
+        }
+        if (autoreleasePoolThreshold <= 0) {
+          usage("invalid " + AUTO_AUTORELEASE_POOLS_FLAG + " threshold: " + value);
+        }
+      } else if (arg.equals(INLINE_ACCESSORS_FLAG)) {
+        inlineFunctionLimit = DEFAULT_INLINE_FUNCTION_LIMIT;
+      } else if (arg.startsWith(INLINE_ACCESSORS_FLAG + ":")) {
+        String value = arg.substring(INLINE_ACCESSORS_FLAG.length() + 1);
+        try {
+          inlineFunctionLimit = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+          inlineFunctionLimit = 0;
+        }
+        if (inlineFunctionLimit <= 0) {
+          usage("invalid " + INLINE_ACCESSORS_FLAG + " size limit: " + value);
+        }
+      } else if (arg.equals("-Xfold-constants")) {
+        foldConstants = true;
       } else if (arg.equals("-Xtranslate-classfiles")) {
         translateClassfiles = true;
       } else if (arg.equals("-Xannotations-jar")) {
         annotationsJar = getArgValue(args, arg);
       } else if (arg.equals("-Xkythe-mapping")) {
         emitKytheMappings = true;
+      } else if (arg.equals("-Xno-record-scalarization")) {
+        scalarizeRecords = false;
+      } else if (arg.equals("-Xno-retain-elision")) {
+        elideBorrowedRetains = false;
       } else if (arg.equals("-Xno-source-headers")) {
         emitSourceHeaders = false;
       } else if (arg.equals("-Xprint-args")) {
@@ -1026,6 +1073,10 @@ public class Options {
     return packagePrefixes;
   }
 
+  public TranslationStats getTranslationStats() {
+    return translationStats;
+  }
+
   public boolean stripGwtIncompatibleMethods() {
     return stripGwtIncompatible;
   }
@@ -1237,6 +1288,85 @@ public class Options {
     return dumpAST;
   }
 
+  public boolean findReferenceCycles() {
+    return findReferenceCycles;
+  }
+
+  @VisibleForTesting
+  public void setFindReferenceCycles(boolean b) {
+    findReferenceCycles = b;
+  }
+
+  public List<String> getReferenceCycleSuppressLists() {
+    return referenceCycleSuppressLists;
+  }
+
+  /**
+   * Returns the estimated number of autoreleased objects per iteration above which a loop's body
+   * is wrapped in an autorelease pool, or 0 if loops aren't given pools automatically.
+   */
+  public int autoreleasePoolThreshold() {
+    return autoreleasePoolThreshold;
+  }
+
+  @VisibleForTesting
+  public void setAutoreleasePoolThreshold(int threshold) {
+    autoreleasePoolThreshold = threshold;
+  }
+
+  /**
+   * Returns true if locals that only borrow their values are not retained and autoreleased
+   * when using reference counting.
+   */
+  public boolean elideBorrowedRetains() {
+    return elideBorrowedRetains;
+  }
+
+  @VisibleForTesting
+  public void setElideBorrowedRetains(boolean b) {
+    elideBorrowedRetains = b;
+  }
+
+  /**
+   * Returns true if expressions with known values and locals initialized with constants are
+   * folded into literals.
+   */
+  public boolean foldConstants() {
+    return foldConstants;
+  }
+
+  @VisibleForTesting
+  public void setFoldConstants(boolean b) {
+    foldConstants = b;
+  }
+
+  /**
+   * Returns true if records that don't escape the method creating them are replaced by locals
+   * for their components.
+   */
+  public boolean scalarizeRecords() {
+    return scalarizeRecords;
+  }
+
+  @VisibleForTesting
+  public void setScalarizeRecords(boolean b) {
+    scalarizeRecords = b;
+  }
+
+  /**
+   * Returns the maximum number of tree nodes in the body of a final method that is defined as a
+   * static inline function in its type's header, or 0 if final methods are called with message
+   * sends from other files.
+   */
+  public int inlineFunctionLimit() {
+    return inlineFunctionLimit;
+  }
+
+  @VisibleForTesting
+  public void setInlineFunctionLimit(int limit) {
+    inlineFunctionLimit = limit;
+  }
+
   public boolean reportJavadocWarnings() {
     return reportJavadocWarnings;
   }
@@ -26,6 +26,7 @@ public class FunctionDeclaration extends BodyDeclaration {
   private ExecutableElement executableElement = null;
   private String name = null;
   private boolean returnsRetained = false;
+  private boolean isInline = false;
   private final ChildLink<Type> returnType = ChildLink.create(Type.class, this);
   private final ChildList<SingleVariableDeclaration> parameters =
       ChildList.create(SingleVariableDeclaration.class, this);
@@ -36,6 +37,7 @@ public class FunctionDeclaration extends BodyDeclaration {
     super(other);
     name = other.getName();
     returnsRetained = other.returnsRetained();
+    isInline = other.isInline();
     executableElement = other.getExecutableElement();
     returnType.copyFrom(other.getReturnType());
     parameters.copyFrom(other.getParameters());
@@ -71,6 +73,17 @@ public class FunctionDeclaration extends BodyDeclaration {
     returnsRetained = value;
   }
 
+  /**
+   * Returns true if the function is defined as a static inline function in the header.
+   */
+  public boolean isInline() {
+    return isInline;
+  }
+
+  public void setIsInline(boolean value) {
+    isInline = value;
+  }
+
   public Type getReturnType() {
     return returnType.get();
   }
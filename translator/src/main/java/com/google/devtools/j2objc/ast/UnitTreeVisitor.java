@@ -18,6 +18,7 @@ import com.google.devtools.j2objc.Options;
 import com.google.devtools.j2objc.gen.SignatureGenerator;
 import com.google.devtools.j2objc.util.ElementUtil;
 import com.google.devtools.j2objc.util.NameTable;
+import com.google.devtools.j2objc.util.QueryCache;
 import com.google.devtools.j2objc.util.TranslationEnvironment;
 import com.google.devtools.j2objc.util.TranslationUtil;
 import com.google.devtools.j2objc.util.TypeUtil;
@@ -34,6 +35,7 @@ public class UnitTreeVisitor extends TreeVisitor {
   protected final SignatureGenerator signatureGenerator;
   protected final TranslationUtil translationUtil;
   protected final Options options;
+  protected final QueryCache queryCache;
 
   public UnitTreeVisitor(CompilationUnit unit) {
     this.unit = unit;
@@ -44,6 +46,7 @@ public class UnitTreeVisitor extends TreeVisitor {
     signatureGenerator = env.signatureGenerator();
     translationUtil = env.translationUtil();
     this.options = env.options();
+    queryCache = env.queryCache();
   }
 
   public void run() {
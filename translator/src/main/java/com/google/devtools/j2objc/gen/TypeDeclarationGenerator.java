@@ -476,12 +476,14 @@ public class TypeDeclarationGenerator extends TypeGenerator {
       String arrayTypeNamePrefix = nullMarked ? "_Nonnull " : "";
       String arrayTypeName = arrayTypeNamePrefix + typeName;
       printf("FOUNDATION_EXPORT %s *%s_values_[];\n", typeName, arrayTypeName);
+      String constantMacro = ElementUtil.hasLazyEnumConstants(typeElement)
+          ? "J2OBJC_LAZY_ENUM_CONSTANT" : "J2OBJC_ENUM_CONSTANT";
       for (EnumConstantDeclaration constant : ((EnumDeclaration) typeNode).getEnumConstants()) {
         String varName = nameTable.getVariableBaseName(constant.getVariableElement());
         newline();
         JavadocGenerator.printDocComment(getBuilder(), constant.getJavadoc());
         printf("inline %s *%s_get_%s(void);\n", typeName, typeName, varName);
-        printf("J2OBJC_ENUM_CONSTANT(%s, %s)\n", typeName, varName);
+        printf("%s(%s, %s)\n", constantMacro, typeName, varName);
       }
     }
   }
@@ -815,6 +817,13 @@ public class TypeDeclarationGenerator extends TypeGenerator {
 
   @Override
   protected void printFunctionDeclaration(FunctionDeclaration function) {
+    if (function.isInline()) {
+      String functionBody =
+          StatementGenerator.generate(function.getBody(), getBuilder().getCurrentLine());
+      println("\nstatic inline " + getFunctionSignature(function, true, false) + " "
+          + reindent(functionBody));
+      return;
+    }
     print("\nFOUNDATION_EXPORT " + getFunctionSignature(function, true, false));
     if (function.returnsRetained()) {
       print(" NS_RETURNS_RETAINED");
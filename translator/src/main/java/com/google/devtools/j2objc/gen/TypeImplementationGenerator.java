@@ -330,6 +330,10 @@ public class TypeImplementationGenerator extends TypeGenerator {
 
   @Override
   protected void printFunctionDeclaration(FunctionDeclaration function) {
+    if (function.isInline()) {
+      // Defined in the header.
+      return;
+    }
     newline();
     syncLineNumbers(function);  // avoid doc-comment
     if (Modifier.isNative(function.getModifiers())) {
@@ -91,37 +91,41 @@ public class ClassFileConverter {
   private final ClassFile classFile;
   private final String typeName;
 
+  /**
+   * Converts a decompiled class file. The environment's classpath must be set to the
+   * file's class root, to support typeElement lookup.
+   */
   public static CompilationUnit convertClassFile(
-      Options options, JavacEnvironment env, InputFile file) {
-    try {
-      ClassFileConverter converter = new ClassFileConverter(
-          env, new TranslationEnvironment(options, env), file);
-      converter.setClassPath();
-      return converter.createUnit();
-    } catch (IOException e) {
-      ErrorUtil.error(e.getMessage());
-      return null;
-    }
+      Options options, JavacEnvironment env, InputFile file, ClassFile classFile) {
+    ClassFileConverter converter = new ClassFileConverter(
+        env, new TranslationEnvironment(options, env), file, classFile);
+    return converter.createUnit();
   }
 
-  private ClassFileConverter(JavacEnvironment parserEnv, TranslationEnvironment translationEnv,
-      InputFile file) throws IOException {
-    this.parserEnv = parserEnv;
-    this.translationEnv = translationEnv;
-    this.file = file;
-    this.classFile = ClassFile.create(file);
-    this.typeName = classFile.getFullName();
+  /**
+   * Returns the root path of a class file's package hierarchy.
+   */
+  static String getClassRoot(InputFile file, ClassFile classFile) {
+    String fullPath = file.getAbsolutePath();
+    return fullPath.substring(0, fullPath.lastIndexOf(classFile.getRelativePath()));
   }
 
   /**
-   * Set classpath to the root path of the input file, to support typeElement lookup.
+   * Set classpath to the root path of a batch of class files, to support typeElement lookup.
    */
-  private void setClassPath() throws IOException {
-    String fullPath = file.getAbsolutePath();
-    String rootPath = fullPath.substring(0, fullPath.lastIndexOf(classFile.getRelativePath()));
+  static void setClassPath(JavacEnvironment env, String classRoot) throws IOException {
     List<File> classPath = new ArrayList<>();
-    classPath.add(new File(rootPath));
-    parserEnv.fileManager().setLocation(StandardLocation.CLASS_PATH, classPath);
+    classPath.add(new File(classRoot));
+    env.fileManager().setLocation(StandardLocation.CLASS_PATH, classPath);
+  }
+
+  private ClassFileConverter(JavacEnvironment parserEnv, TranslationEnvironment translationEnv,
+      InputFile file, ClassFile classFile) {
+    this.parserEnv = parserEnv;
+    this.translationEnv = translationEnv;
+    this.file = file;
+    this.classFile = classFile;
+    this.typeName = classFile.getFullName();
   }
 
   private CompilationUnit createUnit() {
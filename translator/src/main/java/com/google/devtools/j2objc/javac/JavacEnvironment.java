@@ -15,9 +15,16 @@
 package com.google.devtools.j2objc.javac;
 
 import com.google.devtools.j2objc.util.ParserEnvironment;
+import com.google.devtools.j2objc.util.QueryCache;
 import com.sun.source.util.JavacTask;
 import com.sun.source.util.Trees;
+import com.sun.tools.javac.code.Symbol.ClassSymbol;
+import java.net.URI;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
 import javax.tools.DiagnosticCollector;
@@ -32,12 +39,19 @@ class JavacEnvironment implements ParserEnvironment {
   private final Elements elements;
   private final Types types;
   private final Trees trees;
+  private final QueryCache queryCache = new QueryCache();
+  // The source files passed to the task. javac wraps file objects from the client, so they are
+  // compared by URI.
+  private final Set<URI> sourceFiles = new HashSet<>();
 
   JavacEnvironment(JavacTask task, StandardJavaFileManager fileManager,
-      DiagnosticCollector<JavaFileObject> diagnostics) {
+      DiagnosticCollector<JavaFileObject> diagnostics, List<JavaFileObject> sourceFiles) {
     this.task = task;
     this.fileManager = fileManager;
     this.diagnostics = diagnostics;
+    for (JavaFileObject file : sourceFiles) {
+      this.sourceFiles.add(file.toUri());
+    }
     elements = task.getElements();
     types = task.getTypes();
     trees = Trees.instance(task);
@@ -57,6 +71,20 @@ class JavacEnvironment implements ParserEnvironment {
     return types;
   }
 
+  @Override
+  public QueryCache queryCache() {
+    return queryCache;
+  }
+
+  @Override
+  public boolean isCompiledSourceType(TypeElement type) {
+    if (!(type instanceof ClassSymbol)) {
+      return false;
+    }
+    JavaFileObject file = ((ClassSymbol) type).outermostClass().sourcefile;
+    return file != null && sourceFiles.contains(file.toUri());
+  }
+
   public Trees treeUtilities() {
     return trees;
   }
@@ -20,11 +20,13 @@ import com.google.devtools.j2objc.ast.CompilationUnit;
 import com.google.devtools.j2objc.file.InputFile;
 import com.google.devtools.j2objc.file.RegularInputFile;
 import com.google.devtools.j2objc.pipeline.ProcessingContext;
+import com.google.devtools.j2objc.util.ClassFile;
 import com.google.devtools.j2objc.util.ErrorUtil;
 import com.google.devtools.j2objc.util.FileUtil;
 import com.google.devtools.j2objc.util.Parser;
 import com.google.devtools.j2objc.util.PathClassLoader;
 import com.google.devtools.j2objc.util.SourceVersion;
+import com.google.devtools.j2objc.util.TimeTracker;
 import com.sun.source.tree.CompilationUnitTree;
 import com.sun.source.util.JavacTask;
 import com.sun.source.util.SourcePositions;
@@ -37,11 +39,14 @@ import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.IntStream;
 import javax.annotation.processing.Processor;
 import javax.tools.Diagnostic;
 import javax.tools.DiagnosticCollector;
@@ -98,9 +103,9 @@ public class JavacParser extends Parser {
         return parse(null, file.getUnitName(), source);
       } else {
         assert options.translateClassfiles();
-        JavacEnvironment parserEnv =
-            createEnvironment(Collections.emptyList(), Collections.emptyList(), false);
-        return ClassFileConverter.convertClassFile(options, parserEnv, file);
+        CompilationUnit[] result = new CompilationUnit[1];
+        parseClassFiles(Collections.singletonList(file), (path, unit) -> result[0] = unit);
+        return result[0];
       }
     } catch (IOException e) {
       ErrorUtil.error(e.getMessage());
@@ -219,6 +224,79 @@ public class JavacParser extends Parser {
     }
   }
 
+  @Override
+  public void parseClassFiles(Collection<InputFile> files, Handler handler) {
+    TimeTracker ticker = TimeTracker.getTicker("class files", options.timingLevel());
+    long startTime = System.currentTimeMillis();
+    List<InputFile> inputs = new ArrayList<>(files);
+    // All the classes in a class root, such as an extracted jar, share a javac environment.
+    Map<String, JavacEnvironment> environments = new HashMap<>();
+    // Decompiled class files hold their whole Procyon metadata, so only a few are decompiled
+    // ahead of their conversion.
+    int chunkSize = 2 * Runtime.getRuntime().availableProcessors();
+    int count = 0;
+    for (int start = 0; start < inputs.size(); start += chunkSize) {
+      List<InputFile> chunk = inputs.subList(start, Math.min(start + chunkSize, inputs.size()));
+      ClassFile[] classFiles = decompileClassFiles(chunk);
+      for (int i = 0; i < chunk.size(); i++) {
+        InputFile file = chunk.get(i);
+        if (classFiles[i] == null) {
+          continue;
+        }
+        try {
+          String classRoot = ClassFileConverter.getClassRoot(file, classFiles[i]);
+          JavacEnvironment env = environments.get(classRoot);
+          if (env == null) {
+            env = createEnvironment(Collections.emptyList(), Collections.emptyList(), false);
+            ClassFileConverter.setClassPath(env, classRoot);
+            environments.put(classRoot, env);
+          }
+          CompilationUnit unit =
+              ClassFileConverter.convertClassFile(options, env, file, classFiles[i]);
+          if (unit != null) {
+            handler.handleParsedUnit(file.getAbsolutePath(), unit);
+            count++;
+          }
+        } catch (IOException e) {
+          ErrorUtil.fatalError(e, "javac file manager error");
+        } catch (RuntimeException | Error e) {
+          ErrorUtil.fatalError(e, file.getOriginalLocation());
+        }
+      }
+    }
+
+    if (count > 1) {
+      ticker.tick("Class file conversion");
+      long time = Math.max(System.currentTimeMillis() - startTime, 1);
+      ticker.note(String.format("%d classes (%.1f classes/sec)", count, count * 1000.0 / time));
+      ticker.printResults(System.out);
+    }
+  }
+
+  /**
+   * Decompiles class files in parallel, since decompiling doesn't use javac. Returns null
+   * for each file that failed, after reporting its error.
+   */
+  private static ClassFile[] decompileClassFiles(List<InputFile> files) {
+    ClassFile[] classFiles = new ClassFile[files.size()];
+    Throwable[] failures = new Throwable[files.size()];
+    IntStream.range(0, files.size()).parallel().forEach(i -> {
+      try {
+        classFiles[i] = ClassFile.create(files.get(i));
+      } catch (IOException | RuntimeException | Error e) {
+        failures[i] = e;
+      }
+    });
+    for (int i = 0; i < files.size(); i++) {
+      if (failures[i] instanceof IOException) {
+        ErrorUtil.error(failures[i].getMessage());
+      } else if (failures[i] != null) {
+        ErrorUtil.fatalError(failures[i], files.get(i).getOriginalLocation());
+      }
+    }
+    return classFiles;
+  }
+
   /**
    * To allow Java 9 libraries like GSON to be transpiled using -source 1.8, stub out
    * the module-info source. This creates an empty .o file, like package-info.java
@@ -271,7 +349,7 @@ public class JavacParser extends Parser {
     }
     JavacTask task = (JavacTask) compiler.getTask(null, fileManager, diagnostics,
         javacOptions, null, fileObjects);
-    return new JavacEnvironment(task, fileManager, diagnostics);
+    return new JavacEnvironment(task, fileManager, diagnostics, fileObjects);
   }
 
   private void processDiagnostics(DiagnosticCollector<JavaFileObject> diagnostics) {
@@ -109,7 +109,8 @@ abstract class FileProcessor {
   }
 
   protected boolean isBatchable(InputFile file) {
-    return file.getAbsolutePath().endsWith(".java");
+    String path = file.getAbsolutePath();
+    return path.endsWith(".java") || (options.translateClassfiles() && path.endsWith(".class"));
   }
 
   private void processBatch() {
@@ -118,10 +119,15 @@ abstract class FileProcessor {
     }
 
     List<String> paths = Lists.newArrayListWithCapacity(batchInputs.size());
+    List<InputFile> classFiles = Lists.newArrayList();
     final Map<String, ProcessingContext> inputMap = new CanonicalPathMap(batchInputs.size());
     for (ProcessingContext input : batchInputs) {
       String path = input.getFile().getAbsolutePath();
-      paths.add(path);
+      if (path.endsWith(".class")) {
+        classFiles.add(input.getFile());
+      } else {
+        paths.add(path);
+      }
       inputMap.put(path, input);
     }
 
@@ -134,7 +140,12 @@ abstract class FileProcessor {
       }
     };
     logger.finest("Processing batch of size " + batchInputs.size());
-    parser.parseFiles(paths, handler, options.getSourceVersion());
+    if (!paths.isEmpty()) {
+      parser.parseFiles(paths, handler, options.getSourceVersion());
+    }
+    if (!classFiles.isEmpty()) {
+      parser.parseClassFiles(classFiles, handler);
+    }
 
     // Any remaining files in batchFiles has some kind of error.
     for (ProcessingContext input : batchInputs) {
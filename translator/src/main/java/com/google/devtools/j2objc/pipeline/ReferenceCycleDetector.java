@@ -0,0 +1,72 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.devtools.j2objc.pipeline;
+
+import com.google.devtools.j2objc.Options;
+import com.google.devtools.j2objc.ast.CompilationUnit;
+import com.google.devtools.j2objc.util.ErrorUtil;
+import java.io.IOException;
+import java.io.PrintStream;
+
+/**
+ * Finds possible reference cycles in the translated sources, as part of the translation instead
+ * of a separate cycle_finder run. The implementation is provided by the cycle_finder tool, and is
+ * only loaded when -Xfind-reference-cycles is specified.
+ */
+public interface ReferenceCycleDetector {
+
+  // Loaded by name, since cycle_finder depends on the translator.
+  String IMPLEMENTATION_CLASS = "com.google.devtools.cyclefinder.TranslationCycleDetector";
+
+  /**
+   * Prepares the detector for a translation with the specified options.
+   */
+  void start(Options options) throws IOException;
+
+  /**
+   * Adds a compilation unit's types to the reference graph. Called once the unit's lambda types
+   * and outer references are resolved, and before the unit is otherwise modified.
+   */
+  void addUnit(CompilationUnit unit);
+
+  /**
+   * Prints the cycles found in all added units, and returns how many there are.
+   */
+  int reportCycles(PrintStream out);
+
+  /**
+   * Returns the detector on the classpath, or null after reporting an error if there isn't one.
+   */
+  static ReferenceCycleDetector load(Options options) {
+    ReferenceCycleDetector detector;
+    try {
+      detector =
+          Class.forName(IMPLEMENTATION_CLASS)
+              .asSubclass(ReferenceCycleDetector.class)
+              .getDeclaredConstructor()
+              .newInstance();
+    } catch (ReflectiveOperationException e) {
+      ErrorUtil.error("-Xfind-reference-cycles requires cycle_finder.jar on the classpath");
+      return null;
+    }
+    try {
+      detector.start(options);
+    } catch (IOException e) {
+      ErrorUtil.error(e.getMessage());
+      return null;
+    }
+    return detector;
+  }
+}
@@ -24,12 +24,16 @@ import com.google.devtools.j2objc.gen.ObjectiveCImplementationGenerator;
 import com.google.devtools.j2objc.gen.ObjectiveCMultiHeaderGenerator;
 import com.google.devtools.j2objc.gen.ObjectiveCSegmentedHeaderGenerator;
 import com.google.devtools.j2objc.translate.AbstractMethodRewriter;
+import com.google.devtools.j2objc.translate.AccessorInliner;
 import com.google.devtools.j2objc.translate.AnnotationRewriter;
 import com.google.devtools.j2objc.translate.ArrayRewriter;
 import com.google.devtools.j2objc.translate.Autoboxer;
+import com.google.devtools.j2objc.translate.AutoreleasePoolInjector;
 import com.google.devtools.j2objc.translate.CastResolver;
 import com.google.devtools.j2objc.translate.ComplexExpressionExtractor;
+import com.google.devtools.j2objc.translate.ConstantArrayRewriter;
 import com.google.devtools.j2objc.translate.ConstantBranchPruner;
+import com.google.devtools.j2objc.translate.ConstantFolder;
 import com.google.devtools.j2objc.translate.DeadCodeEliminator;
 import com.google.devtools.j2objc.translate.DefaultMethodShimGenerator;
 import com.google.devtools.j2objc.translate.DestructorGenerator;
@@ -57,6 +61,7 @@ import com.google.devtools.j2objc.translate.OuterReferenceResolver;
 import com.google.devtools.j2objc.translate.PackageInfoRewriter;
 import com.google.devtools.j2objc.translate.PrivateDeclarationResolver;
 import com.google.devtools.j2objc.translate.RecordExpander;
+import com.google.devtools.j2objc.translate.RecordScalarizer;
 import com.google.devtools.j2objc.translate.ReflectionCodeDetector;
 import com.google.devtools.j2objc.translate.Rewriter;
 import com.google.devtools.j2objc.translate.SerializationStripper;
@@ -94,12 +99,15 @@ public class TranslationProcessor extends FileProcessor {
   private static final Logger logger = Logger.getLogger(TranslationProcessor.class.getName());
 
   private final CodeReferenceMap deadCodeMap;
+  private final ReferenceCycleDetector cycleDetector;
   private final List<GenerationUnit> outputs = new ArrayList<>();
   private int processedCount = 0;
 
   public TranslationProcessor(Parser parser, CodeReferenceMap deadCodeMap) {
     super(parser);
     this.deadCodeMap = deadCodeMap;
+    this.cycleDetector =
+        options.findReferenceCycles() ? ReferenceCycleDetector.load(options) : null;
   }
 
   @Override
@@ -113,8 +121,9 @@ public class TranslationProcessor extends FileProcessor {
       // Dump compilation unit to an .ast output file instead of translating.
       DebugASTDump.dumpUnit(unit);
     } else {
-      applyMutations(unit, deadCodeMap, options.externalAnnotations(), ticker);
+      applyMutations(unit, deadCodeMap, options.externalAnnotations(), cycleDetector, ticker);
       ticker.tick("Tree mutations");
+      ticker.note(unit.getEnv().queryCache().toString());
       ticker.printResults(System.out);
 
       GenerationUnit genUnit = input.getGenerationUnit();
@@ -149,12 +158,26 @@ public class TranslationProcessor extends FileProcessor {
       CodeReferenceMap deadCodeMap,
       ExternalAnnotations externalAnnotations,
       TimeTracker ticker) {
+    applyMutations(unit, deadCodeMap, externalAnnotations, null, ticker);
+  }
+
+  private static void applyMutations(
+      CompilationUnit unit,
+      CodeReferenceMap deadCodeMap,
+      ExternalAnnotations externalAnnotations,
+      ReferenceCycleDetector cycleDetector,
+      TimeTracker ticker) {
     ticker.push();
 
     // Before: OuterReferenceResolver - OuterReferenceResolver needs the bindings fixed.
     new LambdaTypeElementAdder(unit).run();
     ticker.tick("LambdaTypeElementAdder");
 
+    // Before: DeadCodeEliminator, ConstantBranchPruner - Folding exposes more constant branches.
+    // Before: OuterReferenceResolver - Propagated locals are no longer captured.
+    new ConstantFolder(unit).run();
+    ticker.tick("ConstantFolder");
+
     DeadCodeEliminator deadCodeEliminator = new DeadCodeEliminator(unit, deadCodeMap);
     if (deadCodeMap != null) {
       deadCodeEliminator.run();
@@ -176,9 +199,20 @@ public class TranslationProcessor extends FileProcessor {
     new ExternalAnnotationInjector(unit, externalAnnotations).run();
     ticker.tick("ExternalAnnotationInjector");
 
+    // Before: OuterReferenceResolver - Component locals may be captured.
+    new RecordScalarizer(unit).run();
+    ticker.tick("RecordScalarizer");
+
     new OuterReferenceResolver(unit).run();
     ticker.tick("OuterReferenceResolver");
 
+    // After: OuterReferenceResolver - The reference graph needs the captured variables.
+    // Before: RecordExpander - Later passes restructure the types.
+    if (cycleDetector != null) {
+      cycleDetector.addUnit(unit);
+      ticker.tick("ReferenceCycleDetector");
+    }
+
     new RecordExpander(unit).run();
     ticker.tick("RecordExpander");
 
@@ -211,6 +245,14 @@ public class TranslationProcessor extends FileProcessor {
     new VariableRenamer(unit).run();
     ticker.tick("VariableRenamer");
 
+    // Before: EnhancedForRewriter - Needs the loop variables of enhanced for loops.
+    // Before: Autoboxer - Estimates boxing from the unboxed expressions.
+    AutoreleasePoolInjector poolInjector = new AutoreleasePoolInjector(unit);
+    if (poolInjector.isEnabled()) {
+      poolInjector.run();
+      ticker.tick("AutoreleasePoolInjector");
+    }
+
     // Rewrite enhanced for loops into correct C code.
     new EnhancedForRewriter(unit).run();
     ticker.tick("EnhancedForRewriter");
@@ -230,6 +272,11 @@ public class TranslationProcessor extends FileProcessor {
     new DefaultMethodShimGenerator(unit, deadCodeMap).run();
     ticker.tick("DefaultMethodShimGenerator");
 
+    // Converts constant primitive tables that are only read into static const C arrays.
+    // Before: InitializationNormalizer - Needs the field initializers.
+    new ConstantArrayRewriter(unit).run();
+    ticker.tick("ConstantArrayRewriter");
+
     // Normalize init statements
     new InitializationNormalizer(unit).run();
     ticker.tick("InitializationNormalizer");
@@ -336,6 +383,11 @@ public class TranslationProcessor extends FileProcessor {
     new PrivateDeclarationResolver(unit).run();
     ticker.tick("PrivateDeclarationResolver");
 
+    // After: PrivateDeclarationResolver - Moves the fields used by inlined
+    //   functions to the header.
+    new AccessorInliner(unit).run();
+    ticker.tick("AccessorInliner");
+
     // Add native protocols after all prior translation. Occurs before
     // adapter methods that may reference those protocols.
     new ObjectiveCNativeProtocolAnnotation(unit).run();
@@ -400,12 +452,21 @@ public class TranslationProcessor extends FileProcessor {
   }
 
   public void postProcess() {
+    if (cycleDetector != null) {
+      int cycleCount = cycleDetector.reportCycles(System.out);
+      if (cycleCount > 0) {
+        ErrorUtil.error(
+            String.format(
+                "%d reference %s found", cycleCount, cycleCount == 1 ? "cycle" : "cycles"));
+      }
+    }
     if (logger.isLoggable(Level.INFO)) {
       int nFiles = processedCount;
       System.out.println(String.format(
           "Translated %d %s: %d errors, %d warnings",
           nFiles, nFiles == 1 ? "file" : "files", ErrorUtil.errorCount(),
           ErrorUtil.warningCount()));
+      options.getTranslationStats().printSummary(System.out);
     }
   }
 
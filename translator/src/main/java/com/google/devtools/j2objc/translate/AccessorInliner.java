@@ -0,0 +1,182 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.devtools.j2objc.translate;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.devtools.j2objc.ast.AbstractTypeDeclaration;
+import com.google.devtools.j2objc.ast.Assignment;
+import com.google.devtools.j2objc.ast.BodyDeclaration;
+import com.google.devtools.j2objc.ast.CastExpression;
+import com.google.devtools.j2objc.ast.CompilationUnit;
+import com.google.devtools.j2objc.ast.FieldDeclaration;
+import com.google.devtools.j2objc.ast.FunctionDeclaration;
+import com.google.devtools.j2objc.ast.FunctionInvocation;
+import com.google.devtools.j2objc.ast.SimpleName;
+import com.google.devtools.j2objc.ast.SingleVariableDeclaration;
+import com.google.devtools.j2objc.ast.TreeNode;
+import com.google.devtools.j2objc.ast.TreeUtil;
+import com.google.devtools.j2objc.ast.TreeVisitor;
+import com.google.devtools.j2objc.ast.UnitTreeVisitor;
+import com.google.devtools.j2objc.util.ElementUtil;
+import com.google.devtools.j2objc.util.TranslationStats.Counter;
+import com.google.devtools.j2objc.util.TypeUtil;
+import java.util.HashSet;
+import java.util.Set;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * Defines the small functions of directly callable methods as static inline functions in the
+ * header, so invocations from other files don't need a call. A function is inlined if its body
+ * is no larger than the -Xinline-accessors limit and only uses the parameters, the instance
+ * fields of its type and constants, since the header can't refer to the implementation file's
+ * declarations. Private fields used by an inlined function are moved to the header.
+ */
+public class AccessorInliner extends UnitTreeVisitor {
+
+  // Runtime functions that are declared by J2ObjC_header.h.
+  private static final ImmutableSet<String> HEADER_FUNCTIONS =
+      ImmutableSet.of("JreStrongAssign", "nil_chk");
+
+  public AccessorInliner(CompilationUnit unit) {
+    super(unit);
+  }
+
+  @Override
+  public boolean visit(CompilationUnit node) {
+    return options.inlineFunctionLimit() > 0;
+  }
+
+  @Override
+  public boolean visit(FunctionDeclaration node) {
+    ExecutableElement method = node.getExecutableElement();
+    if (method == null || node.getBody() == null || node.hasPrivateDeclaration()
+        || !translationUtil.isDirectlyCallable(method)) {
+      return false;
+    }
+    InlineChecker checker = new InlineChecker(node, ElementUtil.getDeclaringClass(method));
+    node.getBody().accept(checker);
+    if (checker.isInlinable && checker.size <= options.inlineFunctionLimit()) {
+      node.setIsInline(true);
+      moveFieldsToHeader(TreeUtil.getEnclosingType(node), checker.fields);
+      options.getTranslationStats().increment(Counter.INLINED_METHODS);
+    }
+    return false;
+  }
+
+  private static void moveFieldsToHeader(
+      AbstractTypeDeclaration type, Set<VariableElement> fields) {
+    for (BodyDeclaration decl : type.getBodyDeclarations()) {
+      if (decl instanceof FieldDeclaration
+          && fields.contains(((FieldDeclaration) decl).getFragment().getVariableElement())) {
+        decl.setHasPrivateDeclaration(false);
+      }
+    }
+  }
+
+  /**
+   * Measures a function body and checks that it can be compiled in the header.
+   */
+  private static class InlineChecker extends TreeVisitor {
+
+    private final TypeElement type;
+    private final Set<VariableElement> params = new HashSet<>();
+    private final Set<VariableElement> fields = new HashSet<>();
+    private boolean isInlinable = true;
+    private int size = 0;
+
+    InlineChecker(FunctionDeclaration function, TypeElement type) {
+      this.type = type;
+      for (SingleVariableDeclaration param : function.getParameters()) {
+        params.add(param.getVariableElement());
+      }
+    }
+
+    @Override
+    public boolean preVisit(TreeNode node) {
+      size++;
+      switch (node.getKind()) {
+        case BLOCK:
+        case RETURN_STATEMENT:
+        case EXPRESSION_STATEMENT:
+        case FIELD_ACCESS:
+        case THIS_EXPRESSION:
+        case BOOLEAN_LITERAL:
+        case CHARACTER_LITERAL:
+        case NULL_LITERAL:
+        case NUMBER_LITERAL:
+        case STRING_LITERAL:
+        case INFIX_EXPRESSION:
+        case PREFIX_EXPRESSION:
+        case POSTFIX_EXPRESSION:
+        case PARENTHESIZED_EXPRESSION:
+        case CONDITIONAL_EXPRESSION:
+        case PRIMITIVE_TYPE:
+        case SIMPLE_TYPE:
+        case ASSIGNMENT:
+        case CAST_EXPRESSION:
+        case FUNCTION_INVOCATION:
+        case QUALIFIED_NAME:
+        case SIMPLE_NAME:
+          return isInlinable;
+        default:
+          isInlinable = false;
+          return false;
+      }
+    }
+
+    @Override
+    public void endVisit(SimpleName node) {
+      Element element = node.getElement();
+      if (params.contains(element)) {
+        return;
+      }
+      VariableElement var = element instanceof VariableElement ? (VariableElement) element : null;
+      if (var != null && ElementUtil.isInstanceVar(var)
+          && ElementUtil.getDeclaringClass(var) == type
+          && !ElementUtil.isVolatile(var) && !ElementUtil.isWeakReference(var)) {
+        fields.add(var);
+      } else {
+        isInlinable = false;
+      }
+    }
+
+    @Override
+    public void endVisit(Assignment node) {
+      // Object assignments depend on whether the including file uses ARC.
+      if (!node.getLeftHandSide().getTypeMirror().getKind().isPrimitive()) {
+        isInlinable = false;
+      }
+    }
+
+    @Override
+    public void endVisit(CastExpression node) {
+      TypeMirror castType = node.getTypeMirror();
+      if (!castType.getKind().isPrimitive() && TypeUtil.asTypeElement(castType) != type) {
+        isInlinable = false;
+      }
+    }
+
+    @Override
+    public void endVisit(FunctionInvocation node) {
+      if (!HEADER_FUNCTIONS.contains(node.getFunctionElement().getName())) {
+        isInlinable = false;
+      }
+    }
+  }
+}
@@ -88,7 +88,7 @@ public class AnnotationRewriter extends UnitTreeVisitor {
   }
 
   private void checkAnnotationValidation(TypeDeclaration node) {
-    if (ElementUtil.hasAnnotation(
+    if (queryCache.hasAnnotation(
         TypeUtil.asTypeElement(node.getTypeElement().asType()), GenerateObjectiveCGenerics.class)) {
       if (node.isInterface()) {
         ErrorUtil.error(node, "@GenerateObjectiveCGenerics can't be used for interface.");
@@ -97,7 +97,7 @@ public class Autoboxer extends UnitTreeVisitor {
   private void boxWithClass(Expression expr, TypeElement boxedClass) {
     PrimitiveType primitiveType = typeUtil.unboxedType(boxedClass.asType());
     assert primitiveType != null;
-    ExecutableElement wrapperMethod = ElementUtil.findMethod(
+    ExecutableElement wrapperMethod = queryCache.findMethod(
         boxedClass, VALUEOF_METHOD, TypeUtil.getQualifiedName(primitiveType));
     assert wrapperMethod != null : "could not find valueOf method for " + boxedClass;
     MethodInvocation invocation = new MethodInvocation(
@@ -130,7 +130,7 @@ public class Autoboxer extends UnitTreeVisitor {
     if (primitiveType == null) {
       return;
     }
-    ExecutableElement valueMethod = ElementUtil.findMethod(
+    ExecutableElement valueMethod = queryCache.findMethod(
         boxedClass, TypeUtil.getName(primitiveType) + VALUE_METHOD);
     assert valueMethod != null : "could not find value method for " + boxedClass;
     MethodInvocation invocation = new MethodInvocation(new ExecutablePair(valueMethod), null);
@@ -0,0 +1,395 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.devtools.j2objc.translate;
+
+import com.google.devtools.j2objc.ast.AbstractTypeDeclaration;
+import com.google.devtools.j2objc.ast.ArrayCreation;
+import com.google.devtools.j2objc.ast.Assignment;
+import com.google.devtools.j2objc.ast.Block;
+import com.google.devtools.j2objc.ast.ClassInstanceCreation;
+import com.google.devtools.j2objc.ast.CompilationUnit;
+import com.google.devtools.j2objc.ast.DoStatement;
+import com.google.devtools.j2objc.ast.EnhancedForStatement;
+import com.google.devtools.j2objc.ast.EnumDeclaration;
+import com.google.devtools.j2objc.ast.Expression;
+import com.google.devtools.j2objc.ast.ForStatement;
+import com.google.devtools.j2objc.ast.InfixExpression;
+import com.google.devtools.j2objc.ast.LambdaExpression;
+import com.google.devtools.j2objc.ast.MethodDeclaration;
+import com.google.devtools.j2objc.ast.MethodInvocation;
+import com.google.devtools.j2objc.ast.PostfixExpression;
+import com.google.devtools.j2objc.ast.PrefixExpression;
+import com.google.devtools.j2objc.ast.ReturnStatement;
+import com.google.devtools.j2objc.ast.SingleVariableDeclaration;
+import com.google.devtools.j2objc.ast.Statement;
+import com.google.devtools.j2objc.ast.SuperMethodInvocation;
+import com.google.devtools.j2objc.ast.TreeNode;
+import com.google.devtools.j2objc.ast.TreeUtil;
+import com.google.devtools.j2objc.ast.TreeVisitor;
+import com.google.devtools.j2objc.ast.TypeDeclaration;
+import com.google.devtools.j2objc.ast.UnitTreeVisitor;
+import com.google.devtools.j2objc.ast.VariableDeclarationExpression;
+import com.google.devtools.j2objc.ast.VariableDeclarationFragment;
+import com.google.devtools.j2objc.ast.WhileStatement;
+import com.google.devtools.j2objc.util.TranslationStats.Counter;
+import com.google.devtools.j2objc.util.TypeUtil;
+import com.google.j2objc.annotations.AutoreleasePool;
+import com.google.j2objc.annotations.NoAutoreleasePool;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * Wraps the bodies of loops that are estimated to autorelease many objects per iteration in an
+ * autorelease pool, as if their loop variable was annotated with AutoreleasePool. Enabled by
+ * -Xauto-autorelease-pools.
+ *
+ * <p>The estimate counts object and array creations, string concatenations, boxed values and
+ * objects returned by method calls in the loop body. Allocations in a nested loop without a pool
+ * of its own are counted once. Loops can be excluded with the NoAutoreleasePool annotation.
+ *
+ * <p>Without ARC, local variables don't retain their values, so a loop isn't changed if its body
+ * assigns an object to a variable declared outside of it, or returns an object. Those objects
+ * would be deallocated when the pool is drained at the end of the iteration.
+ */
+public class AutoreleasePoolInjector extends UnitTreeVisitor {
+
+  private static final Logger logger = Logger.getLogger(AutoreleasePoolInjector.class.getName());
+
+  private final int threshold;
+
+  // The estimated number of autoreleased objects per iteration of the loops being visited.
+  private final Map<Statement, Integer> estimates = new HashMap<>();
+
+  public AutoreleasePoolInjector(CompilationUnit unit) {
+    super(unit);
+    threshold = options.autoreleasePoolThreshold();
+  }
+
+  public boolean isEnabled() {
+    return threshold > 0;
+  }
+
+  @Override
+  public boolean visit(TypeDeclaration node) {
+    return !isOptedOut(node.getTypeElement());
+  }
+
+  @Override
+  public boolean visit(EnumDeclaration node) {
+    return !isOptedOut(node.getTypeElement());
+  }
+
+  @Override
+  public boolean visit(MethodDeclaration node) {
+    return !isOptedOut(node.getExecutableElement());
+  }
+
+  private boolean isOptedOut(Element element) {
+    return queryCache.hasAnnotation(element, NoAutoreleasePool.class);
+  }
+
+  @Override
+  public boolean visit(ForStatement node) {
+    estimates.put(node, 0);
+    return true;
+  }
+
+  @Override
+  public void endVisit(ForStatement node) {
+    if (node.getInitializers().size() == 1
+        && node.getInitializer(0) instanceof VariableDeclarationExpression) {
+      for (VariableDeclarationFragment fragment :
+          ((VariableDeclarationExpression) node.getInitializer(0)).getFragments()) {
+        if (hasPoolAnnotation(fragment.getVariableElement())) {
+          estimates.remove(node);
+          return;
+        }
+      }
+    }
+    endVisitLoop(node, node.getBody());
+  }
+
+  @Override
+  public boolean visit(EnhancedForStatement node) {
+    estimates.put(node, 0);
+    return true;
+  }
+
+  @Override
+  public void endVisit(EnhancedForStatement node) {
+    if (hasPoolAnnotation(node.getParameter().getVariableElement())) {
+      estimates.remove(node);
+      return;
+    }
+    endVisitLoop(node, node.getBody());
+  }
+
+  @Override
+  public boolean visit(WhileStatement node) {
+    estimates.put(node, 0);
+    return true;
+  }
+
+  @Override
+  public void endVisit(WhileStatement node) {
+    endVisitLoop(node, node.getBody());
+  }
+
+  @Override
+  public boolean visit(DoStatement node) {
+    estimates.put(node, 0);
+    return true;
+  }
+
+  @Override
+  public void endVisit(DoStatement node) {
+    endVisitLoop(node, node.getBody());
+  }
+
+  private boolean hasPoolAnnotation(VariableElement loopVariable) {
+    return queryCache.hasAnnotation(loopVariable, AutoreleasePool.class)
+        || queryCache.hasAnnotation(loopVariable, NoAutoreleasePool.class);
+  }
+
+  private void endVisitLoop(Statement loop, Statement body) {
+    int estimate = estimates.remove(loop);
+    if (body instanceof Block && ((Block) body).hasAutoreleasePool()) {
+      return;
+    }
+    if (estimate < threshold) {
+      // The loop's allocations are released by the pool of an enclosing loop, if any.
+      addEstimate(loop, estimate);
+      return;
+    }
+    if (!canAddPool(body)) {
+      logger.fine(String.format("%s:%d: can't add an autorelease pool to a loop that stores or "
+          + "returns objects", unit.getSourceFilePath(), loop.getLineNumber()));
+      addEstimate(loop, estimate);
+      return;
+    }
+    Block block;
+    if (body instanceof Block) {
+      block = (Block) body;
+    } else {
+      block = new Block();
+      body.replaceWith(block);
+      block.addStatement(body);
+    }
+    block.setHasAutoreleasePool(true);
+    options.getTranslationStats().increment(Counter.AUTORELEASE_POOL_LOOPS);
+    logger.info(String.format(
+        "%s:%d: added an autorelease pool to a loop with an estimated %d autoreleased %s per "
+        + "iteration", unit.getSourceFilePath(), loop.getLineNumber(), estimate,
+        estimate == 1 ? "object" : "objects"));
+  }
+
+  /**
+   * Adds to the estimate of the innermost loop whose body contains a node, if the node is in the
+   * same method or lambda as that loop.
+   */
+  private void addEstimate(TreeNode node, int count) {
+    if (count == 0) {
+      return;
+    }
+    TreeNode child = node;
+    for (TreeNode parent = node.getParent(); parent != null;
+         child = parent, parent = parent.getParent()) {
+      if (parent instanceof AbstractTypeDeclaration || parent instanceof MethodDeclaration
+          || parent instanceof LambdaExpression) {
+        return;
+      }
+      Integer estimate = estimates.get(parent);
+      // Allocations in a loop's condition or updaters aren't released by a pool in its body,
+      // but are by the pool of an enclosing loop.
+      if (estimate != null && getBody(parent) == child) {
+        estimates.put((Statement) parent, estimate + count);
+        return;
+      }
+    }
+  }
+
+  private static Statement getBody(TreeNode loop) {
+    if (loop instanceof ForStatement) {
+      return ((ForStatement) loop).getBody();
+    } else if (loop instanceof EnhancedForStatement) {
+      return ((EnhancedForStatement) loop).getBody();
+    } else if (loop instanceof WhileStatement) {
+      return ((WhileStatement) loop).getBody();
+    } else {
+      return ((DoStatement) loop).getBody();
+    }
+  }
+
+  @Override
+  public void endVisit(ClassInstanceCreation node) {
+    addEstimate(node, 1);
+  }
+
+  @Override
+  public void endVisit(ArrayCreation node) {
+    addEstimate(node, 1);
+  }
+
+  @Override
+  public void endVisit(InfixExpression node) {
+    if (typeUtil.isString(node.getTypeMirror())) {
+      addEstimate(node, 1);
+    }
+  }
+
+  @Override
+  public void endVisit(Assignment node) {
+    if (node.getOperator() == Assignment.Operator.PLUS_ASSIGN
+        && typeUtil.isString(node.getTypeMirror())) {
+      addEstimate(node, 1);
+    }
+  }
+
+  @Override
+  public void endVisit(MethodInvocation node) {
+    if (TypeUtil.isReferenceType(node.getTypeMirror())) {
+      addEstimate(node, 1);
+    }
+  }
+
+  @Override
+  public void endVisit(SuperMethodInvocation node) {
+    if (TypeUtil.isReferenceType(node.getTypeMirror())) {
+      addEstimate(node, 1);
+    }
+  }
+
+  @Override
+  public void postVisit(TreeNode node) {
+    if (node instanceof Expression && isBoxed((Expression) node)) {
+      addEstimate(node, 1);
+    }
+  }
+
+  /**
+   * Returns true if a primitive expression is assigned or passed to a reference, which the
+   * Autoboxer will box later.
+   */
+  private static boolean isBoxed(Expression node) {
+    TypeMirror type = node.getTypeMirror();
+    if (type == null || !type.getKind().isPrimitive()) {
+      return false;
+    }
+    TreeNode parent = node.getParent();
+    TypeMirror targetType = null;
+    if (parent instanceof VariableDeclarationFragment) {
+      targetType = ((VariableDeclarationFragment) parent).getVariableElement().asType();
+    } else if (parent instanceof Assignment
+        && ((Assignment) parent).getRightHandSide() == node) {
+      targetType = ((Assignment) parent).getTypeMirror();
+    } else if (parent instanceof MethodInvocation) {
+      MethodInvocation invocation = (MethodInvocation) parent;
+      targetType = getParameterType(
+          invocation.getExecutableType(), invocation.getArguments(), node);
+    } else if (parent instanceof ClassInstanceCreation) {
+      ClassInstanceCreation creation = (ClassInstanceCreation) parent;
+      targetType = getParameterType(creation.getExecutableType(), creation.getArguments(), node);
+    }
+    return targetType != null && TypeUtil.isReferenceType(targetType);
+  }
+
+  private static TypeMirror getParameterType(
+      ExecutableType type, List<Expression> arguments, Expression argument) {
+    int index = arguments.indexOf(argument);
+    List<? extends TypeMirror> paramTypes = type.getParameterTypes();
+    return index >= 0 && index < paramTypes.size() ? paramTypes.get(index) : null;
+  }
+
+  /**
+   * Returns true if draining a pool at the end of each iteration can't deallocate an object that
+   * is still referenced after the iteration.
+   */
+  private boolean canAddPool(Statement body) {
+    if (options.useARC()) {
+      return true;
+    }
+    Set<VariableElement> bodyVariables = new HashSet<>();
+    boolean[] safe = { true };
+    body.accept(new TreeVisitor() {
+      @Override
+      public boolean visit(VariableDeclarationFragment node) {
+        bodyVariables.add(node.getVariableElement());
+        return true;
+      }
+
+      @Override
+      public boolean visit(SingleVariableDeclaration node) {
+        bodyVariables.add(node.getVariableElement());
+        return true;
+      }
+
+      // Lambdas and classes declared in the loop are run outside of its iterations.
+      @Override
+      public boolean visit(LambdaExpression node) {
+        return false;
+      }
+
+      @Override
+      public boolean visit(TypeDeclaration node) {
+        return false;
+      }
+
+      @Override
+      public void endVisit(ReturnStatement node) {
+        Expression expr = node.getExpression();
+        if (expr != null && TypeUtil.isReferenceType(expr.getTypeMirror())) {
+          safe[0] = false;
+        }
+      }
+
+      @Override
+      public void endVisit(Assignment node) {
+        checkOuterVariable(node.getLeftHandSide());
+      }
+
+      @Override
+      public void endVisit(PrefixExpression node) {
+        PrefixExpression.Operator op = node.getOperator();
+        if (op == PrefixExpression.Operator.INCREMENT
+            || op == PrefixExpression.Operator.DECREMENT) {
+          checkOuterVariable(node.getOperand());
+        }
+      }
+
+      @Override
+      public void endVisit(PostfixExpression node) {
+        checkOuterVariable(node.getOperand());
+      }
+
+      // Boxed values and other objects stored in local variables declared outside of the loop.
+      private void checkOuterVariable(Expression target) {
+        VariableElement var = TreeUtil.getVariableElement(target);
+        if (var != null && !var.getKind().isField()
+            && TypeUtil.isReferenceType(var.asType()) && !bodyVariables.contains(var)) {
+          safe[0] = false;
+        }
+      }
+    });
+    return safe[0];
+  }
+}
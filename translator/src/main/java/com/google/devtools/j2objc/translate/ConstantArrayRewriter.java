@@ -0,0 +1,215 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.devtools.j2objc.translate;
+
+import com.google.devtools.j2objc.ast.ArrayAccess;
+import com.google.devtools.j2objc.ast.ArrayCreation;
+import com.google.devtools.j2objc.ast.ArrayInitializer;
+import com.google.devtools.j2objc.ast.CompilationUnit;
+import com.google.devtools.j2objc.ast.Expression;
+import com.google.devtools.j2objc.ast.FieldAccess;
+import com.google.devtools.j2objc.ast.FieldDeclaration;
+import com.google.devtools.j2objc.ast.FunctionInvocation;
+import com.google.devtools.j2objc.ast.Name;
+import com.google.devtools.j2objc.ast.NativeDeclaration;
+import com.google.devtools.j2objc.ast.NumberLiteral;
+import com.google.devtools.j2objc.ast.QualifiedName;
+import com.google.devtools.j2objc.ast.SimpleName;
+import com.google.devtools.j2objc.ast.TreeNode;
+import com.google.devtools.j2objc.ast.TreeUtil;
+import com.google.devtools.j2objc.ast.TreeVisitor;
+import com.google.devtools.j2objc.ast.UnitTreeVisitor;
+import com.google.devtools.j2objc.ast.VariableDeclarationFragment;
+import com.google.devtools.j2objc.gen.LiteralGenerator;
+import com.google.devtools.j2objc.types.FunctionElement;
+import com.google.devtools.j2objc.util.ElementUtil;
+import com.google.devtools.j2objc.util.NameTable;
+import com.google.devtools.j2objc.util.TranslationStats.Counter;
+import com.google.devtools.j2objc.util.TranslationUtil;
+import com.google.devtools.j2objc.util.TypeUtil;
+import com.google.devtools.j2objc.util.UnicodeUtils;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * Converts private static final primitive arrays that are initialized with constants and only
+ * read into static const C arrays, so they aren't allocated and filled by +initialize.
+ *
+ * <p>An array is only converted if all its uses are element reads and length reads, which are
+ * rewritten to a bounds-checked accessor function and an integer literal. IOSArray instances
+ * store their elements inline, so they can't wrap a C array; any other use, such as passing the
+ * array to a method or iterating over it, keeps the field as an IOSArray.
+ */
+public class ConstantArrayRewriter extends UnitTreeVisitor {
+
+  // The candidate fields with their constant elements, in declaration order.
+  private final Map<VariableElement, List<Object>> candidates = new LinkedHashMap<>();
+  private final Map<VariableElement, FieldDeclaration> declarations = new HashMap<>();
+  private final Map<VariableElement, List<Expression>> uses = new HashMap<>();
+
+  public ConstantArrayRewriter(CompilationUnit unit) {
+    super(unit);
+  }
+
+  @Override
+  public boolean visit(CompilationUnit node) {
+    // Find the candidates first, since fields can be used before they are declared.
+    node.accept(new TreeVisitor() {
+      @Override
+      public boolean visit(FieldDeclaration fieldDecl) {
+        VariableDeclarationFragment fragment = fieldDecl.getFragment();
+        VariableElement var = fragment.getVariableElement();
+        List<Object> values = getConstantValues(var, fragment.getInitializer());
+        if (values != null) {
+          candidates.put(var, values);
+          declarations.put(var, fieldDecl);
+          uses.put(var, new ArrayList<>());
+        }
+        return false;
+      }
+    });
+    return !candidates.isEmpty();
+  }
+
+  private List<Object> getConstantValues(VariableElement var, Expression initializer) {
+    if (!ElementUtil.isStatic(var) || !ElementUtil.isFinal(var) || !ElementUtil.isPrivate(var)
+        || !var.getAnnotationMirrors().isEmpty()) {
+      return null;
+    }
+    TypeMirror type = var.asType();
+    if (!TypeUtil.isArray(type)
+        || !((ArrayType) type).getComponentType().getKind().isPrimitive()) {
+      return null;
+    }
+    if (initializer instanceof ArrayCreation) {
+      initializer = ((ArrayCreation) initializer).getInitializer();
+    }
+    if (!(initializer instanceof ArrayInitializer)) {
+      return null;
+    }
+    List<Expression> elements = ((ArrayInitializer) initializer).getExpressions();
+    if (elements.isEmpty()) {
+      return null;
+    }
+    List<Object> values = new ArrayList<>();
+    for (Expression element : elements) {
+      Object value = element.getConstantValue();
+      if (value == null) {
+        return null;
+      }
+      values.add(value);
+    }
+    return values;
+  }
+
+  @Override
+  public void endVisit(SimpleName node) {
+    VariableElement var = TreeUtil.getVariableElement(node);
+    if (var == null || !candidates.containsKey(var)) {
+      return;
+    }
+    TreeNode parent = node.getParent();
+    Expression use = node;
+    if (parent instanceof QualifiedName && ((QualifiedName) parent).getName() == node) {
+      use = (QualifiedName) parent;
+    } else if (parent instanceof FieldAccess && ((FieldAccess) parent).getName() == node) {
+      if (!(((FieldAccess) parent).getExpression() instanceof Name)) {
+        // The field is accessed through an expression that may have side effects.
+        candidates.remove(var);
+        return;
+      }
+      use = (FieldAccess) parent;
+    }
+    if (isElementRead(use) || isLengthRead(use)) {
+      uses.get(var).add(use);
+    } else {
+      candidates.remove(var);
+    }
+  }
+
+  private static boolean isElementRead(Expression use) {
+    TreeNode parent = use.getParent();
+    return parent instanceof ArrayAccess && ((ArrayAccess) parent).getArray() == use
+        && !TranslationUtil.isAssigned((ArrayAccess) parent);
+  }
+
+  private static boolean isLengthRead(Expression use) {
+    TreeNode parent = use.getParent();
+    if (parent instanceof QualifiedName) {
+      QualifiedName name = (QualifiedName) parent;
+      return name.getQualifier() == use && name.getName().getIdentifier().equals("length");
+    }
+    if (parent instanceof FieldAccess) {
+      FieldAccess access = (FieldAccess) parent;
+      return access.getExpression() == use && access.getName().getIdentifier().equals("length");
+    }
+    return false;
+  }
+
+  @Override
+  public void endVisit(CompilationUnit node) {
+    for (Map.Entry<VariableElement, List<Object>> entry : candidates.entrySet()) {
+      convert(node, entry.getKey(), entry.getValue());
+    }
+  }
+
+  private void convert(CompilationUnit node, VariableElement var, List<Object> values) {
+    TypeMirror componentType = ((ArrayType) var.asType()).getComponentType();
+    String objcType = NameTable.getPrimitiveObjCType(componentType);
+    String arrayName = nameTable.getVariableQualifiedName(var);
+    String getterName = arrayName + "_Get";
+    int length = values.size();
+
+    StringBuilder sb = new StringBuilder();
+    sb.append(UnicodeUtils.format("static const %s %s[] = {", objcType, arrayName));
+    for (int i = 0; i < length; i++) {
+      sb.append(i % 8 == 0 ? "\n  " : " ");
+      sb.append(LiteralGenerator.generate(values.get(i)));
+      if (i < length - 1) {
+        sb.append(',');
+      }
+    }
+    sb.append("\n};\n\n");
+    sb.append(UnicodeUtils.format(
+        "__attribute__((always_inline)) static inline %s %s(int32_t index) {\n"
+        + "  IOSArray_checkIndex(%d, index);\n"
+        + "  return %s[index];\n"
+        + "}", objcType, getterName, length, arrayName));
+    node.addNativeBlock(NativeDeclaration.newOuterDeclaration(null, sb.toString()));
+
+    FunctionElement getter = new FunctionElement(
+        getterName, componentType, ElementUtil.getDeclaringClass(var))
+        .addParameters(typeUtil.getInt());
+    for (Expression use : uses.get(var)) {
+      TreeNode parent = use.getParent();
+      if (parent instanceof ArrayAccess) {
+        FunctionInvocation invocation = new FunctionInvocation(getter, componentType);
+        invocation.addArgument(TreeUtil.remove(((ArrayAccess) parent).getIndex()));
+        parent.replaceWith(invocation);
+      } else {
+        parent.replaceWith(NumberLiteral.newIntLiteral(length, typeUtil));
+      }
+    }
+
+    declarations.get(var).remove();
+    options.getTranslationStats().increment(Counter.CONSTANT_TABLES);
+  }
+}
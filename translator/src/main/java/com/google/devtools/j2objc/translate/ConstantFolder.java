@@ -0,0 +1,564 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.devtools.j2objc.translate;
+
+import com.google.devtools.j2objc.ast.Assignment;
+import com.google.devtools.j2objc.ast.BooleanLiteral;
+import com.google.devtools.j2objc.ast.CastExpression;
+import com.google.devtools.j2objc.ast.CharacterLiteral;
+import com.google.devtools.j2objc.ast.CompilationUnit;
+import com.google.devtools.j2objc.ast.ConditionalExpression;
+import com.google.devtools.j2objc.ast.Expression;
+import com.google.devtools.j2objc.ast.InfixExpression;
+import com.google.devtools.j2objc.ast.MethodInvocation;
+import com.google.devtools.j2objc.ast.NumberLiteral;
+import com.google.devtools.j2objc.ast.ParenthesizedExpression;
+import com.google.devtools.j2objc.ast.PostfixExpression;
+import com.google.devtools.j2objc.ast.PrefixExpression;
+import com.google.devtools.j2objc.ast.QualifiedName;
+import com.google.devtools.j2objc.ast.SimpleName;
+import com.google.devtools.j2objc.ast.StringLiteral;
+import com.google.devtools.j2objc.ast.TreeNode;
+import com.google.devtools.j2objc.ast.TreeUtil;
+import com.google.devtools.j2objc.ast.TreeVisitor;
+import com.google.devtools.j2objc.ast.UnitTreeVisitor;
+import com.google.devtools.j2objc.ast.VariableDeclarationFragment;
+import com.google.devtools.j2objc.ast.VariableDeclarationStatement;
+import com.google.devtools.j2objc.util.ElementUtil;
+import com.google.devtools.j2objc.util.TranslationStats.Counter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * Folds expressions with known values into literals, using Java semantics. Besides the
+ * compile-time constants reported by javac, this propagates locals that are initialized with a
+ * constant and never modified, folds the expressions that use them, and evaluates length() and
+ * isEmpty() on constant strings. The operands of a string concatenation are left alone unless
+ * javac reports them as constant, since any other concatenation creates a new string at runtime. The declarations of propagated locals are removed. Enabled by
+ * -Xfold-constants.
+ */
+public class ConstantFolder extends UnitTreeVisitor {
+
+  private static final Logger logger = Logger.getLogger(ConstantFolder.class.getName());
+
+  // Locals that are assigned, incremented or decremented after their declaration.
+  private final Set<VariableElement> modifiedVars = new HashSet<>();
+  private final Map<VariableElement, Object> constantVars = new HashMap<>();
+  private final List<VariableDeclarationFragment> propagatedFragments = new ArrayList<>();
+  // Propagated locals with references that can't be replaced, like "s" in "s.CONSTANT".
+  private final Set<VariableElement> keptVars = new HashSet<>();
+  // The literals created by this pass that haven't been folded into a larger expression.
+  private final Set<Expression> foldedLiterals = new HashSet<>();
+
+  public ConstantFolder(CompilationUnit unit) {
+    super(unit);
+  }
+
+  @Override
+  public boolean visit(CompilationUnit node) {
+    if (!options.foldConstants()) {
+      return false;
+    }
+    node.accept(new TreeVisitor() {
+      @Override
+      public void endVisit(Assignment node) {
+        addModifiedVar(node.getLeftHandSide());
+      }
+
+      @Override
+      public void endVisit(PostfixExpression node) {
+        addModifiedVar(node.getOperand());
+      }
+
+      @Override
+      public void endVisit(PrefixExpression node) {
+        PrefixExpression.Operator op = node.getOperator();
+        if (op == PrefixExpression.Operator.INCREMENT
+            || op == PrefixExpression.Operator.DECREMENT) {
+          addModifiedVar(node.getOperand());
+        }
+      }
+    });
+    return true;
+  }
+
+  private void addModifiedVar(Expression expr) {
+    VariableElement var = TreeUtil.getVariableElement(expr);
+    if (var != null) {
+      modifiedVars.add(var);
+    }
+  }
+
+  @Override
+  public void endVisit(CompilationUnit node) {
+    int nLocals = 0;
+    for (VariableDeclarationFragment fragment : propagatedFragments) {
+      if (keptVars.contains(fragment.getVariableElement())) {
+        continue;
+      }
+      VariableDeclarationStatement stmt = (VariableDeclarationStatement) fragment.getParent();
+      fragment.remove();
+      if (stmt.getFragments().isEmpty()) {
+        stmt.remove();
+      }
+      nLocals++;
+    }
+    int nFolded = foldedLiterals.size();
+    if (nFolded > 0 || nLocals > 0) {
+      options.getTranslationStats().add(Counter.FOLDED_CONSTANTS, nFolded);
+      logger.info(String.format("%s: folded %d constant %s, removed %d constant %s",
+          node.getSourceFilePath(), nFolded, nFolded == 1 ? "expression" : "expressions",
+          nLocals, nLocals == 1 ? "local" : "locals"));
+    }
+    modifiedVars.clear();
+    constantVars.clear();
+    propagatedFragments.clear();
+    keptVars.clear();
+    foldedLiterals.clear();
+  }
+
+  @Override
+  public void endVisit(VariableDeclarationFragment node) {
+    VariableElement var = node.getVariableElement();
+    Expression init = node.getInitializer();
+    Object value = init != null ? getValue(init) : null;
+    if (value == null || !ElementUtil.isLocalVariable(var) || modifiedVars.contains(var)) {
+      return;
+    }
+    TypeMirror type = var.asType();
+    if (!type.getKind().isPrimitive() && !typeUtil.isString(type)) {
+      return;
+    }
+    constantVars.put(var, convert(value, type));
+    foldedLiterals.remove(init);
+    if (node.getParent() instanceof VariableDeclarationStatement) {
+      propagatedFragments.add(node);
+    }
+  }
+
+  @Override
+  public void endVisit(SimpleName node) {
+    Element element = node.getElement();
+    if (!(element instanceof VariableElement) || !constantVars.containsKey(element)) {
+      return;
+    }
+    VariableElement var = (VariableElement) element;
+    if (node.getParent() instanceof QualifiedName || isConcatenationOperand(node)) {
+      keptVars.add(var);
+    } else {
+      node.replaceWith(newLiteral(constantVars.get(var), var.asType()));
+    }
+  }
+
+  @Override
+  public void endVisit(CastExpression node) {
+    Object value = getValue(node.getExpression());
+    TypeMirror type = node.getTypeMirror();
+    if (value != null && (type.getKind().isPrimitive() || typeUtil.isString(type))) {
+      fold(node, value instanceof Boolean || value instanceof String
+          ? value : convert(value, type));
+    }
+  }
+
+  @Override
+  public void endVisit(ConditionalExpression node) {
+    Object test = getValue(node.getExpression());
+    Object thenValue = getValue(node.getThenExpression());
+    Object elseValue = getValue(node.getElseExpression());
+    if (test instanceof Boolean && thenValue != null && elseValue != null) {
+      fold(node, (Boolean) test ? thenValue : elseValue);
+    }
+  }
+
+  @Override
+  public void endVisit(InfixExpression node) {
+    Object value = node.getConstantValue();
+    if (value == null) {
+      InfixExpression.Operator op = node.getOperator();
+      for (Expression operand : node.getOperands()) {
+        Object operandValue = getValue(operand);
+        value = value == null ? operandValue : evaluate(op, value, operandValue);
+        if (value == null) {
+          return;
+        }
+      }
+    }
+    fold(node, value);
+  }
+
+  @Override
+  public void endVisit(MethodInvocation node) {
+    ExecutableElement method = node.getExecutableElement();
+    Expression receiver = node.getExpression();
+    if (receiver == null || !node.getArguments().isEmpty()
+        || !typeUtil.isString(ElementUtil.getDeclaringClass(method))) {
+      return;
+    }
+    Object value = getValue(receiver);
+    if (value instanceof String) {
+      String name = ElementUtil.getName(method);
+      if (name.equals("length")) {
+        fold(node, ((String) value).length());
+      } else if (name.equals("isEmpty")) {
+        fold(node, ((String) value).isEmpty());
+      }
+    }
+  }
+
+  @Override
+  public void endVisit(ParenthesizedExpression node) {
+    Object value = getValue(node.getExpression());
+    if (value != null) {
+      fold(node, value);
+    }
+  }
+
+  @Override
+  public void endVisit(PrefixExpression node) {
+    Object value = getValue(node.getOperand());
+    if (value == null || isSignedLiteral(node)) {
+      return;
+    }
+    switch (node.getOperator()) {
+      case NOT:
+        value = value instanceof Boolean ? !(Boolean) value : null;
+        break;
+      case POSITIVE:
+        value = isNumeric(value) ? promote(value) : null;
+        break;
+      case NEGATIVE:
+        // Subtracting from zero would turn -0.0 into 0.0.
+        if (value instanceof Double) {
+          value = -(Double) value;
+        } else if (value instanceof Float) {
+          value = -(Float) value;
+        } else {
+          value = evaluate(InfixExpression.Operator.MINUS, 0, value);
+        }
+        break;
+      case COMPLEMENT:
+        value = evaluate(InfixExpression.Operator.XOR, -1, value);
+        break;
+      default:
+        value = null;
+    }
+    if (value != null) {
+      fold(node, value);
+    }
+  }
+
+  /**
+   * Replaces an expression with a literal of its value. The literals it was folded from are no
+   * longer counted separately.
+   */
+  private void fold(Expression node, Object value) {
+    TypeMirror type = node.getTypeMirror();
+    if (!type.getKind().isPrimitive() && !typeUtil.isString(type)) {
+      return;
+    }
+    if (node.getConstantValue() == null && isConcatenationOperand(node)) {
+      return;
+    }
+    node.accept(new TreeVisitor() {
+      @Override
+      public void postVisit(TreeNode child) {
+        foldedLiterals.remove(child);
+      }
+    });
+    Expression literal = newLiteral(value, type);
+    node.replaceWith(literal);
+    foldedLiterals.add(literal);
+  }
+
+  /**
+   * Returns true if an expression is an operand of a string concatenation. Only a concatenation
+   * of compile-time constants is interned; OperatorRewriter merges literal operands into one
+   * literal, so replacing any other operand with a literal would make "==" true where Java
+   * creates a new string.
+   */
+  private boolean isConcatenationOperand(Expression node) {
+    TreeNode parent = node.getParent();
+    while (parent instanceof ParenthesizedExpression) {
+      parent = parent.getParent();
+    }
+    return parent instanceof InfixExpression
+        && typeUtil.isString(((InfixExpression) parent).getTypeMirror());
+  }
+
+  private Expression newLiteral(Object value, TypeMirror type) {
+    value = convert(value, type);
+    if (value instanceof Boolean) {
+      return new BooleanLiteral((Boolean) value, typeUtil);
+    } else if (value instanceof Character) {
+      return new CharacterLiteral((Character) value, typeUtil);
+    } else if (value instanceof Number) {
+      return new NumberLiteral((Number) value, type);
+    } else {
+      return new StringLiteral(value.toString(), typeUtil);
+    }
+  }
+
+  /**
+   * Returns true for a sign applied to a number literal from the source, like "-1.5f", which
+   * is already as simple as its value and keeps the source's spelling.
+   */
+  private static boolean isSignedLiteral(PrefixExpression node) {
+    PrefixExpression.Operator op = node.getOperator();
+    return (op == PrefixExpression.Operator.NEGATIVE || op == PrefixExpression.Operator.POSITIVE)
+        && node.getOperand() instanceof NumberLiteral
+        && ((NumberLiteral) node.getOperand()).getToken() != null;
+  }
+
+  /**
+   * Returns the value of a literal or a constant name, or null if it isn't known.
+   */
+  private static Object getValue(Expression expr) {
+    switch (expr.getKind()) {
+      case BOOLEAN_LITERAL:
+      case CHARACTER_LITERAL:
+      case NUMBER_LITERAL:
+      case STRING_LITERAL:
+      case SIMPLE_NAME:
+      case QUALIFIED_NAME:
+        return expr.getConstantValue();
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Converts a value to the representation javac uses for constants of the given type: Integer
+   * for byte, short and int values and Character for char values.
+   */
+  private static Object convert(Object value, TypeMirror type) {
+    if (!isNumeric(value)) {
+      return value;
+    }
+    Number n = value instanceof Character ? (int) (Character) value : (Number) value;
+    switch (type.getKind()) {
+      case BYTE:
+        return (int) n.byteValue();
+      case SHORT:
+        return (int) n.shortValue();
+      case CHAR:
+        return (char) n.intValue();
+      case INT:
+        return n.intValue();
+      case LONG:
+        return n.longValue();
+      case FLOAT:
+        return n.floatValue();
+      case DOUBLE:
+        return n.doubleValue();
+      default:
+        return value;
+    }
+  }
+
+  private static boolean isNumeric(Object value) {
+    return value instanceof Number || value instanceof Character;
+  }
+
+  /**
+   * Applies unary numeric promotion.
+   */
+  private static Object promote(Object value) {
+    return value instanceof Character ? Integer.valueOf((Character) value) : value;
+  }
+
+  /**
+   * Returns the result of a binary operation, or null if it can't be evaluated.
+   */
+  private static Object evaluate(InfixExpression.Operator op, Object lhs, Object rhs) {
+    if (lhs == null || rhs == null) {
+      return null;
+    }
+    if (op == InfixExpression.Operator.PLUS
+        && (lhs instanceof String || rhs instanceof String)) {
+      return String.valueOf(lhs) + rhs;
+    }
+    if (lhs instanceof Boolean && rhs instanceof Boolean) {
+      return evaluateBoolean(op, (Boolean) lhs, (Boolean) rhs);
+    }
+    if (!isNumeric(lhs) || !isNumeric(rhs)) {
+      return null;
+    }
+    lhs = promote(lhs);
+    rhs = promote(rhs);
+    switch (op) {
+      case LEFT_SHIFT:
+      case RIGHT_SHIFT_SIGNED:
+      case RIGHT_SHIFT_UNSIGNED:
+        return evaluateShift(op, (Number) lhs, ((Number) rhs).longValue());
+      default:
+    }
+    TypeKind kind = binaryPromotion(lhs, rhs);
+    Number a = (Number) lhs;
+    Number b = (Number) rhs;
+    switch (kind) {
+      case DOUBLE:
+        return evaluateDouble(op, a.doubleValue(), b.doubleValue());
+      case FLOAT:
+        Object result = evaluateDouble(op, a.floatValue(), b.floatValue());
+        return result instanceof Double ? (Object) ((Double) result).floatValue() : result;
+      case LONG:
+        return evaluateLong(op, a.longValue(), b.longValue());
+      default:
+        Object longResult = evaluateLong(op, a.longValue(), b.longValue());
+        return longResult instanceof Long ? (Object) ((Long) longResult).intValue() : longResult;
+    }
+  }
+
+  private static TypeKind binaryPromotion(Object lhs, Object rhs) {
+    if (lhs instanceof Double || rhs instanceof Double) {
+      return TypeKind.DOUBLE;
+    } else if (lhs instanceof Float || rhs instanceof Float) {
+      return TypeKind.FLOAT;
+    } else if (lhs instanceof Long || rhs instanceof Long) {
+      return TypeKind.LONG;
+    }
+    return TypeKind.INT;
+  }
+
+  private static Object evaluateBoolean(InfixExpression.Operator op, boolean a, boolean b) {
+    switch (op) {
+      case AND:
+      case CONDITIONAL_AND:
+        return a && b;
+      case OR:
+      case CONDITIONAL_OR:
+        return a || b;
+      case XOR:
+      case NOT_EQUALS:
+        return a != b;
+      case EQUALS:
+        return a == b;
+      default:
+        return null;
+    }
+  }
+
+  private static Object evaluateShift(InfixExpression.Operator op, Number lhs, long distance) {
+    if (lhs instanceof Long) {
+      long a = lhs.longValue();
+      int n = (int) (distance & 0x3f);
+      switch (op) {
+        case LEFT_SHIFT:
+          return a << n;
+        case RIGHT_SHIFT_SIGNED:
+          return a >> n;
+        default:
+          return a >>> n;
+      }
+    } else if (lhs instanceof Integer) {
+      int a = lhs.intValue();
+      int n = (int) (distance & 0x1f);
+      switch (op) {
+        case LEFT_SHIFT:
+          return a << n;
+        case RIGHT_SHIFT_SIGNED:
+          return a >> n;
+        default:
+          return a >>> n;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Evaluates an integral operation with long arithmetic; the caller truncates int results,
+   * which gives the same wrap-around as int arithmetic.
+   */
+  private static Object evaluateLong(InfixExpression.Operator op, long a, long b) {
+    switch (op) {
+      case TIMES:
+        return a * b;
+      case DIVIDE:
+        return b == 0 ? null : (Object) (a / b);
+      case REMAINDER:
+        return b == 0 ? null : (Object) (a % b);
+      case PLUS:
+        return a + b;
+      case MINUS:
+        return a - b;
+      case AND:
+        return a & b;
+      case OR:
+        return a | b;
+      case XOR:
+        return a ^ b;
+      default:
+        return compare(op, Long.compare(a, b), a == b);
+    }
+  }
+
+  private static Object evaluateDouble(InfixExpression.Operator op, double a, double b) {
+    switch (op) {
+      case TIMES:
+        return a * b;
+      case DIVIDE:
+        return a / b;
+      case REMAINDER:
+        return a % b;
+      case PLUS:
+        return a + b;
+      case MINUS:
+        return a - b;
+      case LESS:
+        return a < b;
+      case GREATER:
+        return a > b;
+      case LESS_EQUALS:
+        return a <= b;
+      case GREATER_EQUALS:
+        return a >= b;
+      case EQUALS:
+        return a == b;
+      case NOT_EQUALS:
+        return a != b;
+      default:
+        return null;
+    }
+  }
+
+  private static Boolean compare(InfixExpression.Operator op, int comparison, boolean equal) {
+    switch (op) {
+      case LESS:
+        return comparison < 0;
+      case GREATER:
+        return comparison > 0;
+      case LESS_EQUALS:
+        return comparison <= 0;
+      case GREATER_EQUALS:
+        return comparison >= 0;
+      case EQUALS:
+        return equal;
+      case NOT_EQUALS:
+        return !equal;
+      default:
+        return null;
+    }
+  }
+}
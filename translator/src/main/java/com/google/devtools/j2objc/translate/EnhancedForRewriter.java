@@ -57,8 +57,16 @@ import javax.lang.model.type.TypeMirror;
  */
 public class EnhancedForRewriter extends UnitTreeVisitor {
 
+  private final OwnershipAnalyzer ownershipAnalyzer;
+
   public EnhancedForRewriter(CompilationUnit unit) {
     super(unit);
+    ownershipAnalyzer = new OwnershipAnalyzer(unit);
+  }
+
+  @Override
+  public void endVisit(CompilationUnit node) {
+    ownershipAnalyzer.logElisions();
   }
 
   @Override
@@ -67,7 +75,7 @@ public class EnhancedForRewriter extends UnitTreeVisitor {
     TypeMirror expressionType = expression.getTypeMirror();
     VariableElement loopVariable = node.getParameter().getVariableElement();
 
-    if (ElementUtil.hasAnnotation(loopVariable, AutoreleasePool.class)) {
+    if (queryCache.hasAnnotation(loopVariable, AutoreleasePool.class)) {
       makeBlock(node.getBody()).setHasAutoreleasePool(true);
     }
 
@@ -91,6 +99,8 @@ public class EnhancedForRewriter extends UnitTreeVisitor {
     TypeMirror componentType = expressionType.getComponentType();
     TypeElement iosArrayType = typeUtil.getIosArray(componentType);
     TypeMirror bufferType = new PointerType(componentType);
+    boolean isBorrowed = ownershipAnalyzer.isEnabled()
+        && ownershipAnalyzer.isBorrowedArrayElement(loopVariable, expression, node.getBody());
     VariableElement arrayVariable = GeneratedVariableElement.newLocalVar(
         "a__", expressionType, null);
     VariableElement bufferVariable = GeneratedVariableElement.newLocalVar("b__", bufferType, null)
@@ -126,7 +136,11 @@ public class EnhancedForRewriter extends UnitTreeVisitor {
             componentType,
             PrefixExpression.Operator.DEREFERENCE,
             new PostfixExpression(bufferVariable, PostfixExpression.Operator.INCREMENT));
-    if (TypeUtil.isReferenceType(componentType) && !typeUtil.isBoxedType(componentType)) {
+    if (TypeUtil.isReferenceType(componentType) && !typeUtil.isBoxedType(componentType)
+        && isBorrowed) {
+      // The array keeps the element alive while the body runs.
+      ownershipAnalyzer.recordElision(node);
+    } else if (TypeUtil.isReferenceType(componentType) && !typeUtil.isBoxedType(componentType)) {
       // Using RETAIN_AND_AUTORELEASE macro instead of JreRetainedLocalValue() because ARC handles
       // this automatically without the extra retain/autorelease.
       FunctionElement autoReleaseloopVariableElement =
@@ -149,7 +163,7 @@ public class EnhancedForRewriter extends UnitTreeVisitor {
 
   private boolean emitJavaIteratorLoop(VariableElement loopVariable) {
     AnnotationMirror loopTranslation =
-        ElementUtil.getAnnotation(loopVariable, LoopTranslation.class);
+        queryCache.getAnnotation(loopVariable, LoopTranslation.class);
     if (loopTranslation == null) {
       return false;
     }
@@ -44,10 +44,12 @@ import com.google.devtools.j2objc.ast.UnitTreeVisitor;
 import com.google.devtools.j2objc.ast.VariableDeclarationExpression;
 import com.google.devtools.j2objc.ast.VariableDeclarationFragment;
 import com.google.devtools.j2objc.ast.VariableDeclarationStatement;
+import com.google.devtools.j2objc.gen.LiteralGenerator;
 import com.google.devtools.j2objc.types.FunctionElement;
 import com.google.devtools.j2objc.types.GeneratedTypeElement;
 import com.google.devtools.j2objc.types.GeneratedVariableElement;
 import com.google.devtools.j2objc.util.ElementUtil;
+import com.google.devtools.j2objc.util.ErrorUtil;
 import com.google.devtools.j2objc.util.NameTable;
 import com.google.devtools.j2objc.util.TypeUtil;
 import com.google.devtools.j2objc.util.UnicodeUtils;
@@ -80,10 +82,52 @@ public class EnumRewriter extends UnitTreeVisitor {
 
   @Override
   public void endVisit(EnumDeclaration node) {
-    addEnumInitialization(node);
-    addValuesMethod(node);
-    addValueOfMethod(node);
-    addExtraNativeDecls(node);
+    boolean lazyConstants = hasLazyConstants(node);
+    if (lazyConstants) {
+      addConstantNamesTable(node);
+    } else {
+      addEnumInitialization(node);
+    }
+    addValuesMethod(node, lazyConstants);
+    addValueOfMethod(node, lazyConstants);
+    addExtraNativeDecls(node, lazyConstants);
+  }
+
+  /**
+   * Returns true if the enum's constants are created by its fromOrdinal function on first
+   * access, rather than by its class initializer.
+   */
+  private boolean hasLazyConstants(EnumDeclaration node) {
+    if (!ElementUtil.hasLazyEnumConstants(node.getTypeElement())
+        || node.getEnumConstants().isEmpty()) {
+      return false;
+    }
+    if (options.useARC()) {
+      ErrorUtil.error(node, "LazyEnumConstants is not supported with ARC.");
+      return false;
+    }
+    if (!isSimpleEnum(node)) {
+      ErrorUtil.error(node,
+          "LazyEnumConstants enums can't have constants with arguments or class bodies.");
+      return false;
+    }
+    return true;
+  }
+
+  // The constant names are string literals, so creating a constant doesn't need to look up its
+  // name in the metadata, and valueOf() doesn't need to create every constant to find one.
+  private void addConstantNamesTable(EnumDeclaration node) {
+    if (options.stripEnumConstants()) {
+      return;
+    }
+    StringBuilder sb = new StringBuilder(UnicodeUtils.format(
+        "static NSString *const %s_names_[] = {", nameTable.getFullName(node.getTypeElement())));
+    for (EnumConstantDeclaration constant : node.getEnumConstants()) {
+      sb.append("\n  ").append(LiteralGenerator.generateStringLiteral(
+          ElementUtil.getName(constant.getVariableElement()))).append(',');
+    }
+    sb.append("\n};\n");
+    unit.addNativeBlock(NativeDeclaration.newOuterDeclaration(null, sb.toString()));
   }
 
   private void addEnumInitialization(EnumDeclaration node) {
@@ -112,7 +156,7 @@ public class EnumRewriter extends UnitTreeVisitor {
       if (method.getParameters().size() > 0 || method.isVarArgs()) {
         return false;
       }
-      if (ElementUtil.hasAnnotation(method, ObjectiveCName.class)) {
+      if (queryCache.hasAnnotation(method, ObjectiveCName.class)) {
         return false;
       }
       TypeElement valueType = ElementUtil.getDeclaringClass(method);
@@ -274,23 +318,29 @@ public class EnumRewriter extends UnitTreeVisitor {
     return true;
   }
 
-  private void addValuesMethod(EnumDeclaration node) {
+  private void addValuesMethod(EnumDeclaration node, boolean lazyConstants) {
     TypeElement type = node.getTypeElement();
-    ExecutableElement method = ElementUtil.findMethod(type, "values");
+    ExecutableElement method = queryCache.findMethod(type, "values");
     assert method != null : "Can't find values method on enum type.";
     String typeName = nameTable.getFullName(type);
     MethodDeclaration methodDecl = new MethodDeclaration(method);
     Block body = new Block();
     methodDecl.setBody(body);
+    if (lazyConstants) {
+      body.addStatement(new NativeStatement(UnicodeUtils.format(
+          "  for (int32_t i = 0; i < %s; i++) {\n"
+          + "    %s_fromOrdinal(i);\n"
+          + "  }", node.getEnumConstants().size(), typeName)));
+    }
     body.addStatement(new NativeStatement(UnicodeUtils.format(
         "  return [IOSObjectArray arrayWithObjects:%s_values_ count:%s type:%s_class_()];",
         typeName, node.getEnumConstants().size(), typeName)));
     node.addBodyDeclaration(methodDecl);
   }
 
-  private void addValueOfMethod(EnumDeclaration node) {
+  private void addValueOfMethod(EnumDeclaration node, boolean lazyConstants) {
     TypeElement type = node.getTypeElement();
-    ExecutableElement method = ElementUtil.findMethod(type, "valueOf", "java.lang.String");
+    ExecutableElement method = queryCache.findMethod(type, "valueOf", "java.lang.String");
     assert method != null : "Can't find valueOf method on enum type.";
     String typeName = nameTable.getFullName(type);
     int numConstants = node.getEnumConstants().size();
@@ -308,7 +358,14 @@ public class EnumRewriter extends UnitTreeVisitor {
           "  @throw create_JavaLangError_initWithNSString_(@\"Enum.valueOf(String) "
           + "called on %s enum with stripped constant names\");", typeName));
     } else {
-      if (numConstants > 0) {
+      if (lazyConstants) {
+        impl.append(UnicodeUtils.format(
+            "  for (int i = 0; i < %s; i++) {\n"
+            + "    if ([name isEqual:%s_names_[i]]) {\n"
+            + "      return %s_fromOrdinal(i);\n"
+            + "    }\n"
+            + "  }\n", numConstants, typeName, typeName));
+      } else if (numConstants > 0) {
         impl.append(UnicodeUtils.format(
             "  for (int i = 0; i < %s; i++) {\n"
             + "    %s *e = %s_values_[i];\n"
@@ -324,7 +381,7 @@ public class EnumRewriter extends UnitTreeVisitor {
     node.addBodyDeclaration(methodDecl);
   }
 
-  private void addExtraNativeDecls(EnumDeclaration node) {
+  private void addExtraNativeDecls(EnumDeclaration node, boolean lazyConstants) {
     String typeName = nameTable.getFullName(node.getTypeElement());
     String enumName = node.getTypeElement().getSimpleName().toString();
     String nativeName = nameTable.getNativeEnumName(node.getTypeElement());
@@ -398,6 +455,33 @@ public class EnumRewriter extends UnitTreeVisitor {
     // Avoid "comparison of unsigned expression >= 0 is always true" error.
     if (numConstants == 0) {
       outerImpl.append("  return nil;\n}\n");
+    } else if (lazyConstants) {
+      // Each constant is created under its own once token, so its constructor runs exactly once
+      // even when several threads access it first at the same time.
+      String constantName = options.stripEnumConstants()
+          ? ENUM_NAME_STRIPPED : typeName + "_names_[ordinal]";
+      outerImpl.insert(0, UnicodeUtils.format(
+          "static dispatch_once_t %s_once_[%s];\n\n", typeName, numConstants));
+      outerImpl.append(UnicodeUtils.format(
+          "  %s_initialize();\n"
+          + "  if (ordinal < 0 || ordinal >= %s) {\n"
+          + "    return nil;\n"
+          + "  }\n"
+          + "  %s *e = __atomic_load_n(&%s_values_[ordinal], __ATOMIC_ACQUIRE);\n"
+          + "  if (!e) {\n"
+          + "    dispatch_once(&%s_once_[ordinal], ^{\n"
+          + "      Class cls = [%s class];\n"
+          + "      %s *newEnum = "
+          + "objc_constructInstance(cls, calloc(class_getInstanceSize(cls), 1));\n"
+          + "      %s_initWithNSString_withInt_(newEnum, %s, ordinal);\n"
+          + "      __atomic_store_n(&%s_values_[ordinal], newEnum, __ATOMIC_RELEASE);\n"
+          + "    });\n"
+          + "    e = __atomic_load_n(&%s_values_[ordinal], __ATOMIC_ACQUIRE);\n"
+          + "  }\n"
+          + "  return e;\n"
+          + "}\n",
+          typeName, numConstants, typeName, typeName, typeName, typeName, typeName, typeName,
+          constantName, typeName, typeName));
     } else {
       outerImpl.append(UnicodeUtils.format(
           "  %s_initialize();\n"
@@ -51,6 +51,7 @@ import com.google.devtools.j2objc.types.GeneratedVariableElement;
 import com.google.devtools.j2objc.util.CaptureInfo;
 import com.google.devtools.j2objc.util.ElementUtil;
 import com.google.devtools.j2objc.util.NameTable;
+import com.google.devtools.j2objc.util.TranslationUtil;
 import com.google.devtools.j2objc.util.TypeUtil;
 import com.google.devtools.j2objc.util.UnicodeUtils;
 import java.lang.reflect.Modifier;
@@ -174,24 +175,10 @@ public class Functionizer extends UnitTreeVisitor {
   }
 
   private static boolean isFunctionizingCandidate(MethodDeclaration node) {
-    ExecutableElement method = node.getExecutableElement();
-    int modifiers = node.getModifiers();
-
     // Default methods, static methods and constructors are always functionized. We only care about
     // regular instance methods.
-    if (!ElementUtil.isInstanceMethod(method) || ElementUtil.isDefault(method)
-        || Modifier.isAbstract(modifiers) || !node.hasDeclaration()) {
-      return false;
-    }
-
-    // Don't functionize equals/hash, since they are often called by collections.
-    String name = ElementUtil.getName(method);
-    if ((name.equals("hashCode") && method.getParameters().isEmpty())
-        || (name.equals("equals") && method.getParameters().size() == 1)) {
-      return false;
-    }
-
-    return true;
+    return TranslationUtil.isFunctionizable(node.getExecutableElement())
+        && !Modifier.isAbstract(node.getModifiers()) && node.hasDeclaration();
   }
 
   private FunctionElement newFunctionElement(ExecutableElement method) {
@@ -249,7 +236,8 @@ public class Functionizer extends UnitTreeVisitor {
   public void endVisit(MethodInvocation node) {
     ExecutableElement method = node.getExecutableElement();
     if (ElementUtil.isStatic(method) || ElementUtil.isPrivate(method)
-        || (functionizableMethods.contains(method) && ElementUtil.isFinal(method))) {
+        || (functionizableMethods.contains(method) && ElementUtil.isFinal(method))
+        || translationUtil.isDirectlyCallable(method)) {
       functionizeInvocation(node, method, node.getExpression(), node.getArguments());
     }
   }
@@ -343,7 +331,8 @@ public class Functionizer extends UnitTreeVisitor {
     boolean isPrivate = ElementUtil.isPrivate(element);
     List<BodyDeclaration> declarationList = TreeUtil.asDeclarationSublist(node);
     if (!isInstanceMethod || isDefaultMethod || Modifier.isNative(node.getModifiers())
-        || isPrivate || functionizableMethods.contains(element)) {
+        || isPrivate || functionizableMethods.contains(element)
+        || translationUtil.isDirectlyCallable(element)) {
       TypeElement declaringClass = ElementUtil.getDeclaringClass(element);
       boolean isEnumConstructor = isConstructor && ElementUtil.isEnum(declaringClass);
       if (isConstructor) {
@@ -430,7 +419,8 @@ public class Functionizer extends UnitTreeVisitor {
     TreeUtil.copyList(method.getParameters(), function.getParameters());
 
     function.setModifiers(method.getModifiers() & Modifier.STATIC);
-    if (ElementUtil.isPrivate(elem) || (isInstanceMethod && !ElementUtil.isDefault(elem))) {
+    if (ElementUtil.isPrivate(elem) || (isInstanceMethod && !ElementUtil.isDefault(elem)
+        && !translationUtil.isDirectlyCallable(elem))) {
       function.addModifiers(Modifier.PRIVATE);
     } else {
       function.addModifiers(Modifier.PUBLIC);
@@ -124,7 +124,7 @@ public class GwtConverter extends UnitTreeVisitor {
         && ElementUtil.getQualifiedName(ElementUtil.getDeclaringClass(method)).equals(GWT_CLASS)
         && args.size() == 1) {
       // Convert GWT.create(Foo.class) to Foo.class.newInstance().
-      ExecutableElement newMethod = ElementUtil.findMethod(typeUtil.getJavaClass(), "newInstance");
+      ExecutableElement newMethod = queryCache.findMethod(typeUtil.getJavaClass(), "newInstance");
       Expression clazz = args.remove(0);
       node.setExpression(clazz);
       node.setExecutablePair(new ExecutablePair(newMethod));
@@ -122,7 +122,7 @@ public class InnerClassExtractor extends UnitTreeVisitor {
 
       // Check for erroneous WeakOuter annotation on static inner class.
       TypeElement type = node.getTypeElement();
-      if (ElementUtil.isStatic(type) && ElementUtil.hasAnnotation(type, WeakOuter.class)) {
+      if (ElementUtil.isStatic(type) && queryCache.hasAnnotation(type, WeakOuter.class)) {
         ErrorUtil.warning("static class " + type.getQualifiedName() + " has WeakOuter annotation");
       }
     }
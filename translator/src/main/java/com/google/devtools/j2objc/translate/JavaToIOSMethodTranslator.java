@@ -151,7 +151,7 @@ public class JavaToIOSMethodTranslator extends UnitTreeVisitor {
     if (singleton) {
       block.addStatement(new ReturnStatement(new ThisExpression(type.asType())));
     } else {
-      ExecutableElement cloneElement = ElementUtil.findMethod(typeUtil.getJavaObject(), "clone");
+      ExecutableElement cloneElement = queryCache.findMethod(typeUtil.getJavaObject(), "clone");
       MethodInvocation invocation = new MethodInvocation(new ExecutablePair(cloneElement), null);
       if (options.useReferenceCounting()) {
         invocation = new MethodInvocation(new ExecutablePair(RETAIN_METHOD), invocation);
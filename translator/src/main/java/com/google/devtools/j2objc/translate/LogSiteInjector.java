@@ -154,7 +154,7 @@ public final class LogSiteInjector extends UnitTreeVisitor {
       }
 
       ExecutableElement injectedMethod =
-          ElementUtil.findMethod(cls, LOGP_METHOD, argTypes.toArray(new String[0]));
+          queryCache.findMethod(cls, LOGP_METHOD, argTypes.toArray(new String[0]));
       if (injectedMethod != null) {
         MethodInvocation injectedInvocation =
             new MethodInvocation(new ExecutablePair(injectedMethod), node.getExpression().copy());
@@ -170,7 +170,7 @@ public final class LogSiteInjector extends UnitTreeVisitor {
   private MethodInvocation injectLogSite(MethodInvocation node) {
     // Inject withInjectedLogSite(class, method, line, file) into method expression.
     ExecutableElement injectedMethod =
-        ElementUtil.findMethod(
+        queryCache.findMethod(
             loggingApiClass,
             WITH_INJECTED_LOG_SITE_METHOD,
             "java.lang.String",
@@ -208,7 +208,7 @@ public final class LogSiteInjector extends UnitTreeVisitor {
     logpArgs.add(node.getArguments().get(0).copy());
 
     ExecutableElement injectedMethod =
-        ElementUtil.findMethod(
+        queryCache.findMethod(
             cls,
             LOGP_METHOD,
             "java.util.logging.Level",
@@ -225,7 +225,7 @@ public final class LogSiteInjector extends UnitTreeVisitor {
 
   private MethodInvocation injectEnclosingClass(MethodInvocation node, TypeElement cls) {
     ExecutableElement injectedMethod =
-        ElementUtil.findMethod(cls, "forInjectedClassName", "java.lang.String");
+        queryCache.findMethod(cls, "forInjectedClassName", "java.lang.String");
     MethodInvocation injectedInvocation =
         new MethodInvocation(new ExecutablePair(injectedMethod), node.getExpression().copy());
     injectedInvocation.addArgument(enclosingClassLiteral(node));
@@ -95,7 +95,7 @@ public class ObjectiveCAdapterMethodAnnotation extends UnitTreeVisitor {
 
   private @Nullable String adapterSelectorForMethod(ExecutableElement methodExecutable) {
     AnnotationMirror annotation =
-        ElementUtil.getAnnotation(methodExecutable, ObjectiveCAdapterMethod.class);
+        queryCache.getAnnotation(methodExecutable, ObjectiveCAdapterMethod.class);
     if (annotation != null) {
       String selector = (String) ElementUtil.getAnnotationValue(annotation, "selector");
       if (selector != null) {
@@ -118,7 +118,7 @@ public class ObjectiveCAdapterMethodAnnotation extends UnitTreeVisitor {
 
   private @Nullable EnumSet<Adaptation> adaptationsForMethod(ExecutableElement methodExecutable) {
     AnnotationMirror annotation =
-        ElementUtil.getAnnotation(methodExecutable, ObjectiveCAdapterMethod.class);
+        queryCache.getAnnotation(methodExecutable, ObjectiveCAdapterMethod.class);
     if (annotation != null) {
       @SuppressWarnings("unchecked")
       List<? extends AnnotationValue> annotationValues =
@@ -152,7 +152,7 @@ public class ObjectiveCAdapterMethodAnnotation extends UnitTreeVisitor {
 
   private boolean isMethodAnnotatedForAdapter(ExecutableElement methodExecutable) {
     boolean methodIsAnnotated =
-        ElementUtil.hasAnnotation(methodExecutable, ObjectiveCAdapterMethod.class)
+        queryCache.hasAnnotation(methodExecutable, ObjectiveCAdapterMethod.class)
             || ElementUtil.hasQualifiedNamedAnnotation(
                 methodExecutable, "com.google.j2kt.annotations.Throws");
     if (!methodIsAnnotated) {
@@ -464,7 +464,7 @@ public class ObjectiveCAdapterMethodAnnotation extends UnitTreeVisitor {
     TypeElement returnTypeElement = TypeUtil.asTypeElement(originalReturnType);
     if (returnTypeElement != null) {
       AnnotationMirror protocolAnnotation =
-          ElementUtil.getAnnotation(returnTypeElement, ObjectiveCAdapterProtocol.class);
+          queryCache.getAnnotation(returnTypeElement, ObjectiveCAdapterProtocol.class);
       if (protocolAnnotation != null) {
         String protocolName = (String) ElementUtil.getAnnotationValue(protocolAnnotation, "value");
         if (isNullOrEmpty(protocolName)) {
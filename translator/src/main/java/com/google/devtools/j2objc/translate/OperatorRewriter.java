@@ -16,6 +16,7 @@ package com.google.devtools.j2objc.translate;
 
 import com.google.common.collect.Lists;
 import com.google.devtools.j2objc.ast.Assignment;
+import com.google.devtools.j2objc.ast.Block;
 import com.google.devtools.j2objc.ast.BooleanLiteral;
 import com.google.devtools.j2objc.ast.CStringLiteral;
 import com.google.devtools.j2objc.ast.CastExpression;
@@ -35,6 +36,7 @@ import com.google.devtools.j2objc.ast.PrefixExpression;
 import com.google.devtools.j2objc.ast.QualifiedName;
 import com.google.devtools.j2objc.ast.ReturnStatement;
 import com.google.devtools.j2objc.ast.SimpleName;
+import com.google.devtools.j2objc.ast.Statement;
 import com.google.devtools.j2objc.ast.StringLiteral;
 import com.google.devtools.j2objc.ast.SuperFieldAccess;
 import com.google.devtools.j2objc.ast.SynchronizedStatement;
@@ -80,9 +82,16 @@ public class OperatorRewriter extends UnitTreeVisitor {
   private Set<VariableElement> retainedLocalCandidates = new HashSet<>();
   private boolean maybeRetainMethodReturn = false;
   private boolean methodIsConstructorOrDestructor = false;
+  private final OwnershipAnalyzer ownershipAnalyzer;
 
   public OperatorRewriter(CompilationUnit unit) {
     super(unit);
+    ownershipAnalyzer = new OwnershipAnalyzer(unit);
+  }
+
+  @Override
+  public void endVisit(CompilationUnit node) {
+    ownershipAnalyzer.logElisions();
   }
 
   @Override
@@ -270,14 +279,16 @@ public class OperatorRewriter extends UnitTreeVisitor {
           if (initializer instanceof FieldAccess || initializer instanceof Name) {
             VariableElement initializerVar = TreeUtil.getVariableElement(initializer);
             if (!ElementUtil.isVolatile(initializerVar)
-                && !(ElementUtil.isStatic(initializerVar) && ElementUtil.isFinal(initializerVar))) {
+                && !(ElementUtil.isStatic(initializerVar) && ElementUtil.isFinal(initializerVar))
+                && !isBorrowedLocal(node)) {
               rewriteRetainedLocal(initializer);
             }
           } else if (initializer instanceof MethodInvocation) {
             ExecutableElement method = ((MethodInvocation) initializer).getExecutableElement();
             if (!typeUtil.isMappedClass((TypeElement) method.getEnclosingElement())
                 && !ElementUtil.isStatic(method)
-                && !ElementUtil.isDefault(method)) {
+                && !ElementUtil.isDefault(method)
+                && !isBorrowedLocal(node)) {
               rewriteRetainedLocal(initializer);
             }
           }
@@ -286,9 +297,32 @@ public class OperatorRewriter extends UnitTreeVisitor {
     }
   }
 
+  /**
+   * Returns true if a local's value can't be released while it's in scope, so it doesn't need
+   * to be retained. Only locals declared by a block statement outside of synchronized blocks are
+   * checked.
+   */
+  private boolean isBorrowedLocal(VariableDeclarationFragment node) {
+    if (!ownershipAnalyzer.isEnabled() || !retainedLocalCandidateStack.isEmpty()) {
+      return false;
+    }
+    TreeNode stmt = node.getParent();
+    if (!(stmt instanceof VariableDeclarationStatement) || !(stmt.getParent() instanceof Block)) {
+      return false;
+    }
+    List<Statement> stmts = ((Block) stmt.getParent()).getStatements();
+    List<Statement> scope = stmts.subList(stmts.indexOf(stmt) + 1, stmts.size());
+    VariableElement var = node.getVariableElement();
+    if (!ownershipAnalyzer.isBorrowedLocal(var, node.getInitializer(), scope)) {
+      return false;
+    }
+    ownershipAnalyzer.recordElision(node);
+    return true;
+  }
+
   private boolean isRetainedLocal(VariableElement var) {
     if (ElementUtil.isLocalVariable(var)
-        && ElementUtil.hasAnnotation(var, RetainedLocalRef.class)) {
+        && queryCache.hasAnnotation(var, RetainedLocalRef.class)) {
       return true;
     }
     for (Set<VariableElement> candidates : retainedLocalCandidateStack) {
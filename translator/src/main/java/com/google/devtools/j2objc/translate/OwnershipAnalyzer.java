@@ -0,0 +1,389 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.devtools.j2objc.translate;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.devtools.j2objc.ast.ArrayAccess;
+import com.google.devtools.j2objc.ast.Assignment;
+import com.google.devtools.j2objc.ast.ClassInstanceCreation;
+import com.google.devtools.j2objc.ast.CompilationUnit;
+import com.google.devtools.j2objc.ast.ConstructorInvocation;
+import com.google.devtools.j2objc.ast.EnhancedForStatement;
+import com.google.devtools.j2objc.ast.Expression;
+import com.google.devtools.j2objc.ast.FieldAccess;
+import com.google.devtools.j2objc.ast.FunctionInvocation;
+import com.google.devtools.j2objc.ast.InfixExpression;
+import com.google.devtools.j2objc.ast.LambdaExpression;
+import com.google.devtools.j2objc.ast.MethodDeclaration;
+import com.google.devtools.j2objc.ast.MethodInvocation;
+import com.google.devtools.j2objc.ast.NativeExpression;
+import com.google.devtools.j2objc.ast.NativeStatement;
+import com.google.devtools.j2objc.ast.PostfixExpression;
+import com.google.devtools.j2objc.ast.PrefixExpression;
+import com.google.devtools.j2objc.ast.QualifiedName;
+import com.google.devtools.j2objc.ast.ReturnStatement;
+import com.google.devtools.j2objc.ast.SimpleName;
+import com.google.devtools.j2objc.ast.SuperConstructorInvocation;
+import com.google.devtools.j2objc.ast.SuperMethodInvocation;
+import com.google.devtools.j2objc.ast.SynchronizedStatement;
+import com.google.devtools.j2objc.ast.ThisExpression;
+import com.google.devtools.j2objc.ast.ThrowStatement;
+import com.google.devtools.j2objc.ast.TreeNode;
+import com.google.devtools.j2objc.ast.TreeUtil;
+import com.google.devtools.j2objc.ast.TreeVisitor;
+import com.google.devtools.j2objc.ast.TryStatement;
+import com.google.devtools.j2objc.ast.TypeDeclaration;
+import com.google.devtools.j2objc.Options;
+import com.google.devtools.j2objc.util.ElementUtil;
+import com.google.devtools.j2objc.util.TranslationStats.Counter;
+import com.google.devtools.j2objc.util.TypeUtil;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * Proves when a local variable only borrows its value under reference counting, so the
+ * translators that retain and autorelease local values can skip it. A value is borrowed when
+ * nothing in the variable's scope can release it: there are no calls to code that may write
+ * fields, no writes to the fields or arrays it was loaded from, and the variable doesn't escape
+ * through a return or throw statement.
+ *
+ * <p>The analysis is local and conservative. Calls are only allowed to runtime functions and to
+ * methods of immutable final classes such as String, which can't write to translated fields.
+ * Borrowing is disabled by -Xno-retain-elision, which helps when debugging over-releases.
+ */
+public final class OwnershipAnalyzer {
+
+  private static final Logger logger = Logger.getLogger(OwnershipAnalyzer.class.getName());
+
+  // Final classes whose methods don't write any field that other classes can read.
+  private static final ImmutableSet<String> IMMUTABLE_CLASSES = ImmutableSet.of(
+      "java.lang.Boolean",
+      "java.lang.Byte",
+      "java.lang.Character",
+      "java.lang.Double",
+      "java.lang.Float",
+      "java.lang.Integer",
+      "java.lang.Long",
+      "java.lang.Math",
+      "java.lang.Short",
+      "java.lang.StrictMath",
+      "java.lang.String");
+
+  private final CompilationUnit unit;
+  private final Options options;
+  private final Map<MethodDeclaration, Integer> elisionsPerMethod = new LinkedHashMap<>();
+
+  OwnershipAnalyzer(CompilationUnit unit) {
+    this.unit = unit;
+    this.options = unit.getEnv().options();
+  }
+
+  /**
+   * Returns true if borrowed values may be left unretained.
+   */
+  boolean isEnabled() {
+    return options.useReferenceCounting() && options.elideBorrowedRetains();
+  }
+
+  /**
+   * Returns true if a local variable initialized from a field, variable or method invocation
+   * can't have its value released while the statements of its scope are run.
+   */
+  boolean isBorrowedLocal(
+      VariableElement var, Expression initializer, Iterable<? extends TreeNode> scope) {
+    Effects effects = new Effects(var);
+    for (TreeNode node : scope) {
+      node.accept(effects);
+    }
+    if (effects.mayRelease || effects.escapes) {
+      return false;
+    }
+    return !effects.mayReleaseLoad(initializer);
+  }
+
+  /**
+   * Returns true if a loop variable that is assigned the elements of an array can't have its
+   * value released while the loop's body is run.
+   */
+  boolean isBorrowedArrayElement(VariableElement var, Expression array, TreeNode body) {
+    Effects effects = new Effects(var);
+    body.accept(effects);
+    return !effects.mayRelease && !effects.escapes && !effects.writesArrays
+        && !effects.mayReleaseLoad(array);
+  }
+
+  /**
+   * Records that the retain and autorelease of a value was elided.
+   */
+  void recordElision(TreeNode node) {
+    options.getTranslationStats().increment(Counter.ELIDED_RETAINS);
+    MethodDeclaration method = TreeUtil.getEnclosingMethod(node);
+    if (method != null) {
+      elisionsPerMethod.merge(method, 1, Integer::sum);
+    }
+  }
+
+  /**
+   * Logs the number of elided retain/autorelease pairs of each method.
+   */
+  void logElisions() {
+    for (Map.Entry<MethodDeclaration, Integer> entry : elisionsPerMethod.entrySet()) {
+      ExecutableElement method = entry.getKey().getExecutableElement();
+      int count = entry.getValue();
+      logger.fine(String.format("%s:%d: elided %d retain/release %s in %s.%s()",
+          unit.getSourceFilePath(), entry.getKey().getLineNumber(), count,
+          count == 1 ? "pair" : "pairs", ElementUtil.getDeclaringClass(method).getSimpleName(),
+          ElementUtil.getName(method)));
+    }
+    elisionsPerMethod.clear();
+  }
+
+  /**
+   * Returns the fields read to load a value, such as "a" and "b" for "this.a.b", or null if the
+   * value is loaded from the result of a method invocation or another expression, which may be
+   * owned by any field or array.
+   */
+  private static Set<VariableElement> getLoadedFields(Expression expr) {
+    Set<VariableElement> fields = new HashSet<>();
+    while (true) {
+      expr = TreeUtil.trimParentheses(expr);
+      VariableElement var = TreeUtil.getVariableElement(expr);
+      if (var != null && var.getKind().isField()) {
+        fields.add(var);
+      }
+      if (expr instanceof FieldAccess) {
+        expr = ((FieldAccess) expr).getExpression();
+      } else if (expr instanceof QualifiedName) {
+        expr = ((QualifiedName) expr).getQualifier();
+      } else if (expr instanceof SimpleName || expr instanceof ThisExpression) {
+        return fields;
+      } else {
+        return null;
+      }
+    }
+  }
+
+  private static boolean isImmutableClass(TypeElement type) {
+    return type != null && IMMUTABLE_CLASSES.contains(type.getQualifiedName().toString());
+  }
+
+  private static boolean isImmutableType(TypeMirror type) {
+    return isImmutableClass(TypeUtil.asTypeElement(type));
+  }
+
+  /**
+   * Collects the writes and calls of a subtree that can release a borrowed value.
+   */
+  private static class Effects extends TreeVisitor {
+
+    private final VariableElement local;
+    private final Set<VariableElement> assignedFields = new HashSet<>();
+    private boolean writesArrays = false;
+    private boolean mayRelease = false;
+    private boolean escapes = false;
+
+    Effects(VariableElement local) {
+      this.local = local;
+    }
+
+    /**
+     * Returns true if the writes may release the value of an expression.
+     */
+    boolean mayReleaseLoad(Expression expr) {
+      Set<VariableElement> fields = getLoadedFields(expr);
+      if (fields == null) {
+        return !assignedFields.isEmpty() || writesArrays;
+      }
+      for (VariableElement field : fields) {
+        if (assignedFields.contains(field)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private void addWrite(Expression target) {
+      target = TreeUtil.trimParentheses(target);
+      if (target instanceof ArrayAccess) {
+        writesArrays = true;
+        return;
+      }
+      VariableElement var = TreeUtil.getVariableElement(target);
+      if (var == null) {
+        // A write through a pointer or another expression that can't be resolved.
+        mayRelease = true;
+      } else if (var.getKind().isField()) {
+        assignedFields.add(var);
+      }
+    }
+
+    // Lambdas and classes declared in the scope aren't run by it.
+    @Override
+    public boolean visit(LambdaExpression node) {
+      return false;
+    }
+
+    @Override
+    public boolean visit(TypeDeclaration node) {
+      return false;
+    }
+
+    @Override
+    public void endVisit(Assignment node) {
+      addWrite(node.getLeftHandSide());
+      if (node.getOperator() == Assignment.Operator.PLUS_ASSIGN
+          && isImmutableType(node.getTypeMirror())) {
+        checkDescription(node.getRightHandSide());
+      }
+    }
+
+    @Override
+    public void endVisit(InfixExpression node) {
+      if (node.getOperator() == InfixExpression.Operator.PLUS
+          && isImmutableType(node.getTypeMirror())) {
+        for (Expression operand : node.getOperands()) {
+          checkDescription(operand);
+        }
+      }
+    }
+
+    // String concatenation calls the description method of objects that aren't strings.
+    private void checkDescription(Expression operand) {
+      TypeMirror type = operand.getTypeMirror();
+      if (TypeUtil.isReferenceType(type) && !isImmutableType(type)) {
+        mayRelease = true;
+      }
+    }
+
+    @Override
+    public void endVisit(EnhancedForStatement node) {
+      // Iterating over a collection calls its iterator or fast enumeration methods.
+      if (!TypeUtil.isArray(node.getExpression().getTypeMirror())) {
+        mayRelease = true;
+      }
+    }
+
+    @Override
+    public void endVisit(SynchronizedStatement node) {
+      // Locals that are live across a synchronized block are retained by OperatorRewriter, since
+      // the block's exception handling may leave them pointing at released values.
+      mayRelease = true;
+    }
+
+    @Override
+    public void endVisit(TryStatement node) {
+      // Resources are closed when the statement completes.
+      if (!node.getResources().isEmpty()) {
+        mayRelease = true;
+      }
+    }
+
+    @Override
+    public void endVisit(PrefixExpression node) {
+      PrefixExpression.Operator op = node.getOperator();
+      if (op == PrefixExpression.Operator.INCREMENT || op == PrefixExpression.Operator.DECREMENT
+          || op == PrefixExpression.Operator.ADDRESS_OF) {
+        addWrite(node.getOperand());
+      }
+    }
+
+    @Override
+    public void endVisit(PostfixExpression node) {
+      addWrite(node.getOperand());
+    }
+
+    @Override
+    public void endVisit(MethodInvocation node) {
+      if (!isImmutableClass(ElementUtil.getDeclaringClass(node.getExecutableElement()))) {
+        mayRelease = true;
+      }
+    }
+
+    @Override
+    public void endVisit(SuperMethodInvocation node) {
+      mayRelease = true;
+    }
+
+    @Override
+    public void endVisit(FunctionInvocation node) {
+      TypeElement declaringClass = node.getFunctionElement().getDeclaringClass();
+      // Functions without a declaring class are runtime functions, which only write through
+      // pointer arguments.
+      if (declaringClass != null && !isImmutableClass(declaringClass)) {
+        mayRelease = true;
+      }
+    }
+
+    @Override
+    public void endVisit(ClassInstanceCreation node) {
+      if (node.getAnonymousClassDeclaration() != null
+          || !isImmutableClass(ElementUtil.getDeclaringClass(node.getExecutableElement()))) {
+        mayRelease = true;
+      }
+    }
+
+    @Override
+    public void endVisit(ConstructorInvocation node) {
+      mayRelease = true;
+    }
+
+    @Override
+    public void endVisit(SuperConstructorInvocation node) {
+      mayRelease = true;
+    }
+
+    @Override
+    public void endVisit(NativeStatement node) {
+      mayRelease = true;
+    }
+
+    @Override
+    public void endVisit(NativeExpression node) {
+      mayRelease = true;
+    }
+
+    @Override
+    public void endVisit(ReturnStatement node) {
+      checkEscape(node.getExpression());
+    }
+
+    @Override
+    public void endVisit(ThrowStatement node) {
+      checkEscape(node.getExpression());
+    }
+
+    private void checkEscape(Expression expr) {
+      if (local == null || expr == null || !TypeUtil.isReferenceType(expr.getTypeMirror())) {
+        return;
+      }
+      expr.accept(new TreeVisitor() {
+        @Override
+        public boolean visit(SimpleName node) {
+          if (node.getElement() == local) {
+            escapes = true;
+          }
+          return false;
+        }
+      });
+    }
+  }
+}
@@ -121,7 +121,7 @@ public class RecordExpander extends UnitTreeVisitor {
   private void maybeAddEquals(RecordDeclaration node) {
     TypeElement record = node.getTypeElement();
     TypeMirror recordType = record.asType();
-    ExecutableElement equalsElement = ElementUtil.findMethod(record, "equals", "java.lang.Object");
+    ExecutableElement equalsElement = queryCache.findMethod(record, "equals", "java.lang.Object");
     if (needsMethodDeclaration(node, equalsElement)) {
       VariableElement arg = equalsElement.getParameters().get(0);
       MethodDeclaration equalsDecl =
@@ -179,7 +179,7 @@ public class RecordExpander extends UnitTreeVisitor {
 
   private void maybeAddHashCode(RecordDeclaration node) {
     TypeElement record = node.getTypeElement();
-    ExecutableElement hashCodeElement = ElementUtil.findMethod(record, "hashCode");
+    ExecutableElement hashCodeElement = queryCache.findMethod(record, "hashCode");
     if (needsMethodDeclaration(node, hashCodeElement)) {
       MethodDeclaration hashCodeDecl = new MethodDeclaration(hashCodeElement);
       hashCodeDecl.setHasDeclaration(false);
@@ -187,7 +187,7 @@ public class RecordExpander extends UnitTreeVisitor {
       hashCodeDecl.setBody(block);
       TypeElement objectsElement = elementUtil.getTypeElement("java.util.Objects");
       ExecutableElement method =
-          ElementUtil.findMethod(objectsElement, "hash", "[java.lang.Object");
+          queryCache.findMethod(objectsElement, "hash", "[java.lang.Object");
       if (method == null) {
         ErrorUtil.fatalError(
             new NoSuchMethodError("java.util.Objects.hash(Object...)"), node.toString());
@@ -206,7 +206,7 @@ public class RecordExpander extends UnitTreeVisitor {
 
   private void maybeAddToString(RecordDeclaration node) {
     TypeElement record = node.getTypeElement();
-    ExecutableElement toStringElement = ElementUtil.findMethod(record, "toString");
+    ExecutableElement toStringElement = queryCache.findMethod(record, "toString");
     if (needsMethodDeclaration(node, toStringElement)) {
       MethodDeclaration toStringDecl = new MethodDeclaration(toStringElement);
       toStringDecl.setHasDeclaration(false);
@@ -0,0 +1,169 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.devtools.j2objc.translate;
+
+import com.google.devtools.j2objc.ast.ClassInstanceCreation;
+import com.google.devtools.j2objc.ast.CompilationUnit;
+import com.google.devtools.j2objc.ast.Expression;
+import com.google.devtools.j2objc.ast.MethodDeclaration;
+import com.google.devtools.j2objc.ast.MethodInvocation;
+import com.google.devtools.j2objc.ast.SimpleName;
+import com.google.devtools.j2objc.ast.TreeNode;
+import com.google.devtools.j2objc.ast.TreeUtil;
+import com.google.devtools.j2objc.ast.TreeVisitor;
+import com.google.devtools.j2objc.ast.UnitTreeVisitor;
+import com.google.devtools.j2objc.ast.VariableDeclarationFragment;
+import com.google.devtools.j2objc.ast.VariableDeclarationStatement;
+import com.google.devtools.j2objc.types.GeneratedVariableElement;
+import com.google.devtools.j2objc.util.ElementUtil;
+import com.google.devtools.j2objc.util.TranslationStats.Counter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+
+/**
+ * Replaces records that don't escape the method that creates them with locals for their
+ * components (scalar replacement), so they aren't allocated. A record local qualifies if it's
+ * initialized with the record's implicit canonical constructor and is only used to call its
+ * implicit accessors, which become reads of the component locals. Explicit constructors and
+ * accessors may have side effects or change the values, so those records are left alone.
+ */
+public class RecordScalarizer extends UnitTreeVisitor {
+
+  private static final Logger logger = Logger.getLogger(RecordScalarizer.class.getName());
+
+  private final Map<MethodDeclaration, Integer> eliminatedPerMethod = new LinkedHashMap<>();
+
+  public RecordScalarizer(CompilationUnit unit) {
+    super(unit);
+  }
+
+  @Override
+  public boolean visit(CompilationUnit node) {
+    return options.scalarizeRecords();
+  }
+
+  @Override
+  public void endVisit(CompilationUnit node) {
+    for (Map.Entry<MethodDeclaration, Integer> entry : eliminatedPerMethod.entrySet()) {
+      ExecutableElement method = entry.getKey().getExecutableElement();
+      int count = entry.getValue();
+      logger.info(String.format("%s:%d: eliminated %d record %s in %s.%s()",
+          unit.getSourceFilePath(), entry.getKey().getLineNumber(), count,
+          count == 1 ? "allocation" : "allocations",
+          ElementUtil.getDeclaringClass(method).getSimpleName(), ElementUtil.getName(method)));
+    }
+    eliminatedPerMethod.clear();
+  }
+
+  @Override
+  public void endVisit(VariableDeclarationStatement node) {
+    if (node.getFragments().size() != 1) {
+      return;
+    }
+    VariableDeclarationFragment fragment = node.getFragments().get(0);
+    VariableElement var = fragment.getVariableElement();
+    Expression init = fragment.getInitializer();
+    if (!(init instanceof ClassInstanceCreation)) {
+      return;
+    }
+    ClassInstanceCreation creation = (ClassInstanceCreation) init;
+    ExecutableElement constructor = creation.getExecutableElement();
+    TypeElement record = ElementUtil.getDeclaringClass(constructor);
+    if (creation.getAnonymousClassDeclaration() != null || creation.getExpression() != null
+        || !ElementUtil.isImplicitRecordMember(constructor) || constructor.isVarArgs()
+        || !record.getTypeParameters().isEmpty()) {
+      return;
+    }
+    // The implicit canonical constructor's parameters are the record's components.
+    List<? extends VariableElement> params = constructor.getParameters();
+    Set<String> componentNames = new HashSet<>();
+    for (VariableElement param : params) {
+      componentNames.add(ElementUtil.getName(param));
+    }
+    List<MethodInvocation> accessorCalls =
+        findAccessorCalls(node.getParent(), var, record, componentNames);
+    if (accessorCalls == null) {
+      return;
+    }
+
+    // Declare a local for each component, initialized with its argument in the same order.
+    Map<String, VariableElement> components = new LinkedHashMap<>();
+    List<Expression> args = creation.getArguments();
+    for (VariableElement param : params) {
+      String name = ElementUtil.getName(param);
+      VariableElement component = GeneratedVariableElement.newLocalVar(
+          ElementUtil.getName(var) + '$' + name, param.asType(), var.getEnclosingElement());
+      components.put(name, component);
+      TreeUtil.insertBefore(node,
+          new VariableDeclarationStatement(component, TreeUtil.remove(args.get(0))));
+    }
+    for (MethodInvocation call : accessorCalls) {
+      String name = ElementUtil.getName(call.getExecutableElement());
+      call.replaceWith(new SimpleName(components.get(name)));
+    }
+    recordElimination(TreeUtil.getEnclosingMethod(node));
+    node.remove();
+  }
+
+  /**
+   * Returns the accessor invocations on a record local, or null if the local is used any other
+   * way, so it may escape or be compared by identity.
+   */
+  private static List<MethodInvocation> findAccessorCalls(
+      TreeNode scope, VariableElement var, TypeElement record, Set<String> componentNames) {
+    List<MethodInvocation> calls = new ArrayList<>();
+    boolean[] escapes = new boolean[1];
+    scope.accept(new TreeVisitor() {
+      @Override
+      public void endVisit(SimpleName node) {
+        if (node.getElement() != var) {
+          return;
+        }
+        TreeNode parent = node.getParent();
+        if (parent instanceof MethodInvocation
+            && ((MethodInvocation) parent).getExpression() == node
+            && isImplicitAccessor(
+                ((MethodInvocation) parent).getExecutableElement(), record, componentNames)) {
+          calls.add((MethodInvocation) parent);
+        } else {
+          escapes[0] = true;
+        }
+      }
+    });
+    return escapes[0] ? null : calls;
+  }
+
+  private static boolean isImplicitAccessor(
+      ExecutableElement method, TypeElement record, Set<String> componentNames) {
+    return ElementUtil.getDeclaringClass(method) == record && method.getParameters().isEmpty()
+        && componentNames.contains(ElementUtil.getName(method))
+        && ElementUtil.isImplicitRecordMember(method);
+  }
+
+  private void recordElimination(MethodDeclaration method) {
+    options.getTranslationStats().increment(Counter.ELIMINATED_RECORDS);
+    if (method != null) {
+      eliminatedPerMethod.merge(method, 1, Integer::sum);
+    }
+  }
+}
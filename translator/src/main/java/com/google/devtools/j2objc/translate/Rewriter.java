@@ -91,7 +91,7 @@ public class Rewriter extends UnitTreeVisitor {
   @Override
   public boolean visit(MethodDeclaration node) {
     ExecutableElement element = node.getExecutableElement();
-    if (ElementUtil.hasAnnotation(element, AutoreleasePool.class)) {
+    if (queryCache.hasAnnotation(element, AutoreleasePool.class)) {
       if (TypeUtil.isReferenceType(element.getReturnType())) {
         ErrorUtil.warning(
             "Ignoring AutoreleasePool annotation on method with retainable return type");
@@ -116,7 +116,7 @@ public class Rewriter extends UnitTreeVisitor {
         List<VariableDeclarationFragment> fragments =
             ((VariableDeclarationExpression) initializer).getFragments();
         for (VariableDeclarationFragment fragment : fragments) {
-          if (ElementUtil.hasAnnotation(fragment.getVariableElement(), AutoreleasePool.class)) {
+          if (queryCache.hasAnnotation(fragment.getVariableElement(), AutoreleasePool.class)) {
             Statement loopBody = node.getBody();
             if (!(loopBody instanceof Block)) {
               Block block = new Block();
@@ -273,7 +273,7 @@ public class Rewriter extends UnitTreeVisitor {
         if (method.getParameters().isEmpty()
             && !method.isConstructor()
             && !TypeUtil.isVoid(method.getReturnTypeMirror())
-            && !ElementUtil.hasAnnotation(method.getExecutableElement(), Property.Suppress.class)) {
+            && !queryCache.hasAnnotation(method.getExecutableElement(), Property.Suppress.class)) {
           method.setIsPseudoProperty(true);
         }
       }
@@ -282,12 +282,12 @@ public class Rewriter extends UnitTreeVisitor {
     // Check that specified accessors exist.
     TypeElement enclosingType = TreeUtil.getEnclosingTypeElement(node);
     if (getter != null) {
-      if (ElementUtil.findMethod(enclosingType, getter) == null) {
+      if (queryCache.findMethod(enclosingType, getter) == null) {
         ErrorUtil.error(parent, "Non-existent getter specified: " + getter);
       }
     }
     if (setter != null) {
-      if (ElementUtil.findMethod(
+      if (queryCache.findMethod(
           enclosingType, setter, TypeUtil.getQualifiedName(fieldType)) == null) {
         ErrorUtil.error(parent, "Non-existent setter specified: " + setter);
       }
@@ -315,7 +315,7 @@ public class Rewriter extends UnitTreeVisitor {
   }
 
   private void checkForNullabilityAnnotation(AbstractTypeDeclaration node) {
-    if (ElementUtil.hasAnnotation(node.getTypeElement(), ParametersAreNonnullByDefault.class)) {
+    if (queryCache.hasAnnotation(node.getTypeElement(), ParametersAreNonnullByDefault.class)) {
       unit.setHasNullabilityAnnotations();
     }
   }
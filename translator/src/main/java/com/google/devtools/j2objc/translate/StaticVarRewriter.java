@@ -50,10 +50,19 @@ public class StaticVarRewriter extends UnitTreeVisitor {
     if (!ElementUtil.isStatic(var) || ElementUtil.isConstant(var)) {
       return false;
     }
+    if (isLazyEnumConstant(var)) {
+      // Lazy constants are loaded through a function, even in their own class.
+      return true;
+    }
     TypeElement enclosingType = TreeUtil.getEnclosingTypeElement(currentNode);
     return enclosingType == null || !enclosingType.equals(ElementUtil.getDeclaringClass(var));
   }
 
+  private static boolean isLazyEnumConstant(VariableElement var) {
+    return ElementUtil.isEnumConstant(var)
+        && ElementUtil.hasLazyEnumConstants(ElementUtil.getDeclaringClass(var));
+  }
+
   private void rewriteStaticAccess(Expression node) {
     VariableElement var = TreeUtil.getVariableElement(node);
     if (var == null || !needsStaticLoad(node, var)) {
@@ -62,8 +71,8 @@ public class StaticVarRewriter extends UnitTreeVisitor {
 
     TypeElement declaringClass = ElementUtil.getDeclaringClass(var);
     boolean assignable = TranslationUtil.isAssigned(node);
-    StringBuilder code = new StringBuilder(
-        ElementUtil.isEnumConstant(var) ? "JreLoadEnum" : "JreLoadStatic");
+    StringBuilder code = new StringBuilder(isLazyEnumConstant(var) ? "JreLoadLazyEnum"
+        : ElementUtil.isEnumConstant(var) ? "JreLoadEnum" : "JreLoadStatic");
     TypeMirror exprType = var.asType();
     if (assignable) {
       code.append("Ref");
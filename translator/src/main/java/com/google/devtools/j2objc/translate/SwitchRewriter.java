@@ -22,7 +22,6 @@ import com.google.devtools.j2objc.ast.EmptyStatement;
 import com.google.devtools.j2objc.ast.Expression;
 import com.google.devtools.j2objc.ast.ExpressionStatement;
 import com.google.devtools.j2objc.ast.FunctionInvocation;
-import com.google.devtools.j2objc.ast.MethodInvocation;
 import com.google.devtools.j2objc.ast.NativeExpression;
 import com.google.devtools.j2objc.ast.NumberLiteral;
 import com.google.devtools.j2objc.ast.SimpleName;
@@ -36,14 +35,12 @@ import com.google.devtools.j2objc.ast.TreeUtil;
 import com.google.devtools.j2objc.ast.UnitTreeVisitor;
 import com.google.devtools.j2objc.ast.VariableDeclarationFragment;
 import com.google.devtools.j2objc.ast.VariableDeclarationStatement;
-import com.google.devtools.j2objc.types.ExecutablePair;
 import com.google.devtools.j2objc.types.FunctionElement;
 import com.google.devtools.j2objc.util.TypeUtil;
 import java.util.List;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.ArrayType;
-import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeMirror;
 import org.jspecify.annotations.Nullable;
 
@@ -240,27 +237,31 @@ public class SwitchRewriter extends UnitTreeVisitor {
     }
   }
 
+  /**
+   * Returns an invocation of JreEnumOrdinal(), which reads the ordinal of a nil-checked enum
+   * constant directly, instead of sending it an ordinal message.
+   */
+  private Expression fixEnumValue(Expression expr) {
+    if (!TypeUtil.isEnum(expr.getTypeMirror())) {
+      return null;
+    }
+    TypeMirror intType = typeUtil.getInt();
+    FunctionElement ordinalFunc = new FunctionElement("JreEnumOrdinal", intType, null)
+        .addParameters(typeUtil.getJavaObject().asType());
+    return new FunctionInvocation(ordinalFunc, intType).addArgument(TreeUtil.remove(expr));
+  }
+
   private void fixEnumValue(SwitchStatement node) {
-    Expression expr = node.getExpression();
-    TypeMirror type = expr.getTypeMirror();
-    if (!TypeUtil.isEnum(type)) {
-      return;
+    Expression expr = fixEnumValue(node.getExpression());
+    if (expr != null) {
+      node.setExpression(expr);
     }
-    DeclaredType enumType = typeUtil.getSuperclass(type);
-    ExecutablePair ordinalMethod = typeUtil.findMethod(enumType, "ordinal");
-    MethodInvocation invocation = new MethodInvocation(ordinalMethod, TreeUtil.remove(expr));
-    node.setExpression(invocation);
   }
 
   private void fixEnumValue(SwitchExpression node) {
-    Expression expr = node.getExpression();
-    TypeMirror type = expr.getTypeMirror();
-    if (!TypeUtil.isEnum(type)) {
-      return;
+    Expression expr = fixEnumValue(node.getExpression());
+    if (expr != null) {
+      node.setExpression(expr);
     }
-    DeclaredType enumType = typeUtil.getSuperclass(type);
-    ExecutablePair ordinalMethod = typeUtil.findMethod(enumType, "ordinal");
-    MethodInvocation invocation = new MethodInvocation(ordinalMethod, TreeUtil.remove(expr));
-    var unused = node.setExpression(invocation);
   }
 }
@@ -25,6 +25,7 @@ import com.google.devtools.j2objc.types.GeneratedExecutableElement;
 import com.google.devtools.j2objc.types.GeneratedTypeElement;
 import com.google.devtools.j2objc.types.GeneratedVariableElement;
 import com.google.devtools.j2objc.types.LambdaTypeElement;
+import com.google.j2objc.annotations.LazyEnumConstants;
 import com.google.j2objc.annotations.Property;
 import com.google.j2objc.annotations.RetainedWith;
 import com.sun.tools.javac.code.Attribute;
@@ -96,12 +97,14 @@ public final class ElementUtil {
   private static final Pattern NONNULL_PATTERN = Pattern.compile("No[nt][Nn]ull.*");
 
   private final Elements javacElements;
+  private final QueryCache queryCache;
   private final Map<Element, TypeMirror> elementTypeMap = new HashMap<>();
 
   private final TypeElement javaObject;
 
-  public ElementUtil(Elements javacElements) {
+  public ElementUtil(Elements javacElements, QueryCache queryCache) {
     this.javacElements = javacElements;
+    this.queryCache = queryCache;
     javaObject = javacElements.getTypeElement("java.lang.Object");
   }
 
@@ -184,6 +187,14 @@ public final class ElementUtil {
     return e.getKind() == ElementKind.ENUM;
   }
 
+  /**
+   * Returns true if an enum's constants are created on first access, instead of by its class
+   * initializer.
+   */
+  public static boolean hasLazyEnumConstants(TypeElement e) {
+    return isEnum(e) && hasAnnotation(e, LazyEnumConstants.class);
+  }
+
   public static boolean isEnumConstant(Element e) {
     return e.getKind() == ElementKind.ENUM_CONSTANT;
   }
@@ -305,6 +316,15 @@ public final class ElementUtil {
     return false;
   }
 
+  /**
+   * Returns true if the element is a record member that javac declared implicitly, like the
+   * canonical constructor or a component accessor that isn't written in the source.
+   */
+  public static boolean isImplicitRecordMember(Element e) {
+    return e instanceof Symbol && isRecord(e.getEnclosingElement())
+        && (((Symbol) e).flags() & (Flags.GENERATED_MEMBER | Flags.GENERATEDCONSTR)) != 0;
+  }
+
   public static String getHeader(TypeElement e) {
     return e instanceof GeneratedTypeElement ? ((GeneratedTypeElement) e).getHeader() : null;
   }
@@ -548,7 +568,12 @@ public final class ElementUtil {
 
   public boolean overrides(
       ExecutableElement overrider, ExecutableElement overridden, TypeElement type) {
-    return javacElements.overrides(overrider, overridden, type);
+    return queryCache.get(QueryCache.Query.OVERRIDES, "",
+        () -> javacElements.overrides(overrider, overridden, type), overrider, overridden, type);
+  }
+
+  public QueryCache queryCache() {
+    return queryCache;
   }
 
   public static PackageElement getPackage(Element e) {
@@ -40,8 +40,17 @@ public final class ExternalAnnotations {
   private static final Map<AnnotatedConstruct, List<GeneratedAnnotationMirror>> annotations =
       new HashMap<>();
 
+  // Incremented whenever an annotation is added, so that cached annotation queries can tell
+  // whether they're out of date.
+  private static volatile int version = 0;
+
   public static void add(AnnotatedConstruct construct, GeneratedAnnotationMirror annotation) {
     annotations.computeIfAbsent(construct, k -> new ArrayList<>()).add(annotation);
+    version++;
+  }
+
+  public static int version() {
+    return version;
   }
 
   public static List<GeneratedAnnotationMirror> get(AnnotatedConstruct construct) {
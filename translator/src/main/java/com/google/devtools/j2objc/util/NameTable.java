@@ -73,6 +73,7 @@ public class NameTable {
 
   private final TypeUtil typeUtil;
   private final ElementUtil elementUtil;
+  private final QueryCache queryCache;
   private final CaptureInfo captureInfo;
   private final Options options;
   private final Map<VariableElement, String> variableNames = new HashMap<>();
@@ -182,6 +183,7 @@ public class NameTable {
   public NameTable(TypeUtil typeUtil, CaptureInfo captureInfo, Options options) {
     this.typeUtil = typeUtil;
     this.elementUtil = typeUtil.elementUtil();
+    this.queryCache = elementUtil.queryCache();
     this.captureInfo = captureInfo;
     this.options = options;
     prefixMap = options.getPackagePrefixes();
@@ -517,7 +519,7 @@ public class NameTable {
       return name;
     }
     String selector = addParamNames(method, name, ':');
-    AnnotationMirror annotation = ElementUtil.getAnnotation(method, ObjectiveCAdapterMethod.class);
+    AnnotationMirror annotation = queryCache.getAnnotation(method, ObjectiveCAdapterMethod.class);
     if (annotation != null) {
       // Methods with adapter methods should be renamed to make it clear they are no longer
       // the expected interface (and will be hidden in KMP).
@@ -570,7 +572,7 @@ public class NameTable {
   }
 
   public String getMethodNameFromAnnotation(ExecutableElement method) {
-    AnnotationMirror annotation = ElementUtil.getAnnotation(method, ObjectiveCName.class);
+    AnnotationMirror annotation = queryCache.getAnnotation(method, ObjectiveCName.class);
     if (annotation != null) {
       String value = (String) ElementUtil.getAnnotationValue(annotation, "value");
       validateMethodSelector(value);
@@ -717,14 +719,14 @@ public class NameTable {
       return true;
     }
     PackageElement packageElement = ElementUtil.getPackage(classType);
-    return ElementUtil.getAnnotation(packageElement, SwiftName.class) != null;
+    return queryCache.getAnnotation(packageElement, SwiftName.class) != null;
   }
 
   public Boolean elementHasSwiftNameAnnotation(Element element) {
     if (options.swiftNaming()) {
       return true;
     }
-    return ElementUtil.getAnnotation(element, SwiftName.class) != null;
+    return queryCache.getAnnotation(element, SwiftName.class) != null;
   }
 
   /**
@@ -1020,7 +1022,7 @@ public class NameTable {
 
   public String getNativeEnumName(TypeElement typeElement) {
     AnnotationMirror annotation =
-        ElementUtil.getAnnotation(typeElement, ObjectiveCNativeEnumName.class);
+        queryCache.getAnnotation(typeElement, ObjectiveCNativeEnumName.class);
     if (annotation != null) {
       String nativeName = (String) ElementUtil.getAnnotationValue(annotation, "value");
       if (nativeName.isEmpty()) {
@@ -1042,7 +1044,7 @@ public class NameTable {
     String enumBaseName = getFullName(enumTypeElement) + "_Enum";
     String constantSuffix = getVariableBaseName(constantVariableElement);
     AnnotationMirror annotation =
-        ElementUtil.getAnnotation(enumTypeElement, ObjectiveCNativeEnumName.class);
+        queryCache.getAnnotation(enumTypeElement, ObjectiveCNativeEnumName.class);
     if (annotation != null) {
       enumBaseName = (String) ElementUtil.getAnnotationValue(annotation, "value");
       constantSuffix = camelCaseName(constantSuffix, true);
@@ -1090,7 +1092,7 @@ public class NameTable {
     }
 
     // Use ObjectiveCName annotation, if it exists.
-    AnnotationMirror annotation = ElementUtil.getAnnotation(element, ObjectiveCName.class);
+    AnnotationMirror annotation = queryCache.getAnnotation(element, ObjectiveCName.class);
     if (annotation != null) {
       return (String) ElementUtil.getAnnotationValue(annotation, "value");
     }
@@ -1144,7 +1146,7 @@ public class NameTable {
     }
 
     // Return a class mapping only if there is a explicit rename.
-    AnnotationMirror annotation = ElementUtil.getAnnotation(typeElement, ObjectiveCName.class);
+    AnnotationMirror annotation = queryCache.getAnnotation(typeElement, ObjectiveCName.class);
     String mappedName = classMappings.get(ElementUtil.getQualifiedName(typeElement));
     if (annotation != null || mappedName != null) {
       return Optional.of(
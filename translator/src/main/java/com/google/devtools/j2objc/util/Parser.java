@@ -143,6 +143,12 @@ public abstract class Parser implements Closeable {
   public abstract void parseFiles(
       Collection<String> paths, Parser.Handler handler, SourceVersion sourceVersion);
 
+  /**
+   * Convert one or more class files, calling a handler with each file's absolute
+   * path and compilation unit.
+   */
+  public abstract void parseClassFiles(Collection<InputFile> files, Parser.Handler handler);
+
   /**
    * Parses source without performing any type or element attribution.
    * A front-end specific compilation unit is returned via a ParseResult
@@ -14,6 +14,7 @@
 
 package com.google.devtools.j2objc.util;
 
+import javax.lang.model.element.TypeElement;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
 
@@ -25,4 +26,15 @@ public interface ParserEnvironment {
   Elements elementUtilities();
 
   Types typeUtilities();
+
+  /**
+   * Returns the cache for element and type queries on this environment's elements and types.
+   */
+  QueryCache queryCache();
+
+  /**
+   * Returns true if a type is declared by one of the source files this environment compiles,
+   * rather than read from the sourcepath or the classpath.
+   */
+  boolean isCompiledSourceType(TypeElement type);
 }
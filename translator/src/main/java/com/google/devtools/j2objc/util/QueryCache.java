@@ -0,0 +1,168 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.devtools.j2objc.util;
+
+import com.google.common.base.Ascii;
+import com.google.devtools.j2objc.types.AbstractTypeMirror;
+import com.google.devtools.j2objc.types.GeneratedElement;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+
+/**
+ * Memoizes element and type queries that translation passes repeat for the same elements, such
+ * as annotation lookups, method searches and supertype walks. A cache is shared by all
+ * compilation units of a parser environment, since they share its elements and types.
+ *
+ * <p>Entries are keyed by the identity of the queried elements and types. Queries on generated
+ * elements and types aren't cached, since those can still be modified during translation.
+ */
+public final class QueryCache {
+
+  /**
+   * The queries that are cached, each with its own entries and counters.
+   */
+  public enum Query {
+    ANNOTATION,
+    METHOD,
+    SUPERTYPE,
+    INHERITED_TYPES,
+    OVERRIDES
+  }
+
+  // Only the values of these maps change after construction.
+  private final Map<Query, Map<Key, Optional<Object>>> entries = new EnumMap<>(Query.class);
+  private final Map<Query, LongAdder> hits = new EnumMap<>(Query.class);
+  private final Map<Query, LongAdder> misses = new EnumMap<>(Query.class);
+
+  public QueryCache() {
+    for (Query query : Query.values()) {
+      entries.put(query, new ConcurrentHashMap<>());
+      hits.put(query, new LongAdder());
+      misses.put(query, new LongAdder());
+    }
+  }
+
+  public AnnotationMirror getAnnotation(Element element, Class<?> annotationClass) {
+    // External annotations can be added to any element while units are translated.
+    String detail = annotationClass.getName() + "@" + ExternalAnnotations.version();
+    return get(Query.ANNOTATION, detail,
+        () -> ElementUtil.getAnnotation(element, annotationClass), element);
+  }
+
+  public boolean hasAnnotation(Element element, Class<?> annotationClass) {
+    return getAnnotation(element, annotationClass) != null;
+  }
+
+  public ExecutableElement findMethod(TypeElement type, String name, String... paramTypes) {
+    return get(Query.METHOD, name + "(" + String.join(",", paramTypes) + ")",
+        () -> ElementUtil.findMethod(type, name, paramTypes), type);
+  }
+
+  /**
+   * Returns the cached result of a query on the specified elements and types, computing it if
+   * needed. The elements and types are compared by identity, and the detail string by equality.
+   */
+  @SuppressWarnings("unchecked")
+  <V> V get(Query query, String detail, Supplier<V> compute, Object... objects) {
+    for (Object o : objects) {
+      if (!isCacheable(o)) {
+        misses.get(query).increment();
+        return compute.get();
+      }
+    }
+    Map<Key, Optional<Object>> queryEntries = entries.get(query);
+    Key key = new Key(objects, detail);
+    // Not computeIfAbsent, since queries like supertype searches are recursive.
+    Optional<Object> result = queryEntries.get(key);
+    if (result != null) {
+      hits.get(query).increment();
+      return (V) result.orElse(null);
+    }
+    misses.get(query).increment();
+    V value = compute.get();
+    queryEntries.put(key, Optional.ofNullable(value));
+    return value;
+  }
+
+  public long hitCount(Query query) {
+    return hits.get(query).sum();
+  }
+
+  public long missCount(Query query) {
+    return misses.get(query).sum();
+  }
+
+  private static boolean isCacheable(Object o) {
+    if (o instanceof DeclaredType) {
+      o = ((DeclaredType) o).asElement();
+    }
+    return !(o instanceof GeneratedElement || o instanceof AbstractTypeMirror);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("Query cache:");
+    for (Query query : Query.values()) {
+      sb.append(String.format(" %s %d/%d",
+          Ascii.toLowerCase(query.name()), hitCount(query), hitCount(query) + missCount(query)));
+    }
+    return sb.append(" (hits/queries)").toString();
+  }
+
+  private static final class Key {
+    private final Object[] objects;
+    private final String detail;
+
+    Key(Object[] objects, String detail) {
+      this.objects = objects;
+      this.detail = detail;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      if (objects.length != other.objects.length || !detail.equals(other.detail)) {
+        return false;
+      }
+      for (int i = 0; i < objects.length; i++) {
+        if (objects[i] != other.objects[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      int hash = detail.hashCode();
+      for (Object o : objects) {
+        hash = hash * 31 + System.identityHashCode(o);
+      }
+      return hash;
+    }
+  }
+}
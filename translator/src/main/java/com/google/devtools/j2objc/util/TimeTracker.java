@@ -47,6 +47,12 @@ public class TimeTracker {
   public void tick(String event) {
   }
 
+  /**
+   * Adds a line that isn't timed, such as statistics for the current slice.
+   */
+  public void note(String message) {
+  }
+
   public void push() {
   }
 
@@ -88,6 +94,11 @@ public class TimeTracker {
       entries.add(String.format("%s%5d ms - %s", INDENTS[currentLevel], time, event));
     }
 
+    @Override
+    public void note(String message) {
+      entries.add(String.format("%s%11s%s", INDENTS[currentLevel], "", message));
+    }
+
     @Override
     public void push() {
       currentLevel++;
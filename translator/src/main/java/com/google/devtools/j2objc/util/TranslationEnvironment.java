@@ -31,12 +31,12 @@ public class TranslationEnvironment {
   private final Options options;
 
   public TranslationEnvironment(Options options, ParserEnvironment parserEnv) {
-    elementUtil = new ElementUtil(parserEnv.elementUtilities());
+    elementUtil = new ElementUtil(parserEnv.elementUtilities(), parserEnv.queryCache());
     typeUtil = new TypeUtil(parserEnv, elementUtil);
     captureInfo = new CaptureInfo(typeUtil);
     nameTable = new NameTable(typeUtil, captureInfo, options);
     signatureGenerator = new SignatureGenerator(typeUtil);
-    translationUtil = new TranslationUtil(typeUtil, nameTable, options, elementUtil);
+    translationUtil = new TranslationUtil(typeUtil, nameTable, options, elementUtil, parserEnv);
     this.options = options;
   }
 
@@ -67,4 +67,8 @@ public class TranslationEnvironment {
   public TranslationUtil translationUtil() {
     return translationUtil;
   }
+
+  public QueryCache queryCache() {
+    return elementUtil.queryCache();
+  }
 }
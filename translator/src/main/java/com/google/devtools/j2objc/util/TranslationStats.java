@@ -0,0 +1,74 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.devtools.j2objc.util;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Counts the changes made by the optional translation passes during one run of the translator,
+ * for the summary printed when it finishes. Each run has its own instance, owned by its Options,
+ * and units may be translated in parallel, so the counts are atomic.
+ */
+public class TranslationStats {
+
+  /**
+   * The counted changes, with the summary line that reports each.
+   */
+  public enum Counter {
+    FOLDED_CONSTANTS("Folded %d constant %s", "expression", "expressions"),
+    CONSTANT_TABLES("Converted %d constant %s to static C arrays", "table", "tables"),
+    AUTORELEASE_POOL_LOOPS("Added autorelease pools to %d %s", "loop", "loops"),
+    INLINED_METHODS("Defined %d %s as static inline header functions", "method", "methods"),
+    ELIMINATED_RECORDS("Eliminated %d record %s", "allocation", "allocations"),
+    ELIDED_RETAINS("Elided %d retain/release %s of borrowed locals", "pair", "pairs");
+
+    private final String format;
+    private final String singular;
+    private final String plural;
+
+    Counter(String format, String singular, String plural) {
+      this.format = format;
+      this.singular = singular;
+      this.plural = plural;
+    }
+  }
+
+  private final AtomicIntegerArray counts = new AtomicIntegerArray(Counter.values().length);
+
+  public void increment(Counter counter) {
+    counts.incrementAndGet(counter.ordinal());
+  }
+
+  public void add(Counter counter, int n) {
+    counts.addAndGet(counter.ordinal(), n);
+  }
+
+  public int get(Counter counter) {
+    return counts.get(counter.ordinal());
+  }
+
+  /**
+   * Prints a line for each counter that isn't zero.
+   */
+  public void printSummary(PrintStream out) {
+    for (Counter counter : Counter.values()) {
+      int n = get(counter);
+      if (n > 0) {
+        out.println(String.format(counter.format, n, n == 1 ? counter.singular : counter.plural));
+      }
+    }
+  }
+}
@@ -38,6 +38,7 @@ import com.google.devtools.j2objc.ast.TreeUtil;
 import com.google.devtools.j2objc.ast.TypeDeclaration;
 import com.google.devtools.j2objc.ast.TypeLiteral;
 import com.google.devtools.j2objc.types.FunctionElement;
+import com.google.devtools.j2objc.types.GeneratedElement;
 import com.google.j2objc.annotations.ReflectionSupport;
 import java.io.File;
 import java.net.MalformedURLException;
@@ -68,14 +69,18 @@ public final class TranslationUtil {
   private final NameTable nameTable;
   private final Options options;
   private final ElementUtil elementUtil;
+  private final QueryCache queryCache;
   private final URLClassLoader jreEmulLoader;
+  private final ParserEnvironment parserEnv;
 
   public TranslationUtil(TypeUtil typeUtil, NameTable nameTable, Options options,
-      ElementUtil elementUtil) {
+      ElementUtil elementUtil, ParserEnvironment parserEnv) {
     this.typeUtil = typeUtil;
     this.nameTable = nameTable;
     this.options = options;
     this.elementUtil = elementUtil;
+    this.parserEnv = parserEnv;
+    this.queryCache = elementUtil.queryCache();
     this.jreEmulLoader = getJreEmulClassPath(options);
 
   }
@@ -127,7 +132,7 @@ public final class TranslationUtil {
     PackageElement packageElement = ElementUtil.getPackage(type);
     ReflectionSupport.Level level = null;
     while (type != null) {
-      level = getReflectionSupportLevel(ElementUtil.getAnnotation(type, ReflectionSupport.class));
+      level = getReflectionSupportLevel(queryCache.getAnnotation(type, ReflectionSupport.class));
       if (level != null) {
         return level == ReflectionSupport.Level.FULL;
       }
@@ -377,6 +382,44 @@ public final class TranslationUtil {
     }
   }
 
+  /**
+   * Returns true if an instance method may be converted to a function. Default and abstract
+   * methods have no implementation of their own, and equals() and hashCode() are left as methods
+   * since they are often called by collections.
+   */
+  public static boolean isFunctionizable(ExecutableElement method) {
+    if (!ElementUtil.isInstanceMethod(method) || ElementUtil.isDefault(method)
+        || ElementUtil.isAbstract(method)) {
+      return false;
+    }
+    String name = ElementUtil.getName(method);
+    return !(name.equals("hashCode") && method.getParameters().isEmpty())
+        && !(name.equals("equals") && method.getParameters().size() == 1);
+  }
+
+  /**
+   * Returns true if a functionizable method can't be overridden and is declared in the source of
+   * a type translated by this run with -Xinline-accessors, so its function is declared in the
+   * type's header and invocations from any file can call it directly. Types that are only read
+   * from the sourcepath may be translated separately without that flag, so their methods are
+   * invoked as usual. Only element information is checked, so the declaring file and the
+   * invoking files agree without seeing each other's trees.
+   */
+  public boolean isDirectlyCallable(ExecutableElement method) {
+    if (options.inlineFunctionLimit() == 0 || !isFunctionizable(method)
+        || ElementUtil.isPrivate(method) || ElementUtil.isNative(method)
+        || ElementUtil.isSynchronized(method)
+        // Methods added by the translator or implicitly by javac may have no declaration.
+        || method instanceof GeneratedElement || ElementUtil.isImplicitRecordMember(method)) {
+      return false;
+    }
+    TypeElement type = ElementUtil.getDeclaringClass(method);
+    return (ElementUtil.isFinal(method) || ElementUtil.isFinal(type))
+        && !ElementUtil.isInterface(type) && !ElementUtil.isLocal(type)
+        && !ElementUtil.isLambda(type) && !ElementUtil.isPrivateInnerType(type)
+        && parserEnv.isCompiledSourceType(type);
+  }
+
   /**
    * Returns true if an implementation for a type element should be generated.
    * Normally this is true, but in Java 8 a few interfaces from JSR 250
@@ -32,6 +32,7 @@ import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.PackageElement;
@@ -510,6 +511,11 @@ public final class TypeUtil {
    * Find a supertype matching the given qualified name.
    */
   public DeclaredType findSupertype(TypeMirror type, String qualifiedName) {
+    return elementUtil.queryCache().get(QueryCache.Query.SUPERTYPE, qualifiedName,
+        () -> searchSupertype(type, qualifiedName), type);
+  }
+
+  private DeclaredType searchSupertype(TypeMirror type, String qualifiedName) {
     TypeElement element = asTypeElement(type);
     if (element != null && element.getQualifiedName().toString().equals(qualifiedName)) {
       return (DeclaredType) type;
@@ -525,7 +531,7 @@ public final class TypeUtil {
 
   public ExecutablePair findMethod(DeclaredType type, String name, String... paramTypes) {
     ExecutableElement methodElem =
-        ElementUtil.findMethod((TypeElement) type.asElement(), name, paramTypes);
+        elementUtil.queryCache().findMethod((TypeElement) type.asElement(), name, paramTypes);
     if (methodElem != null) {
       return new ExecutablePair(methodElem, asMemberOf(type, methodElem));
     }
@@ -533,12 +539,17 @@ public final class TypeUtil {
   }
 
   public LinkedHashSet<DeclaredType> getObjcOrderedInheritedTypes(TypeMirror type) {
-    LinkedHashSet<DeclaredType> inheritedTypes = new LinkedHashSet<>();
-    visitTypeHierarchyObjcOrder(type, visitType -> {
-      inheritedTypes.add(visitType);
-      return true;
-    });
-    return inheritedTypes;
+    Set<DeclaredType> inheritedTypes =
+        elementUtil.queryCache().get(QueryCache.Query.INHERITED_TYPES, "", () -> {
+          Set<DeclaredType> result = new LinkedHashSet<>();
+          visitTypeHierarchyObjcOrder(type, visitType -> {
+            result.add(visitType);
+            return true;
+          });
+          return Collections.unmodifiableSet(result);
+        }, type);
+    // Copied, since the cached set is shared.
+    return new LinkedHashSet<>(inheritedTypes);
   }
 
   /**
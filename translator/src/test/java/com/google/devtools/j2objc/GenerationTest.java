@@ -298,7 +298,8 @@ public abstract class GenerationTest extends TestCase {
           Lists.newArrayList(errMsg));
       return null;
     }
-    File classFile = new File(tempDir, path.replace(".java", ".class"));
+    File classFile =
+        new File(args.get(args.indexOf("-d") + 1), path.replace(".java", ".class"));
     assertTrue(classFile.exists());
 
     return new RegularInputFile(classFile.getAbsolutePath(), typeName);
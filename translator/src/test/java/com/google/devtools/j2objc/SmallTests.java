@@ -42,13 +42,17 @@ import com.google.devtools.j2objc.javac.JavacTreeConverterTest;
 import com.google.devtools.j2objc.pipeline.J2ObjCIncompatibleStripperTest;
 import com.google.devtools.j2objc.pipeline.TranslationProcessorTest;
 import com.google.devtools.j2objc.translate.AbstractMethodRewriterTest;
+import com.google.devtools.j2objc.translate.AccessorInlinerTest;
 import com.google.devtools.j2objc.translate.AnnotationRewriterTest;
 import com.google.devtools.j2objc.translate.AnonymousClassConverterTest;
 import com.google.devtools.j2objc.translate.ArrayRewriterTest;
 import com.google.devtools.j2objc.translate.AutoboxerTest;
+import com.google.devtools.j2objc.translate.AutoreleasePoolInjectorTest;
 import com.google.devtools.j2objc.translate.CastResolverTest;
 import com.google.devtools.j2objc.translate.ComplexExpressionExtractorTest;
+import com.google.devtools.j2objc.translate.ConstantArrayRewriterTest;
 import com.google.devtools.j2objc.translate.ConstantBranchPrunerTest;
+import com.google.devtools.j2objc.translate.ConstantFolderTest;
 import com.google.devtools.j2objc.translate.DeadCodeEliminatorTest;
 import com.google.devtools.j2objc.translate.DefaultMethodsTest;
 import com.google.devtools.j2objc.translate.DestructorGeneratorTest;
@@ -73,9 +77,11 @@ import com.google.devtools.j2objc.translate.OcniExtractorTest;
 import com.google.devtools.j2objc.translate.OperatorRewriterTest;
 import com.google.devtools.j2objc.translate.OuterReferenceFixerTest;
 import com.google.devtools.j2objc.translate.OuterReferenceResolverTest;
+import com.google.devtools.j2objc.translate.OwnershipAnalyzerTest;
 import com.google.devtools.j2objc.translate.PackageInfoRewriterTest;
 import com.google.devtools.j2objc.translate.PrivateDeclarationResolverTest;
 import com.google.devtools.j2objc.translate.RecordExpanderTest;
+import com.google.devtools.j2objc.translate.RecordScalarizerTest;
 import com.google.devtools.j2objc.translate.ReflectionCodeDetectorTest;
 import com.google.devtools.j2objc.translate.RewriterTest;
 import com.google.devtools.j2objc.translate.SerializationStripperTest;
@@ -98,6 +104,7 @@ import com.google.devtools.j2objc.util.NameTableTest;
 import com.google.devtools.j2objc.util.PackageInfoLookupTest;
 import com.google.devtools.j2objc.util.PackagePrefixesTest;
 import com.google.devtools.j2objc.util.ProGuardUsageParserTest;
+import com.google.devtools.j2objc.util.QueryCacheTest;
 import com.google.devtools.j2objc.util.TranslationUtilTest;
 import com.google.devtools.j2objc.util.UnicodeUtilsTest;
 import junit.framework.Test;
@@ -109,6 +116,7 @@ public class SmallTests {
   private static final Class<?>[] smallTestClasses =
       new Class<?>[] {
         AbstractMethodRewriterTest.class,
+        AccessorInlinerTest.class,
         AnnotationRewriterTest.class,
         AnnotationTest.class,
         AnonymousClassConverterTest.class,
@@ -117,13 +125,16 @@ public class SmallTests {
         ArrayGenericsTest.class,
         ArrayRewriterTest.class,
         AutoboxerTest.class,
+        AutoreleasePoolInjectorTest.class,
         CastResolverTest.class,
         ClassFileConverterTest.class,
         ClassFileTest.class,
         CodeReferenceMapTest.class,
         ComplexExpressionExtractorTest.class,
         CompoundTypeTest.class,
+        ConstantArrayRewriterTest.class,
         ConstantBranchPrunerTest.class,
+        ConstantFolderTest.class,
         DeadCodeEliminatorTest.class,
         DefaultMethodsTest.class,
         DestructorGeneratorTest.class,
@@ -170,13 +181,16 @@ public class SmallTests {
         OptionsTest.class,
         OuterReferenceFixerTest.class,
         OuterReferenceResolverTest.class,
+        OwnershipAnalyzerTest.class,
         PackageInfoLookupTest.class,
         PackageInfoRewriterTest.class,
         PackagePrefixesTest.class,
         PrimitiveArrayTest.class,
         PrivateDeclarationResolverTest.class,
         ProGuardUsageParserTest.class,
+        QueryCacheTest.class,
         RecordExpanderTest.class,
+        RecordScalarizerTest.class,
         ReflectionCodeDetectorTest.class,
         RewriterTest.class,
         SerializationStripperTest.class,
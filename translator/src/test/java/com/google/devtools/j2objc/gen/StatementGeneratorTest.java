@@ -699,7 +699,7 @@ public class StatementGeneratorTest extends GenerationTest {
         "NSString * const *b__ = a__->buffer_;",
         "NSString * const *e__ = b__ + a__->size_;",
         "while (b__ < e__) {",
-        "NSString *string = RETAIN_AND_AUTORELEASE(*b__++);",
+        "NSString *string = *b__++;",
         "}",
         "}");
   }
@@ -738,7 +738,7 @@ public class StatementGeneratorTest extends GenerationTest {
                 + "void bar() { switch (foo()) { case ONE: break; case TWO: break; }}}",
             "Example",
             "Example.m");
-    assertTranslation(translation, "switch ([[self foo] ordinal])");
+    assertTranslation(translation, "switch (JreEnumOrdinal([self foo]))");
   }
 
   public void testClassVariable() throws IOException {
@@ -15,7 +15,16 @@
 package com.google.devtools.j2objc.javac;
 
 import com.google.devtools.j2objc.GenerationTest;
+import com.google.devtools.j2objc.ast.CompilationUnit;
+import com.google.devtools.j2objc.file.InputFile;
+import com.google.devtools.j2objc.util.ElementUtil;
+import com.google.devtools.j2objc.util.ErrorUtil;
+import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.lang.model.element.TypeElement;
 
 /**
  * Tests for {@link ClassFileConverter}.
@@ -1315,4 +1324,37 @@ public class ClassFileConverterTest extends GenerationTest {
         "}");
     assertEqualSrcClassfile("Test", source);
   }
+
+  public void testParseClassFilesFromSeveralRoots() throws IOException {
+    String root1 = new File(tempDir, "root1").getPath();
+    String root2 = new File(tempDir, "root2").getPath();
+    new File(root1).mkdirs();
+    new File(root2).mkdirs();
+    List<InputFile> inputs = Arrays.asList(
+        createClassFile("p.A", "package p; public class A {}", "-d", root1),
+        createClassFile("q.B", "package q; public class B {}", "-d", root2),
+        createClassFile("q.C", "package q; public class C extends B {}",
+            "-d", root2, "-cp", root2),
+        createClassFile("p.D", "package p; public class D extends A {}",
+            "-d", root1, "-cp", root1));
+
+    // The classes of each root are converted with that root's environment, so superclasses
+    // are found in the right root.
+    List<String> paths = new ArrayList<>();
+    List<String> types = new ArrayList<>();
+    List<String> superclasses = new ArrayList<>();
+    parser.parseClassFiles(inputs, (String path, CompilationUnit unit) -> {
+      TypeElement type = unit.getTypes().get(0).getTypeElement();
+      paths.add(path);
+      types.add(ElementUtil.getQualifiedName(type));
+      superclasses.add(type.getSuperclass().toString());
+    });
+    assertEquals(ErrorUtil.getErrorMessages().toString(), 0, ErrorUtil.errorCount());
+    assertEquals(Arrays.asList("p.A", "q.B", "q.C", "p.D"), types);
+    assertEquals(
+        Arrays.asList("java.lang.Object", "java.lang.Object", "q.B", "p.A"), superclasses);
+    for (int i = 0; i < inputs.size(); i++) {
+      assertEquals(inputs.get(i).getAbsolutePath(), paths.get(i));
+    }
+  }
 }
@@ -0,0 +1,114 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.devtools.j2objc.translate;
+
+import com.google.devtools.j2objc.GenerationTest;
+import java.io.IOException;
+
+/**
+ * Unit tests for {@link AccessorInliner}.
+ */
+public class AccessorInlinerTest extends GenerationTest {
+
+  private static final String POINT_SOURCE =
+      "public final class Point { "
+      + "  private int x; private Object tag; "
+      + "  public int getX() { return x; } "
+      + "  public void setX(int x) { this.x = x; } "
+      + "  public void setTag(Object tag) { this.tag = tag; } "
+      + "  public int plus(int y) { return x + y * 2; } "
+      + "  public String describe() { return \"x=\" + x; } }";
+
+  public void testAccessorsAreInlinedInHeader() throws IOException {
+    options.setInlineFunctionLimit(16);
+    addSourceFile(POINT_SOURCE, "Point.java");
+    String header = translateSourceFile("Point", "Point.h");
+    assertTranslatedLines(header,
+        "@interface Point : NSObject {",
+        " @public",
+        "int32_t x_;",
+        "id tag_;",
+        "}");
+    assertTranslatedLines(header,
+        "static inline int32_t Point_getX(Point *self) {",
+        "  return self->x_;",
+        "}");
+    assertTranslatedLines(header,
+        "static inline void Point_setTagWithId_(Point *self, id tag) {",
+        "  JreStrongAssign(&self->tag_, tag);",
+        "}");
+    assertTranslation(header, "static inline int32_t Point_plusWithInt_(Point *self, int32_t y) {");
+    // String concatenation calls a runtime function that isn't declared by headers.
+    assertTranslation(header, "FOUNDATION_EXPORT NSString *Point_describe(Point *self);");
+
+    String impl = getTranslatedFile("Point.m");
+    assertTranslatedLines(impl, "- (int32_t)getX {", "  return Point_getX(self);", "}");
+    assertNotInTranslation(impl, "int32_t Point_getX(Point *self) {");
+    assertTranslation(impl, "NSString *Point_describe(Point *self) {");
+  }
+
+  public void testOtherFilesCallFunctions() throws IOException {
+    options.setInlineFunctionLimit(16);
+    addSourceFile(POINT_SOURCE, "Point.java");
+    addSourceFile(
+        "class Test { int test(Point p) { p.setX(3); return p.getX() + p.plus(1); } }",
+        "Test.java");
+    runPipeline("Point.java", "Test.java");
+    String translation = getTranslatedFile("Test.m");
+    assertTranslation(translation, "Point_setXWithInt_(nil_chk(p), 3);");
+    assertTranslation(translation, "return Point_getX(p) + Point_plusWithInt_(p, 1);");
+  }
+
+  public void testSourcepathTypesAreNotCalledDirectly() throws IOException {
+    options.setInlineFunctionLimit(16);
+    // Point is only read from the sourcepath, so it may be translated without the flag.
+    addSourceFile(POINT_SOURCE, "Point.java");
+    String translation = translateSourceFile(
+        "class Test { int test(Point p) { return p.getX(); } }", "Test", "Test.m");
+    assertTranslation(translation, "return [((Point *) nil_chk(p)) getX];");
+  }
+
+  public void testEqualsAndHashCodeAreNotInlined() throws IOException {
+    options.setInlineFunctionLimit(16);
+    String header = translateSourceFile(
+        "public final class Test { int x; "
+        + "  public boolean equals(Object o) { return o == this; } "
+        + "  public int hashCode() { return x; } "
+        + "  public int getX() { return x; } }",
+        "Test", "Test.h");
+    assertTranslation(header, "static inline int32_t Test_getX(Test *self) {");
+    assertNotInTranslation(header, "Test_equalsWithId_");
+    assertNotInTranslation(header, "Test_hash");
+  }
+
+  public void testSizeLimit() throws IOException {
+    options.setInlineFunctionLimit(6);
+    addSourceFile(POINT_SOURCE, "Point.java");
+    String header = translateSourceFile("Point", "Point.h");
+    assertTranslation(header, "static inline int32_t Point_getX(Point *self) {");
+    assertTranslation(header,
+        "FOUNDATION_EXPORT int32_t Point_plusWithInt_(Point *self, int32_t y);");
+  }
+
+  public void testDisabledByDefault() throws IOException {
+    addSourceFile(POINT_SOURCE, "Point.java");
+    String header = translateSourceFile("Point", "Point.h");
+    assertNotInTranslation(header, "static inline");
+    assertNotInTranslation(header, "Point_getX");
+    String translation = translateSourceFile(
+        "class Test { int test(Point p) { return p.getX(); } }", "Test", "Test.m");
+    assertTranslation(translation, "return [((Point *) nil_chk(p)) getX];");
+  }
+}
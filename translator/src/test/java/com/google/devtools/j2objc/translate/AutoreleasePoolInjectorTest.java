@@ -0,0 +1,78 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.devtools.j2objc.translate;
+
+import com.google.devtools.j2objc.GenerationTest;
+import java.io.IOException;
+
+/**
+ * Unit tests for {@link AutoreleasePoolInjector}.
+ */
+public class AutoreleasePoolInjectorTest extends GenerationTest {
+
+  @Override
+  protected void setUp() throws IOException {
+    super.setUp();
+    options.setAutoreleasePoolThreshold(3);
+  }
+
+  public void testAllocatingLoopGetsPool() throws IOException {
+    String translation = translateSourceFile(
+        "class Test { java.util.List<String> out; "
+        + "  void test(int n) { for (int i = 0; i < n; i++) { "
+        + "    String s = \"v\" + i; out.add(s + new Object()); } } }",
+        "Test", "Test.m");
+    assertTranslatedLines(translation,
+        "for (int32_t i = 0; i < n; i++) {",
+        "@autoreleasepool {",
+        "NSString *s = JreStrcat(\"CI\", 'v', i);");
+  }
+
+  public void testLightLoopIsUnchanged() throws IOException {
+    String translation = translateSourceFile(
+        "class Test { java.util.List<Integer> out; "
+        + "  void test(int n) { while (n-- > 0) { out.add(n); } } }",
+        "Test", "Test.m");
+    assertNotInTranslation(translation, "@autoreleasepool");
+  }
+
+  public void testLoopStoringObjectsIsUnchanged() throws IOException {
+    String translation = translateSourceFile(
+        "class Test { "
+        + "  String last(int n) { String last = null; "
+        + "    for (int i = 0; i < n; i++) { last = \"v\" + i + new Object().toString().trim(); } "
+        + "    return last; } "
+        + "  Object find(Object[] items) { "
+        + "    for (Object o : items) { String s = \"v\" + o + new Object(); "
+        + "      if (s.isEmpty()) { return s + o; } } "
+        + "    return null; } }",
+        "Test", "Test.m");
+    assertNotInTranslation(translation, "@autoreleasepool");
+  }
+
+  public void testOptedOutLoopsAreUnchanged() throws IOException {
+    String translation = translateSourceFile(
+        "import com.google.j2objc.annotations.NoAutoreleasePool; "
+        + "class Test { java.util.List<String> out; "
+        + "  @NoAutoreleasePool void test(int n) { "
+        + "    for (int i = 0; i < n; i++) { "
+        + "      out.add(\"v\" + i + new Object().toString().trim()); } } "
+        + "  void test2(Object[] items) { "
+        + "    for (@NoAutoreleasePool Object o : items) { "
+        + "      out.add(\"v\" + o + new Object().toString().trim()); } } }",
+        "Test", "Test.m");
+    assertNotInTranslation(translation, "@autoreleasepool");
+  }
+}
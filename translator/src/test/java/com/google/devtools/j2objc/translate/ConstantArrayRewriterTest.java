@@ -0,0 +1,68 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.devtools.j2objc.translate;
+
+import com.google.devtools.j2objc.GenerationTest;
+import com.google.devtools.j2objc.util.TranslationStats.Counter;
+import java.io.IOException;
+
+/**
+ * Unit tests for {@link ConstantArrayRewriter}.
+ */
+public class ConstantArrayRewriterTest extends GenerationTest {
+
+  public void testReadOnlyTableIsConverted() throws IOException {
+    String translation = translateSourceFile(
+        "class Test { private static final int[] TABLE = { 1, -2, Integer.MIN_VALUE }; "
+        + "  int get(int i) { return TABLE[i] + Test.TABLE.length; } "
+        + "  class Inner { int first() { return TABLE[0]; } } }",
+        "Test", "Test.m");
+    assertTranslatedLines(translation,
+        "static const int32_t Test_TABLE[] = {",
+        "1, -2, ((int32_t) 0x80000000)",
+        "};");
+    assertTranslatedLines(translation,
+        "__attribute__((always_inline)) static inline int32_t Test_TABLE_Get(int32_t index) {",
+        "IOSArray_checkIndex(3, index);",
+        "return Test_TABLE[index];",
+        "}");
+    assertTranslation(translation, "return Test_TABLE_Get(i) + 3;");
+    assertTranslation(translation, "return Test_TABLE_Get(0);");
+    assertNotInTranslation(translation, "IOSIntArray");
+    assertNotInTranslation(translation, "+ (void)initialize");
+    assertEquals(1, options.getTranslationStats().get(Counter.CONSTANT_TABLES));
+  }
+
+  public void testEscapingTablesAreNotConverted() throws IOException {
+    String translation = translateSourceFile(
+        "class Test { "
+        + "  private static final int[] RETURNED = { 1, 2 }; "
+        + "  private static final int[] WRITTEN = { 1, 2 }; "
+        + "  private static final int[] ITERATED = { 1, 2 }; "
+        + "  static final int[] NOT_PRIVATE = { 1, 2 }; "
+        + "  private static final int[] NOT_CONSTANT = { 1, Integer.parseInt(\"2\") }; "
+        + "  int[] get() { WRITTEN[0]++; return RETURNED; } "
+        + "  int sum() { int s = NOT_PRIVATE[0] + NOT_CONSTANT[0]; "
+        + "    for (int i : ITERATED) { s += i; } return s; } }",
+        "Test", "Test.m");
+    assertNotInTranslation(translation, "static const int32_t");
+    // Each run of the translator counts its own conversions.
+    assertEquals(0, options.getTranslationStats().get(Counter.CONSTANT_TABLES));
+    assertTranslation(translation, "static IOSIntArray *Test_RETURNED;");
+    assertTranslation(translation, "static IOSIntArray *Test_WRITTEN;");
+    assertTranslation(translation, "static IOSIntArray *Test_ITERATED;");
+    assertTranslation(translation, "static IOSIntArray *Test_NOT_CONSTANT;");
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.devtools.j2objc.translate;
+
+import com.google.devtools.j2objc.GenerationTest;
+import java.io.IOException;
+
+/**
+ * Unit tests for {@link ConstantFolder}.
+ */
+public class ConstantFolderTest extends GenerationTest {
+
+  @Override
+  protected void setUp() throws IOException {
+    super.setUp();
+    options.setFoldConstants(true);
+  }
+
+  public void testPropagatedLocals() throws IOException {
+    addSourceFile(
+        "class Other { static final int SIZE = 16; static final boolean DEBUG = false; }",
+        "Other.java");
+    String translation = translateSourceFile(
+        "class Test { "
+        + "  int a() { int n = 4; int m = n * 2; return m + Other.SIZE; } "
+        + "  void b() { boolean verbose = Other.DEBUG; if (verbose) { a(); } } "
+        + "  int c(int x) { int limit = 10; while (x < limit) { x += limit; } return x; } "
+        + "  int d() { int n = 1; n++; return n; } }",
+        "Test", "Test.m");
+    assertTranslatedLines(translation, "- (int32_t)a {", "return 24;", "}");
+    assertTranslatedLines(translation, "- (void)b {", "}");
+    assertTranslatedLines(translation,
+        "- (int32_t)cWithInt:(int32_t)x {", "while (x < 10) {", "x += 10;", "}", "return x;");
+    assertTranslatedLines(translation,
+        "- (int32_t)d {", "int32_t n = 1;", "n++;", "return n;");
+  }
+
+  public void testJavaSemantics() throws IOException {
+    String translation = translateSourceFile(
+        "class Test { "
+        + "  int a() { int max = Integer.MAX_VALUE; return max + 1; } "
+        + "  long b() { int n = 40; return 1L << n; } "
+        + "  int c() { int n = 33; return 1 << n; } "
+        + "  int d() { int zero = 0; return 1 / zero; } "
+        + "  char e() { char c = 'a'; return (char) (c + 1); } "
+        + "  double f() { int n = 1; return n / 2.0; } "
+        + "  double g() { double z = 0.0; return -z; } "
+        + "  float h() { float z = 0.0f; return -z; } "
+        + "  boolean i() { String a = \"x\"; String b = a + \"y\"; return b == \"xy\"; } }",
+        "Test", "Test.m");
+    assertTranslation(translation, "return ((int32_t) 0x80000000);");
+    assertTranslation(translation, "return 1099511627776LL;");
+    assertTranslation(translation, "return 2;");
+    assertTranslation(translation, "return JreIntDiv(1, 0);");
+    assertTranslation(translation, "return 'b';");
+    assertTranslation(translation, "return 0.5;");
+    assertTranslation(translation, "return -0.0;");
+    assertTranslation(translation, "return -0.0f;");
+    // A concatenation that isn't a compile-time constant creates a new string.
+    assertTranslation(translation, "NSString *b = JreStrcat(\"$C\", a, 'y');");
+    assertTranslation(translation, "return JreStringEqualsEquals(b, @\"xy\");");
+  }
+
+  public void testStrings() throws IOException {
+    String translation = translateSourceFile(
+        "class Test { static final String NAME = \"abc\"; "
+        + "  int a() { return \"hello\".length() + NAME.length(); } "
+        + "  boolean b() { String s = \"\"; return s.isEmpty(); } "
+        + "  String c() { int n = 3; char c = 'x'; return \"n=\" + n + c + 1.5f; } }",
+        "Test", "Test.m");
+    assertTranslation(translation, "return 8;");
+    assertTranslation(translation, "return true;");
+    assertTranslation(translation, "return JreStrcat(\"$IC$\", @\"n=\", n, c, @\"1.5\");");
+  }
+
+  public void testFoldingDisabled() throws IOException {
+    options.setFoldConstants(false);
+    String translation = translateSourceFile(
+        "class Test { int a() { int n = 4; return n * 2 + \"abc\".length(); } }",
+        "Test", "Test.m");
+    assertTranslatedLines(translation,
+        "int32_t n = 4;", "return n * 2 + [@\"abc\" java_length];");
+  }
+}
@@ -51,7 +51,7 @@ public class EnhancedForRewriterTest extends GenerationTest {
           "{",
             "id<JavaUtilIterator> iter__ = [((id<JavaLangIterable>) nil_chk(strings)) iterator];",
             "while ([((id<JavaUtilIterator>) nil_chk(iter__)) hasNext]) {",
-              "NSString *s = JreRetainedLocalValue([iter__ next]);",
+              "NSString *s = [iter__ next];",
             "}",
           "}",
           "for (NSString * __strong s in strings) {",
@@ -77,7 +77,7 @@ public class EnhancedForRewriterTest extends GenerationTest {
         "  id const *e__ = b__ + a__->size_;",
         "  while (b__ < e__) {",
         "    {",
-        "      id o = RETAIN_AND_AUTORELEASE(*b__++);",
+        "      id o = *b__++;",
         "      if (b) {",
         "        goto break_testLabel1;",
         "      }",
@@ -91,7 +91,7 @@ public class EnhancedForRewriterTest extends GenerationTest {
         "  id<JavaUtilIterator> iter__ = [((id<JavaUtilList>) nil_chk(list)) iterator];",
         "  while ([((id<JavaUtilIterator>) nil_chk(iter__)) hasNext]) {",
         "    {",
-        "      id o = JreRetainedLocalValue([iter__ next]);",
+        "      id o = [iter__ next];",
         "      if (b) {",
         "        goto break_testLabel2;",
         "      }",
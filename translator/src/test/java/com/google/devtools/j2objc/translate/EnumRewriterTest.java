@@ -185,4 +185,65 @@ public class EnumRewriterTest extends GenerationTest {
         "@throw create_JavaLangError_initWithNSString_(@\"Enum.valueOf(String) "
         + "called on Test enum with stripped constant names\");");
   }
+
+  public void testLazyEnumConstants() throws IOException {
+    addSourceFile("import com.google.j2objc.annotations.LazyEnumConstants; "
+        + "@LazyEnumConstants enum Test { A, B, C; static Test b() { return B; } }", "Test.java");
+    String translation = translateSourceFile("Test", "Test.h");
+    assertTranslation(translation, "J2OBJC_LAZY_ENUM_CONSTANT(Test, A)");
+    assertNotInTranslation(translation, "J2OBJC_ENUM_CONSTANT(");
+
+    translation = getTranslatedFile("Test.m");
+    assertNotInTranslation(translation, "objc_constructInstance(self");
+    assertTranslatedLines(translation,
+        "static NSString *const Test_names_[] = {",
+        "@\"A\",",
+        "@\"B\",",
+        "@\"C\",",
+        "};");
+    assertTranslation(translation, "return JreLoadLazyEnum(Test, B);");
+    assertTranslatedLines(translation,
+        "for (int32_t i = 0; i < 3; i++) {",
+        "Test_fromOrdinal(i);",
+        "}",
+        "return [IOSObjectArray arrayWithObjects:Test_values_ count:3 type:Test_class_()];");
+    assertTranslatedLines(translation,
+        "for (int i = 0; i < 3; i++) {",
+        "if ([name isEqual:Test_names_[i]]) {",
+        "return Test_fromOrdinal(i);",
+        "}",
+        "}");
+    assertTranslatedLines(translation,
+        "Test *e = __atomic_load_n(&Test_values_[ordinal], __ATOMIC_ACQUIRE);",
+        "if (!e) {",
+        "dispatch_once(&Test_once_[ordinal], ^{",
+        "Class cls = [Test class];",
+        "Test *newEnum = objc_constructInstance(cls, calloc(class_getInstanceSize(cls), 1));",
+        "Test_initWithNSString_withInt_(newEnum, Test_names_[ordinal], ordinal);",
+        "__atomic_store_n(&Test_values_[ordinal], newEnum, __ATOMIC_RELEASE);",
+        "});");
+    assertTranslation(translation, "static dispatch_once_t Test_once_[3];");
+    assertNotInTranslation(translation, "__atomic_compare_exchange_n");
+
+    translation = translateSourceFile(
+        "class User { Test get() { return Test.C; } }", "User", "User.m");
+    assertTranslation(translation, "return JreLoadLazyEnum(Test, C);");
+  }
+
+  public void testLazyEnumConstantNamesAreEscaped() throws IOException {
+    String translation = translateSourceFile(
+        "import com.google.j2objc.annotations.LazyEnumConstants; "
+        + "@LazyEnumConstants enum Test { \u00c9T\u00c9, HIVER }", "Test", "Test.m");
+    assertTranslatedLines(translation,
+        "static NSString *const Test_names_[] = {",
+        "@\"\\u00c9T\\u00c9\",",
+        "@\"HIVER\",",
+        "};");
+  }
+
+  public void testLazyEnumConstantsWithArguments() throws IOException {
+    translateSourceFile("import com.google.j2objc.annotations.LazyEnumConstants; "
+        + "@LazyEnumConstants enum Test { A(1), B(2); Test(int i) {} }", "Test", "Test.m");
+    assertErrorRegex(".*LazyEnumConstants enums can't have constants with arguments.*");
+  }
 }
@@ -0,0 +1,88 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.devtools.j2objc.translate;
+
+import com.google.devtools.j2objc.GenerationTest;
+import java.io.IOException;
+
+/**
+ * Unit tests for {@link OwnershipAnalyzer}.
+ */
+public class OwnershipAnalyzerTest extends GenerationTest {
+
+  public void testBorrowedFieldLocals() throws IOException {
+    String translation = translateSourceFile(
+        "class Test { Test next; int n; String s; "
+        + "  int noWrites() { Test x = next; return x.n + next.n; } "
+        + "  int stringCall() { String y = s; return y.length(); } "
+        + "  int fieldWrite() { Test x = next; next = null; return x.n; } "
+        + "  int call() { Test x = next; foo(); return x.n; } "
+        + "  int concat() { Test x = next; String t = \"\" + next; return x.n; } "
+        + "  Test returned() { Test x = next; return x; } "
+        + "  void foo() {} }",
+        "Test", "Test.m");
+    assertTranslatedLines(translation,
+        "- (int32_t)noWrites {", "Test *x = next_;");
+    assertTranslatedLines(translation,
+        "- (int32_t)stringCall {", "NSString *y = s_;");
+    assertTranslatedLines(translation,
+        "- (int32_t)fieldWrite {", "Test *x = JreRetainedLocalValue(next_);");
+    assertTranslatedLines(translation,
+        "- (int32_t)call {", "Test *x = JreRetainedLocalValue(next_);");
+    assertTranslatedLines(translation,
+        "- (int32_t)concat {", "Test *x = JreRetainedLocalValue(next_);");
+    assertTranslatedLines(translation,
+        "- (Test *)returned {", "Test *x = JreRetainedLocalValue(next_);");
+  }
+
+  public void testBorrowedArrayElements() throws IOException {
+    String translation = translateSourceFile(
+        "class Test { Test[] items; int n; "
+        + "  int sum() { int t = 0; for (Test o : items) { t += o.n; } return t; } "
+        + "  int call() { int t = 0; for (Test o : items) { t += o.n; foo(); } return t; } "
+        + "  void write() { for (Test o : items) { items[0] = null; } } "
+        + "  void foo() {} }",
+        "Test", "Test.m");
+    assertTranslation(translation, "Test *o = *b__++;");
+    assertOccurrences(translation, "Test *o = RETAIN_AND_AUTORELEASE(*b__++);", 2);
+  }
+
+  public void testBorrowedElementsOfMethodResult() throws IOException {
+    String translation = translateSourceFile(
+        "class Test { Test[] items; Test next; int n; "
+        + "  Test[] getItems() { return items; } "
+        + "  Test getNext() { return next; } "
+        + "  int sum() { int t = 0; for (Test o : getItems()) { t += o.n; } return t; } "
+        + "  void reset() { for (Test o : getItems()) { items = new Test[0]; } } "
+        + "  int chain() { Test x = getNext().next; next = null; return x.n; } }",
+        "Test", "Test.m");
+    assertOccurrences(translation, "Test *o = *b__++;", 1);
+    assertOccurrences(translation, "Test *o = RETAIN_AND_AUTORELEASE(*b__++);", 1);
+    assertTranslatedLines(translation,
+        "- (int32_t)chain {",
+        "Test *x = JreRetainedLocalValue(((Test *) nil_chk([self getNext]))->next_);");
+  }
+
+  public void testElisionDisabled() throws IOException {
+    options.setElideBorrowedRetains(false);
+    String translation = translateSourceFile(
+        "class Test { Test next; Test[] items; int n; "
+        + "  int a() { Test x = next; return x.n; } "
+        + "  int b() { int t = 0; for (Test o : items) { t += o.n; } return t; } }",
+        "Test", "Test.m");
+    assertTranslation(translation, "Test *x = JreRetainedLocalValue(next_);");
+    assertTranslation(translation, "Test *o = RETAIN_AND_AUTORELEASE(*b__++);");
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.devtools.j2objc.translate;
+
+import com.google.devtools.j2objc.GenerationTest;
+import java.io.IOException;
+
+/**
+ * Unit tests for {@link RecordScalarizer}.
+ */
+public class RecordScalarizerTest extends GenerationTest {
+
+  public void testNonEscapingRecordIsScalarized() throws IOException {
+    testOnJava16OrAbove(
+        () -> {
+          addSourceFile("record Point(int x, int y) {}", "Point.java");
+          String translation = translateSourceFile(
+              "class Test { "
+              + "  int dist(int a, int b) { Point p = new Point(a, b + 1); "
+              + "    return p.x() * p.x() + p.y(); } "
+              + "  java.util.function.IntSupplier lambda(int a) { "
+              + "    Point p = new Point(a, 2); return () -> p.x() + p.y(); } }",
+              "Test", "Test.m");
+          assertTranslatedLines(translation,
+              "int32_t p$x = a;",
+              "int32_t p$y = b + 1;",
+              "return p$x * p$x + p$y;");
+          assertTranslation(translation, "return val$p$x_ + val$p$y_;");
+          assertNotInTranslation(translation, "create_Point");
+        });
+  }
+
+  public void testEscapingRecordsAreAllocated() throws IOException {
+    testOnJava16OrAbove(
+        () -> {
+          addSourceFile("record Point(int x, int y) {}", "Point.java");
+          addSourceFile("record Checked(int v) { Checked { if (v < 0) throw new Error(); } }",
+              "Checked.java");
+          addSourceFile("record Tagged(String tag) { public String tag() { return tag; } }",
+              "Tagged.java");
+          String translation = translateSourceFile(
+              "class Test { "
+              + "  Point returned(int a) { Point p = new Point(a, a); return p; } "
+              + "  int hash(int a) { Point p = new Point(a, a); return p.hashCode(); } "
+              + "  int compact(int a) { Checked c = new Checked(a); return c.v(); } "
+              + "  String accessor(String s) { Tagged t = new Tagged(s); return t.tag(); } }",
+              "Test", "Test.m");
+          assertOccurrences(translation, "Point *p = create_Point_initWithInt_withInt_(a, a);", 2);
+          assertTranslation(translation, "Checked *c = create_Checked_initWithInt_(a);");
+          assertTranslation(translation, "Tagged *t = create_Tagged_initWithNSString_(s);");
+        });
+  }
+
+  public void testScalarizationDisabled() throws IOException {
+    testOnJava16OrAbove(
+        () -> {
+          options.setScalarizeRecords(false);
+          addSourceFile("record Point(int x, int y) {}", "Point.java");
+          String translation = translateSourceFile(
+              "class Test { int sum(int a) { Point p = new Point(a, a); return p.x() + p.y(); } }",
+              "Test", "Test.m");
+          assertTranslation(translation, "Point *p = create_Point_initWithInt_withInt_(a, a);");
+        });
+  }
+}
@@ -97,7 +97,7 @@ public class SwitchRewriterTest extends GenerationTest {
         + "public static void doSomething(EnumType e) {"
         + " switch (e) { case ONE: break; case TWO: break; }}}",
         "A", "A.m");
-    assertTranslation(translation, "switch ([e ordinal]) {");
+    assertTranslation(translation, "switch (JreEnumOrdinal(e)) {");
     assertTranslation(translation, "case A_EnumType_Enum_ONE:");
   }
 
@@ -366,7 +366,7 @@ public class SwitchRewriterTest extends GenerationTest {
           assertTranslatedLines(
               translation,
               "- (bool)hasNext {",
-              "  switch ([state_ ordinal]) {",
+              "  switch (JreEnumOrdinal(state_)) {",
               "    case Test_State_Enum_DONE:",
               "    {",
               "      return false;",
@@ -449,7 +449,7 @@ public class SwitchRewriterTest extends GenerationTest {
                   "Test.m");
           assertTranslatedLines(
               translation,
-              "switch ([mode ordinal]) {",
+              "switch (JreEnumOrdinal(mode)) {",
               "  case JavaMathRoundingMode_Enum_DOWN:",
               "    return JavaLangDouble_MAX_VALUE;",
               "  default:",
@@ -486,7 +486,7 @@ public class SwitchRewriterTest extends GenerationTest {
                   "Test.m");
           assertTranslatedLines(
               translation,
-              "  switch ([unit ordinal]) {",
+              "  switch (JreEnumOrdinal(unit)) {",
               "    case JavaUtilConcurrentTimeUnit_Enum_NANOSECONDS:",
               "    return @\"ns\";",
               "    case JavaUtilConcurrentTimeUnit_Enum_MICROSECONDS:",
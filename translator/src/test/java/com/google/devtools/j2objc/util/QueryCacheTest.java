@@ -0,0 +1,64 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.devtools.j2objc.util;
+
+import com.google.devtools.j2objc.GenerationTest;
+import com.google.devtools.j2objc.ast.CompilationUnit;
+import com.google.devtools.j2objc.types.GeneratedTypeElement;
+import com.google.j2objc.annotations.ObjectiveCName;
+import java.io.IOException;
+import javax.lang.model.element.TypeElement;
+
+/**
+ * UnitTests for the {@link QueryCache} class.
+ */
+public class QueryCacheTest extends GenerationTest {
+
+  public void testAnnotationQueriesAreCached() throws IOException {
+    CompilationUnit unit = translateType("Example",
+        "import com.google.j2objc.annotations.ObjectiveCName; "
+        + "@ObjectiveCName(\"EX\") class Example {}");
+    TypeElement type = unit.getTypes().get(0).getTypeElement();
+    QueryCache cache = new QueryCache();
+    assertNotNull(cache.getAnnotation(type, ObjectiveCName.class));
+    assertTrue(cache.hasAnnotation(type, ObjectiveCName.class));
+    assertFalse(cache.hasAnnotation(type, Deprecated.class));
+    assertFalse(cache.hasAnnotation(type, Deprecated.class));
+    assertEquals(2, cache.hitCount(QueryCache.Query.ANNOTATION));
+    assertEquals(2, cache.missCount(QueryCache.Query.ANNOTATION));
+  }
+
+  public void testMethodQueriesAreCached() throws IOException {
+    CompilationUnit unit = translateType("Example",
+        "class Example { void foo(int i) {} void foo(String s) {} }");
+    TypeElement type = unit.getTypes().get(0).getTypeElement();
+    QueryCache cache = new QueryCache();
+    assertNotNull(cache.findMethod(type, "foo", "int"));
+    assertNotNull(cache.findMethod(type, "foo", "java.lang.String"));
+    assertSame(cache.findMethod(type, "foo", "int"), cache.findMethod(type, "foo", "int"));
+    assertNull(cache.findMethod(type, "bar"));
+    assertEquals(2, cache.hitCount(QueryCache.Query.METHOD));
+    assertEquals(3, cache.missCount(QueryCache.Query.METHOD));
+  }
+
+  public void testGeneratedElementsAreNotCached() {
+    GeneratedTypeElement type = GeneratedTypeElement.newIosClass("Foo", null, "");
+    QueryCache cache = new QueryCache();
+    assertNull(cache.findMethod(type, "foo"));
+    assertNull(cache.findMethod(type, "foo"));
+    assertEquals(0, cache.hitCount(QueryCache.Query.METHOD));
+    assertEquals(2, cache.missCount(QueryCache.Query.METHOD));
+  }
+}
@@ -0,0 +1,432 @@
+// Generated by the protocol buffer compiler.  DO NOT EDIT!
+// NO CHECKED-IN PROTOBUF GENCODE
+// source: src/main/java/com/google/devtools/treeshaker/library_info.proto
+// Protobuf Java Version: 4.27.3
+
+package com.google.devtools.treeshaker;
+
+/**
+ * Protobuf type {@code j2objc.Annotations}
+ */
+public final class Annotations extends
+    com.google.protobuf.GeneratedMessage implements
+    // @@protoc_insertion_point(message_implements:j2objc.Annotations)
+    AnnotationsOrBuilder {
+private static final long serialVersionUID = 0L;
+  static {
+    com.google.protobuf.RuntimeVersion.validateProtobufGencodeVersion(
+      com.google.protobuf.RuntimeVersion.RuntimeDomain.PUBLIC,
+      /* major= */ 4,
+      /* minor= */ 27,
+      /* patch= */ 3,
+      /* suffix= */ "",
+      Annotations.class.getName());
+  }
+  // Use Annotations.newBuilder() to construct.
+  private Annotations(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+    super(builder);
+  }
+  private Annotations() {
+  }
+
+  public static final com.google.protobuf.Descriptors.Descriptor
+      getDescriptor() {
+    return com.google.devtools.treeshaker.LibraryInfoOuterClass.internal_static_j2objc_Annotations_descriptor;
+  }
+
+  @java.lang.Override
+  protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internalGetFieldAccessorTable() {
+    return com.google.devtools.treeshaker.LibraryInfoOuterClass.internal_static_j2objc_Annotations_fieldAccessorTable
+        .ensureFieldAccessorsInitialized(
+            com.google.devtools.treeshaker.Annotations.class, com.google.devtools.treeshaker.Annotations.Builder.class);
+  }
+
+  public static final int USED_BY_NATIVE_OR_REFLECTION_FIELD_NUMBER = 1;
+  private boolean usedByNativeOrReflection_ = false;
+  /**
+   * <code>bool used_by_native_or_reflection = 1;</code>
+   * @return The usedByNativeOrReflection.
+   */
+  @java.lang.Override
+  public boolean getUsedByNativeOrReflection() {
+    return usedByNativeOrReflection_;
+  }
+
+  private byte memoizedIsInitialized = -1;
+  @java.lang.Override
+  public final boolean isInitialized() {
+    byte isInitialized = memoizedIsInitialized;
+    if (isInitialized == 1) return true;
+    if (isInitialized == 0) return false;
+
+    memoizedIsInitialized = 1;
+    return true;
+  }
+
+  @java.lang.Override
+  public void writeTo(com.google.protobuf.CodedOutputStream output)
+                      throws java.io.IOException {
+    if (usedByNativeOrReflection_ != false) {
+      output.writeBool(1, usedByNativeOrReflection_);
+    }
+    getUnknownFields().writeTo(output);
+  }
+
+  @java.lang.Override
+  public int getSerializedSize() {
+    int size = memoizedSize;
+    if (size != -1) return size;
+
+    size = 0;
+    if (usedByNativeOrReflection_ != false) {
+      size += com.google.protobuf.CodedOutputStream
+        .computeBoolSize(1, usedByNativeOrReflection_);
+    }
+    size += getUnknownFields().getSerializedSize();
+    memoizedSize = size;
+    return size;
+  }
+
+  @java.lang.Override
+  public boolean equals(final java.lang.Object obj) {
+    if (obj == this) {
+     return true;
+    }
+    if (!(obj instanceof com.google.devtools.treeshaker.Annotations)) {
+      return super.equals(obj);
+    }
+    com.google.devtools.treeshaker.Annotations other = (com.google.devtools.treeshaker.Annotations) obj;
+
+    if (getUsedByNativeOrReflection()
+        != other.getUsedByNativeOrReflection()) return false;
+    if (!getUnknownFields().equals(other.getUnknownFields())) return false;
+    return true;
+  }
+
+  @java.lang.Override
+  public int hashCode() {
+    if (memoizedHashCode != 0) {
+      return memoizedHashCode;
+    }
+    int hash = 41;
+    hash = (19 * hash) + getDescriptor().hashCode();
+    hash = (37 * hash) + USED_BY_NATIVE_OR_REFLECTION_FIELD_NUMBER;
+    hash = (53 * hash) + com.google.protobuf.Internal.hashBoolean(
+        getUsedByNativeOrReflection());
+    hash = (29 * hash) + getUnknownFields().hashCode();
+    memoizedHashCode = hash;
+    return hash;
+  }
+
+  public static com.google.devtools.treeshaker.Annotations parseFrom(
+      java.nio.ByteBuffer data)
+      throws com.google.protobuf.InvalidProtocolBufferException {
+    return PARSER.parseFrom(data);
+  }
+  public static com.google.devtools.treeshaker.Annotations parseFrom(
+      java.nio.ByteBuffer data,
+      com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+      throws com.google.protobuf.InvalidProtocolBufferException {
+    return PARSER.parseFrom(data, extensionRegistry);
+  }
+  public static com.google.devtools.treeshaker.Annotations parseFrom(
+      com.google.protobuf.ByteString data)
+      throws com.google.protobuf.InvalidProtocolBufferException {
+    return PARSER.parseFrom(data);
+  }
+  public static com.google.devtools.treeshaker.Annotations parseFrom(
+      com.google.protobuf.ByteString data,
+      com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+      throws com.google.protobuf.InvalidProtocolBufferException {
+    return PARSER.parseFrom(data, extensionRegistry);
+  }
+  public static com.google.devtools.treeshaker.Annotations parseFrom(byte[] data)
+      throws com.google.protobuf.InvalidProtocolBufferException {
+    return PARSER.parseFrom(data);
+  }
+  public static com.google.devtools.treeshaker.Annotations parseFrom(
+      byte[] data,
+      com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+      throws com.google.protobuf.InvalidProtocolBufferException {
+    return PARSER.parseFrom(data, extensionRegistry);
+  }
+  public static com.google.devtools.treeshaker.Annotations parseFrom(java.io.InputStream input)
+      throws java.io.IOException {
+    return com.google.protobuf.GeneratedMessage
+        .parseWithIOException(PARSER, input);
+  }
+  public static com.google.devtools.treeshaker.Annotations parseFrom(
+      java.io.InputStream input,
+      com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+      throws java.io.IOException {
+    return com.google.protobuf.GeneratedMessage
+        .parseWithIOException(PARSER, input, extensionRegistry);
+  }
+
+  public static com.google.devtools.treeshaker.Annotations parseDelimitedFrom(java.io.InputStream input)
+      throws java.io.IOException {
+    return com.google.protobuf.GeneratedMessage
+        .parseDelimitedWithIOException(PARSER, input);
+  }
+
+  public static com.google.devtools.treeshaker.Annotations parseDelimitedFrom(
+      java.io.InputStream input,
+      com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+      throws java.io.IOException {
+    return com.google.protobuf.GeneratedMessage
+        .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+  }
+  public static com.google.devtools.treeshaker.Annotations parseFrom(
+      com.google.protobuf.CodedInputStream input)
+      throws java.io.IOException {
+    return com.google.protobuf.GeneratedMessage
+        .parseWithIOException(PARSER, input);
+  }
+  public static com.google.devtools.treeshaker.Annotations parseFrom(
+      com.google.protobuf.CodedInputStream input,
+      com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+      throws java.io.IOException {
+    return com.google.protobuf.GeneratedMessage
+        .parseWithIOException(PARSER, input, extensionRegistry);
+  }
+
+  @java.lang.Override
+  public Builder newBuilderForType() { return newBuilder(); }
+  public static Builder newBuilder() {
+    return DEFAULT_INSTANCE.toBuilder();
+  }
+  public static Builder newBuilder(com.google.devtools.treeshaker.Annotations prototype) {
+    return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+  }
+  @java.lang.Override
+  public Builder toBuilder() {
+    return this == DEFAULT_INSTANCE
+        ? new Builder() : new Builder().mergeFrom(this);
+  }
+
+  @java.lang.Override
+  protected Builder newBuilderForType(
+      com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+    Builder builder = new Builder(parent);
+    return builder;
+  }
+  /**
+   * Protobuf type {@code j2objc.Annotations}
+   */
+  public static final class Builder extends
+      com.google.protobuf.GeneratedMessage.Builder<Builder> implements
+      // @@protoc_insertion_point(builder_implements:j2objc.Annotations)
+      com.google.devtools.treeshaker.AnnotationsOrBuilder {
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.google.devtools.treeshaker.LibraryInfoOuterClass.internal_static_j2objc_Annotations_descriptor;
+    }
+
+    @java.lang.Override
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.google.devtools.treeshaker.LibraryInfoOuterClass.internal_static_j2objc_Annotations_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              com.google.devtools.treeshaker.Annotations.class, com.google.devtools.treeshaker.Annotations.Builder.class);
+    }
+
+    // Construct using com.google.devtools.treeshaker.Annotations.newBuilder()
+    private Builder() {
+
+    }
+
+    private Builder(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      super(parent);
+
+    }
+    @java.lang.Override
+    public Builder clear() {
+      super.clear();
+      bitField0_ = 0;
+      usedByNativeOrReflection_ = false;
+      return this;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Descriptors.Descriptor
+        getDescriptorForType() {
+      return com.google.devtools.treeshaker.LibraryInfoOuterClass.internal_static_j2objc_Annotations_descriptor;
+    }
+
+    @java.lang.Override
+    public com.google.devtools.treeshaker.Annotations getDefaultInstanceForType() {
+      return com.google.devtools.treeshaker.Annotations.getDefaultInstance();
+    }
+
+    @java.lang.Override
+    public com.google.devtools.treeshaker.Annotations build() {
+      com.google.devtools.treeshaker.Annotations result = buildPartial();
+      if (!result.isInitialized()) {
+        throw newUninitializedMessageException(result);
+      }
+      return result;
+    }
+
+    @java.lang.Override
+    public com.google.devtools.treeshaker.Annotations buildPartial() {
+      com.google.devtools.treeshaker.Annotations result = new com.google.devtools.treeshaker.Annotations(this);
+      if (bitField0_ != 0) { buildPartial0(result); }
+      onBuilt();
+      return result;
+    }
+
+    private void buildPartial0(com.google.devtools.treeshaker.Annotations result) {
+      int from_bitField0_ = bitField0_;
+      if (((from_bitField0_ & 0x00000001) != 0)) {
+        result.usedByNativeOrReflection_ = usedByNativeOrReflection_;
+      }
+    }
+
+    @java.lang.Override
+    public Builder mergeFrom(com.google.protobuf.Message other) {
+      if (other instanceof com.google.devtools.treeshaker.Annotations) {
+        return mergeFrom((com.google.devtools.treeshaker.Annotations)other);
+      } else {
+        super.mergeFrom(other);
+        return this;
+      }
+    }
+
+    public Builder mergeFrom(com.google.devtools.treeshaker.Annotations other) {
+      if (other == com.google.devtools.treeshaker.Annotations.getDefaultInstance()) return this;
+      if (other.getUsedByNativeOrReflection() != false) {
+        setUsedByNativeOrReflection(other.getUsedByNativeOrReflection());
+      }
+      this.mergeUnknownFields(other.getUnknownFields());
+      onChanged();
+      return this;
+    }
+
+    @java.lang.Override
+    public final boolean isInitialized() {
+      return true;
+    }
+
+    @java.lang.Override
+    public Builder mergeFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      if (extensionRegistry == null) {
+        throw new java.lang.NullPointerException();
+      }
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            case 8: {
+              usedByNativeOrReflection_ = input.readBool();
+              bitField0_ |= 0x00000001;
+              break;
+            } // case 8
+            default: {
+              if (!super.parseUnknownField(input, extensionRegistry, tag)) {
+                done = true; // was an endgroup tag
+              }
+              break;
+            } // default:
+          } // switch (tag)
+        } // while (!done)
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.unwrapIOException();
+      } finally {
+        onChanged();
+      } // finally
+      return this;
+    }
+    private int bitField0_;
+
+    private boolean usedByNativeOrReflection_ ;
+    /**
+     * <code>bool used_by_native_or_reflection = 1;</code>
+     * @return The usedByNativeOrReflection.
+     */
+    @java.lang.Override
+    public boolean getUsedByNativeOrReflection() {
+      return usedByNativeOrReflection_;
+    }
+    /**
+     * <code>bool used_by_native_or_reflection = 1;</code>
+     * @param value The usedByNativeOrReflection to set.
+     * @return This builder for chaining.
+     */
+    public Builder setUsedByNativeOrReflection(boolean value) {
+
+      usedByNativeOrReflection_ = value;
+      bitField0_ |= 0x00000001;
+      onChanged();
+      return this;
+    }
+    /**
+     * <code>bool used_by_native_or_reflection = 1;</code>
+     * @return This builder for chaining.
+     */
+    public Builder clearUsedByNativeOrReflection() {
+      bitField0_ = (bitField0_ & ~0x00000001);
+      usedByNativeOrReflection_ = false;
+      onChanged();
+      return this;
+    }
+
+    // @@protoc_insertion_point(builder_scope:j2objc.Annotations)
+  }
+
+  // @@protoc_insertion_point(class_scope:j2objc.Annotations)
+  private static final com.google.devtools.treeshaker.Annotations DEFAULT_INSTANCE;
+  static {
+    DEFAULT_INSTANCE = new com.google.devtools.treeshaker.Annotations();
+  }
+
+  public static com.google.devtools.treeshaker.Annotations getDefaultInstance() {
+    return DEFAULT_INSTANCE;
+  }
+
+  private static final com.google.protobuf.Parser<Annotations>
+      PARSER = new com.google.protobuf.AbstractParser<Annotations>() {
+    @java.lang.Override
+    public Annotations parsePartialFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      Builder builder = newBuilder();
+      try {
+        builder.mergeFrom(input, extensionRegistry);
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(builder.buildPartial());
+      } catch (com.google.protobuf.UninitializedMessageException e) {
+        throw e.asInvalidProtocolBufferException().setUnfinishedMessage(builder.buildPartial());
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(e)
+            .setUnfinishedMessage(builder.buildPartial());
+      }
+      return builder.buildPartial();
+    }
+  };
+
+  public static com.google.protobuf.Parser<Annotations> parser() {
+    return PARSER;
+  }
+
+  @java.lang.Override
+  public com.google.protobuf.Parser<Annotations> getParserForType() {
+    return PARSER;
+  }
+
+  @java.lang.Override
+  public com.google.devtools.treeshaker.Annotations getDefaultInstanceForType() {
+    return DEFAULT_INSTANCE;
+  }
+
+}
+
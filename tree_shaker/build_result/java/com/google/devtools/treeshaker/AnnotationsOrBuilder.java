@@ -0,0 +1,17 @@
+// Generated by the protocol buffer compiler.  DO NOT EDIT!
+// NO CHECKED-IN PROTOBUF GENCODE
+// source: src/main/java/com/google/devtools/treeshaker/library_info.proto
+// Protobuf Java Version: 4.27.3
+
+package com.google.devtools.treeshaker;
+
+public interface AnnotationsOrBuilder extends
+    // @@protoc_insertion_point(interface_extends:j2objc.Annotations)
+    com.google.protobuf.MessageOrBuilder {
+
+  /**
+   * <code>bool used_by_native_or_reflection = 1;</code>
+   * @return The usedByNativeOrReflection.
+   */
+  boolean getUsedByNativeOrReflection();
+}
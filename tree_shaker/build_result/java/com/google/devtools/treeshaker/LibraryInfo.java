@@ -0,0 +1,908 @@
+// Generated by the protocol buffer compiler.  DO NOT EDIT!
+// NO CHECKED-IN PROTOBUF GENCODE
+// source: src/main/java/com/google/devtools/treeshaker/library_info.proto
+// Protobuf Java Version: 4.27.3
+
+package com.google.devtools.treeshaker;
+
+/**
+ * Protobuf type {@code j2objc.LibraryInfo}
+ */
+public final class LibraryInfo extends
+    com.google.protobuf.GeneratedMessage implements
+    // @@protoc_insertion_point(message_implements:j2objc.LibraryInfo)
+    LibraryInfoOrBuilder {
+private static final long serialVersionUID = 0L;
+  static {
+    com.google.protobuf.RuntimeVersion.validateProtobufGencodeVersion(
+      com.google.protobuf.RuntimeVersion.RuntimeDomain.PUBLIC,
+      /* major= */ 4,
+      /* minor= */ 27,
+      /* patch= */ 3,
+      /* suffix= */ "",
+      LibraryInfo.class.getName());
+  }
+  // Use LibraryInfo.newBuilder() to construct.
+  private LibraryInfo(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+    super(builder);
+  }
+  private LibraryInfo() {
+    typeMap_ =
+        com.google.protobuf.LazyStringArrayList.emptyList();
+    type_ = java.util.Collections.emptyList();
+  }
+
+  public static final com.google.protobuf.Descriptors.Descriptor
+      getDescriptor() {
+    return com.google.devtools.treeshaker.LibraryInfoOuterClass.internal_static_j2objc_LibraryInfo_descriptor;
+  }
+
+  @java.lang.Override
+  protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internalGetFieldAccessorTable() {
+    return com.google.devtools.treeshaker.LibraryInfoOuterClass.internal_static_j2objc_LibraryInfo_fieldAccessorTable
+        .ensureFieldAccessorsInitialized(
+            com.google.devtools.treeshaker.LibraryInfo.class, com.google.devtools.treeshaker.LibraryInfo.Builder.class);
+  }
+
+  public static final int TYPE_MAP_FIELD_NUMBER = 1;
+  @SuppressWarnings("serial")
+  private com.google.protobuf.LazyStringArrayList typeMap_ =
+      com.google.protobuf.LazyStringArrayList.emptyList();
+  /**
+   * <code>repeated string type_map = 1;</code>
+   * @return A list containing the typeMap.
+   */
+  public com.google.protobuf.ProtocolStringList
+      getTypeMapList() {
+    return typeMap_;
+  }
+  /**
+   * <code>repeated string type_map = 1;</code>
+   * @return The count of typeMap.
+   */
+  public int getTypeMapCount() {
+    return typeMap_.size();
+  }
+  /**
+   * <code>repeated string type_map = 1;</code>
+   * @param index The index of the element to return.
+   * @return The typeMap at the given index.
+   */
+  public java.lang.String getTypeMap(int index) {
+    return typeMap_.get(index);
+  }
+  /**
+   * <code>repeated string type_map = 1;</code>
+   * @param index The index of the value to return.
+   * @return The bytes of the typeMap at the given index.
+   */
+  public com.google.protobuf.ByteString
+      getTypeMapBytes(int index) {
+    return typeMap_.getByteString(index);
+  }
+
+  public static final int TYPE_FIELD_NUMBER = 2;
+  @SuppressWarnings("serial")
+  private java.util.List<com.google.devtools.treeshaker.TypeInfo> type_;
+  /**
+   * <code>repeated .j2objc.TypeInfo type = 2;</code>
+   */
+  @java.lang.Override
+  public java.util.List<com.google.devtools.treeshaker.TypeInfo> getTypeList() {
+    return type_;
+  }
+  /**
+   * <code>repeated .j2objc.TypeInfo type = 2;</code>
+   */
+  @java.lang.Override
+  public java.util.List<? extends com.google.devtools.treeshaker.TypeInfoOrBuilder> 
+      getTypeOrBuilderList() {
+    return type_;
+  }
+  /**
+   * <code>repeated .j2objc.TypeInfo type = 2;</code>
+   */
+  @java.lang.Override
+  public int getTypeCount() {
+    return type_.size();
+  }
+  /**
+   * <code>repeated .j2objc.TypeInfo type = 2;</code>
+   */
+  @java.lang.Override
+  public com.google.devtools.treeshaker.TypeInfo getType(int index) {
+    return type_.get(index);
+  }
+  /**
+   * <code>repeated .j2objc.TypeInfo type = 2;</code>
+   */
+  @java.lang.Override
+  public com.google.devtools.treeshaker.TypeInfoOrBuilder getTypeOrBuilder(
+      int index) {
+    return type_.get(index);
+  }
+
+  private byte memoizedIsInitialized = -1;
+  @java.lang.Override
+  public final boolean isInitialized() {
+    byte isInitialized = memoizedIsInitialized;
+    if (isInitialized == 1) return true;
+    if (isInitialized == 0) return false;
+
+    memoizedIsInitialized = 1;
+    return true;
+  }
+
+  @java.lang.Override
+  public void writeTo(com.google.protobuf.CodedOutputStream output)
+                      throws java.io.IOException {
+    for (int i = 0; i < typeMap_.size(); i++) {
+      com.google.protobuf.GeneratedMessage.writeString(output, 1, typeMap_.getRaw(i));
+    }
+    for (int i = 0; i < type_.size(); i++) {
+      output.writeMessage(2, type_.get(i));
+    }
+    getUnknownFields().writeTo(output);
+  }
+
+  @java.lang.Override
+  public int getSerializedSize() {
+    int size = memoizedSize;
+    if (size != -1) return size;
+
+    size = 0;
+    {
+      int dataSize = 0;
+      for (int i = 0; i < typeMap_.size(); i++) {
+        dataSize += computeStringSizeNoTag(typeMap_.getRaw(i));
+      }
+      size += dataSize;
+      size += 1 * getTypeMapList().size();
+    }
+    for (int i = 0; i < type_.size(); i++) {
+      size += com.google.protobuf.CodedOutputStream
+        .computeMessageSize(2, type_.get(i));
+    }
+    size += getUnknownFields().getSerializedSize();
+    memoizedSize = size;
+    return size;
+  }
+
+  @java.lang.Override
+  public boolean equals(final java.lang.Object obj) {
+    if (obj == this) {
+     return true;
+    }
+    if (!(obj instanceof com.google.devtools.treeshaker.LibraryInfo)) {
+      return super.equals(obj);
+    }
+    com.google.devtools.treeshaker.LibraryInfo other = (com.google.devtools.treeshaker.LibraryInfo) obj;
+
+    if (!getTypeMapList()
+        .equals(other.getTypeMapList())) return false;
+    if (!getTypeList()
+        .equals(other.getTypeList())) return false;
+    if (!getUnknownFields().equals(other.getUnknownFields())) return false;
+    return true;
+  }
+
+  @java.lang.Override
+  public int hashCode() {
+    if (memoizedHashCode != 0) {
+      return memoizedHashCode;
+    }
+    int hash = 41;
+    hash = (19 * hash) + getDescriptor().hashCode();
+    if (getTypeMapCount() > 0) {
+      hash = (37 * hash) + TYPE_MAP_FIELD_NUMBER;
+      hash = (53 * hash) + getTypeMapList().hashCode();
+    }
+    if (getTypeCount() > 0) {
+      hash = (37 * hash) + TYPE_FIELD_NUMBER;
+      hash = (53 * hash) + getTypeList().hashCode();
+    }
+    hash = (29 * hash) + getUnknownFields().hashCode();
+    memoizedHashCode = hash;
+    return hash;
+  }
+
+  public static com.google.devtools.treeshaker.LibraryInfo parseFrom(
+      java.nio.ByteBuffer data)
+      throws com.google.protobuf.InvalidProtocolBufferException {
+    return PARSER.parseFrom(data);
+  }
+  public static com.google.devtools.treeshaker.LibraryInfo parseFrom(
+      java.nio.ByteBuffer data,
+      com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+      throws com.google.protobuf.InvalidProtocolBufferException {
+    return PARSER.parseFrom(data, extensionRegistry);
+  }
+  public static com.google.devtools.treeshaker.LibraryInfo parseFrom(
+      com.google.protobuf.ByteString data)
+      throws com.google.protobuf.InvalidProtocolBufferException {
+    return PARSER.parseFrom(data);
+  }
+  public static com.google.devtools.treeshaker.LibraryInfo parseFrom(
+      com.google.protobuf.ByteString data,
+      com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+      throws com.google.protobuf.InvalidProtocolBufferException {
+    return PARSER.parseFrom(data, extensionRegistry);
+  }
+  public static com.google.devtools.treeshaker.LibraryInfo parseFrom(byte[] data)
+      throws com.google.protobuf.InvalidProtocolBufferException {
+    return PARSER.parseFrom(data);
+  }
+  public static com.google.devtools.treeshaker.LibraryInfo parseFrom(
+      byte[] data,
+      com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+      throws com.google.protobuf.InvalidProtocolBufferException {
+    return PARSER.parseFrom(data, extensionRegistry);
+  }
+  public static com.google.devtools.treeshaker.LibraryInfo parseFrom(java.io.InputStream input)
+      throws java.io.IOException {
+    return com.google.protobuf.GeneratedMessage
+        .parseWithIOException(PARSER, input);
+  }
+  public static com.google.devtools.treeshaker.LibraryInfo parseFrom(
+      java.io.InputStream input,
+      com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+      throws java.io.IOException {
+    return com.google.protobuf.GeneratedMessage
+        .parseWithIOException(PARSER, input, extensionRegistry);
+  }
+
+  public static com.google.devtools.treeshaker.LibraryInfo parseDelimitedFrom(java.io.InputStream input)
+      throws java.io.IOException {
+    return com.google.protobuf.GeneratedMessage
+        .parseDelimitedWithIOException(PARSER, input);
+  }
+
+  public static com.google.devtools.treeshaker.LibraryInfo parseDelimitedFrom(
+      java.io.InputStream input,
+      com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+      throws java.io.IOException {
+    return com.google.protobuf.GeneratedMessage
+        .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+  }
+  public static com.google.devtools.treeshaker.LibraryInfo parseFrom(
+      com.google.protobuf.CodedInputStream input)
+      throws java.io.IOException {
+    return com.google.protobuf.GeneratedMessage
+        .parseWithIOException(PARSER, input);
+  }
+  public static com.google.devtools.treeshaker.LibraryInfo parseFrom(
+      com.google.protobuf.CodedInputStream input,
+      com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+      throws java.io.IOException {
+    return com.google.protobuf.GeneratedMessage
+        .parseWithIOException(PARSER, input, extensionRegistry);
+  }
+
+  @java.lang.Override
+  public Builder newBuilderForType() { return newBuilder(); }
+  public static Builder newBuilder() {
+    return DEFAULT_INSTANCE.toBuilder();
+  }
+  public static Builder newBuilder(com.google.devtools.treeshaker.LibraryInfo prototype) {
+    return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+  }
+  @java.lang.Override
+  public Builder toBuilder() {
+    return this == DEFAULT_INSTANCE
+        ? new Builder() : new Builder().mergeFrom(this);
+  }
+
+  @java.lang.Override
+  protected Builder newBuilderForType(
+      com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+    Builder builder = new Builder(parent);
+    return builder;
+  }
+  /**
+   * Protobuf type {@code j2objc.LibraryInfo}
+   */
+  public static final class Builder extends
+      com.google.protobuf.GeneratedMessage.Builder<Builder> implements
+      // @@protoc_insertion_point(builder_implements:j2objc.LibraryInfo)
+      com.google.devtools.treeshaker.LibraryInfoOrBuilder {
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.google.devtools.treeshaker.LibraryInfoOuterClass.internal_static_j2objc_LibraryInfo_descriptor;
+    }
+
+    @java.lang.Override
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.google.devtools.treeshaker.LibraryInfoOuterClass.internal_static_j2objc_LibraryInfo_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              com.google.devtools.treeshaker.LibraryInfo.class, com.google.devtools.treeshaker.LibraryInfo.Builder.class);
+    }
+
+    // Construct using com.google.devtools.treeshaker.LibraryInfo.newBuilder()
+    private Builder() {
+
+    }
+
+    private Builder(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      super(parent);
+
+    }
+    @java.lang.Override
+    public Builder clear() {
+      super.clear();
+      bitField0_ = 0;
+      typeMap_ =
+          com.google.protobuf.LazyStringArrayList.emptyList();
+      if (typeBuilder_ == null) {
+        type_ = java.util.Collections.emptyList();
+      } else {
+        type_ = null;
+        typeBuilder_.clear();
+      }
+      bitField0_ = (bitField0_ & ~0x00000002);
+      return this;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Descriptors.Descriptor
+        getDescriptorForType() {
+      return com.google.devtools.treeshaker.LibraryInfoOuterClass.internal_static_j2objc_LibraryInfo_descriptor;
+    }
+
+    @java.lang.Override
+    public com.google.devtools.treeshaker.LibraryInfo getDefaultInstanceForType() {
+      return com.google.devtools.treeshaker.LibraryInfo.getDefaultInstance();
+    }
+
+    @java.lang.Override
+    public com.google.devtools.treeshaker.LibraryInfo build() {
+      com.google.devtools.treeshaker.LibraryInfo result = buildPartial();
+      if (!result.isInitialized()) {
+        throw newUninitializedMessageException(result);
+      }
+      return result;
+    }
+
+    @java.lang.Override
+    public com.google.devtools.treeshaker.LibraryInfo buildPartial() {
+      com.google.devtools.treeshaker.LibraryInfo result = new com.google.devtools.treeshaker.LibraryInfo(this);
+      buildPartialRepeatedFields(result);
+      if (bitField0_ != 0) { buildPartial0(result); }
+      onBuilt();
+      return result;
+    }
+
+    private void buildPartialRepeatedFields(com.google.devtools.treeshaker.LibraryInfo result) {
+      if (typeBuilder_ == null) {
+        if (((bitField0_ & 0x00000002) != 0)) {
+          type_ = java.util.Collections.unmodifiableList(type_);
+          bitField0_ = (bitField0_ & ~0x00000002);
+        }
+        result.type_ = type_;
+      } else {
+        result.type_ = typeBuilder_.build();
+      }
+    }
+
+    private void buildPartial0(com.google.devtools.treeshaker.LibraryInfo result) {
+      int from_bitField0_ = bitField0_;
+      if (((from_bitField0_ & 0x00000001) != 0)) {
+        typeMap_.makeImmutable();
+        result.typeMap_ = typeMap_;
+      }
+    }
+
+    @java.lang.Override
+    public Builder mergeFrom(com.google.protobuf.Message other) {
+      if (other instanceof com.google.devtools.treeshaker.LibraryInfo) {
+        return mergeFrom((com.google.devtools.treeshaker.LibraryInfo)other);
+      } else {
+        super.mergeFrom(other);
+        return this;
+      }
+    }
+
+    public Builder mergeFrom(com.google.devtools.treeshaker.LibraryInfo other) {
+      if (other == com.google.devtools.treeshaker.LibraryInfo.getDefaultInstance()) return this;
+      if (!other.typeMap_.isEmpty()) {
+        if (typeMap_.isEmpty()) {
+          typeMap_ = other.typeMap_;
+          bitField0_ |= 0x00000001;
+        } else {
+          ensureTypeMapIsMutable();
+          typeMap_.addAll(other.typeMap_);
+        }
+        onChanged();
+      }
+      if (typeBuilder_ == null) {
+        if (!other.type_.isEmpty()) {
+          if (type_.isEmpty()) {
+            type_ = other.type_;
+            bitField0_ = (bitField0_ & ~0x00000002);
+          } else {
+            ensureTypeIsMutable();
+            type_.addAll(other.type_);
+          }
+          onChanged();
+        }
+      } else {
+        if (!other.type_.isEmpty()) {
+          if (typeBuilder_.isEmpty()) {
+            typeBuilder_.dispose();
+            typeBuilder_ = null;
+            type_ = other.type_;
+            bitField0_ = (bitField0_ & ~0x00000002);
+            typeBuilder_ = 
+              com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders ?
+                 getTypeFieldBuilder() : null;
+          } else {
+            typeBuilder_.addAllMessages(other.type_);
+          }
+        }
+      }
+      this.mergeUnknownFields(other.getUnknownFields());
+      onChanged();
+      return this;
+    }
+
+    @java.lang.Override
+    public final boolean isInitialized() {
+      return true;
+    }
+
+    @java.lang.Override
+    public Builder mergeFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      if (extensionRegistry == null) {
+        throw new java.lang.NullPointerException();
+      }
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            case 10: {
+              java.lang.String s = input.readStringRequireUtf8();
+              ensureTypeMapIsMutable();
+              typeMap_.add(s);
+              break;
+            } // case 10
+            case 18: {
+              com.google.devtools.treeshaker.TypeInfo m =
+                  input.readMessage(
+                      com.google.devtools.treeshaker.TypeInfo.parser(),
+                      extensionRegistry);
+              if (typeBuilder_ == null) {
+                ensureTypeIsMutable();
+                type_.add(m);
+              } else {
+                typeBuilder_.addMessage(m);
+              }
+              break;
+            } // case 18
+            default: {
+              if (!super.parseUnknownField(input, extensionRegistry, tag)) {
+                done = true; // was an endgroup tag
+              }
+              break;
+            } // default:
+          } // switch (tag)
+        } // while (!done)
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.unwrapIOException();
+      } finally {
+        onChanged();
+      } // finally
+      return this;
+    }
+    private int bitField0_;
+
+    private com.google.protobuf.LazyStringArrayList typeMap_ =
+        com.google.protobuf.LazyStringArrayList.emptyList();
+    private void ensureTypeMapIsMutable() {
+      if (!typeMap_.isModifiable()) {
+        typeMap_ = new com.google.protobuf.LazyStringArrayList(typeMap_);
+      }
+      bitField0_ |= 0x00000001;
+    }
+    /**
+     * <code>repeated string type_map = 1;</code>
+     * @return A list containing the typeMap.
+     */
+    public com.google.protobuf.ProtocolStringList
+        getTypeMapList() {
+      typeMap_.makeImmutable();
+      return typeMap_;
+    }
+    /**
+     * <code>repeated string type_map = 1;</code>
+     * @return The count of typeMap.
+     */
+    public int getTypeMapCount() {
+      return typeMap_.size();
+    }
+    /**
+     * <code>repeated string type_map = 1;</code>
+     * @param index The index of the element to return.
+     * @return The typeMap at the given index.
+     */
+    public java.lang.String getTypeMap(int index) {
+      return typeMap_.get(index);
+    }
+    /**
+     * <code>repeated string type_map = 1;</code>
+     * @param index The index of the value to return.
+     * @return The bytes of the typeMap at the given index.
+     */
+    public com.google.protobuf.ByteString
+        getTypeMapBytes(int index) {
+      return typeMap_.getByteString(index);
+    }
+    /**
+     * <code>repeated string type_map = 1;</code>
+     * @param index The index to set the value at.
+     * @param value The typeMap to set.
+     * @return This builder for chaining.
+     */
+    public Builder setTypeMap(
+        int index, java.lang.String value) {
+      if (value == null) { throw new NullPointerException(); }
+      ensureTypeMapIsMutable();
+      typeMap_.set(index, value);
+      bitField0_ |= 0x00000001;
+      onChanged();
+      return this;
+    }
+    /**
+     * <code>repeated string type_map = 1;</code>
+     * @param value The typeMap to add.
+     * @return This builder for chaining.
+     */
+    public Builder addTypeMap(
+        java.lang.String value) {
+      if (value == null) { throw new NullPointerException(); }
+      ensureTypeMapIsMutable();
+      typeMap_.add(value);
+      bitField0_ |= 0x00000001;
+      onChanged();
+      return this;
+    }
+    /**
+     * <code>repeated string type_map = 1;</code>
+     * @param values The typeMap to add.
+     * @return This builder for chaining.
+     */
+    public Builder addAllTypeMap(
+        java.lang.Iterable<java.lang.String> values) {
+      ensureTypeMapIsMutable();
+      com.google.protobuf.AbstractMessageLite.Builder.addAll(
+          values, typeMap_);
+      bitField0_ |= 0x00000001;
+      onChanged();
+      return this;
+    }
+    /**
+     * <code>repeated string type_map = 1;</code>
+     * @return This builder for chaining.
+     */
+    public Builder clearTypeMap() {
+      typeMap_ =
+        com.google.protobuf.LazyStringArrayList.emptyList();
+      bitField0_ = (bitField0_ & ~0x00000001);;
+      onChanged();
+      return this;
+    }
+    /**
+     * <code>repeated string type_map = 1;</code>
+     * @param value The bytes of the typeMap to add.
+     * @return This builder for chaining.
+     */
+    public Builder addTypeMapBytes(
+        com.google.protobuf.ByteString value) {
+      if (value == null) { throw new NullPointerException(); }
+      checkByteStringIsUtf8(value);
+      ensureTypeMapIsMutable();
+      typeMap_.add(value);
+      bitField0_ |= 0x00000001;
+      onChanged();
+      return this;
+    }
+
+    private java.util.List<com.google.devtools.treeshaker.TypeInfo> type_ =
+      java.util.Collections.emptyList();
+    private void ensureTypeIsMutable() {
+      if (!((bitField0_ & 0x00000002) != 0)) {
+        type_ = new java.util.ArrayList<com.google.devtools.treeshaker.TypeInfo>(type_);
+        bitField0_ |= 0x00000002;
+       }
+    }
+
+    private com.google.protobuf.RepeatedFieldBuilder<
+        com.google.devtools.treeshaker.TypeInfo, com.google.devtools.treeshaker.TypeInfo.Builder, com.google.devtools.treeshaker.TypeInfoOrBuilder> typeBuilder_;
+
+    /**
+     * <code>repeated .j2objc.TypeInfo type = 2;</code>
+     */
+    public java.util.List<com.google.devtools.treeshaker.TypeInfo> getTypeList() {
+      if (typeBuilder_ == null) {
+        return java.util.Collections.unmodifiableList(type_);
+      } else {
+        return typeBuilder_.getMessageList();
+      }
+    }
+    /**
+     * <code>repeated .j2objc.TypeInfo type = 2;</code>
+     */
+    public int getTypeCount() {
+      if (typeBuilder_ == null) {
+        return type_.size();
+      } else {
+        return typeBuilder_.getCount();
+      }
+    }
+    /**
+     * <code>repeated .j2objc.TypeInfo type = 2;</code>
+     */
+    public com.google.devtools.treeshaker.TypeInfo getType(int index) {
+      if (typeBuilder_ == null) {
+        return type_.get(index);
+      } else {
+        return typeBuilder_.getMessage(index);
+      }
+    }
+    /**
+     * <code>repeated .j2objc.TypeInfo type = 2;</code>
+     */
+    public Builder setType(
+        int index, com.google.devtools.treeshaker.TypeInfo value) {
+      if (typeBuilder_ == null) {
+        if (value == null) {
+          throw new NullPointerException();
+        }
+        ensureTypeIsMutable();
+        type_.set(index, value);
+        onChanged();
+      } else {
+        typeBuilder_.setMessage(index, value);
+      }
+      return this;
+    }
+    /**
+     * <code>repeated .j2objc.TypeInfo type = 2;</code>
+     */
+    public Builder setType(
+        int index, com.google.devtools.treeshaker.TypeInfo.Builder builderForValue) {
+      if (typeBuilder_ == null) {
+        ensureTypeIsMutable();
+        type_.set(index, builderForValue.build());
+        onChanged();
+      } else {
+        typeBuilder_.setMessage(index, builderForValue.build());
+      }
+      return this;
+    }
+    /**
+     * <code>repeated .j2objc.TypeInfo type = 2;</code>
+     */
+    public Builder addType(com.google.devtools.treeshaker.TypeInfo value) {
+      if (typeBuilder_ == null) {
+        if (value == null) {
+          throw new NullPointerException();
+        }
+        ensureTypeIsMutable();
+        type_.add(value);
+        onChanged();
+      } else {
+        typeBuilder_.addMessage(value);
+      }
+      return this;
+    }
+    /**
+     * <code>repeated .j2objc.TypeInfo type = 2;</code>
+     */
+    public Builder addType(
+        int index, com.google.devtools.treeshaker.TypeInfo value) {
+      if (typeBuilder_ == null) {
+        if (value == null) {
+          throw new NullPointerException();
+        }
+        ensureTypeIsMutable();
+        type_.add(index, value);
+        onChanged();
+      } else {
+        typeBuilder_.addMessage(index, value);
+      }
+      return this;
+    }
+    /**
+     * <code>repeated .j2objc.TypeInfo type = 2;</code>
+     */
+    public Builder addType(
+        com.google.devtools.treeshaker.TypeInfo.Builder builderForValue) {
+      if (typeBuilder_ == null) {
+        ensureTypeIsMutable();
+        type_.add(builderForValue.build());
+        onChanged();
+      } else {
+        typeBuilder_.addMessage(builderForValue.build());
+      }
+      return this;
+    }
+    /**
+     * <code>repeated .j2objc.TypeInfo type = 2;</code>
+     */
+    public Builder addType(
+        int index, com.google.devtools.treeshaker.TypeInfo.Builder builderForValue) {
+      if (typeBuilder_ == null) {
+        ensureTypeIsMutable();
+        type_.add(index, builderForValue.build());
+        onChanged();
+      } else {
+        typeBuilder_.addMessage(index, builderForValue.build());
+      }
+      return this;
+    }
+    /**
+     * <code>repeated .j2objc.TypeInfo type = 2;</code>
+     */
+    public Builder addAllType(
+        java.lang.Iterable<? extends com.google.devtools.treeshaker.TypeInfo> values) {
+      if (typeBuilder_ == null) {
+        ensureTypeIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, type_);
+        onChanged();
+      } else {
+        typeBuilder_.addAllMessages(values);
+      }
+      return this;
+    }
+    /**
+     * <code>repeated .j2objc.TypeInfo type = 2;</code>
+     */
+    public Builder clearType() {
+      if (typeBuilder_ == null) {
+        type_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000002);
+        onChanged();
+      } else {
+        typeBuilder_.clear();
+      }
+      return this;
+    }
+    /**
+     * <code>repeated .j2objc.TypeInfo type = 2;</code>
+     */
+    public Builder removeType(int index) {
+      if (typeBuilder_ == null) {
+        ensureTypeIsMutable();
+        type_.remove(index);
+        onChanged();
+      } else {
+        typeBuilder_.remove(index);
+      }
+      return this;
+    }
+    /**
+     * <code>repeated .j2objc.TypeInfo type = 2;</code>
+     */
+    public com.google.devtools.treeshaker.TypeInfo.Builder getTypeBuilder(
+        int index) {
+      return getTypeFieldBuilder().getBuilder(index);
+    }
+    /**
+     * <code>repeated .j2objc.TypeInfo type = 2;</code>
+     */
+    public com.google.devtools.treeshaker.TypeInfoOrBuilder getTypeOrBuilder(
+        int index) {
+      if (typeBuilder_ == null) {
+        return type_.get(index);  } else {
+        return typeBuilder_.getMessageOrBuilder(index);
+      }
+    }
+    /**
+     * <code>repeated .j2objc.TypeInfo type = 2;</code>
+     */
+    public java.util.List<? extends com.google.devtools.treeshaker.TypeInfoOrBuilder> 
+         getTypeOrBuilderList() {
+      if (typeBuilder_ != null) {
+        return typeBuilder_.getMessageOrBuilderList();
+      } else {
+        return java.util.Collections.unmodifiableList(type_);
+      }
+    }
+    /**
+     * <code>repeated .j2objc.TypeInfo type = 2;</code>
+     */
+    public com.google.devtools.treeshaker.TypeInfo.Builder addTypeBuilder() {
+      return getTypeFieldBuilder().addBuilder(
+          com.google.devtools.treeshaker.TypeInfo.getDefaultInstance());
+    }
+    /**
+     * <code>repeated .j2objc.TypeInfo type = 2;</code>
+     */
+    public com.google.devtools.treeshaker.TypeInfo.Builder addTypeBuilder(
+        int index) {
+      return getTypeFieldBuilder().addBuilder(
+          index, com.google.devtools.treeshaker.TypeInfo.getDefaultInstance());
+    }
+    /**
+     * <code>repeated .j2objc.TypeInfo type = 2;</code>
+     */
+    public java.util.List<com.google.devtools.treeshaker.TypeInfo.Builder> 
+         getTypeBuilderList() {
+      return getTypeFieldBuilder().getBuilderList();
+    }
+    private com.google.protobuf.RepeatedFieldBuilder<
+        com.google.devtools.treeshaker.TypeInfo, com.google.devtools.treeshaker.TypeInfo.Builder, com.google.devtools.treeshaker.TypeInfoOrBuilder> 
+        getTypeFieldBuilder() {
+      if (typeBuilder_ == null) {
+        typeBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
+            com.google.devtools.treeshaker.TypeInfo, com.google.devtools.treeshaker.TypeInfo.Builder, com.google.devtools.treeshaker.TypeInfoOrBuilder>(
+                type_,
+                ((bitField0_ & 0x00000002) != 0),
+                getParentForChildren(),
+                isClean());
+        type_ = null;
+      }
+      return typeBuilder_;
+    }
+
+    // @@protoc_insertion_point(builder_scope:j2objc.LibraryInfo)
+  }
+
+  // @@protoc_insertion_point(class_scope:j2objc.LibraryInfo)
+  private static final com.google.devtools.treeshaker.LibraryInfo DEFAULT_INSTANCE;
+  static {
+    DEFAULT_INSTANCE = new com.google.devtools.treeshaker.LibraryInfo();
+  }
+
+  public static com.google.devtools.treeshaker.LibraryInfo getDefaultInstance() {
+    return DEFAULT_INSTANCE;
+  }
+
+  private static final com.google.protobuf.Parser<LibraryInfo>
+      PARSER = new com.google.protobuf.AbstractParser<LibraryInfo>() {
+    @java.lang.Override
+    public LibraryInfo parsePartialFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      Builder builder = newBuilder();
+      try {
+        builder.mergeFrom(input, extensionRegistry);
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(builder.buildPartial());
+      } catch (com.google.protobuf.UninitializedMessageException e) {
+        throw e.asInvalidProtocolBufferException().setUnfinishedMessage(builder.buildPartial());
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(e)
+            .setUnfinishedMessage(builder.buildPartial());
+      }
+      return builder.buildPartial();
+    }
+  };
+
+  public static com.google.protobuf.Parser<LibraryInfo> parser() {
+    return PARSER;
+  }
+
+  @java.lang.Override
+  public com.google.protobuf.Parser<LibraryInfo> getParserForType() {
+    return PARSER;
+  }
+
+  @java.lang.Override
+  public com.google.devtools.treeshaker.LibraryInfo getDefaultInstanceForType() {
+    return DEFAULT_INSTANCE;
+  }
+
+}
+
@@ -0,0 +1,60 @@
+// Generated by the protocol buffer compiler.  DO NOT EDIT!
+// NO CHECKED-IN PROTOBUF GENCODE
+// source: src/main/java/com/google/devtools/treeshaker/library_info.proto
+// Protobuf Java Version: 4.27.3
+
+package com.google.devtools.treeshaker;
+
+public interface LibraryInfoOrBuilder extends
+    // @@protoc_insertion_point(interface_extends:j2objc.LibraryInfo)
+    com.google.protobuf.MessageOrBuilder {
+
+  /**
+   * <code>repeated string type_map = 1;</code>
+   * @return A list containing the typeMap.
+   */
+  java.util.List<java.lang.String>
+      getTypeMapList();
+  /**
+   * <code>repeated string type_map = 1;</code>
+   * @return The count of typeMap.
+   */
+  int getTypeMapCount();
+  /**
+   * <code>repeated string type_map = 1;</code>
+   * @param index The index of the element to return.
+   * @return The typeMap at the given index.
+   */
+  java.lang.String getTypeMap(int index);
+  /**
+   * <code>repeated string type_map = 1;</code>
+   * @param index The index of the value to return.
+   * @return The bytes of the typeMap at the given index.
+   */
+  com.google.protobuf.ByteString
+      getTypeMapBytes(int index);
+
+  /**
+   * <code>repeated .j2objc.TypeInfo type = 2;</code>
+   */
+  java.util.List<com.google.devtools.treeshaker.TypeInfo> 
+      getTypeList();
+  /**
+   * <code>repeated .j2objc.TypeInfo type = 2;</code>
+   */
+  com.google.devtools.treeshaker.TypeInfo getType(int index);
+  /**
+   * <code>repeated .j2objc.TypeInfo type = 2;</code>
+   */
+  int getTypeCount();
+  /**
+   * <code>repeated .j2objc.TypeInfo type = 2;</code>
+   */
+  java.util.List<? extends com.google.devtools.treeshaker.TypeInfoOrBuilder> 
+      getTypeOrBuilderList();
+  /**
+   * <code>repeated .j2objc.TypeInfo type = 2;</code>
+   */
+  com.google.devtools.treeshaker.TypeInfoOrBuilder getTypeOrBuilder(
+      int index);
+}
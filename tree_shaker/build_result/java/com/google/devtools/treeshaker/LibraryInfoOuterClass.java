@@ -0,0 +1,119 @@
+// Generated by the protocol buffer compiler.  DO NOT EDIT!
+// NO CHECKED-IN PROTOBUF GENCODE
+// source: src/main/java/com/google/devtools/treeshaker/library_info.proto
+// Protobuf Java Version: 4.27.3
+
+package com.google.devtools.treeshaker;
+
+public final class LibraryInfoOuterClass {
+  private LibraryInfoOuterClass() {}
+  static {
+    com.google.protobuf.RuntimeVersion.validateProtobufGencodeVersion(
+      com.google.protobuf.RuntimeVersion.RuntimeDomain.PUBLIC,
+      /* major= */ 4,
+      /* minor= */ 27,
+      /* patch= */ 3,
+      /* suffix= */ "",
+      LibraryInfoOuterClass.class.getName());
+  }
+  public static void registerAllExtensions(
+      com.google.protobuf.ExtensionRegistryLite registry) {
+  }
+
+  public static void registerAllExtensions(
+      com.google.protobuf.ExtensionRegistry registry) {
+    registerAllExtensions(
+        (com.google.protobuf.ExtensionRegistryLite) registry);
+  }
+  static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_j2objc_LibraryInfo_descriptor;
+  static final 
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_j2objc_LibraryInfo_fieldAccessorTable;
+  static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_j2objc_TypeInfo_descriptor;
+  static final 
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_j2objc_TypeInfo_fieldAccessorTable;
+  static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_j2objc_MemberInfo_descriptor;
+  static final 
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_j2objc_MemberInfo_fieldAccessorTable;
+  static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_j2objc_MethodInvocation_descriptor;
+  static final 
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_j2objc_MethodInvocation_fieldAccessorTable;
+  static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_j2objc_Annotations_descriptor;
+  static final 
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_j2objc_Annotations_fieldAccessorTable;
+
+  public static com.google.protobuf.Descriptors.FileDescriptor
+      getDescriptor() {
+    return descriptor;
+  }
+  private static  com.google.protobuf.Descriptors.FileDescriptor
+      descriptor;
+  static {
+    java.lang.String[] descriptorData = {
+      "\n?src/main/java/com/google/devtools/tree" +
+      "shaker/library_info.proto\022\006j2objc\"?\n\013Lib" +
+      "raryInfo\022\020\n\010type_map\030\001 \003(\t\022\036\n\004type\030\002 \003(\013" +
+      "2\020.j2objc.TypeInfo\"\225\001\n\010TypeInfo\022\017\n\007type_" +
+      "id\030\001 \001(\005\022\024\n\014extends_type\030\002 \001(\005\022\027\n\017implem" +
+      "ents_type\030\003 \003(\005\022\"\n\006member\030\004 \003(\0132\022.j2objc" +
+      ".MemberInfo\022\020\n\010exported\030\005 \001(\010\022\023\n\013inner_t" +
+      "ypes\030\006 \003(\005\"\375\001\n\nMemberInfo\022\014\n\004name\030\001 \001(\t\022" +
+      "\016\n\006static\030\002 \001(\010\022\023\n\013constructor\030\003 \001(\010\022\020\n\010" +
+      "exported\030\004 \001(\010\0221\n\017invoked_methods\030\005 \003(\0132" +
+      "\030.j2objc.MethodInvocation\022\030\n\020referenced_" +
+      "types\030\006 \003(\005\022\025\n\roriginal_type\030\007 \001(\005\022\034\n\024or" +
+      "iginal_method_name\030\010 \001(\t\022(\n\013annotations\030" +
+      "\t \001(\0132\023.j2objc.Annotations\":\n\020MethodInvo" +
+      "cation\022\016\n\006method\030\001 \001(\t\022\026\n\016enclosing_type" +
+      "\030\002 \001(\005\"3\n\013Annotations\022$\n\034used_by_native_" +
+      "or_reflection\030\001 \001(\010B\"\n\036com.google.devtoo" +
+      "ls.treeshakerP\001b\006proto3"
+    };
+    descriptor = com.google.protobuf.Descriptors.FileDescriptor
+      .internalBuildGeneratedFileFrom(descriptorData,
+        new com.google.protobuf.Descriptors.FileDescriptor[] {
+        });
+    internal_static_j2objc_LibraryInfo_descriptor =
+      getDescriptor().getMessageTypes().get(0);
+    internal_static_j2objc_LibraryInfo_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+        internal_static_j2objc_LibraryInfo_descriptor,
+        new java.lang.String[] { "TypeMap", "Type", });
+    internal_static_j2objc_TypeInfo_descriptor =
+      getDescriptor().getMessageTypes().get(1);
+    internal_static_j2objc_TypeInfo_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+        internal_static_j2objc_TypeInfo_descriptor,
+        new java.lang.String[] { "TypeId", "ExtendsType", "ImplementsType", "Member", "Exported", "InnerTypes", });
+    internal_static_j2objc_MemberInfo_descriptor =
+      getDescriptor().getMessageTypes().get(2);
+    internal_static_j2objc_MemberInfo_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+        internal_static_j2objc_MemberInfo_descriptor,
+        new java.lang.String[] { "Name", "Static", "Constructor", "Exported", "InvokedMethods", "ReferencedTypes", "OriginalType", "OriginalMethodName", "Annotations", });
+    internal_static_j2objc_MethodInvocation_descriptor =
+      getDescriptor().getMessageTypes().get(3);
+    internal_static_j2objc_MethodInvocation_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+        internal_static_j2objc_MethodInvocation_descriptor,
+        new java.lang.String[] { "Method", "EnclosingType", });
+    internal_static_j2objc_Annotations_descriptor =
+      getDescriptor().getMessageTypes().get(4);
+    internal_static_j2objc_Annotations_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+        internal_static_j2objc_Annotations_descriptor,
+        new java.lang.String[] { "UsedByNativeOrReflection", });
+    descriptor.resolveAllFeaturesImmutable();
+  }
+
+  // @@protoc_insertion_point(outer_class_scope)
+}
@@ -0,0 +1,115 @@
+// Generated by the protocol buffer compiler.  DO NOT EDIT!
+// NO CHECKED-IN PROTOBUF GENCODE
+// source: src/main/java/com/google/devtools/treeshaker/library_info.proto
+// Protobuf Java Version: 4.27.3
+
+package com.google.devtools.treeshaker;
+
+public interface MemberInfoOrBuilder extends
+    // @@protoc_insertion_point(interface_extends:j2objc.MemberInfo)
+    com.google.protobuf.MessageOrBuilder {
+
+  /**
+   * <code>string name = 1;</code>
+   * @return The name.
+   */
+  java.lang.String getName();
+  /**
+   * <code>string name = 1;</code>
+   * @return The bytes for name.
+   */
+  com.google.protobuf.ByteString
+      getNameBytes();
+
+  /**
+   * <code>bool static = 2;</code>
+   * @return The static.
+   */
+  boolean getStatic();
+
+  /**
+   * <code>bool constructor = 3;</code>
+   * @return The constructor.
+   */
+  boolean getConstructor();
+
+  /**
+   * <code>bool exported = 4;</code>
+   * @return The exported.
+   */
+  boolean getExported();
+
+  /**
+   * <code>repeated .j2objc.MethodInvocation invoked_methods = 5;</code>
+   */
+  java.util.List<com.google.devtools.treeshaker.MethodInvocation> 
+      getInvokedMethodsList();
+  /**
+   * <code>repeated .j2objc.MethodInvocation invoked_methods = 5;</code>
+   */
+  com.google.devtools.treeshaker.MethodInvocation getInvokedMethods(int index);
+  /**
+   * <code>repeated .j2objc.MethodInvocation invoked_methods = 5;</code>
+   */
+  int getInvokedMethodsCount();
+  /**
+   * <code>repeated .j2objc.MethodInvocation invoked_methods = 5;</code>
+   */
+  java.util.List<? extends com.google.devtools.treeshaker.MethodInvocationOrBuilder> 
+      getInvokedMethodsOrBuilderList();
+  /**
+   * <code>repeated .j2objc.MethodInvocation invoked_methods = 5;</code>
+   */
+  com.google.devtools.treeshaker.MethodInvocationOrBuilder getInvokedMethodsOrBuilder(
+      int index);
+
+  /**
+   * <code>repeated int32 referenced_types = 6;</code>
+   * @return A list containing the referencedTypes.
+   */
+  java.util.List<java.lang.Integer> getReferencedTypesList();
+  /**
+   * <code>repeated int32 referenced_types = 6;</code>
+   * @return The count of referencedTypes.
+   */
+  int getReferencedTypesCount();
+  /**
+   * <code>repeated int32 referenced_types = 6;</code>
+   * @param index The index of the element to return.
+   * @return The referencedTypes at the given index.
+   */
+  int getReferencedTypes(int index);
+
+  /**
+   * <code>int32 original_type = 7;</code>
+   * @return The originalType.
+   */
+  int getOriginalType();
+
+  /**
+   * <code>string original_method_name = 8;</code>
+   * @return The originalMethodName.
+   */
+  java.lang.String getOriginalMethodName();
+  /**
+   * <code>string original_method_name = 8;</code>
+   * @return The bytes for originalMethodName.
+   */
+  com.google.protobuf.ByteString
+      getOriginalMethodNameBytes();
+
+  /**
+   * <code>.j2objc.Annotations annotations = 9;</code>
+   * @return Whether the annotations field is set.
+   */
+  boolean hasAnnotations();
+  /**
+   * <code>.j2objc.Annotations annotations = 9;</code>
+   * @return The annotations.
+   */
+  com.google.devtools.treeshaker.Annotations getAnnotations();
+  /**
+   * <code>.j2objc.Annotations annotations = 9;</code>
+   */
+  com.google.devtools.treeshaker.AnnotationsOrBuilder getAnnotationsOrBuilder();
+}
@@ -0,0 +1,29 @@
+// Generated by the protocol buffer compiler.  DO NOT EDIT!
+// NO CHECKED-IN PROTOBUF GENCODE
+// source: src/main/java/com/google/devtools/treeshaker/library_info.proto
+// Protobuf Java Version: 4.27.3
+
+package com.google.devtools.treeshaker;
+
+public interface MethodInvocationOrBuilder extends
+    // @@protoc_insertion_point(interface_extends:j2objc.MethodInvocation)
+    com.google.protobuf.MessageOrBuilder {
+
+  /**
+   * <code>string method = 1;</code>
+   * @return The method.
+   */
+  java.lang.String getMethod();
+  /**
+   * <code>string method = 1;</code>
+   * @return The bytes for method.
+   */
+  com.google.protobuf.ByteString
+      getMethodBytes();
+
+  /**
+   * <code>int32 enclosing_type = 2;</code>
+   * @return The enclosingType.
+   */
+  int getEnclosingType();
+}
@@ -0,0 +1,1267 @@
+// Generated by the protocol buffer compiler.  DO NOT EDIT!
+// NO CHECKED-IN PROTOBUF GENCODE
+// source: src/main/java/com/google/devtools/treeshaker/library_info.proto
+// Protobuf Java Version: 4.27.3
+
+package com.google.devtools.treeshaker;
+
+/**
+ * Protobuf type {@code j2objc.TypeInfo}
+ */
+public final class TypeInfo extends
+    com.google.protobuf.GeneratedMessage implements
+    // @@protoc_insertion_point(message_implements:j2objc.TypeInfo)
+    TypeInfoOrBuilder {
+private static final long serialVersionUID = 0L;
+  static {
+    com.google.protobuf.RuntimeVersion.validateProtobufGencodeVersion(
+      com.google.protobuf.RuntimeVersion.RuntimeDomain.PUBLIC,
+      /* major= */ 4,
+      /* minor= */ 27,
+      /* patch= */ 3,
+      /* suffix= */ "",
+      TypeInfo.class.getName());
+  }
+  // Use TypeInfo.newBuilder() to construct.
+  private TypeInfo(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+    super(builder);
+  }
+  private TypeInfo() {
+    implementsType_ = emptyIntList();
+    member_ = java.util.Collections.emptyList();
+    innerTypes_ = emptyIntList();
+  }
+
+  public static final com.google.protobuf.Descriptors.Descriptor
+      getDescriptor() {
+    return com.google.devtools.treeshaker.LibraryInfoOuterClass.internal_static_j2objc_TypeInfo_descriptor;
+  }
+
+  @java.lang.Override
+  protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internalGetFieldAccessorTable() {
+    return com.google.devtools.treeshaker.LibraryInfoOuterClass.internal_static_j2objc_TypeInfo_fieldAccessorTable
+        .ensureFieldAccessorsInitialized(
+            com.google.devtools.treeshaker.TypeInfo.class, com.google.devtools.treeshaker.TypeInfo.Builder.class);
+  }
+
+  public static final int TYPE_ID_FIELD_NUMBER = 1;
+  private int typeId_ = 0;
+  /**
+   * <code>int32 type_id = 1;</code>
+   * @return The typeId.
+   */
+  @java.lang.Override
+  public int getTypeId() {
+    return typeId_;
+  }
+
+  public static final int EXTENDS_TYPE_FIELD_NUMBER = 2;
+  private int extendsType_ = 0;
+  /**
+   * <code>int32 extends_type = 2;</code>
+   * @return The extendsType.
+   */
+  @java.lang.Override
+  public int getExtendsType() {
+    return extendsType_;
+  }
+
+  public static final int IMPLEMENTS_TYPE_FIELD_NUMBER = 3;
+  @SuppressWarnings("serial")
+  private com.google.protobuf.Internal.IntList implementsType_ =
+      emptyIntList();
+  /**
+   * <code>repeated int32 implements_type = 3;</code>
+   * @return A list containing the implementsType.
+   */
+  @java.lang.Override
+  public java.util.List<java.lang.Integer>
+      getImplementsTypeList() {
+    return implementsType_;
+  }
+  /**
+   * <code>repeated int32 implements_type = 3;</code>
+   * @return The count of implementsType.
+   */
+  public int getImplementsTypeCount() {
+    return implementsType_.size();
+  }
+  /**
+   * <code>repeated int32 implements_type = 3;</code>
+   * @param index The index of the element to return.
+   * @return The implementsType at the given index.
+   */
+  public int getImplementsType(int index) {
+    return implementsType_.getInt(index);
+  }
+  private int implementsTypeMemoizedSerializedSize = -1;
+
+  public static final int MEMBER_FIELD_NUMBER = 4;
+  @SuppressWarnings("serial")
+  private java.util.List<com.google.devtools.treeshaker.MemberInfo> member_;
+  /**
+   * <code>repeated .j2objc.MemberInfo member = 4;</code>
+   */
+  @java.lang.Override
+  public java.util.List<com.google.devtools.treeshaker.MemberInfo> getMemberList() {
+    return member_;
+  }
+  /**
+   * <code>repeated .j2objc.MemberInfo member = 4;</code>
+   */
+  @java.lang.Override
+  public java.util.List<? extends com.google.devtools.treeshaker.MemberInfoOrBuilder> 
+      getMemberOrBuilderList() {
+    return member_;
+  }
+  /**
+   * <code>repeated .j2objc.MemberInfo member = 4;</code>
+   */
+  @java.lang.Override
+  public int getMemberCount() {
+    return member_.size();
+  }
+  /**
+   * <code>repeated .j2objc.MemberInfo member = 4;</code>
+   */
+  @java.lang.Override
+  public com.google.devtools.treeshaker.MemberInfo getMember(int index) {
+    return member_.get(index);
+  }
+  /**
+   * <code>repeated .j2objc.MemberInfo member = 4;</code>
+   */
+  @java.lang.Override
+  public com.google.devtools.treeshaker.MemberInfoOrBuilder getMemberOrBuilder(
+      int index) {
+    return member_.get(index);
+  }
+
+  public static final int EXPORTED_FIELD_NUMBER = 5;
+  private boolean exported_ = false;
+  /**
+   * <code>bool exported = 5;</code>
+   * @return The exported.
+   */
+  @java.lang.Override
+  public boolean getExported() {
+    return exported_;
+  }
+
+  public static final int INNER_TYPES_FIELD_NUMBER = 6;
+  @SuppressWarnings("serial")
+  private com.google.protobuf.Internal.IntList innerTypes_ =
+      emptyIntList();
+  /**
+   * <code>repeated int32 inner_types = 6;</code>
+   * @return A list containing the innerTypes.
+   */
+  @java.lang.Override
+  public java.util.List<java.lang.Integer>
+      getInnerTypesList() {
+    return innerTypes_;
+  }
+  /**
+   * <code>repeated int32 inner_types = 6;</code>
+   * @return The count of innerTypes.
+   */
+  public int getInnerTypesCount() {
+    return innerTypes_.size();
+  }
+  /**
+   * <code>repeated int32 inner_types = 6;</code>
+   * @param index The index of the element to return.
+   * @return The innerTypes at the given index.
+   */
+  public int getInnerTypes(int index) {
+    return innerTypes_.getInt(index);
+  }
+  private int innerTypesMemoizedSerializedSize = -1;
+
+  private byte memoizedIsInitialized = -1;
+  @java.lang.Override
+  public final boolean isInitialized() {
+    byte isInitialized = memoizedIsInitialized;
+    if (isInitialized == 1) return true;
+    if (isInitialized == 0) return false;
+
+    memoizedIsInitialized = 1;
+    return true;
+  }
+
+  @java.lang.Override
+  public void writeTo(com.google.protobuf.CodedOutputStream output)
+                      throws java.io.IOException {
+    getSerializedSize();
+    if (typeId_ != 0) {
+      output.writeInt32(1, typeId_);
+    }
+    if (extendsType_ != 0) {
+      output.writeInt32(2, extendsType_);
+    }
+    if (getImplementsTypeList().size() > 0) {
+      output.writeUInt32NoTag(26);
+      output.writeUInt32NoTag(implementsTypeMemoizedSerializedSize);
+    }
+    for (int i = 0; i < implementsType_.size(); i++) {
+      output.writeInt32NoTag(implementsType_.getInt(i));
+    }
+    for (int i = 0; i < member_.size(); i++) {
+      output.writeMessage(4, member_.get(i));
+    }
+    if (exported_ != false) {
+      output.writeBool(5, exported_);
+    }
+    if (getInnerTypesList().size() > 0) {
+      output.writeUInt32NoTag(50);
+      output.writeUInt32NoTag(innerTypesMemoizedSerializedSize);
+    }
+    for (int i = 0; i < innerTypes_.size(); i++) {
+      output.writeInt32NoTag(innerTypes_.getInt(i));
+    }
+    getUnknownFields().writeTo(output);
+  }
+
+  @java.lang.Override
+  public int getSerializedSize() {
+    int size = memoizedSize;
+    if (size != -1) return size;
+
+    size = 0;
+    if (typeId_ != 0) {
+      size += com.google.protobuf.CodedOutputStream
+        .computeInt32Size(1, typeId_);
+    }
+    if (extendsType_ != 0) {
+      size += com.google.protobuf.CodedOutputStream
+        .computeInt32Size(2, extendsType_);
+    }
+    {
+      int dataSize = 0;
+      for (int i = 0; i < implementsType_.size(); i++) {
+        dataSize += com.google.protobuf.CodedOutputStream
+          .computeInt32SizeNoTag(implementsType_.getInt(i));
+      }
+      size += dataSize;
+      if (!getImplementsTypeList().isEmpty()) {
+        size += 1;
+        size += com.google.protobuf.CodedOutputStream
+            .computeInt32SizeNoTag(dataSize);
+      }
+      implementsTypeMemoizedSerializedSize = dataSize;
+    }
+    for (int i = 0; i < member_.size(); i++) {
+      size += com.google.protobuf.CodedOutputStream
+        .computeMessageSize(4, member_.get(i));
+    }
+    if (exported_ != false) {
+      size += com.google.protobuf.CodedOutputStream
+        .computeBoolSize(5, exported_);
+    }
+    {
+      int dataSize = 0;
+      for (int i = 0; i < innerTypes_.size(); i++) {
+        dataSize += com.google.protobuf.CodedOutputStream
+          .computeInt32SizeNoTag(innerTypes_.getInt(i));
+      }
+      size += dataSize;
+      if (!getInnerTypesList().isEmpty()) {
+        size += 1;
+        size += com.google.protobuf.CodedOutputStream
+            .computeInt32SizeNoTag(dataSize);
+      }
+      innerTypesMemoizedSerializedSize = dataSize;
+    }
+    size += getUnknownFields().getSerializedSize();
+    memoizedSize = size;
+    return size;
+  }
+
+  @java.lang.Override
+  public boolean equals(final java.lang.Object obj) {
+    if (obj == this) {
+     return true;
+    }
+    if (!(obj instanceof com.google.devtools.treeshaker.TypeInfo)) {
+      return super.equals(obj);
+    }
+    com.google.devtools.treeshaker.TypeInfo other = (com.google.devtools.treeshaker.TypeInfo) obj;
+
+    if (getTypeId()
+        != other.getTypeId()) return false;
+    if (getExtendsType()
+        != other.getExtendsType()) return false;
+    if (!getImplementsTypeList()
+        .equals(other.getImplementsTypeList())) return false;
+    if (!getMemberList()
+        .equals(other.getMemberList())) return false;
+    if (getExported()
+        != other.getExported()) return false;
+    if (!getInnerTypesList()
+        .equals(other.getInnerTypesList())) return false;
+    if (!getUnknownFields().equals(other.getUnknownFields())) return false;
+    return true;
+  }
+
+  @java.lang.Override
+  public int hashCode() {
+    if (memoizedHashCode != 0) {
+      return memoizedHashCode;
+    }
+    int hash = 41;
+    hash = (19 * hash) + getDescriptor().hashCode();
+    hash = (37 * hash) + TYPE_ID_FIELD_NUMBER;
+    hash = (53 * hash) + getTypeId();
+    hash = (37 * hash) + EXTENDS_TYPE_FIELD_NUMBER;
+    hash = (53 * hash) + getExtendsType();
+    if (getImplementsTypeCount() > 0) {
+      hash = (37 * hash) + IMPLEMENTS_TYPE_FIELD_NUMBER;
+      hash = (53 * hash) + getImplementsTypeList().hashCode();
+    }
+    if (getMemberCount() > 0) {
+      hash = (37 * hash) + MEMBER_FIELD_NUMBER;
+      hash = (53 * hash) + getMemberList().hashCode();
+    }
+    hash = (37 * hash) + EXPORTED_FIELD_NUMBER;
+    hash = (53 * hash) + com.google.protobuf.Internal.hashBoolean(
+        getExported());
+    if (getInnerTypesCount() > 0) {
+      hash = (37 * hash) + INNER_TYPES_FIELD_NUMBER;
+      hash = (53 * hash) + getInnerTypesList().hashCode();
+    }
+    hash = (29 * hash) + getUnknownFields().hashCode();
+    memoizedHashCode = hash;
+    return hash;
+  }
+
+  public static com.google.devtools.treeshaker.TypeInfo parseFrom(
+      java.nio.ByteBuffer data)
+      throws com.google.protobuf.InvalidProtocolBufferException {
+    return PARSER.parseFrom(data);
+  }
+  public static com.google.devtools.treeshaker.TypeInfo parseFrom(
+      java.nio.ByteBuffer data,
+      com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+      throws com.google.protobuf.InvalidProtocolBufferException {
+    return PARSER.parseFrom(data, extensionRegistry);
+  }
+  public static com.google.devtools.treeshaker.TypeInfo parseFrom(
+      com.google.protobuf.ByteString data)
+      throws com.google.protobuf.InvalidProtocolBufferException {
+    return PARSER.parseFrom(data);
+  }
+  public static com.google.devtools.treeshaker.TypeInfo parseFrom(
+      com.google.protobuf.ByteString data,
+      com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+      throws com.google.protobuf.InvalidProtocolBufferException {
+    return PARSER.parseFrom(data, extensionRegistry);
+  }
+  public static com.google.devtools.treeshaker.TypeInfo parseFrom(byte[] data)
+      throws com.google.protobuf.InvalidProtocolBufferException {
+    return PARSER.parseFrom(data);
+  }
+  public static com.google.devtools.treeshaker.TypeInfo parseFrom(
+      byte[] data,
+      com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+      throws com.google.protobuf.InvalidProtocolBufferException {
+    return PARSER.parseFrom(data, extensionRegistry);
+  }
+  public static com.google.devtools.treeshaker.TypeInfo parseFrom(java.io.InputStream input)
+      throws java.io.IOException {
+    return com.google.protobuf.GeneratedMessage
+        .parseWithIOException(PARSER, input);
+  }
+  public static com.google.devtools.treeshaker.TypeInfo parseFrom(
+      java.io.InputStream input,
+      com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+      throws java.io.IOException {
+    return com.google.protobuf.GeneratedMessage
+        .parseWithIOException(PARSER, input, extensionRegistry);
+  }
+
+  public static com.google.devtools.treeshaker.TypeInfo parseDelimitedFrom(java.io.InputStream input)
+      throws java.io.IOException {
+    return com.google.protobuf.GeneratedMessage
+        .parseDelimitedWithIOException(PARSER, input);
+  }
+
+  public static com.google.devtools.treeshaker.TypeInfo parseDelimitedFrom(
+      java.io.InputStream input,
+      com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+      throws java.io.IOException {
+    return com.google.protobuf.GeneratedMessage
+        .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+  }
+  public static com.google.devtools.treeshaker.TypeInfo parseFrom(
+      com.google.protobuf.CodedInputStream input)
+      throws java.io.IOException {
+    return com.google.protobuf.GeneratedMessage
+        .parseWithIOException(PARSER, input);
+  }
+  public static com.google.devtools.treeshaker.TypeInfo parseFrom(
+      com.google.protobuf.CodedInputStream input,
+      com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+      throws java.io.IOException {
+    return com.google.protobuf.GeneratedMessage
+        .parseWithIOException(PARSER, input, extensionRegistry);
+  }
+
+  @java.lang.Override
+  public Builder newBuilderForType() { return newBuilder(); }
+  public static Builder newBuilder() {
+    return DEFAULT_INSTANCE.toBuilder();
+  }
+  public static Builder newBuilder(com.google.devtools.treeshaker.TypeInfo prototype) {
+    return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+  }
+  @java.lang.Override
+  public Builder toBuilder() {
+    return this == DEFAULT_INSTANCE
+        ? new Builder() : new Builder().mergeFrom(this);
+  }
+
+  @java.lang.Override
+  protected Builder newBuilderForType(
+      com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+    Builder builder = new Builder(parent);
+    return builder;
+  }
+  /**
+   * Protobuf type {@code j2objc.TypeInfo}
+   */
+  public static final class Builder extends
+      com.google.protobuf.GeneratedMessage.Builder<Builder> implements
+      // @@protoc_insertion_point(builder_implements:j2objc.TypeInfo)
+      com.google.devtools.treeshaker.TypeInfoOrBuilder {
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.google.devtools.treeshaker.LibraryInfoOuterClass.internal_static_j2objc_TypeInfo_descriptor;
+    }
+
+    @java.lang.Override
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.google.devtools.treeshaker.LibraryInfoOuterClass.internal_static_j2objc_TypeInfo_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              com.google.devtools.treeshaker.TypeInfo.class, com.google.devtools.treeshaker.TypeInfo.Builder.class);
+    }
+
+    // Construct using com.google.devtools.treeshaker.TypeInfo.newBuilder()
+    private Builder() {
+
+    }
+
+    private Builder(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      super(parent);
+
+    }
+    @java.lang.Override
+    public Builder clear() {
+      super.clear();
+      bitField0_ = 0;
+      typeId_ = 0;
+      extendsType_ = 0;
+      implementsType_ = emptyIntList();
+      if (memberBuilder_ == null) {
+        member_ = java.util.Collections.emptyList();
+      } else {
+        member_ = null;
+        memberBuilder_.clear();
+      }
+      bitField0_ = (bitField0_ & ~0x00000008);
+      exported_ = false;
+      innerTypes_ = emptyIntList();
+      return this;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Descriptors.Descriptor
+        getDescriptorForType() {
+      return com.google.devtools.treeshaker.LibraryInfoOuterClass.internal_static_j2objc_TypeInfo_descriptor;
+    }
+
+    @java.lang.Override
+    public com.google.devtools.treeshaker.TypeInfo getDefaultInstanceForType() {
+      return com.google.devtools.treeshaker.TypeInfo.getDefaultInstance();
+    }
+
+    @java.lang.Override
+    public com.google.devtools.treeshaker.TypeInfo build() {
+      com.google.devtools.treeshaker.TypeInfo result = buildPartial();
+      if (!result.isInitialized()) {
+        throw newUninitializedMessageException(result);
+      }
+      return result;
+    }
+
+    @java.lang.Override
+    public com.google.devtools.treeshaker.TypeInfo buildPartial() {
+      com.google.devtools.treeshaker.TypeInfo result = new com.google.devtools.treeshaker.TypeInfo(this);
+      buildPartialRepeatedFields(result);
+      if (bitField0_ != 0) { buildPartial0(result); }
+      onBuilt();
+      return result;
+    }
+
+    private void buildPartialRepeatedFields(com.google.devtools.treeshaker.TypeInfo result) {
+      if (memberBuilder_ == null) {
+        if (((bitField0_ & 0x00000008) != 0)) {
+          member_ = java.util.Collections.unmodifiableList(member_);
+          bitField0_ = (bitField0_ & ~0x00000008);
+        }
+        result.member_ = member_;
+      } else {
+        result.member_ = memberBuilder_.build();
+      }
+    }
+
+    private void buildPartial0(com.google.devtools.treeshaker.TypeInfo result) {
+      int from_bitField0_ = bitField0_;
+      if (((from_bitField0_ & 0x00000001) != 0)) {
+        result.typeId_ = typeId_;
+      }
+      if (((from_bitField0_ & 0x00000002) != 0)) {
+        result.extendsType_ = extendsType_;
+      }
+      if (((from_bitField0_ & 0x00000004) != 0)) {
+        implementsType_.makeImmutable();
+        result.implementsType_ = implementsType_;
+      }
+      if (((from_bitField0_ & 0x00000010) != 0)) {
+        result.exported_ = exported_;
+      }
+      if (((from_bitField0_ & 0x00000020) != 0)) {
+        innerTypes_.makeImmutable();
+        result.innerTypes_ = innerTypes_;
+      }
+    }
+
+    @java.lang.Override
+    public Builder mergeFrom(com.google.protobuf.Message other) {
+      if (other instanceof com.google.devtools.treeshaker.TypeInfo) {
+        return mergeFrom((com.google.devtools.treeshaker.TypeInfo)other);
+      } else {
+        super.mergeFrom(other);
+        return this;
+      }
+    }
+
+    public Builder mergeFrom(com.google.devtools.treeshaker.TypeInfo other) {
+      if (other == com.google.devtools.treeshaker.TypeInfo.getDefaultInstance()) return this;
+      if (other.getTypeId() != 0) {
+        setTypeId(other.getTypeId());
+      }
+      if (other.getExtendsType() != 0) {
+        setExtendsType(other.getExtendsType());
+      }
+      if (!other.implementsType_.isEmpty()) {
+        if (implementsType_.isEmpty()) {
+          implementsType_ = other.implementsType_;
+          implementsType_.makeImmutable();
+          bitField0_ |= 0x00000004;
+        } else {
+          ensureImplementsTypeIsMutable();
+          implementsType_.addAll(other.implementsType_);
+        }
+        onChanged();
+      }
+      if (memberBuilder_ == null) {
+        if (!other.member_.isEmpty()) {
+          if (member_.isEmpty()) {
+            member_ = other.member_;
+            bitField0_ = (bitField0_ & ~0x00000008);
+          } else {
+            ensureMemberIsMutable();
+            member_.addAll(other.member_);
+          }
+          onChanged();
+        }
+      } else {
+        if (!other.member_.isEmpty()) {
+          if (memberBuilder_.isEmpty()) {
+            memberBuilder_.dispose();
+            memberBuilder_ = null;
+            member_ = other.member_;
+            bitField0_ = (bitField0_ & ~0x00000008);
+            memberBuilder_ = 
+              com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders ?
+                 getMemberFieldBuilder() : null;
+          } else {
+            memberBuilder_.addAllMessages(other.member_);
+          }
+        }
+      }
+      if (other.getExported() != false) {
+        setExported(other.getExported());
+      }
+      if (!other.innerTypes_.isEmpty()) {
+        if (innerTypes_.isEmpty()) {
+          innerTypes_ = other.innerTypes_;
+          innerTypes_.makeImmutable();
+          bitField0_ |= 0x00000020;
+        } else {
+          ensureInnerTypesIsMutable();
+          innerTypes_.addAll(other.innerTypes_);
+        }
+        onChanged();
+      }
+      this.mergeUnknownFields(other.getUnknownFields());
+      onChanged();
+      return this;
+    }
+
+    @java.lang.Override
+    public final boolean isInitialized() {
+      return true;
+    }
+
+    @java.lang.Override
+    public Builder mergeFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      if (extensionRegistry == null) {
+        throw new java.lang.NullPointerException();
+      }
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            case 8: {
+              typeId_ = input.readInt32();
+              bitField0_ |= 0x00000001;
+              break;
+            } // case 8
+            case 16: {
+              extendsType_ = input.readInt32();
+              bitField0_ |= 0x00000002;
+              break;
+            } // case 16
+            case 24: {
+              int v = input.readInt32();
+              ensureImplementsTypeIsMutable();
+              implementsType_.addInt(v);
+              break;
+            } // case 24
+            case 26: {
+              int length = input.readRawVarint32();
+              int limit = input.pushLimit(length);
+              ensureImplementsTypeIsMutable();
+              while (input.getBytesUntilLimit() > 0) {
+                implementsType_.addInt(input.readInt32());
+              }
+              input.popLimit(limit);
+              break;
+            } // case 26
+            case 34: {
+              com.google.devtools.treeshaker.MemberInfo m =
+                  input.readMessage(
+                      com.google.devtools.treeshaker.MemberInfo.parser(),
+                      extensionRegistry);
+              if (memberBuilder_ == null) {
+                ensureMemberIsMutable();
+                member_.add(m);
+              } else {
+                memberBuilder_.addMessage(m);
+              }
+              break;
+            } // case 34
+            case 40: {
+              exported_ = input.readBool();
+              bitField0_ |= 0x00000010;
+              break;
+            } // case 40
+            case 48: {
+              int v = input.readInt32();
+              ensureInnerTypesIsMutable();
+              innerTypes_.addInt(v);
+              break;
+            } // case 48
+            case 50: {
+              int length = input.readRawVarint32();
+              int limit = input.pushLimit(length);
+              ensureInnerTypesIsMutable();
+              while (input.getBytesUntilLimit() > 0) {
+                innerTypes_.addInt(input.readInt32());
+              }
+              input.popLimit(limit);
+              break;
+            } // case 50
+            default: {
+              if (!super.parseUnknownField(input, extensionRegistry, tag)) {
+                done = true; // was an endgroup tag
+              }
+              break;
+            } // default:
+          } // switch (tag)
+        } // while (!done)
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.unwrapIOException();
+      } finally {
+        onChanged();
+      } // finally
+      return this;
+    }
+    private int bitField0_;
+
+    private int typeId_ ;
+    /**
+     * <code>int32 type_id = 1;</code>
+     * @return The typeId.
+     */
+    @java.lang.Override
+    public int getTypeId() {
+      return typeId_;
+    }
+    /**
+     * <code>int32 type_id = 1;</code>
+     * @param value The typeId to set.
+     * @return This builder for chaining.
+     */
+    public Builder setTypeId(int value) {
+
+      typeId_ = value;
+      bitField0_ |= 0x00000001;
+      onChanged();
+      return this;
+    }
+    /**
+     * <code>int32 type_id = 1;</code>
+     * @return This builder for chaining.
+     */
+    public Builder clearTypeId() {
+      bitField0_ = (bitField0_ & ~0x00000001);
+      typeId_ = 0;
+      onChanged();
+      return this;
+    }
+
+    private int extendsType_ ;
+    /**
+     * <code>int32 extends_type = 2;</code>
+     * @return The extendsType.
+     */
+    @java.lang.Override
+    public int getExtendsType() {
+      return extendsType_;
+    }
+    /**
+     * <code>int32 extends_type = 2;</code>
+     * @param value The extendsType to set.
+     * @return This builder for chaining.
+     */
+    public Builder setExtendsType(int value) {
+
+      extendsType_ = value;
+      bitField0_ |= 0x00000002;
+      onChanged();
+      return this;
+    }
+    /**
+     * <code>int32 extends_type = 2;</code>
+     * @return This builder for chaining.
+     */
+    public Builder clearExtendsType() {
+      bitField0_ = (bitField0_ & ~0x00000002);
+      extendsType_ = 0;
+      onChanged();
+      return this;
+    }
+
+    private com.google.protobuf.Internal.IntList implementsType_ = emptyIntList();
+    private void ensureImplementsTypeIsMutable() {
+      if (!implementsType_.isModifiable()) {
+        implementsType_ = makeMutableCopy(implementsType_);
+      }
+      bitField0_ |= 0x00000004;
+    }
+    /**
+     * <code>repeated int32 implements_type = 3;</code>
+     * @return A list containing the implementsType.
+     */
+    public java.util.List<java.lang.Integer>
+        getImplementsTypeList() {
+      implementsType_.makeImmutable();
+      return implementsType_;
+    }
+    /**
+     * <code>repeated int32 implements_type = 3;</code>
+     * @return The count of implementsType.
+     */
+    public int getImplementsTypeCount() {
+      return implementsType_.size();
+    }
+    /**
+     * <code>repeated int32 implements_type = 3;</code>
+     * @param index The index of the element to return.
+     * @return The implementsType at the given index.
+     */
+    public int getImplementsType(int index) {
+      return implementsType_.getInt(index);
+    }
+    /**
+     * <code>repeated int32 implements_type = 3;</code>
+     * @param index The index to set the value at.
+     * @param value The implementsType to set.
+     * @return This builder for chaining.
+     */
+    public Builder setImplementsType(
+        int index, int value) {
+
+      ensureImplementsTypeIsMutable();
+      implementsType_.setInt(index, value);
+      bitField0_ |= 0x00000004;
+      onChanged();
+      return this;
+    }
+    /**
+     * <code>repeated int32 implements_type = 3;</code>
+     * @param value The implementsType to add.
+     * @return This builder for chaining.
+     */
+    public Builder addImplementsType(int value) {
+
+      ensureImplementsTypeIsMutable();
+      implementsType_.addInt(value);
+      bitField0_ |= 0x00000004;
+      onChanged();
+      return this;
+    }
+    /**
+     * <code>repeated int32 implements_type = 3;</code>
+     * @param values The implementsType to add.
+     * @return This builder for chaining.
+     */
+    public Builder addAllImplementsType(
+        java.lang.Iterable<? extends java.lang.Integer> values) {
+      ensureImplementsTypeIsMutable();
+      com.google.protobuf.AbstractMessageLite.Builder.addAll(
+          values, implementsType_);
+      bitField0_ |= 0x00000004;
+      onChanged();
+      return this;
+    }
+    /**
+     * <code>repeated int32 implements_type = 3;</code>
+     * @return This builder for chaining.
+     */
+    public Builder clearImplementsType() {
+      implementsType_ = emptyIntList();
+      bitField0_ = (bitField0_ & ~0x00000004);
+      onChanged();
+      return this;
+    }
+
+    private java.util.List<com.google.devtools.treeshaker.MemberInfo> member_ =
+      java.util.Collections.emptyList();
+    private void ensureMemberIsMutable() {
+      if (!((bitField0_ & 0x00000008) != 0)) {
+        member_ = new java.util.ArrayList<com.google.devtools.treeshaker.MemberInfo>(member_);
+        bitField0_ |= 0x00000008;
+       }
+    }
+
+    private com.google.protobuf.RepeatedFieldBuilder<
+        com.google.devtools.treeshaker.MemberInfo, com.google.devtools.treeshaker.MemberInfo.Builder, com.google.devtools.treeshaker.MemberInfoOrBuilder> memberBuilder_;
+
+    /**
+     * <code>repeated .j2objc.MemberInfo member = 4;</code>
+     */
+    public java.util.List<com.google.devtools.treeshaker.MemberInfo> getMemberList() {
+      if (memberBuilder_ == null) {
+        return java.util.Collections.unmodifiableList(member_);
+      } else {
+        return memberBuilder_.getMessageList();
+      }
+    }
+    /**
+     * <code>repeated .j2objc.MemberInfo member = 4;</code>
+     */
+    public int getMemberCount() {
+      if (memberBuilder_ == null) {
+        return member_.size();
+      } else {
+        return memberBuilder_.getCount();
+      }
+    }
+    /**
+     * <code>repeated .j2objc.MemberInfo member = 4;</code>
+     */
+    public com.google.devtools.treeshaker.MemberInfo getMember(int index) {
+      if (memberBuilder_ == null) {
+        return member_.get(index);
+      } else {
+        return memberBuilder_.getMessage(index);
+      }
+    }
+    /**
+     * <code>repeated .j2objc.MemberInfo member = 4;</code>
+     */
+    public Builder setMember(
+        int index, com.google.devtools.treeshaker.MemberInfo value) {
+      if (memberBuilder_ == null) {
+        if (value == null) {
+          throw new NullPointerException();
+        }
+        ensureMemberIsMutable();
+        member_.set(index, value);
+        onChanged();
+      } else {
+        memberBuilder_.setMessage(index, value);
+      }
+      return this;
+    }
+    /**
+     * <code>repeated .j2objc.MemberInfo member = 4;</code>
+     */
+    public Builder setMember(
+        int index, com.google.devtools.treeshaker.MemberInfo.Builder builderForValue) {
+      if (memberBuilder_ == null) {
+        ensureMemberIsMutable();
+        member_.set(index, builderForValue.build());
+        onChanged();
+      } else {
+        memberBuilder_.setMessage(index, builderForValue.build());
+      }
+      return this;
+    }
+    /**
+     * <code>repeated .j2objc.MemberInfo member = 4;</code>
+     */
+    public Builder addMember(com.google.devtools.treeshaker.MemberInfo value) {
+      if (memberBuilder_ == null) {
+        if (value == null) {
+          throw new NullPointerException();
+        }
+        ensureMemberIsMutable();
+        member_.add(value);
+        onChanged();
+      } else {
+        memberBuilder_.addMessage(value);
+      }
+      return this;
+    }
+    /**
+     * <code>repeated .j2objc.MemberInfo member = 4;</code>
+     */
+    public Builder addMember(
+        int index, com.google.devtools.treeshaker.MemberInfo value) {
+      if (memberBuilder_ == null) {
+        if (value == null) {
+          throw new NullPointerException();
+        }
+        ensureMemberIsMutable();
+        member_.add(index, value);
+        onChanged();
+      } else {
+        memberBuilder_.addMessage(index, value);
+      }
+      return this;
+    }
+    /**
+     * <code>repeated .j2objc.MemberInfo member = 4;</code>
+     */
+    public Builder addMember(
+        com.google.devtools.treeshaker.MemberInfo.Builder builderForValue) {
+      if (memberBuilder_ == null) {
+        ensureMemberIsMutable();
+        member_.add(builderForValue.build());
+        onChanged();
+      } else {
+        memberBuilder_.addMessage(builderForValue.build());
+      }
+      return this;
+    }
+    /**
+     * <code>repeated .j2objc.MemberInfo member = 4;</code>
+     */
+    public Builder addMember(
+        int index, com.google.devtools.treeshaker.MemberInfo.Builder builderForValue) {
+      if (memberBuilder_ == null) {
+        ensureMemberIsMutable();
+        member_.add(index, builderForValue.build());
+        onChanged();
+      } else {
+        memberBuilder_.addMessage(index, builderForValue.build());
+      }
+      return this;
+    }
+    /**
+     * <code>repeated .j2objc.MemberInfo member = 4;</code>
+     */
+    public Builder addAllMember(
+        java.lang.Iterable<? extends com.google.devtools.treeshaker.MemberInfo> values) {
+      if (memberBuilder_ == null) {
+        ensureMemberIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, member_);
+        onChanged();
+      } else {
+        memberBuilder_.addAllMessages(values);
+      }
+      return this;
+    }
+    /**
+     * <code>repeated .j2objc.MemberInfo member = 4;</code>
+     */
+    public Builder clearMember() {
+      if (memberBuilder_ == null) {
+        member_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000008);
+        onChanged();
+      } else {
+        memberBuilder_.clear();
+      }
+      return this;
+    }
+    /**
+     * <code>repeated .j2objc.MemberInfo member = 4;</code>
+     */
+    public Builder removeMember(int index) {
+      if (memberBuilder_ == null) {
+        ensureMemberIsMutable();
+        member_.remove(index);
+        onChanged();
+      } else {
+        memberBuilder_.remove(index);
+      }
+      return this;
+    }
+    /**
+     * <code>repeated .j2objc.MemberInfo member = 4;</code>
+     */
+    public com.google.devtools.treeshaker.MemberInfo.Builder getMemberBuilder(
+        int index) {
+      return getMemberFieldBuilder().getBuilder(index);
+    }
+    /**
+     * <code>repeated .j2objc.MemberInfo member = 4;</code>
+     */
+    public com.google.devtools.treeshaker.MemberInfoOrBuilder getMemberOrBuilder(
+        int index) {
+      if (memberBuilder_ == null) {
+        return member_.get(index);  } else {
+        return memberBuilder_.getMessageOrBuilder(index);
+      }
+    }
+    /**
+     * <code>repeated .j2objc.MemberInfo member = 4;</code>
+     */
+    public java.util.List<? extends com.google.devtools.treeshaker.MemberInfoOrBuilder> 
+         getMemberOrBuilderList() {
+      if (memberBuilder_ != null) {
+        return memberBuilder_.getMessageOrBuilderList();
+      } else {
+        return java.util.Collections.unmodifiableList(member_);
+      }
+    }
+    /**
+     * <code>repeated .j2objc.MemberInfo member = 4;</code>
+     */
+    public com.google.devtools.treeshaker.MemberInfo.Builder addMemberBuilder() {
+      return getMemberFieldBuilder().addBuilder(
+          com.google.devtools.treeshaker.MemberInfo.getDefaultInstance());
+    }
+    /**
+     * <code>repeated .j2objc.MemberInfo member = 4;</code>
+     */
+    public com.google.devtools.treeshaker.MemberInfo.Builder addMemberBuilder(
+        int index) {
+      return getMemberFieldBuilder().addBuilder(
+          index, com.google.devtools.treeshaker.MemberInfo.getDefaultInstance());
+    }
+    /**
+     * <code>repeated .j2objc.MemberInfo member = 4;</code>
+     */
+    public java.util.List<com.google.devtools.treeshaker.MemberInfo.Builder> 
+         getMemberBuilderList() {
+      return getMemberFieldBuilder().getBuilderList();
+    }
+    private com.google.protobuf.RepeatedFieldBuilder<
+        com.google.devtools.treeshaker.MemberInfo, com.google.devtools.treeshaker.MemberInfo.Builder, com.google.devtools.treeshaker.MemberInfoOrBuilder> 
+        getMemberFieldBuilder() {
+      if (memberBuilder_ == null) {
+        memberBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
+            com.google.devtools.treeshaker.MemberInfo, com.google.devtools.treeshaker.MemberInfo.Builder, com.google.devtools.treeshaker.MemberInfoOrBuilder>(
+                member_,
+                ((bitField0_ & 0x00000008) != 0),
+                getParentForChildren(),
+                isClean());
+        member_ = null;
+      }
+      return memberBuilder_;
+    }
+
+    private boolean exported_ ;
+    /**
+     * <code>bool exported = 5;</code>
+     * @return The exported.
+     */
+    @java.lang.Override
+    public boolean getExported() {
+      return exported_;
+    }
+    /**
+     * <code>bool exported = 5;</code>
+     * @param value The exported to set.
+     * @return This builder for chaining.
+     */
+    public Builder setExported(boolean value) {
+
+      exported_ = value;
+      bitField0_ |= 0x00000010;
+      onChanged();
+      return this;
+    }
+    /**
+     * <code>bool exported = 5;</code>
+     * @return This builder for chaining.
+     */
+    public Builder clearExported() {
+      bitField0_ = (bitField0_ & ~0x00000010);
+      exported_ = false;
+      onChanged();
+      return this;
+    }
+
+    private com.google.protobuf.Internal.IntList innerTypes_ = emptyIntList();
+    private void ensureInnerTypesIsMutable() {
+      if (!innerTypes_.isModifiable()) {
+        innerTypes_ = makeMutableCopy(innerTypes_);
+      }
+      bitField0_ |= 0x00000020;
+    }
+    /**
+     * <code>repeated int32 inner_types = 6;</code>
+     * @return A list containing the innerTypes.
+     */
+    public java.util.List<java.lang.Integer>
+        getInnerTypesList() {
+      innerTypes_.makeImmutable();
+      return innerTypes_;
+    }
+    /**
+     * <code>repeated int32 inner_types = 6;</code>
+     * @return The count of innerTypes.
+     */
+    public int getInnerTypesCount() {
+      return innerTypes_.size();
+    }
+    /**
+     * <code>repeated int32 inner_types = 6;</code>
+     * @param index The index of the element to return.
+     * @return The innerTypes at the given index.
+     */
+    public int getInnerTypes(int index) {
+      return innerTypes_.getInt(index);
+    }
+    /**
+     * <code>repeated int32 inner_types = 6;</code>
+     * @param index The index to set the value at.
+     * @param value The innerTypes to set.
+     * @return This builder for chaining.
+     */
+    public Builder setInnerTypes(
+        int index, int value) {
+
+      ensureInnerTypesIsMutable();
+      innerTypes_.setInt(index, value);
+      bitField0_ |= 0x00000020;
+      onChanged();
+      return this;
+    }
+    /**
+     * <code>repeated int32 inner_types = 6;</code>
+     * @param value The innerTypes to add.
+     * @return This builder for chaining.
+     */
+    public Builder addInnerTypes(int value) {
+
+      ensureInnerTypesIsMutable();
+      innerTypes_.addInt(value);
+      bitField0_ |= 0x00000020;
+      onChanged();
+      return this;
+    }
+    /**
+     * <code>repeated int32 inner_types = 6;</code>
+     * @param values The innerTypes to add.
+     * @return This builder for chaining.
+     */
+    public Builder addAllInnerTypes(
+        java.lang.Iterable<? extends java.lang.Integer> values) {
+      ensureInnerTypesIsMutable();
+      com.google.protobuf.AbstractMessageLite.Builder.addAll(
+          values, innerTypes_);
+      bitField0_ |= 0x00000020;
+      onChanged();
+      return this;
+    }
+    /**
+     * <code>repeated int32 inner_types = 6;</code>
+     * @return This builder for chaining.
+     */
+    public Builder clearInnerTypes() {
+      innerTypes_ = emptyIntList();
+      bitField0_ = (bitField0_ & ~0x00000020);
+      onChanged();
+      return this;
+    }
+
+    // @@protoc_insertion_point(builder_scope:j2objc.TypeInfo)
+  }
+
+  // @@protoc_insertion_point(class_scope:j2objc.TypeInfo)
+  private static final com.google.devtools.treeshaker.TypeInfo DEFAULT_INSTANCE;
+  static {
+    DEFAULT_INSTANCE = new com.google.devtools.treeshaker.TypeInfo();
+  }
+
+  public static com.google.devtools.treeshaker.TypeInfo getDefaultInstance() {
+    return DEFAULT_INSTANCE;
+  }
+
+  private static final com.google.protobuf.Parser<TypeInfo>
+      PARSER = new com.google.protobuf.AbstractParser<TypeInfo>() {
+    @java.lang.Override
+    public TypeInfo parsePartialFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      Builder builder = newBuilder();
+      try {
+        builder.mergeFrom(input, extensionRegistry);
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(builder.buildPartial());
+      } catch (com.google.protobuf.UninitializedMessageException e) {
+        throw e.asInvalidProtocolBufferException().setUnfinishedMessage(builder.buildPartial());
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(e)
+            .setUnfinishedMessage(builder.buildPartial());
+      }
+      return builder.buildPartial();
+    }
+  };
+
+  public static com.google.protobuf.Parser<TypeInfo> parser() {
+    return PARSER;
+  }
+
+  @java.lang.Override
+  public com.google.protobuf.Parser<TypeInfo> getParserForType() {
+    return PARSER;
+  }
+
+  @java.lang.Override
+  public com.google.devtools.treeshaker.TypeInfo getDefaultInstanceForType() {
+    return DEFAULT_INSTANCE;
+  }
+
+}
+
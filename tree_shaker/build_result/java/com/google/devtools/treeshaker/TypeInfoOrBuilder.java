@@ -0,0 +1,87 @@
+// Generated by the protocol buffer compiler.  DO NOT EDIT!
+// NO CHECKED-IN PROTOBUF GENCODE
+// source: src/main/java/com/google/devtools/treeshaker/library_info.proto
+// Protobuf Java Version: 4.27.3
+
+package com.google.devtools.treeshaker;
+
+public interface TypeInfoOrBuilder extends
+    // @@protoc_insertion_point(interface_extends:j2objc.TypeInfo)
+    com.google.protobuf.MessageOrBuilder {
+
+  /**
+   * <code>int32 type_id = 1;</code>
+   * @return The typeId.
+   */
+  int getTypeId();
+
+  /**
+   * <code>int32 extends_type = 2;</code>
+   * @return The extendsType.
+   */
+  int getExtendsType();
+
+  /**
+   * <code>repeated int32 implements_type = 3;</code>
+   * @return A list containing the implementsType.
+   */
+  java.util.List<java.lang.Integer> getImplementsTypeList();
+  /**
+   * <code>repeated int32 implements_type = 3;</code>
+   * @return The count of implementsType.
+   */
+  int getImplementsTypeCount();
+  /**
+   * <code>repeated int32 implements_type = 3;</code>
+   * @param index The index of the element to return.
+   * @return The implementsType at the given index.
+   */
+  int getImplementsType(int index);
+
+  /**
+   * <code>repeated .j2objc.MemberInfo member = 4;</code>
+   */
+  java.util.List<com.google.devtools.treeshaker.MemberInfo> 
+      getMemberList();
+  /**
+   * <code>repeated .j2objc.MemberInfo member = 4;</code>
+   */
+  com.google.devtools.treeshaker.MemberInfo getMember(int index);
+  /**
+   * <code>repeated .j2objc.MemberInfo member = 4;</code>
+   */
+  int getMemberCount();
+  /**
+   * <code>repeated .j2objc.MemberInfo member = 4;</code>
+   */
+  java.util.List<? extends com.google.devtools.treeshaker.MemberInfoOrBuilder> 
+      getMemberOrBuilderList();
+  /**
+   * <code>repeated .j2objc.MemberInfo member = 4;</code>
+   */
+  com.google.devtools.treeshaker.MemberInfoOrBuilder getMemberOrBuilder(
+      int index);
+
+  /**
+   * <code>bool exported = 5;</code>
+   * @return The exported.
+   */
+  boolean getExported();
+
+  /**
+   * <code>repeated int32 inner_types = 6;</code>
+   * @return A list containing the innerTypes.
+   */
+  java.util.List<java.lang.Integer> getInnerTypesList();
+  /**
+   * <code>repeated int32 inner_types = 6;</code>
+   * @return The count of innerTypes.
+   */
+  int getInnerTypesCount();
+  /**
+   * <code>repeated int32 inner_types = 6;</code>
+   * @param index The index of the element to return.
+   * @return The innerTypes at the given index.
+   */
+  int getInnerTypes(int index);
+}
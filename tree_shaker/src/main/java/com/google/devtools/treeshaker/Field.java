@@ -0,0 +1,43 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.devtools.treeshaker;
+
+import org.jspecify.annotations.Nullable;
+
+/** A field referenced by the members of the analysed program. */
+final class Field {
+  private final String name;
+  private final @Nullable Type declaringType;
+  private final @Nullable Type fieldType;
+
+  Field(String name, @Nullable Type declaringType, @Nullable Type fieldType) {
+    this.name = name;
+    this.declaringType = declaringType;
+    this.fieldType = fieldType;
+  }
+
+  String getName() {
+    return name;
+  }
+
+  // Returns the declaring type, or null if the field belongs to an external type.
+  @Nullable Type getDeclaringType() {
+    return declaringType;
+  }
+
+  // Returns the field's declared type, or null if it isn't a type of the analysed program.
+  @Nullable Type getFieldType() {
+    return fieldType;
+  }
+}
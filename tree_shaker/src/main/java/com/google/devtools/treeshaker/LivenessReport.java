@@ -0,0 +1,132 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.devtools.treeshaker;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reports why the types and members that survive an analysis are live, and what they cost.
+ *
+ * <p>The report has a tab-separated line for each live type and member, with its kind, name,
+ * estimated sizes, attributed sizes and why-live path. The two estimates have different units,
+ * so they are kept in separate columns: a member's code size is the number of AST nodes of its
+ * generated code, and a type's metadata size is the bytes of its reflection metadata. Class
+ * initializers are the members named {@code <clinit>}, whose code runs from +initialize at
+ * launch. The attributed sizes add the sizes of everything whose why-live path goes through the
+ * element, which approximates what removing the dependency on it would save. The path lists the
+ * live reasons recorded by the analysis, from an entry point down to the element. Lines are
+ * sorted by decreasing attributed code size, then by decreasing attributed metadata size.
+ */
+final class LivenessReport {
+  static final String HEADER =
+      "# kind\tname\tcode_size\tmetadata_bytes\tattributed_code_size\tattributed_metadata_bytes"
+          + "\tpath\n";
+  private static final String PATH_SEPARATOR = " > ";
+
+  static void write(Collection<Type> types, Appendable out) throws IOException {
+    List<Object> liveElements = new ArrayList<>();
+    for (Type type : types) {
+      if (type.isLive()) {
+        liveElements.add(type);
+        for (Member member : type.getMembers()) {
+          if (member.isLive()) {
+            liveElements.add(member);
+          }
+        }
+      }
+    }
+
+    // The live reasons form a forest rooted at the entry points, so each element's sizes are
+    // attributed to itself and all of its ancestors.
+    Map<Object, Long> attributedCodeSizes = new HashMap<>();
+    Map<Object, Long> attributedMetadataSizes = new HashMap<>();
+    for (Object element : liveElements) {
+      long codeSize = getCodeSize(element);
+      long metadataSize = getMetadataSize(element);
+      for (Object e = element; e != null; e = getLiveReason(e)) {
+        attributedCodeSizes.merge(e, codeSize, Long::sum);
+        attributedMetadataSizes.merge(e, metadataSize, Long::sum);
+      }
+    }
+    liveElements.sort(
+        Comparator.comparing((Object e) -> attributedCodeSizes.get(e))
+            .thenComparing((Object e) -> attributedMetadataSizes.get(e))
+            .reversed()
+            .thenComparing(LivenessReport::getName));
+
+    out.append(HEADER);
+    for (Object element : liveElements) {
+      out.append(element instanceof Type ? "type" : "member")
+          .append('\t')
+          .append(getName(element))
+          .append('\t')
+          .append(Integer.toString(getCodeSize(element)))
+          .append('\t')
+          .append(Integer.toString(getMetadataSize(element)))
+          .append('\t')
+          .append(Long.toString(attributedCodeSizes.get(element)))
+          .append('\t')
+          .append(Long.toString(attributedMetadataSizes.get(element)))
+          .append('\t')
+          .append(getPath(element))
+          .append('\n');
+    }
+  }
+
+  private static String getPath(Object element) {
+    List<String> path = new ArrayList<>();
+    for (Object e = element; e != null; e = getLiveReason(e)) {
+      path.add(getName(e));
+    }
+    StringBuilder sb = new StringBuilder();
+    for (int i = path.size() - 1; i >= 0; i--) {
+      sb.append(path.get(i));
+      if (i > 0) {
+        sb.append(PATH_SEPARATOR);
+      }
+    }
+    return sb.toString();
+  }
+
+  private static String getName(Object element) {
+    if (element instanceof Type) {
+      return ((Type) element).getName();
+    }
+    Member member = (Member) element;
+    return member.getDeclaringType().getName() + "." + member.getName();
+  }
+
+  private static int getCodeSize(Object element) {
+    return element instanceof Member ? ((Member) element).getCodeSize() : 0;
+  }
+
+  private static int getMetadataSize(Object element) {
+    return element instanceof Type ? ((Type) element).getMetadataSize() : 0;
+  }
+
+  private static Object getLiveReason(Object element) {
+    return element instanceof Type
+        ? ((Type) element).getLiveReason()
+        : ((Member) element).getLiveReason();
+  }
+
+  private LivenessReport() {}
+}
@@ -14,7 +14,10 @@
 package com.google.devtools.treeshaker;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 final class Member {
   static Member buildFrom(MemberInfo memberInfo, Type declaringType) {
@@ -24,7 +27,12 @@ final class Member {
         memberInfo.getStatic(),
         memberInfo.getConstructor(),
         memberInfo.getExported(),
-        memberInfo.getAnnotations());
+        memberInfo.getAnnotations(),
+        memberInfo.getOpaque(),
+        memberInfo.getAccessesArrays(),
+        memberInfo.getThrowsExceptions(),
+        memberInfo.getCatchesExceptions(),
+        memberInfo.getCodeSize());
   }
 
   private final String name;
@@ -33,16 +41,27 @@ final class Member {
   private final boolean isConstructor;
   private final boolean isExported;
   private final String signature;
+  private final boolean isOpaque;
+  private final boolean accessesArrays;
+  private final boolean throwsExceptions;
+  private final boolean catchesExceptions;
+  private final int codeSize;
 
   private boolean fullyTraversed;
   private boolean live;
+  private Object liveReason;
   private final List<Type> referencedTypes = new ArrayList<>();
   private final List<Member> referencedMembers = new ArrayList<>();
+  private final List<String> externalInvocations = new ArrayList<>();
+  private final Set<Field> readFields = new LinkedHashSet<>();
+  private final Set<Field> writtenFields = new LinkedHashSet<>();
+  private final Set<Type> functionalTypes = new LinkedHashSet<>();
   private Member originalMember;
   private final Annotations annotations;
 
   private Member(String name, Type declaringType, boolean isStatic, boolean isConstructor,
-      boolean isExported, Annotations annotations) {
+      boolean isExported, Annotations annotations, boolean isOpaque, boolean accessesArrays,
+      boolean throwsExceptions, boolean catchesExceptions, int codeSize) {
     this.name = name;
     this.declaringType = declaringType;
     this.isStatic = isStatic;
@@ -50,6 +69,11 @@ final class Member {
     this.isExported = isExported;
     this.signature = name.substring(0, name.lastIndexOf(')') + 1);
     this.annotations = annotations;
+    this.isOpaque = isOpaque;
+    this.accessesArrays = accessesArrays;
+    this.throwsExceptions = throwsExceptions;
+    this.catchesExceptions = catchesExceptions;
+    this.codeSize = codeSize;
   }
 
   Type getDeclaringType() {
@@ -84,6 +108,16 @@ final class Member {
     this.live = true;
   }
 
+  // Returns the type or member whose liveness made this member live, or null if it's an entry
+  // point or the analysis doesn't record reasons.
+  Object getLiveReason() {
+    return liveReason;
+  }
+
+  void setLiveReason(Object liveReason) {
+    this.liveReason = liveReason;
+  }
+
   boolean isFullyTraversed() {
     return fullyTraversed;
   }
@@ -108,6 +142,63 @@ final class Member {
     referencedMembers.add(referencedMember);
   }
 
+  // Returns the invocations of methods that aren't part of the analysed program, as qualified
+  // "type.method" names.
+  List<String> getExternalInvocations() {
+    return externalInvocations;
+  }
+
+  void addExternalInvocation(String externalInvocation) {
+    externalInvocations.add(externalInvocation);
+  }
+
+  Collection<Field> getReadFields() {
+    return readFields;
+  }
+
+  void addReadField(Field field) {
+    readFields.add(field);
+  }
+
+  Collection<Field> getWrittenFields() {
+    return writtenFields;
+  }
+
+  void addWrittenField(Field field) {
+    writtenFields.add(field);
+  }
+
+  // Returns the functional interfaces of the lambdas and method references created by this member.
+  Collection<Type> getFunctionalTypes() {
+    return functionalTypes;
+  }
+
+  void addFunctionalType(Type functionalType) {
+    functionalTypes.add(functionalType);
+  }
+
+  // Returns true if the member's body isn't visible to the analysis, like native methods.
+  boolean isOpaque() {
+    return isOpaque;
+  }
+
+  boolean accessesArrays() {
+    return accessesArrays;
+  }
+
+  boolean throwsExceptions() {
+    return throwsExceptions;
+  }
+
+  boolean catchesExceptions() {
+    return catchesExceptions;
+  }
+
+  // Returns the estimated size of the member's generated code, in AST nodes.
+  int getCodeSize() {
+    return codeSize;
+  }
+
   Member getOriginalMember() {
     return originalMember;
   }
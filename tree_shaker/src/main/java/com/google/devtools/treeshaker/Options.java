@@ -68,11 +68,13 @@ class Options {
   private String fileEncoding = System.getProperty("file.encoding", "UTF-8");
   private boolean treatWarningsAsErrors = false;
   private boolean useClassHierarchyAnalyzer = false;
+  private boolean useTypeFlowAnalyser = false;
   private boolean stripReflection = false;
   private File treeShakerRoots;
   private File outputFile = new File("tree-shaker-report.txt");
   private LibraryInfo summary;
   private String summaryOutputFile;
+  private File livenessReportFile;
   private List<LibraryInfo> summaries = Lists.newArrayList();
 
   // The default source version number if not passed with -source is determined from the system
@@ -117,6 +119,10 @@ class Options {
     return useClassHierarchyAnalyzer;
   }
 
+  public boolean useTypeFlowAnalyser() {
+    return useTypeFlowAnalyser;
+  }
+
   public boolean stripReflection() {
     return stripReflection;
   }
@@ -129,6 +135,10 @@ class Options {
     this.useClassHierarchyAnalyzer = useClassHierarchyAnalyzer;
   }
 
+  public void setUseTypeFlowAnalyser(boolean useTypeFlowAnalyser) {
+    this.useTypeFlowAnalyser = useTypeFlowAnalyser;
+  }
+
   public File getTreeShakerRoots() {
     return treeShakerRoots;
   }
@@ -169,6 +179,14 @@ class Options {
     this.summaryOutputFile = summaryOutputFile;
   }
 
+  public File getLivenessReportFile() {
+    return livenessReportFile;
+  }
+
+  public void setLivenessReportFile(File livenessReportFile) {
+    this.livenessReportFile = livenessReportFile;
+  }
+
   private void addManifest(String manifestFile) throws IOException {
     BufferedReader in = new BufferedReader(new FileReader(new File(manifestFile)));
     try {
@@ -300,6 +318,11 @@ class Options {
           usage("--output-summary");
         }
         options.summaryOutputFile = args[nArg];
+      } else if (arg.equals("--output-liveness-report")) {
+        if (++nArg == args.length) {
+          usage("--output-liveness-report");
+        }
+        options.livenessReportFile = new File(args[nArg]);
       } else if (arg.startsWith(XBOOTCLASSPATH)) {
         // TODO(malvania): Enable the bootclasspath option when we have a class file AST
         //                 parser that can use class jars.
@@ -324,8 +347,13 @@ class Options {
         options.treatWarningsAsErrors = true;
       } else if (arg.equals("--use-class-hierarchy-analyzer")) {
         options.useClassHierarchyAnalyzer = true;
+        options.useTypeFlowAnalyser = false;
       } else if (arg.equals("--use-rapid-type-analyser")) {
         options.useClassHierarchyAnalyzer = false;
+        options.useTypeFlowAnalyser = false;
+      } else if (arg.equals("--use-type-flow-analyser")) {
+        options.useClassHierarchyAnalyzer = false;
+        options.useTypeFlowAnalyser = true;
       } else if (arg.equals("-Xprint-args")) {
         printArgs = true;
       } else if (arg.equals("--strip-reflection")) {
@@ -22,23 +22,37 @@ import static com.google.devtools.treeshaker.UsedCodeMarker.SIGNATURE_PREFIX;
 import com.google.common.base.Splitter;
 import com.google.common.flogger.GoogleLogger;
 import com.google.devtools.j2objc.util.CodeReferenceMap;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.List;
 import java.util.Optional;
 
 final class RapidTypeAnalyser {
   private static final GoogleLogger logger = GoogleLogger.forEnclosingClass();
 
+  // The types and members that were marked live, but whose references haven't been followed yet.
+  // They are processed in breadth-first order, so that the live reason recorded for each type and
+  // member is on a shortest path from the entry points.
+  private final Deque<Object> worklist = new ArrayDeque<>();
+
   static CodeReferenceMap analyse(Collection<Type> types) {
-    types.stream().filter(Type::isExported).forEach(RapidTypeAnalyser::markTypeLive);
+    RapidTypeAnalyser analyser = new RapidTypeAnalyser();
+    types.stream().filter(Type::isExported).forEach(type -> analyser.markTypeLive(type, null));
 
     // Go over the entry points to start the traversal.
     types.stream()
         .flatMap(t -> t.getMembers().stream())
         .filter(Member::isExported)
-        .forEach(m -> onMemberReference(m));
+        .forEach(m -> analyser.onMemberReference(m, null));
+    analyser.processWorklist();
+
+    return collectUnusedCode(types);
+  }
 
+  // Returns the types and members that were not marked live by the analysis.
+  static CodeReferenceMap collectUnusedCode(Collection<Type> types) {
     CodeReferenceMap.Builder unusedBuilder = CodeReferenceMap.builder();
     List<String> uninstantiated = new ArrayList<>();
     for (Type type : types) {
@@ -84,42 +98,58 @@ final class RapidTypeAnalyser {
     return unusedBuilder.build();
   }
 
-  private static void onMemberReference(Member member) {
+  private void processWorklist() {
+    while (!worklist.isEmpty()) {
+      Object element = worklist.remove();
+      if (element instanceof Type) {
+        followReferences((Type) element);
+      } else {
+        followReferences((Member) element);
+      }
+    }
+  }
+
+  private void onMemberReference(Member member, Object reason) {
     if (member.isPolymorphic()) {
-      traversePolymorphicReference(member.getDeclaringType(), member.getSignature());
+      traversePolymorphicReference(member.getDeclaringType(), member.getSignature(), reason);
     } else {
-      markTypeLive(member.getDeclaringType());
+      markTypeLive(member.getDeclaringType(), reason);
     }
-    markMemberLive(member);
+    markMemberLive(member, reason);
   }
 
-  private static void markMemberLive(Member member) {
+  private void markMemberLive(Member member, Object reason) {
     if (member.isLive()) {
       return;
     }
 
     member.markLive();
+    member.setLiveReason(reason);
     if (member.isConstructor()) {
-      markInstantiated(member.getDeclaringType());
+      markInstantiated(member.getDeclaringType(), member);
     }
-    member.getReferencedMembers().forEach(RapidTypeAnalyser::onMemberReference);
-    member.getReferencedTypes().forEach(RapidTypeAnalyser::markTypeLive);
+    worklist.add(member);
+  }
+
+  private void followReferences(Member member) {
+    member.getReferencedMembers().forEach(m -> onMemberReference(m, member));
+    member.getReferencedTypes().forEach(t -> markTypeLive(t, member));
   }
 
-  private static void markInstantiated(Type type) {
+  private void markInstantiated(Type type, Member constructor) {
     if (type.isInstantiated()) {
       return;
     }
 
     type.instantiate();
-    markMemberLive(type.getMemberByName(INITIALIZER_NAME));
-    type.getPotentiallyLiveMembers().forEach(RapidTypeAnalyser::markMemberLive);
+    markMemberLive(type.getMemberByName(INITIALIZER_NAME), constructor);
+    type.getPotentiallyLiveMembers().forEach(m -> markMemberLive(m, constructor));
     for (Type iface : type.getSuperInterfaces()) {
-      markInstantiated(iface);
+      markInstantiated(iface, constructor);
     }
   }
 
-  private static void traversePolymorphicReference(Type type, String memberSignature) {
+  private void traversePolymorphicReference(Type type, String memberSignature, Object reason) {
     Member member = type.getMemberBySignature(memberSignature);
     if (member == null) {
       // If no member found, check for a member which original member matches the signature.
@@ -137,49 +167,55 @@ final class RapidTypeAnalyser {
     if (member == null) {
       // No member found in this class. In this case we need to mark the supertype method as
       // potentially live since it might be an accidental override.
-      markOverriddenMembersPotentiallyLive(type, memberSignature);
+      markOverriddenMembersPotentiallyLive(type, memberSignature, reason);
     } else if (member.isPolymorphic()) {
       if (member.isFullyTraversed()) {
         return;
       }
       member.markFullyTraversed();
-      markMemberPotentiallyLive(member);
+      markMemberPotentiallyLive(member, reason);
     }
     // Recursively unfold the overriding chain.
     type.getImmediateSubtypes()
-        .forEach(subtype -> traversePolymorphicReference(subtype, memberSignature));
+        .forEach(subtype -> traversePolymorphicReference(subtype, memberSignature, reason));
   }
 
-  private static void markOverriddenMembersPotentiallyLive(Type type, String memberSignature) {
+  private void markOverriddenMembersPotentiallyLive(
+      Type type, String memberSignature, Object reason) {
     while ((type = type.getSuperClass()) != null) {
       Member member = type.getMemberBySignature(memberSignature);
       if (member != null && member.isPolymorphic()) {
-        markMemberPotentiallyLive(member);
+        markMemberPotentiallyLive(member, reason);
         return;
       }
     }
   }
 
-  private static void markMemberPotentiallyLive(Member member) {
+  private void markMemberPotentiallyLive(Member member, Object reason) {
     Type declaringType = member.getDeclaringType();
     if (declaringType.isInstantiated()) {
-      markMemberLive(member);
+      markMemberLive(member, reason);
     } else {
       // Type is not instantiated, defer making it live until the type is instantiated.
       declaringType.addPotentiallyLiveMember(member);
     }
   }
 
-  private static void markTypeLive(Type type) {
+  private void markTypeLive(Type type, Object reason) {
     if (type.isLive()) {
       return;
     }
 
     type.markLive();
-    markMemberLive(type.getMemberByName(CLASS_INITIALIZER_NAME));
+    type.setLiveReason(reason);
+    worklist.add(type);
+  }
+
+  private void followReferences(Type type) {
+    markMemberLive(type.getMemberByName(CLASS_INITIALIZER_NAME), type);
 
     // TODO(tball): remove when dead fields are reported (b/225384453).
-    markMemberLive(type.getMemberByName(INITIALIZER_NAME));
+    markMemberLive(type.getMemberByName(INITIALIZER_NAME), type);
 
     type.getMembers()
         .forEach(
@@ -188,16 +224,16 @@ final class RapidTypeAnalyser {
               // that have the UsedByNative or UsedByReflection annotations if the type is used.
               if (member.getOriginalMember() == null
                   || member.hasUsedByNativeOrReflectionAnnotation()) {
-                markMemberLive(member);
+                markMemberLive(member, type);
               }
             });
 
     if (type.getSuperClass() != null) {
-      markTypeLive(type.getSuperClass());
+      markTypeLive(type.getSuperClass(), type);
     }
     // When a type is marked as live, we need to explicitly mark the super interfaces as live since
     // we need markImplementor call (which are not tracked in AST).
-    type.getSuperInterfaces().forEach(RapidTypeAnalyser::markTypeLive);
+    type.getSuperInterfaces().forEach(iface -> markTypeLive(iface, type));
   }
 
   private RapidTypeAnalyser() {}
@@ -157,10 +157,11 @@ public class TreeShaker {
 
   @VisibleForTesting
   @Nullable CodeReferenceMap findUnusedCode() throws IOException {
-    TypeGraphBuilder tgb = createTypeGraphBuilder();
-    if (tgb == null) {
+    ImmutableList<LibraryInfo> libraryInfos = createLibraryInfos();
+    if (libraryInfos == null) {
       return null;
     }
+    TypeGraphBuilder tgb = new TypeGraphBuilder(libraryInfos);
     if (logger.atFine().isEnabled()) {
       logger.atFine().log("External Types: %s", String.join(", ", tgb.getExternalTypeReferences()));
     }
@@ -168,26 +169,72 @@ public class TreeShaker {
     if (!unknownMethodReferences.isEmpty()) {
       logger.atWarning().log("Unknown Methods: %s", String.join(", ", unknownMethodReferences));
     }
+    CodeReferenceMap unused;
     if (options.useClassHierarchyAnalyzer()) {
-      return ClassHierarchyAnalyzer.analyze(tgb.getTypes());
+      unused = ClassHierarchyAnalyzer.analyze(tgb.getTypes());
+    } else if (options.useTypeFlowAnalyser()) {
+      long start = System.currentTimeMillis();
+      unused = TypeFlowAnalyser.analyse(tgb.getTypes());
+      if (logger.atInfo().isEnabled()) {
+        logComparisonWithRapidTypeAnalysis(
+            libraryInfos, unused, System.currentTimeMillis() - start);
+      }
     } else {
-      return RapidTypeAnalyser.analyse(tgb.getTypes());
+      unused = RapidTypeAnalyser.analyse(tgb.getTypes());
+    }
+    if (options.getLivenessReportFile() != null) {
+      try (BufferedWriter writer =
+          Files.newWriter(options.getLivenessReportFile(), Charset.defaultCharset())) {
+        LivenessReport.write(tgb.getTypes(), writer);
+      }
+    }
+    return unused;
+  }
+
+  // Reruns the analysis with RTA on a fresh type graph, and logs the additional code removed by
+  // the type-flow analysis.
+  private static void logComparisonWithRapidTypeAnalysis(
+      ImmutableList<LibraryInfo> libraryInfos, CodeReferenceMap unused, long elapsedMillis) {
+    long start = System.currentTimeMillis();
+    CodeReferenceMap rtaUnused =
+        RapidTypeAnalyser.analyse(new TypeGraphBuilder(libraryInfos).getTypes());
+    long rtaElapsedMillis = System.currentTimeMillis() - start;
+    List<String> extraTypes =
+        unused.getReferencedClasses().stream()
+            .filter(type -> !rtaUnused.containsClass(type))
+            .sorted()
+            .collect(Collectors.toList());
+    List<String> extraMethods = new ArrayList<>();
+    for (Cell<String, String, ImmutableSet<String>> cell :
+        unused.getReferencedMethods().cellSet()) {
+      for (String signature : cell.getValue()) {
+        if (!rtaUnused.containsClass(cell.getRowKey())
+            && !rtaUnused.containsMethod(cell.getRowKey(), cell.getColumnKey(), signature)) {
+          extraMethods.add(cell.getRowKey() + "." + cell.getColumnKey() + signature);
+        }
+      }
+    }
+    logger.atInfo().log(
+        "Type flow analysis: %d ms (rapid type analysis: %d ms), %d additional types and %d"
+            + " additional methods unused",
+        elapsedMillis, rtaElapsedMillis, extraTypes.size(), extraMethods.size());
+    if (logger.atFine().isEnabled()) {
+      logger.atFine().log("Additional unused types: %s", String.join(", ", extraTypes));
+      logger.atFine().log("Additional unused methods: %s", String.join(", ", extraMethods));
     }
   }
 
-  private TypeGraphBuilder createTypeGraphBuilder() throws IOException {
+  private @Nullable ImmutableList<LibraryInfo> createLibraryInfos() throws IOException {
     if (options.getSummary() != null) {
       LibraryInfo info = options.getSummary();
-      LibraryInfo markedInfo = UsedCodeMarker.mark(info, options.getTreeShakerRoots());
-      return new TypeGraphBuilder(ImmutableList.of(markedInfo));
+      return ImmutableList.of(UsedCodeMarker.mark(info, options.getTreeShakerRoots()));
     } else if (!options.getSummaries().isEmpty()) {
-    ImmutableList<LibraryInfo> markedInfo =
-        options.getSummaries().stream()
-            .map(summary -> UsedCodeMarker.mark(summary, options.getTreeShakerRoots()))
-            .collect(toImmutableList());
-    return new TypeGraphBuilder(markedInfo);
+      return options.getSummaries().stream()
+          .map(summary -> UsedCodeMarker.mark(summary, options.getTreeShakerRoots()))
+          .collect(toImmutableList());
     } else {
-      return new TypeGraphBuilder(ImmutableList.of(createLibraryInfo()));
+      LibraryInfo info = createLibraryInfo();
+      return info == null ? null : ImmutableList.of(info);
     }
   }
 
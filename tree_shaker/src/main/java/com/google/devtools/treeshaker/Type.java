@@ -25,11 +25,18 @@ import java.util.Set;
 
 final class Type {
   static Type buildFrom(TypeInfo typeInfo, String name) {
-    return new Type(name, typeInfo.getExported(), typeInfo.getMemberList());
+    return new Type(
+        name,
+        typeInfo.getExported(),
+        typeInfo.getHasOuterContext(),
+        typeInfo.getMetadataSize(),
+        typeInfo.getMemberList());
   }
 
   private final String name;
   private final boolean isExported;
+  private final boolean hasOuterContext;
+  private final int metadataSize;
   private final Map<String, Member> membersByName = new LinkedHashMap<>();
   private final Map<String, Member> membersBySignature = new LinkedHashMap<>();
 
@@ -37,12 +44,20 @@ final class Type {
   private final List<Type> superInterfaces = new ArrayList<>();
   private final List<Type> immediateSubtypes = new ArrayList<>();
   private boolean live;
+  private Object liveReason;
   private boolean instantiated;
   private final Set<Member> potentiallyLiveMembers = new HashSet<>();
 
-  private Type(String name, boolean isExported, Collection<MemberInfo> members) {
+  private Type(
+      String name,
+      boolean isExported,
+      boolean hasOuterContext,
+      int metadataSize,
+      Collection<MemberInfo> members) {
     this.name = name;
     this.isExported = isExported;
+    this.hasOuterContext = hasOuterContext;
+    this.metadataSize = metadataSize;
     members.forEach(memberInfo -> {
       Member member = Member.buildFrom(memberInfo, this);
       Member previous = membersByName.put(member.getName(), member);
@@ -60,6 +75,16 @@ final class Type {
     return isExported;
   }
 
+  // Returns true if instances capture state from the scope that created them.
+  boolean hasOuterContext() {
+    return hasOuterContext;
+  }
+
+  // Returns the estimated size in bytes of the type's reflection metadata.
+  int getMetadataSize() {
+    return metadataSize;
+  }
+
   Member getMemberByName(String name) {
     return membersByName.get(name);
   }
@@ -104,6 +129,16 @@ final class Type {
     return live;
   }
 
+  // Returns the type or member whose liveness made this type live, or null if it's an entry
+  // point or the analysis doesn't record reasons.
+  Object getLiveReason() {
+    return liveReason;
+  }
+
+  void setLiveReason(Object liveReason) {
+    this.liveReason = liveReason;
+  }
+
   boolean isInstantiated() {
     return instantiated;
   }
@@ -0,0 +1,611 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.devtools.treeshaker;
+
+import static com.google.devtools.treeshaker.UsedCodeMarker.CLASS_INITIALIZER_NAME;
+import static com.google.devtools.treeshaker.UsedCodeMarker.INITIALIZER_NAME;
+import static com.google.devtools.treeshaker.UsedCodeMarker.SIGNATURE_PREFIX;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.flogger.GoogleLogger;
+import com.google.devtools.j2objc.util.CodeReferenceMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A type-flow (XTA) variant of the rapid type analysis.
+ *
+ * <p>Instead of a single program-wide set of instantiated types, every reachable method and every
+ * field has its own set of types whose instances can flow into it. Sets flow along call edges
+ * (arguments and receivers to the callee, return values back to the caller) and through field
+ * reads and writes, filtered by the declared types. A polymorphic call is then only resolved
+ * against the receiver types that can reach the calling method.
+ *
+ * <p>Flows that the summaries don't describe precisely (arrays, exceptions, native methods, and
+ * calls into code outside of the analysed program) go through a single global set, which is what
+ * RTA uses for everything.
+ */
+final class TypeFlowAnalyser {
+  private static final GoogleLogger logger = GoogleLogger.forEnclosingClass();
+
+  // Instances of these types are created implicitly by literals, boxing and string concatenation,
+  // so they are assumed to reach every method.
+  private static final ImmutableSet<String> IMPLICITLY_INSTANTIATED_TYPES =
+      ImmutableSet.of(
+          "java.lang.String",
+          "java.lang.Class",
+          "java.lang.Boolean",
+          "java.lang.Byte",
+          "java.lang.Character",
+          "java.lang.Short",
+          "java.lang.Integer",
+          "java.lang.Long",
+          "java.lang.Float",
+          "java.lang.Double");
+
+  // Platform types that can't be subclassed, so program objects can't be passed to external code
+  // through them.
+  private static final ImmutableSet<String> FINAL_PLATFORM_TYPES =
+      ImmutableSet.<String>builder()
+          .addAll(IMPLICITLY_INSTANTIATED_TYPES)
+          .add(
+              "java.lang.Math",
+              "java.lang.StrictMath",
+              "java.lang.StringBuilder",
+              "java.lang.StringBuffer")
+          .build();
+
+  private static final String OBJECT_TYPE = "java.lang.Object";
+
+  private static final Type[] NO_BOUNDS = new Type[0];
+
+  private final Map<String, Type> typesByName = new HashMap<>();
+
+  // Types that are instantiated by reachable code, indexed by the bits of the flow sets.
+  private final List<Type> flowTypes = new ArrayList<>();
+  private final Map<Type, Integer> flowTypeIndices = new HashMap<>();
+  private final BitSet implicitTypes = new BitSet();
+
+  private final Map<Member, FlowNode> memberNodes = new HashMap<>();
+  private final Map<Field, FlowNode> fieldNodes = new HashMap<>();
+  private final Map<Type, FlowNode> scopeNodes = new HashMap<>();
+  private final FlowNode globalNode = new FlowNode(null);
+
+  private final Map<Type, Subtypes> subtypesByBound = new HashMap<>();
+  private final Map<Member, Type[]> parameterBounds = new HashMap<>();
+  private final Map<Member, Type[]> returnBounds = new HashMap<>();
+  private final Map<Type, Map<Member, Member>> resolvedCalls = new HashMap<>();
+
+  private final Deque<FlowNode> worklist = new ArrayDeque<>();
+
+  static CodeReferenceMap analyse(Collection<Type> types) {
+    TypeFlowAnalyser analyser = new TypeFlowAnalyser(types);
+    analyser.run(types);
+    logger.atFine().log(
+        "Type flow: %d types instantiated, %d member sets, %d field sets",
+        analyser.flowTypes.size(), analyser.memberNodes.size(), analyser.fieldNodes.size());
+    return RapidTypeAnalyser.collectUnusedCode(types);
+  }
+
+  private TypeFlowAnalyser(Collection<Type> types) {
+    for (Type type : types) {
+      typesByName.put(type.getName(), type);
+    }
+    for (String name : IMPLICITLY_INSTANTIATED_TYPES) {
+      Type type = typesByName.get(name);
+      if (type != null) {
+        implicitTypes.set(instantiate(type));
+      }
+    }
+  }
+
+  private void run(Collection<Type> types) {
+    globalNode.initialized = true;
+    enqueue(globalNode);
+    types.stream().filter(Type::isExported).forEach(type -> markTypeLive(type, null));
+
+    // Go over the entry points to start the traversal.
+    types.stream()
+        .flatMap(t -> t.getMembers().stream())
+        .filter(Member::isExported)
+        .forEach(this::onExportedMember);
+
+    FlowNode node;
+    while ((node = worklist.poll()) != null) {
+      node.queued = false;
+      if (!node.initialized) {
+        node.initialized = true;
+        initialize(node);
+      }
+      BitSet delta = node.delta;
+      node.delta = new BitSet();
+      if (!node.dispatchedImplicitTypes) {
+        node.dispatchedImplicitTypes = true;
+        delta.or(implicitTypes);
+      }
+      dispatch(node, delta);
+      for (int i = 0; i < node.edges.size(); i++) {
+        propagate(delta, node.edges.get(i));
+      }
+    }
+  }
+
+  private void onExportedMember(Member member) {
+    if (member.isPolymorphic()) {
+      // External code can call the member on any object it has been handed.
+      globalNode.polymorphicCalls.add(member);
+    }
+    reach(member, null);
+    markTypeLive(member.getDeclaringType(), member);
+    enterFromExternalCode(member);
+  }
+
+  private void enterFromExternalCode(Member member) {
+    addCall(globalNode, member);
+    if (member.isConstructor()) {
+      addTypes(globalNode, instantiatedBit(member.getDeclaringType()));
+    }
+  }
+
+  private void markTypeLive(Type type, Object reason) {
+    if (type.isLive()) {
+      return;
+    }
+
+    type.markLive();
+    type.setLiveReason(reason);
+    reach(type.getMemberByName(CLASS_INITIALIZER_NAME), type);
+
+    // TODO(tball): remove when dead fields are reported (b/225384453).
+    reach(type.getMemberByName(INITIALIZER_NAME), type);
+
+    for (Member member : type.getMembers()) {
+      // Members that override external methods or that are used by native code or reflection
+      // are called from outside of the analysed program.
+      if (member.getOriginalMember() == null || member.hasUsedByNativeOrReflectionAnnotation()) {
+        reach(member, type);
+        enterFromExternalCode(member);
+      }
+    }
+
+    if (type.getSuperClass() != null) {
+      markTypeLive(type.getSuperClass(), type);
+    }
+    type.getSuperInterfaces().forEach(iface -> markTypeLive(iface, type));
+  }
+
+  private FlowNode reach(Member member, Object reason) {
+    FlowNode node = memberNodes.get(member);
+    if (node == null) {
+      node = new FlowNode(member);
+      memberNodes.put(member, node);
+      member.markLive();
+      member.setLiveReason(reason);
+      enqueue(node);
+    }
+    return node;
+  }
+
+  private void initialize(FlowNode node) {
+    Member member = node.member;
+    Type declaringType = member.getDeclaringType();
+    markTypeLive(declaringType, member);
+    member.getReferencedTypes().forEach(type -> markTypeLive(type, member));
+
+    for (Member callee : member.getReferencedMembers()) {
+      if (callee.isConstructor()) {
+        addTypes(node, instantiatedBit(callee.getDeclaringType()));
+      }
+      // The static target is needed to compile the call, and the summaries don't distinguish
+      // super calls from virtual ones.
+      addCall(node, callee);
+      if (callee.isPolymorphic()) {
+        node.polymorphicCalls.add(callee);
+      }
+    }
+
+    for (Field field : member.getReadFields()) {
+      addEdge(fieldNode(field), node, boundsOf(field.getFieldType()));
+    }
+    for (Field field : member.getWrittenFields()) {
+      addEdge(node, fieldNode(field), boundsOf(field.getFieldType()));
+    }
+
+    // Lambda bodies are summarized as part of the member that creates them, and the state
+    // captured by inner classes comes from the member that creates their instances.
+    for (Type functionalType : member.getFunctionalTypes()) {
+      connect(node, scopeNode(functionalType));
+    }
+    FlowNode scope = scopeNodes.get(declaringType);
+    if (scope != null) {
+      connect(node, scope);
+    } else if (declaringType.hasOuterContext()) {
+      scopeNode(declaringType);
+    }
+
+    boolean writesGlobal =
+        member.isOpaque() || member.accessesArrays() || member.throwsExceptions();
+    boolean readsGlobal =
+        member.isOpaque() || member.accessesArrays() || member.catchesExceptions();
+    for (String invocation : member.getExternalInvocations()) {
+      int signatureStart = invocation.indexOf(SIGNATURE_PREFIX);
+      String typeName = invocation.substring(0, invocation.lastIndexOf('.', signatureStart));
+      String descriptor = invocation.substring(signatureStart + SIGNATURE_PREFIX.length());
+      List<String> parameters = new ArrayList<>();
+      String returnType = parseDescriptor(descriptor, parameters);
+      if (!FINAL_PLATFORM_TYPES.contains(typeName)) {
+        // The receiver may be a program object.
+        writesGlobal = true;
+      }
+      for (String parameter : parameters) {
+        writesGlobal |= mayHoldProgramObjects(parameter);
+      }
+      readsGlobal |= mayHoldProgramObjects(returnType);
+    }
+    if (writesGlobal) {
+      addEdge(node, globalNode, null);
+    }
+    if (readsGlobal) {
+      addEdge(globalNode, node, null);
+    }
+  }
+
+  private void addCall(FlowNode caller, Member target) {
+    if (!caller.callees.add(target)) {
+      return;
+    }
+    FlowNode callee = reach(target, caller.member);
+    addEdge(caller, callee, getParameterBounds(target));
+    addEdge(callee, caller, getReturnBounds(target));
+    if (target.isConstructor()) {
+      Type declaringType = target.getDeclaringType();
+      Member initializer = declaringType.getMemberByName(INITIALIZER_NAME);
+      if (initializer != null) {
+        addEdge(callee, reach(initializer, target), new Type[] {declaringType});
+      }
+      if (declaringType.hasOuterContext()) {
+        connect(caller, scopeNode(declaringType));
+      }
+    }
+  }
+
+  private void dispatch(FlowNode node, BitSet receivers) {
+    if (node.polymorphicCalls.isEmpty()) {
+      return;
+    }
+    for (int i = receivers.nextSetBit(0); i >= 0; i = receivers.nextSetBit(i + 1)) {
+      Type receiver = flowTypes.get(i);
+      for (Member callee : node.polymorphicCalls) {
+        if (subtypesOf(callee.getDeclaringType()).get(i)) {
+          addCall(node, resolve(receiver, callee));
+        }
+      }
+    }
+  }
+
+  // Returns the member that a polymorphic call to callee invokes on an instance of receiver.
+  private Member resolve(Type receiver, Member callee) {
+    Map<Member, Member> resolved = resolvedCalls.computeIfAbsent(receiver, k -> new HashMap<>());
+    Member target = resolved.get(callee);
+    if (target == null) {
+      target = findImplementation(receiver, callee.getSignature());
+      if (target == null) {
+        target = callee;
+      }
+      resolved.put(callee, target);
+    }
+    return target;
+  }
+
+  private static @Nullable Member findImplementation(Type receiver, String signature) {
+    for (Type type = receiver; type != null; type = type.getSuperClass()) {
+      Member member = findMember(type, signature);
+      if (member != null) {
+        return member;
+      }
+    }
+    // Look for a default method.
+    Deque<Type> interfaces = new ArrayDeque<>();
+    Set<Type> visited = new HashSet<>();
+    for (Type type = receiver; type != null; type = type.getSuperClass()) {
+      interfaces.addAll(type.getSuperInterfaces());
+    }
+    Type type;
+    while ((type = interfaces.poll()) != null) {
+      if (visited.add(type)) {
+        Member member = findMember(type, signature);
+        if (member != null) {
+          return member;
+        }
+        interfaces.addAll(type.getSuperInterfaces());
+      }
+    }
+    return null;
+  }
+
+  private static @Nullable Member findMember(Type type, String signature) {
+    Member member = type.getMemberBySignature(signature);
+    if (member == null) {
+      // Check for a member which original member matches the signature.
+      member =
+          type.getMembers().stream()
+              .filter(
+                  candidate ->
+                      candidate.getOriginalMember() != null
+                          && signature.equals(candidate.getOriginalMember().getSignature()))
+              .findFirst()
+              .orElse(null);
+    }
+    return member != null && member.isPolymorphic() ? member : null;
+  }
+
+  private FlowNode fieldNode(Field field) {
+    FlowNode node = fieldNodes.get(field);
+    if (node == null) {
+      node = new FlowNode(null);
+      node.initialized = true;
+      fieldNodes.put(field, node);
+      Type declaringType = field.getDeclaringType();
+      if (declaringType == null || declaringType.isExported()) {
+        // External code can read and write the field.
+        connect(node, globalNode);
+      }
+    }
+    return node;
+  }
+
+  private FlowNode scopeNode(Type type) {
+    FlowNode node = scopeNodes.get(type);
+    if (node == null) {
+      node = new FlowNode(null);
+      node.initialized = true;
+      scopeNodes.put(type, node);
+      for (Member member : type.getMembers()) {
+        FlowNode memberNode = memberNodes.get(member);
+        if (memberNode != null && memberNode.initialized) {
+          connect(memberNode, node);
+        }
+      }
+    }
+    return node;
+  }
+
+  private void connect(FlowNode a, FlowNode b) {
+    addEdge(a, b, null);
+    addEdge(b, a, null);
+  }
+
+  private void addEdge(FlowNode source, FlowNode target, Type @Nullable [] bounds) {
+    if (bounds != null && bounds.length == 0) {
+      return;
+    }
+    FlowEdge edge = new FlowEdge(target, bounds);
+    source.edges.add(edge);
+    propagate(source.types, edge);
+  }
+
+  private void propagate(BitSet types, FlowEdge edge) {
+    if (types.isEmpty()) {
+      return;
+    }
+    if (edge.bounds == null) {
+      addTypes(edge.target, types);
+      return;
+    }
+    for (Type bound : edge.bounds) {
+      BitSet accepted = (BitSet) types.clone();
+      accepted.and(subtypesOf(bound));
+      addTypes(edge.target, accepted);
+    }
+  }
+
+  private void addTypes(FlowNode node, BitSet types) {
+    BitSet added = (BitSet) types.clone();
+    added.andNot(node.types);
+    if (!added.isEmpty()) {
+      node.types.or(added);
+      node.delta.or(added);
+      enqueue(node);
+    }
+  }
+
+  private void enqueue(FlowNode node) {
+    if (!node.queued) {
+      node.queued = true;
+      worklist.add(node);
+    }
+  }
+
+  private BitSet instantiatedBit(Type type) {
+    BitSet bit = new BitSet();
+    bit.set(instantiate(type));
+    return bit;
+  }
+
+  private int instantiate(Type type) {
+    Integer index = flowTypeIndices.get(type);
+    if (index == null) {
+      index = flowTypes.size();
+      flowTypes.add(type);
+      flowTypeIndices.put(type, index);
+      markInstantiated(type);
+    }
+    return index;
+  }
+
+  private static void markInstantiated(Type type) {
+    type.instantiate();
+    type.getSuperInterfaces().forEach(TypeFlowAnalyser::markInstantiated);
+  }
+
+  // Returns the instantiated types that are assignable to bound.
+  private BitSet subtypesOf(Type bound) {
+    Subtypes subtypes = subtypesByBound.computeIfAbsent(bound, k -> new Subtypes());
+    for (; subtypes.checked < flowTypes.size(); subtypes.checked++) {
+      if (isSubtype(flowTypes.get(subtypes.checked), bound)) {
+        subtypes.types.set(subtypes.checked);
+      }
+    }
+    return subtypes.types;
+  }
+
+  private static boolean isSubtype(Type type, Type supertype) {
+    if (type == supertype) {
+      return true;
+    }
+    if (type.getSuperClass() != null && isSubtype(type.getSuperClass(), supertype)) {
+      return true;
+    }
+    for (Type superInterface : type.getSuperInterfaces()) {
+      if (isSubtype(superInterface, supertype)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private Type @Nullable [] getParameterBounds(Member member) {
+    if (!parameterBounds.containsKey(member)) {
+      List<String> parameters = new ArrayList<>();
+      parseDescriptor(getDescriptor(member), parameters);
+      List<Type> bounds = new ArrayList<>();
+      if (member.isPolymorphic() || member.isConstructor()) {
+        bounds.add(member.getDeclaringType());
+      }
+      boolean unbounded = false;
+      for (String parameter : parameters) {
+        if (isPrimitive(parameter)) {
+          continue;
+        }
+        Type bound = getBound(parameter);
+        if (bound == null) {
+          unbounded = true;
+          break;
+        }
+        bounds.add(bound);
+      }
+      parameterBounds.put(member, unbounded ? null : bounds.toArray(NO_BOUNDS));
+    }
+    return parameterBounds.get(member);
+  }
+
+  private Type @Nullable [] getReturnBounds(Member member) {
+    if (!returnBounds.containsKey(member)) {
+      String returnType = parseDescriptor(getDescriptor(member), new ArrayList<>());
+      returnBounds.put(member, isPrimitive(returnType) ? NO_BOUNDS : boundsOf(getBound(returnType)));
+    }
+    return returnBounds.get(member);
+  }
+
+  private static Type @Nullable [] boundsOf(@Nullable Type type) {
+    return type == null ? null : new Type[] {type};
+  }
+
+  // Returns the program type for a descriptor, or null if any object may flow through it.
+  private @Nullable Type getBound(String typeDescriptor) {
+    if (typeDescriptor.charAt(0) != 'L') {
+      // Arrays are tracked through their elements.
+      return null;
+    }
+    String name = typeDescriptor.substring(1, typeDescriptor.length() - 1).replace('/', '.');
+    return name.equals(OBJECT_TYPE) ? null : typesByName.get(name);
+  }
+
+  private static boolean mayHoldProgramObjects(String typeDescriptor) {
+    if (isPrimitive(typeDescriptor)) {
+      return false;
+    }
+    if (typeDescriptor.charAt(0) != 'L') {
+      return true;
+    }
+    String name = typeDescriptor.substring(1, typeDescriptor.length() - 1).replace('/', '.');
+    return !FINAL_PLATFORM_TYPES.contains(name);
+  }
+
+  private static boolean isPrimitive(String typeDescriptor) {
+    char c = typeDescriptor.charAt(0);
+    return c != 'L' && c != '[';
+  }
+
+  private static String getDescriptor(Member member) {
+    String name = member.getName();
+    return name.substring(name.indexOf(SIGNATURE_PREFIX) + SIGNATURE_PREFIX.length());
+  }
+
+  // Adds the parameter type descriptors to parameters, and returns the return type descriptor.
+  private static String parseDescriptor(String descriptor, List<String> parameters) {
+    int offset = descriptor.indexOf('(') + 1;
+    while (descriptor.charAt(offset) != ')') {
+      int end = endOfType(descriptor, offset);
+      parameters.add(descriptor.substring(offset, end));
+      offset = end;
+    }
+    return descriptor.substring(offset + 1);
+  }
+
+  private static int endOfType(String descriptor, int offset) {
+    while (descriptor.charAt(offset) == '[') {
+      offset++;
+    }
+    return descriptor.charAt(offset) == 'L' ? descriptor.indexOf(';', offset) + 1 : offset + 1;
+  }
+
+  /**
+   * A method, field, or shared scope in the flow graph, with the types of the objects that can
+   * flow into it.
+   */
+  private static final class FlowNode {
+    final @Nullable Member member;
+    final BitSet types = new BitSet();
+    final List<FlowEdge> edges = new ArrayList<>();
+    // Types added since the node was last processed.
+    BitSet delta = new BitSet();
+    boolean queued;
+    boolean initialized;
+    boolean dispatchedImplicitTypes;
+    final List<Member> polymorphicCalls = new ArrayList<>();
+    final Set<Member> callees = new HashSet<>();
+
+    FlowNode(@Nullable Member member) {
+      this.member = member;
+    }
+  }
+
+  /** A flow between two nodes, restricted to the subtypes of bounds unless it's null. */
+  private static final class FlowEdge {
+    final FlowNode target;
+    final Type @Nullable [] bounds;
+
+    FlowEdge(FlowNode target, Type @Nullable [] bounds) {
+      this.target = target;
+      this.bounds = bounds;
+    }
+  }
+
+  /** The instantiated types known to be assignable to a type, checked incrementally. */
+  private static final class Subtypes {
+    final BitSet types = new BitSet();
+    int checked;
+  }
+}
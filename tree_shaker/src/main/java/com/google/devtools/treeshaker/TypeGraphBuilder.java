@@ -15,6 +15,7 @@ package com.google.devtools.treeshaker;
 
 import com.google.common.collect.ImmutableList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -25,6 +26,7 @@ class TypeGraphBuilder {
   private final Collection<Type> types;
   private final Set<String> externalTypeReferences;
   private final Set<String> unknownMethodReferences;
+  private final Map<String, Field> fieldsByName = new HashMap<>();
 
   TypeGraphBuilder(ImmutableList<LibraryInfo> libraryInfos) {
     Map<String, Type> typesByName = new LinkedHashMap<>();
@@ -104,17 +106,49 @@ class TypeGraphBuilder {
               typesByName.get(libraryInfo.getTypeMap(methodInvocation.getEnclosingType()));
           if (enclosingType == null) {
             externalTypeReferences.add(libraryInfo.getTypeMap(methodInvocation.getEnclosingType()));
+            member.addExternalInvocation(
+                libraryInfo.getTypeMap(methodInvocation.getEnclosingType())
+                    + "."
+                    + methodInvocation.getMethod());
             continue;
           }
           Member referencedMember = enclosingType.getMemberByName(methodInvocation.getMethod());
           if (referencedMember == null) {
             unknownMethodReferences.add(
                 enclosingType.getName() + "." + methodInvocation.getMethod());
+            member.addExternalInvocation(
+                enclosingType.getName() + "." + methodInvocation.getMethod());
             continue;
           }
           member.addReferencedMember(referencedMember);
         }
+
+        for (FieldReference fieldReference : memberInfo.getReadFieldsList()) {
+          member.addReadField(getField(libraryInfo, fieldReference, typesByName));
+        }
+        for (FieldReference fieldReference : memberInfo.getWrittenFieldsList()) {
+          member.addWrittenField(getField(libraryInfo, fieldReference, typesByName));
+        }
+        for (int functionalTypeId : memberInfo.getFunctionalTypesList()) {
+          Type functionalType = typesByName.get(libraryInfo.getTypeMap(functionalTypeId));
+          if (functionalType != null) {
+            member.addFunctionalType(functionalType);
+          }
+        }
       }
     }
   }
+
+  private Field getField(
+      LibraryInfo libraryInfo, FieldReference fieldReference, Map<String, Type> typesByName) {
+    String enclosingTypeName = libraryInfo.getTypeMap(fieldReference.getEnclosingType());
+    // Fields are shared across libraries, since a field can be read in one and written in another.
+    return fieldsByName.computeIfAbsent(
+        enclosingTypeName + "." + fieldReference.getName(),
+        k ->
+            new Field(
+                fieldReference.getName(),
+                typesByName.get(enclosingTypeName),
+                typesByName.get(libraryInfo.getTypeMap(fieldReference.getFieldType()))));
+  }
 }
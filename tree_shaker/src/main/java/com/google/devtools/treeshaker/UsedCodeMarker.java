@@ -22,6 +22,9 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.devtools.j2objc.ast.Annotation;
 import com.google.devtools.j2objc.ast.AnnotationTypeDeclaration;
+import com.google.devtools.j2objc.ast.ArrayAccess;
+import com.google.devtools.j2objc.ast.ArrayInitializer;
+import com.google.devtools.j2objc.ast.Assignment;
 import com.google.devtools.j2objc.ast.CastExpression;
 import com.google.devtools.j2objc.ast.ClassInstanceCreation;
 import com.google.devtools.j2objc.ast.CompilationUnit;
@@ -30,6 +33,7 @@ import com.google.devtools.j2objc.ast.CreationReference;
 import com.google.devtools.j2objc.ast.EnhancedForStatement;
 import com.google.devtools.j2objc.ast.EnumConstantDeclaration;
 import com.google.devtools.j2objc.ast.EnumDeclaration;
+import com.google.devtools.j2objc.ast.Expression;
 import com.google.devtools.j2objc.ast.ExpressionMethodReference;
 import com.google.devtools.j2objc.ast.FieldAccess;
 import com.google.devtools.j2objc.ast.FieldDeclaration;
@@ -47,7 +51,11 @@ import com.google.devtools.j2objc.ast.SimpleName;
 import com.google.devtools.j2objc.ast.SimpleType;
 import com.google.devtools.j2objc.ast.SingleMemberAnnotation;
 import com.google.devtools.j2objc.ast.SuperConstructorInvocation;
+import com.google.devtools.j2objc.ast.SuperFieldAccess;
 import com.google.devtools.j2objc.ast.SuperMethodInvocation;
+import com.google.devtools.j2objc.ast.SuperMethodReference;
+import com.google.devtools.j2objc.ast.ThrowStatement;
+import com.google.devtools.j2objc.ast.TreeNode;
 import com.google.devtools.j2objc.ast.TreeUtil;
 import com.google.devtools.j2objc.ast.TryStatement;
 import com.google.devtools.j2objc.ast.Type;
@@ -76,6 +84,7 @@ import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.PackageElement;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
 import javax.lang.model.type.TypeMirror;
 
 @SuppressWarnings("UngroupedOverloads")
@@ -89,6 +98,12 @@ final class UsedCodeMarker extends UnitTreeVisitor {
   private static final String USED_BY_NATIVE = "UsedByNative";
   private static final String USED_BY_REFLECTION = "UsedByReflection";
 
+  // Sizes of the J2ObjcClassInfo, J2ObjcMethodInfo and J2ObjcFieldInfo structs on 64-bit
+  // platforms, which the translator emits for each type, method and field with reflection.
+  private static final int CLASS_METADATA_SIZE = 64;
+  private static final int METHOD_METADATA_SIZE = 32;
+  private static final int FIELD_METADATA_SIZE = 40;
+
   private final Context context;
   private final boolean isEntryClass;
   private boolean needsReflection;
@@ -100,6 +115,16 @@ final class UsedCodeMarker extends UnitTreeVisitor {
     this.needsReflection = !options.stripReflection();
   }
 
+  @Override
+  public boolean preVisit(TreeNode node) {
+    // Every node within a member adds to the estimated size of its generated code.
+    MemberInfo.Builder member = context.memberScope.peek();
+    if (member != null) {
+      member.setCodeSize(member.getCodeSize() + 1);
+    }
+    return true;
+  }
+
   @Override
   public boolean visit(AnnotationTypeDeclaration node) {
     startInterfaceType(node.getTypeElement());
@@ -111,6 +136,22 @@ final class UsedCodeMarker extends UnitTreeVisitor {
     endType();
   }
 
+  @Override
+  public void endVisit(ArrayAccess node) {
+    if (!node.getTypeMirror().getKind().isPrimitive()) {
+      context.memberScope.peek().setAccessesArrays(true);
+    }
+  }
+
+  @Override
+  public void endVisit(ArrayInitializer node) {
+    TypeMirror type = node.getTypeMirror();
+    if (type instanceof ArrayType
+        && !((ArrayType) type).getComponentType().getKind().isPrimitive()) {
+      context.memberScope.peek().setAccessesArrays(true);
+    }
+  }
+
   @Override
   public void endVisit(CastExpression node) {
     addReferencedType(node.getTypeMirror());
@@ -135,6 +176,7 @@ final class UsedCodeMarker extends UnitTreeVisitor {
   @Override
   public boolean visit(CreationReference node) {
     addMethodInvocation(node.getExecutableElement());
+    addFunctionalType(node.getTypeMirror());
     return true;
   }
 
@@ -148,6 +190,7 @@ final class UsedCodeMarker extends UnitTreeVisitor {
   public void endVisit(EnumConstantDeclaration node) {
     pushClinit();
     addMethodInvocation(node.getExecutableElement());
+    addFieldReference(node.getVariableElement(), false, true);
     popClinit();
   }
 
@@ -159,12 +202,14 @@ final class UsedCodeMarker extends UnitTreeVisitor {
 
   @Override
   public void endVisit(EnumDeclaration node) {
+    addImplicitEnumMethods(node);
     endType();
   }
 
   @Override
   public void endVisit(ExpressionMethodReference node) {
     addMethodInvocation(node.getExecutableElement());
+    addFunctionalType(node.getTypeMirror());
   }
 
   @Override
@@ -173,11 +218,13 @@ final class UsedCodeMarker extends UnitTreeVisitor {
     VariableElement var = node.getVariableElement();
     if (var != null) {
       addReferencedTypeName(elementUtil.getBinaryName(ElementUtil.getDeclaringClass(var)));
+      addFieldReference(node, var);
     }
   }
 
   @Override
   public boolean visit(FieldDeclaration node) {
+    addMetadataSize(FIELD_METADATA_SIZE);
     if (Modifier.isStatic(node.getModifiers())) {
       pushClinit();
     }
@@ -216,6 +263,7 @@ final class UsedCodeMarker extends UnitTreeVisitor {
   public void endVisit(LambdaExpression node) {
     // A lambda expression implicitly constructs an instance of the interface that it implements.
     addPseudoConstructorInvocation(node.getTypeMirror());
+    addFunctionalType(node.getTypeMirror());
     // A lambda expression implicitly implements the functional interface method, add references to
     // parameters and return type.
     node.getParameters().forEach(vd -> addReferencedType(vd.getVariableElement().asType()));
@@ -239,6 +287,10 @@ final class UsedCodeMarker extends UnitTreeVisitor {
         node.isConstructor(),
         Modifier.isStatic(node.getModifiers()),
         node.getExecutableElement());
+    addMetadataSize(METHOD_METADATA_SIZE);
+    if (ElementUtil.isNative(executableElement)) {
+      context.memberScope.peek().setOpaque(true);
+    }
     addReferencedType(node.getReturnTypeMirror());
     node.getParameters().forEach(svd -> addReferencedType(svd.getType().getTypeMirror()));
     return true;
@@ -282,6 +334,10 @@ final class UsedCodeMarker extends UnitTreeVisitor {
   public void endVisit(QualifiedName node) {
     // Add the constant's containing type as a referenced type.
     addReferencedType(node.getQualifier().getTypeMirror());
+    VariableElement var = TreeUtil.getVariableElement(node);
+    if (var != null) {
+      addFieldReference(node, var);
+    }
   }
 
   @Override
@@ -296,6 +352,11 @@ final class UsedCodeMarker extends UnitTreeVisitor {
     node.getExecutableType().getParameterTypes().forEach(this::addReferencedType);
   }
 
+  @Override
+  public void endVisit(SuperFieldAccess node) {
+    addFieldReference(node, node.getVariableElement());
+  }
+
   @Override
   public void endVisit(SuperMethodInvocation node) {
     addMethodInvocation(node.getExecutableElement());
@@ -314,9 +375,22 @@ final class UsedCodeMarker extends UnitTreeVisitor {
                     : Stream.of(type))
         .map(Type::getTypeMirror)
         .forEach(this::addReferencedType);
+    if (!node.getCatchClauses().isEmpty()) {
+      context.memberScope.peek().setCatchesExceptions(true);
+    }
     return true;
   }
 
+  @Override
+  public void endVisit(SuperMethodReference node) {
+    addFunctionalType(node.getTypeMirror());
+  }
+
+  @Override
+  public void endVisit(ThrowStatement node) {
+    context.memberScope.peek().setThrowsExceptions(true);
+  }
+
   @Override
   public boolean visit(TypeDeclaration node) {
     if (node.isInterface()) {
@@ -337,6 +411,7 @@ final class UsedCodeMarker extends UnitTreeVisitor {
     addMethodInvocation(node.getExecutableElement());
     // A method expression implicitly constructs an instance of the interface that it implements.
     addPseudoConstructorInvocation(node.getTypeMirror());
+    addFunctionalType(node.getTypeMirror());
   }
 
   @Override
@@ -345,6 +420,11 @@ final class UsedCodeMarker extends UnitTreeVisitor {
     if (var != null) {
       TypeElement declaringClass = ElementUtil.getDeclaringClass(var);
       addReferencedType(declaringClass.asType());
+      // Qualified names and field accesses record their own field reference.
+      TreeNode parent = node.getParent();
+      if (!(parent instanceof QualifiedName || parent instanceof FieldAccess)) {
+        addFieldReference(node, var);
+      }
     }
     return true;
   }
@@ -358,6 +438,9 @@ final class UsedCodeMarker extends UnitTreeVisitor {
   @Override
   public void endVisit(VariableDeclarationFragment node) {
     addReferencedType(node.getVariableElement().asType());
+    if (node.getParent() instanceof FieldDeclaration && node.getInitializer() != null) {
+      addFieldReference(node.getVariableElement(), false, true);
+    }
   }
 
   private String getDeclaringClassName(ExecutableElement method) {
@@ -447,15 +530,28 @@ final class UsedCodeMarker extends UnitTreeVisitor {
 
   private void startEnumType(TypeElement type) {
     startType(type);
-    // For enums, add implict static methods.
+  }
+
+  private void addImplicitEnumMethods(EnumDeclaration node) {
+    // For enums, add implict static methods. They are added once the constants are known, since
+    // both methods return the values of the constant fields.
+    TypeElement type = node.getTypeElement();
     String typeName = elementUtil.getBinaryName(type);
     String sigName = typeUtil.getSignatureName(type.asType());
     startMethodDeclaration(getImplicitValuesName(sigName), typeName, false, true, type);
+    addEnumConstantReads(node);
     endMethodDeclaration();
     startMethodDeclaration(getImplicitValueOfName(sigName), typeName, false, true, type);
+    addEnumConstantReads(node);
     endMethodDeclaration();
   }
 
+  private void addEnumConstantReads(EnumDeclaration node) {
+    for (EnumConstantDeclaration constant : node.getEnumConstants()) {
+      addFieldReference(constant.getVariableElement(), true, false);
+    }
+  }
+
   private void startInterfaceType(TypeElement type) {
     startType(type);
     // For interfaces, add a pseudo-constructor for use with lambdas.
@@ -488,6 +584,11 @@ final class UsedCodeMarker extends UnitTreeVisitor {
             || isEntryClass;
 
     startTypeScope(typeName, superName, interfaces, isExported);
+    addMetadataSize(CLASS_METADATA_SIZE);
+    context
+        .currentTypeInfoScope
+        .peek()
+        .setHasOuterContext(ElementUtil.hasOuterContext(type) || ElementUtil.isLocal(type));
   }
 
   private void endType() {
@@ -610,6 +711,48 @@ final class UsedCodeMarker extends UnitTreeVisitor {
                 .build());
   }
 
+  private void addFunctionalType(TypeMirror type) {
+    context.memberScope.peek().addFunctionalTypes(getTypeId(getTypeMirrorName(type)));
+  }
+
+  private void addFieldReference(Expression node, VariableElement var) {
+    // A simple assignment only writes the field, compound assignments also read it.
+    TreeNode parent = node.getParent();
+    boolean isAssigned =
+        parent instanceof Assignment && ((Assignment) parent).getLeftHandSide() == node;
+    boolean isRead =
+        !isAssigned || ((Assignment) parent).getOperator() != Assignment.Operator.ASSIGN;
+    addFieldReference(var, isRead, isAssigned);
+  }
+
+  private void addFieldReference(VariableElement var, boolean isRead, boolean isWritten) {
+    if (!(ElementUtil.isField(var) || ElementUtil.isEnumConstant(var))
+        || var.asType().getKind().isPrimitive()) {
+      return;
+    }
+    FieldReference field =
+        FieldReference.newBuilder()
+            .setName(ElementUtil.getName(var))
+            .setEnclosingType(
+                getTypeId(elementUtil.getBinaryName(ElementUtil.getDeclaringClass(var))))
+            .setFieldType(getTypeId(getTypeMirrorName(var.asType())))
+            .build();
+    MemberInfo.Builder member = context.memberScope.peek();
+    if (isRead) {
+      member.addReadFields(field);
+    }
+    if (isWritten) {
+      member.addWrittenFields(field);
+    }
+  }
+
+  private void addMetadataSize(int size) {
+    if (needsReflection) {
+      TypeInfo.Builder typeInfo = context.currentTypeInfoScope.peek();
+      typeInfo.setMetadataSize(typeInfo.getMetadataSize() + size);
+    }
+  }
+
   private void addReferencedType(TypeMirror type) {
     if (type.getKind().isPrimitive()) {
       return;
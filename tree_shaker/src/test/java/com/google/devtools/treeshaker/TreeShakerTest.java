@@ -29,7 +29,9 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import junit.framework.TestCase;
 
 /** System tests for the TreeShaker. */
@@ -64,11 +66,26 @@ public class TreeShakerTest extends TestCase {
   }
 
   private CodeReferenceMap findUnusedCode(boolean stripReflection) throws IOException {
+    return findUnusedCode(stripReflection, false);
+  }
+
+  private CodeReferenceMap findUnusedCode(boolean stripReflection, boolean useTypeFlowAnalyser)
+      throws IOException {
+    Options options = createOptions();
+    options.setStripReflection(stripReflection);
+    options.setUseTypeFlowAnalyser(useTypeFlowAnalyser);
+    return findUnusedCode(options);
+  }
+
+  private Options createOptions() {
     Options options = new Options();
     options.setClasspath(System.getProperty(JAVA_CLASS_PATH.value()));
     options.setTreeShakerRoots(treeShakerRoots);
     options.setSourceFiles(inputFiles);
-    options.setStripReflection(stripReflection);
+    return options;
+  }
+
+  private CodeReferenceMap findUnusedCode(Options options) throws IOException {
     TreeShaker shaker = new TreeShaker(options);
     CodeReferenceMap unused = shaker.findUnusedCode();
     if (ErrorUtil.errorCount() > 0) {
@@ -1905,6 +1922,149 @@ public class TreeShakerTest extends TestCase {
     assertThat(output).isEmpty();
   }
 
+  public void testTypeFlowAnalysisLocalInstances() throws IOException {
+    addTreeShakerRootsFile("p.A:\n    main()");
+    addSourceFile(
+        "A.java",
+        "package p; class A {",
+        "  static void main() { measure(); name(); }",
+        "  static int measure() { Shape s = new Circle(); return s.area(); }",
+        "  static String name() { Shape s = new Square(); return s.name(); }",
+        "}");
+    addSourceFile(
+        "Shape.java",
+        "package p; abstract class Shape { abstract int area(); String name() { return \"\"; } }");
+    addSourceFile("Circle.java", "package p; class Circle extends Shape { int area() { return 3; } }");
+    addSourceFile("Square.java", "package p; class Square extends Shape { int area() { return 4; } }");
+
+    assertThat(getUnusedMethods(findUnusedCode()))
+        .containsExactly(getMethodName("p.A", "A", "()V"));
+    assertThat(getUnusedMethods(findUnusedCode(false, true)))
+        .containsExactly(getMethodName("p.A", "A", "()V"), getMethodName("p.Square", "area", "()I"));
+  }
+
+  public void testTypeFlowAnalysisFields() throws IOException {
+    addTreeShakerRootsFile("p.A:\n    main()");
+    addSourceFile(
+        "A.java",
+        "package p; class A {",
+        "  static Shape shape;",
+        "  static void main() { set(); make(); shape.area(); }",
+        "  static void set() { shape = new Circle(); }",
+        "  static void make() { new Square(); }",
+        "}");
+    addSourceFile("Shape.java", "package p; abstract class Shape { abstract int area(); }");
+    addSourceFile("Circle.java", "package p; class Circle extends Shape { int area() { return 3; } }");
+    addSourceFile("Square.java", "package p; class Square extends Shape { int area() { return 4; } }");
+    CodeReferenceMap unused = findUnusedCode(false, true);
+
+    assertThat(getUnusedClasses(unused)).isEmpty();
+    assertThat(getUnusedMethods(unused))
+        .containsExactly(getMethodName("p.A", "A", "()V"), getMethodName("p.Square", "area", "()I"));
+  }
+
+  public void testTypeFlowAnalysisCapturedVariables() throws IOException {
+    addTreeShakerRootsFile("p.A:\n    main()");
+    addSourceFile(
+        "A.java",
+        "package p; class A {",
+        "  static void main() {",
+        "    final Shape s = new Circle();",
+        "    new Runnable() { public void run() { s.area(); } }.run();",
+        "    Runnable r = () -> s.perimeter();",
+        "    r.run();",
+        "    make();",
+        "  }",
+        "  static void make() { new Square(); }",
+        "}");
+    addSourceFile(
+        "Shape.java",
+        "package p; abstract class Shape { abstract int area(); abstract int perimeter(); }");
+    addSourceFile(
+        "Circle.java",
+        "package p; class Circle extends Shape {",
+        "  int area() { return 3; } int perimeter() { return 6; } }");
+    addSourceFile(
+        "Square.java",
+        "package p; class Square extends Shape {",
+        "  int area() { return 4; } int perimeter() { return 8; } }");
+    CodeReferenceMap unused = findUnusedCode(false, true);
+
+    assertThat(getUnusedClasses(unused)).isEmpty();
+    assertThat(getUnusedMethods(unused))
+        .containsExactly(
+            getMethodName("p.A", "A", "()V"),
+            getMethodName("p.Square", "area", "()I"),
+            getMethodName("p.Square", "perimeter", "()I"));
+  }
+
+  public void testTypeFlowAnalysisExternalCode() throws IOException {
+    addTreeShakerRootsFile("p.A:\n    main()");
+    addSourceFile(
+        "A.java",
+        "package p; import java.util.*; class A {",
+        "  static void main() {",
+        "    List<Shape> shapes = new ArrayList<>();",
+        "    add(shapes);",
+        "    shapes.get(0).area();",
+        "    get().area();",
+        "  }",
+        "  static Shape get() { return new Circle(); }",
+        "  static void add(List<Shape> shapes) { shapes.add(new Square()); }",
+        "}");
+    addSourceFile("Shape.java", "package p; abstract class Shape { abstract int area(); }");
+    addSourceFile("Circle.java", "package p; class Circle extends Shape { int area() { return 3; } }");
+    addSourceFile("Square.java", "package p; class Square extends Shape { int area() { return 4; } }");
+    CodeReferenceMap unused = findUnusedCode(false, true);
+
+    // Square escapes to the list, and main gets objects back from external code.
+    assertThat(getUnusedClasses(unused)).isEmpty();
+    assertThat(getUnusedMethods(unused)).containsExactly(getMethodName("p.A", "A", "()V"));
+  }
+
+  public void testLivenessReport() throws IOException {
+    addTreeShakerRootsFile("p.A:\n    main()");
+    addSourceFile("A.java", "package p; class A { static void main() { new B().b(); } }");
+    addSourceFile("B.java", "package p; class B { void b() { new C().c(); } void unused() {} }");
+    addSourceFile("C.java", "package p; class C { void c() { System.out.println(\"c\"); } }");
+    File report = new File(tempDir, "liveness.txt");
+    Options options = createOptions();
+    options.setLivenessReportFile(report);
+    findUnusedCode(options);
+
+    List<String> lines = Files.readLines(report, Charset.defaultCharset());
+    assertThat(lines.get(0) + "\n").isEqualTo(LivenessReport.HEADER);
+    Map<String, List<String>> entries = new HashMap<>();
+    for (String line : lines.subList(1, lines.size())) {
+      List<String> columns = Splitter.on('\t').splitToList(line);
+      assertThat(columns).hasSize(7);
+      entries.put(columns.get(1), columns);
+    }
+    String main = getMethodName("p.A", "main", "()V");
+    String b = getMethodName("p.B", "b", "()V");
+    String c = getMethodName("p.C", "c", "()V");
+    assertThat(entries).doesNotContainKey(getMethodName("p.B", "unused", "()V"));
+    assertThat(entries.get(main).get(6)).isEqualTo(main);
+    assertThat(entries.get(c).get(6)).isEqualTo(main + " > " + b + " > " + c);
+    assertThat(entries.get("p.C").get(0)).isEqualTo("type");
+    assertThat(entries.get("p.C").get(6)).isEqualTo(main + " > " + b + " > p.C");
+
+    // Metadata is estimated for types and code for members, and each is attributed to the
+    // reasons separately.
+    int cMetadataSize = Integer.parseInt(entries.get("p.C").get(3));
+    assertThat(cMetadataSize).isGreaterThan(0);
+    assertThat(Integer.parseInt(entries.get("p.C").get(2))).isEqualTo(0);
+    int cSize = Integer.parseInt(entries.get(c).get(2));
+    assertThat(cSize).isGreaterThan(0);
+    assertThat(Integer.parseInt(entries.get(c).get(3))).isEqualTo(0);
+    assertThat(Long.parseLong(entries.get(b).get(4))).isGreaterThan(cSize);
+    assertThat(Long.parseLong(entries.get(b).get(5))).isAtLeast((long) cMetadataSize);
+    assertThat(Long.parseLong(entries.get(main).get(4)))
+        .isGreaterThan(Long.parseLong(entries.get(b).get(4)));
+    // The entry point is responsible for all of the program, so it's reported first.
+    assertThat(lines.get(1)).startsWith("member\t" + main + "\t");
+  }
+
   private static String writeUnused(CodeReferenceMap unused) {
     StringBuilder result = new StringBuilder();
     TreeShaker.writeUnused(unused, result::append);
@@ -0,0 +1,90 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.xml.transform.stream.StreamSource;
+import org.apache.xml.dtm.DTM;
+import org.apache.xml.dtm.DTMManager;
+import org.apache.xpath.objects.XMLStringFactoryImpl;
+
+/**
+ * Measures the throughput of threads that share one DTMManager. Each thread
+ * repeatedly builds a 200-element document, resolves every child's handle
+ * through the manager and releases the document. The thread count doubles
+ * from one up to eight, or twice the number of processors if that is more.
+ */
+class DTMManagerBenchmarks {
+
+  private static final int DOCUMENTS_PER_THREAD = 2000;
+  private static final int WARMUP_ROUNDS = 2;
+
+  public static void main(String[] args) throws Exception {
+    StringBuilder sb = new StringBuilder("<r>");
+    for (int i = 0; i < 200; i++) {
+      sb.append("<item id='").append(i).append("'><v>").append(i).append("</v></item>");
+    }
+    final String xml = sb.append("</r>").toString();
+    final DTMManager manager = DTMManager.newInstance(XMLStringFactoryImpl.getFactory());
+    int processors = Runtime.getRuntime().availableProcessors();
+    int maxThreads = Math.max(8, 2 * processors);
+
+    System.out.println("Running DTMManager benchmarks on " + processors + " processors...");
+    Callable<Long> task = new Callable<Long>() {
+      @Override
+      public Long call() {
+        long sum = 0;
+        for (int i = 0; i < DOCUMENTS_PER_THREAD; i++) {
+          DTM dtm = manager.getDTM(
+              new StreamSource(new StringReader(xml)), true, null, false, false);
+          int root = dtm.getFirstChild(dtm.getDocument());
+          for (int n = dtm.getFirstChild(root); n != DTM.NULL; n = dtm.getNextSibling(n)) {
+            sum += manager.getDTM(n).getFirstChild(n) & 1;
+            sum += manager.getDTMIdentity(dtm) & 1;
+          }
+          manager.release(dtm, true);
+        }
+        return sum;
+      }
+    };
+    for (int threads = 1; threads <= maxThreads; threads *= 2) {
+      ExecutorService executor = Executors.newFixedThreadPool(threads);
+      for (int i = 0; i < WARMUP_ROUNDS; i++) {
+        runAll(executor, task, threads);
+      }
+      long startTime = System.nanoTime();
+      runAll(executor, task, threads);
+      double seconds = (System.nanoTime() - startTime) / 1e9;
+      executor.shutdown();
+      System.out.printf("%2d threads: %8.0f documents/s%n",
+          threads, threads * DOCUMENTS_PER_THREAD / seconds);
+    }
+  }
+
+  private static void runAll(ExecutorService executor, Callable<Long> task, int threads)
+      throws Exception {
+    List<Future<Long>> futures = new ArrayList<Future<Long>>();
+    for (int i = 0; i < threads; i++) {
+      futures.add(executor.submit(task));
+    }
+    for (Future<Long> future : futures) {
+      future.get();
+    }
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Field;
+import javax.xml.parsers.SAXParserFactory;
+import org.apache.xml.dtm.ref.DTMDefaultBase;
+import org.apache.xml.dtm.ref.DTMManagerDefault;
+import org.apache.xml.dtm.ref.sax2dtm.CompactSAX2DTM;
+import org.apache.xml.dtm.ref.sax2dtm.SAX2DTM;
+import org.apache.xml.dtm.ref.sax2dtm.SAX2DTM2;
+import org.apache.xml.utils.XMLStringFactory;
+import org.apache.xpath.objects.XMLStringFactoryImpl;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+
+/**
+ * Reports the heap used per node by each SAX2DTM implementation, measured as
+ * the growth of the heap while building one document. The document has
+ * namespaces, comments, PIs, CDATA and some deep subtrees; its size is the
+ * number of entries given as the first argument, 100000 (about a million
+ * nodes) by default.
+ */
+class DTMMemoryBenchmarks {
+
+  private static final String[] KINDS = { "SAX2DTM", "SAX2DTM2", "CompactSAX2DTM" };
+
+  public static void main(String[] args) throws Exception {
+    int entries = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+    byte[] xml = createDocument(entries).getBytes("UTF-8");
+    DTMManagerDefault manager = new DTMManagerDefault();
+    XMLStringFactory stringFactory = XMLStringFactoryImpl.getFactory();
+    SAXParserFactory parserFactory = SAXParserFactory.newInstance();
+    parserFactory.setNamespaceAware(true);
+    Field size = DTMDefaultBase.class.getDeclaredField("m_size");
+    size.setAccessible(true);
+
+    System.out.println("Running DTM memory benchmarks...");
+    // The first round warms up the parser and the manager's shared name tables.
+    for (int round = 0; round < 2; round++) {
+      for (String kind : KINDS) {
+        long before = usedMemory();
+        SAX2DTM dtm;
+        if (kind.equals("SAX2DTM")) {
+          dtm = new SAX2DTM(manager, null, 0, null, stringFactory, false);
+        } else if (kind.equals("SAX2DTM2")) {
+          dtm = new SAX2DTM2(manager, null, 0, null, stringFactory, false);
+        } else {
+          dtm = new CompactSAX2DTM(manager, null, 0, null, stringFactory, false);
+        }
+        XMLReader reader = parserFactory.newSAXParser().getXMLReader();
+        reader.setContentHandler(dtm);
+        reader.setProperty("http://xml.org/sax/properties/lexical-handler", dtm);
+        reader.parse(new InputSource(new ByteArrayInputStream(xml)));
+        long after = usedMemory();
+        int nodes = size.getInt(dtm);
+        if (round == 1) {
+          System.out.printf("%-16s %8d nodes %6.1f bytes/node%n",
+              kind, nodes, (after - before) / (double) nodes);
+        }
+        // Keeps the DTM reachable until its memory has been measured.
+        dtm.hashCode();
+      }
+    }
+  }
+
+  static String createDocument(int entries) {
+    StringBuilder sb = new StringBuilder("<?xml version='1.0'?><!-- prolog --><?pi x?>"
+        + "<p:feed id='F' xmlns:p='urn:p' xmlns:a='urn:a' xmlns='urn:d'>\n");
+    for (int i = 0; i < entries; i++) {
+      sb.append("  <entry k='").append(i % 3 == 0 ? "a" : "b").append("' a:z='").append(i)
+          .append("'><title>T").append(i).append("</title>")
+          .append("<a:x>&amp;<![CDATA[<c>]]></a:x><!--c--><?q r?>");
+      if (i % 500 == 0) {
+        for (int depth = 0; depth < 40; depth++) {
+          sb.append("<a:d n='").append(depth).append("'>");
+        }
+        sb.append("deep");
+        for (int depth = 0; depth < 40; depth++) {
+          sb.append("</a:d>");
+        }
+      }
+      sb.append("</entry>\n");
+    }
+    return sb.append("</p:feed><!-- epilog --><?end y?>").toString();
+  }
+
+  private static long usedMemory() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 4; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import javax.xml.transform.Source;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+import org.apache.xalan.processor.TransformerFactoryImpl;
+
+/**
+ * Checks that an incremental build gives the same results as a normal one
+ * for documents that depend on their DTD: ID attributes, unparsed
+ * entities, entities from an external DTD and namespaced attribute
+ * defaults, with byte and character stream input. Exits with status 1 if
+ * any result differs.
+ */
+class IncrementalBuildCheck {
+
+  private static final String DTD =
+      "<!DOCTYPE r SYSTEM 'r.dtd' [\n"
+      + "<!ATTLIST e k ID #IMPLIED>\n"
+      + "<!ATTLIST p:e d CDATA 'x'>\n"
+      + "<!NOTATION n SYSTEM 'n'>\n"
+      + "<!ENTITY u SYSTEM 'u.bin' NDATA n>\n"
+      + "]>\n";
+
+  private static final String BODY =
+      "<r xmlns:p='urn:p'><e k='a'>A</e><e k='b'>B</e><e/><p:e/><x>&ext;</x></r>";
+
+  private static final String[][] CHECKS = {
+    {"id", "id('b')"},
+    {"unparsed-entity-uri", "substring-after(unparsed-entity-uri('u'), 'incremental/')"},
+    {"external entity", "string(//x)"},
+    {"namespaced default", "count(//@d)"},
+    {"prolog", "count(/comment()) + count(/processing-instruction())"},
+  };
+
+  public static void main(String[] args) throws Exception {
+    File dir = new File(System.getProperty("java.io.tmpdir"), "incremental");
+    dir.mkdirs();
+    Writer out = new FileWriter(new File(dir, "r.dtd"));
+    out.write("<!ENTITY ext 'external'>");
+    out.close();
+    String systemId = new File(dir, "r.xml").toURI().toString();
+    String[] documents = {
+      "<!--c--><?pi?>" + DTD + BODY,
+      "<!--c--><?pi?><r><e k='b'>B</e><x/></r>",
+    };
+
+    int failures = 0;
+    for (String document : documents) {
+      for (String[] check : CHECKS) {
+        for (boolean characters : new boolean[] {false, true}) {
+          String expected = evaluate(document, systemId, check[1], false, characters);
+          String actual = evaluate(document, systemId, check[1], true, characters);
+          boolean pass = expected.equals(actual);
+          System.out.printf("%s %-20s %-10s %-9s %s%n", pass ? "PASS" : "FAIL", check[0],
+              characters ? "reader" : "stream", document.contains("DOCTYPE") ? "DOCTYPE" : "no DTD",
+              pass ? "[" + actual + "]" : "expected [" + expected + "], got [" + actual + "]");
+          if (!pass) {
+            failures++;
+          }
+        }
+      }
+    }
+    if (failures > 0) {
+      System.exit(1);
+    }
+  }
+
+  private static String evaluate(String document, String systemId, String expression,
+      boolean incremental, boolean characters) throws Exception {
+    TransformerFactory factory = new TransformerFactoryImpl();
+    factory.setAttribute(TransformerFactoryImpl.FEATURE_INCREMENTAL, incremental);
+    String xsl = "<xsl:stylesheet version='1.0'"
+        + " xmlns:xsl='http://www.w3.org/1999/XSL/Transform'>"
+        + "<xsl:output method='text'/>"
+        + "<xsl:template match='/'><xsl:value-of select=\"" + expression + "\"/></xsl:template>"
+        + "</xsl:stylesheet>";
+    Transformer transformer = factory.newTransformer(new StreamSource(new StringReader(xsl)));
+    Source source = characters
+        ? new StreamSource(new StringReader(document), systemId)
+        : new StreamSource(new ByteArrayInputStream(document.getBytes("UTF-8")), systemId);
+    StringWriter result = new StringWriter();
+    try {
+      transformer.transform(source, new StreamResult(result));
+    } catch (Exception e) {
+      return e.getClass().getSimpleName() + ": " + e.getMessage();
+    }
+    return result.toString();
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Properties;
+import java.util.Random;
+import org.apache.xml.serializer.OutputPropertiesFactory;
+import org.apache.xml.serializer.Serializer;
+import org.apache.xml.serializer.SerializerFactory;
+import org.apache.xml.serializer.ToStream;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.helpers.AttributesImpl;
+
+/**
+ * Measures the UTF-8 throughput of ToXMLStream for 50M chars of text in 250
+ * elements, reporting the best of 30 runs. The arguments select the output:
+ * "stream" (the default Writer), "byte_buffer" (the byte-buffer-output
+ * property) or "channel" (setOutputChannel()); and the text: "ascii" (1% '&')
+ * or "mixed" (10% Cyrillic and 1% '<'). Only "stream" runs against builds
+ * older than the byte-buffer output.
+ */
+class SerializerBenchmarks {
+
+  private static final int ELEMENTS = 250;
+  private static final int TEXT_LENGTH = 200000;
+  private static final int RUNS = 30;
+
+  /** Counts and discards the serialized bytes. */
+  private static class NullOutputStream extends OutputStream {
+    long count;
+
+    @Override
+    public void write(int b) {
+      count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      count += len;
+    }
+  }
+
+  /** Counts and discards the serialized bytes. */
+  private static class NullChannel implements WritableByteChannel {
+    long count;
+
+    @Override
+    public int write(ByteBuffer src) {
+      int n = src.remaining();
+      src.position(src.limit());
+      count += n;
+      return n;
+    }
+
+    @Override
+    public boolean isOpen() {
+      return true;
+    }
+
+    @Override
+    public void close() {}
+  }
+
+  public static void main(String[] args) throws Exception {
+    String output = args.length > 0 ? args[0] : "stream";
+    String textKind = args.length > 1 ? args[1] : "ascii";
+    char[] text = createText(textKind.equals("mixed"));
+    String attribute = new String(text, 0, 60);
+
+    long best = Long.MAX_VALUE;
+    for (int run = 0; run < RUNS; run++) {
+      Properties props = OutputPropertiesFactory.getDefaultMethodProperties("xml");
+      props.setProperty("encoding", "UTF-8");
+      if (output.equals("byte_buffer")) {
+        props.setProperty(OutputPropertiesFactory.S_KEY_BYTE_BUFFER_OUTPUT, "yes");
+      }
+      Serializer serializer = SerializerFactory.getSerializer(props);
+      if (output.equals("channel")) {
+        ((ToStream) serializer).setOutputChannel(new NullChannel());
+      } else {
+        serializer.setOutputStream(new NullOutputStream());
+      }
+      ContentHandler handler = serializer.asContentHandler();
+
+      long startTime = System.nanoTime();
+      handler.startDocument();
+      handler.startElement("", "root", "root", new AttributesImpl());
+      for (int i = 0; i < ELEMENTS; i++) {
+        AttributesImpl attributes = new AttributesImpl();
+        attributes.addAttribute("", "a", "a", "CDATA", attribute);
+        handler.startElement("", "e", "e", attributes);
+        handler.characters(text, 0, text.length);
+        handler.endElement("", "e", "e");
+      }
+      handler.endElement("", "root", "root");
+      handler.endDocument();
+      best = Math.min(best, System.nanoTime() - startTime);
+    }
+    double megachars = (double) ELEMENTS * TEXT_LENGTH / 1e6;
+    System.out.printf("%-12s %-6s %5d ms %6.0f Mchar/s%n",
+        output, textKind, best / 1000000, megachars / (best / 1e9));
+  }
+
+  private static char[] createText(boolean mixed) {
+    Random random = new Random(1);
+    char[] text = new char[TEXT_LENGTH];
+    for (int i = 0; i < TEXT_LENGTH; i++) {
+      int k = random.nextInt(100);
+      if (mixed) {
+        text[i] = k < 1 ? '<' : k < 15 ? ' '
+            : k < 25 ? (char) (0x400 + random.nextInt(64)) : (char) ('a' + random.nextInt(26));
+      } else {
+        text[i] = k < 1 ? '&' : k < 16 ? ' ' : (char) ('a' + random.nextInt(26));
+      }
+    }
+    return text;
+  }
+}
@@ -0,0 +1,593 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the  "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * $Id$
+ */
+package org.apache.xalan.processor;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Vector;
+
+import javax.xml.transform.Templates;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.stream.StreamSource;
+
+import org.apache.xalan.Version;
+import org.apache.xalan.templates.Stylesheet;
+import org.apache.xalan.templates.StylesheetRoot;
+
+/**
+ * A directory of composed stylesheets, so that a process that compiles
+ * the same stylesheets each time it starts can read them back instead of
+ * parsing them and compiling their XPaths again.
+ *
+ * A stylesheet is stored under the SHA-256 hash of its bytes, its base
+ * URI and the factory settings that change how it is compiled. The file
+ * holds the version of Xalan that wrote it and the hash of every
+ * stylesheet it imports or includes, followed by the serialized
+ * StylesheetRoot. It is only read back by the same version, and only if
+ * the imported and included stylesheets are unchanged; otherwise the
+ * stylesheet is compiled and the file replaced. Files are memory-mapped
+ * to be read.
+ *
+ * Stylesheets that use extensions are compiled every time, since their
+ * extension namespaces aren't serialized. A cache file is only trusted to
+ * name the classes that a StylesheetRoot is made of; reading one that
+ * names any other class fails, and the stylesheet is compiled again.
+ *
+ * TransformerFactoryImpl uses this class for stream sources when the
+ * {@link TransformerFactoryImpl#PROPERTY_STYLESHEET_CACHE} attribute is
+ * set to a directory, unless secure processing is on or a URIResolver is
+ * set.
+ * @xsl.usage internal
+ */
+final class CompiledStylesheetCache
+{
+
+  /** The first int of every cache file. */
+  private static final int MAGIC = 0x584C4358;
+
+  /** The layout of the cache files, changed if they can't be read as before. */
+  private static final int FORMAT = 1;
+
+  /** The digest used for keys and for the imported stylesheets. */
+  private static final String DIGEST = "SHA-256";
+
+  /** The directory the cache files are kept in. */
+  private final File m_directory;
+
+  /**
+   * Create a cache that keeps its files in a directory.
+   *
+   * @param directory The directory, which is created if needed.
+   */
+  CompiledStylesheetCache(File directory)
+  {
+    m_directory = directory;
+  }
+
+  /**
+   * Get the directory the cache files are kept in.
+   *
+   * @return the cache directory.
+   */
+  File getDirectory()
+  {
+    return m_directory;
+  }
+
+  /**
+   * Get the Templates for a stylesheet, reading them from the cache if
+   * they are there, and otherwise compiling the stylesheet and storing it.
+   *
+   * @param factory The factory to compile the stylesheet with.
+   * @param source The stylesheet.
+   * @param baseID The absolute base URI of the stylesheet, or null.
+   *
+   * @return The Templates, or null if the factory's error listener
+   * handled an error in compiling them.
+   *
+   * @throws TransformerConfigurationException
+   */
+  Templates getTemplates(TransformerFactoryImpl factory, StreamSource source,
+                         String baseID)
+          throws TransformerConfigurationException
+  {
+
+    byte[] content;
+
+    try
+    {
+      content = readContent(source, baseID);
+    }
+    catch (IOException ioe)
+    {
+      // Let the parser report it.
+      content = null;
+    }
+
+    if (null == content)
+      return factory.compileTemplates(source);
+
+    // The stream has been read, so the stylesheet is parsed from its bytes.
+    StreamSource copy = new StreamSource(new ByteArrayInputStream(content),
+                                         baseID);
+    copy.setPublicId(source.getPublicId());
+
+    String key = getKey(factory, content, baseID);
+
+    if (null == key)
+      return factory.compileTemplates(copy);
+
+    File file = new File(m_directory, key + Stylesheet.STYLESHEET_EXT);
+    StylesheetRoot root = load(file, key);
+
+    if (null != root)
+      return root;
+
+    Templates templates = factory.compileTemplates(copy);
+
+    if (templates instanceof StylesheetRoot)
+      store(file, key, (StylesheetRoot) templates);
+
+    return templates;
+  }
+
+  /**
+   * Read the bytes of a stylesheet from its stream, or from its system
+   * ID if it has none.
+   *
+   * @return the bytes, or null if the source is a character stream,
+   * which is compiled without the cache.
+   *
+   * @throws IOException
+   */
+  private static byte[] readContent(StreamSource source, String baseID)
+          throws IOException
+  {
+
+    if (null != source.getReader())
+      return null;
+
+    InputStream in = source.getInputStream();
+
+    if (null != in)
+      return readAll(in);
+
+    if (null == baseID)
+      return null;
+
+    in = new URL(baseID).openStream();
+    try
+    {
+      return readAll(in);
+    }
+    finally
+    {
+      in.close();
+    }
+  }
+
+  /**
+   * Read a stream to its end.
+   *
+   * @throws IOException
+   */
+  private static byte[] readAll(InputStream in) throws IOException
+  {
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buf = new byte[8192];
+    int n;
+
+    while ((n = in.read(buf)) > 0)
+      out.write(buf, 0, n);
+
+    return out.toByteArray();
+  }
+
+  /**
+   * Get the key for a stylesheet: the hash of its bytes, its base URI,
+   * which its imports are resolved against, and the factory settings
+   * that are stored in the StylesheetRoot.
+   *
+   * @return the key, or null if the digest isn't available.
+   */
+  private static String getKey(TransformerFactoryImpl factory,
+                               byte[] content, String baseID)
+  {
+
+    MessageDigest md = newDigest();
+
+    if (null == md)
+      return null;
+
+    md.update(content);
+    md.update(toBytes("\n" + baseID
+      + "\n" + factory.getAttribute(TransformerFactoryImpl.FEATURE_OPTIMIZE)
+      + "\n" + factory.getAttribute(TransformerFactoryImpl.FEATURE_STREAMING)
+      + "\n" + factory.getAttribute(
+                 TransformerFactoryImpl.FEATURE_SOURCE_LOCATION)));
+
+    return toHex(md.digest());
+  }
+
+  /**
+   * Read a stylesheet back from its cache file.
+   *
+   * @param file The cache file.
+   * @param key The key the file was stored under.
+   *
+   * @return the stylesheet, or null if there is no file or it can't be used.
+   */
+  private StylesheetRoot load(File file, String key)
+  {
+
+    if (!file.isFile())
+      return null;
+
+    try
+    {
+      ByteBuffer buffer;
+      FileInputStream fis = new FileInputStream(file);
+
+      try
+      {
+        FileChannel channel = fis.getChannel();
+
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      }
+      finally
+      {
+        fis.close();
+      }
+
+      ObjectInputStream in = new StylesheetInputStream(
+        new ByteBufferInputStream(buffer));
+
+      if (in.readInt() != MAGIC || in.readInt() != FORMAT
+          || !Version.getVersion().equals(in.readUTF())
+          || !key.equals(in.readUTF()))
+        return null;
+
+      for (int n = in.readInt(); n > 0; n--)
+      {
+        String href = in.readUTF();
+        String hash = in.readUTF();
+
+        if (!hash.equals(hash(href)))
+          return null;
+      }
+
+      return (StylesheetRoot) in.readObject();
+    }
+    catch (Exception e)
+    {
+      // A stale or damaged file; compile the stylesheet again.
+      return null;
+    }
+  }
+
+  /**
+   * Write a stylesheet to its cache file. The file is written under
+   * another name and then renamed, so that a process that reads it never
+   * sees part of it. Any error leaves the cache without the stylesheet.
+   *
+   * @param file The cache file.
+   * @param key The key to store the stylesheet under.
+   * @param root The composed stylesheet.
+   */
+  private void store(File file, String key, StylesheetRoot root)
+  {
+
+    Vector extensions = root.getExtensions();
+
+    if (null != extensions && !extensions.isEmpty())
+      return;
+
+    File temp = null;
+
+    try
+    {
+      Vector hrefs = new Vector();
+      collectHrefs(root, root, hrefs);
+
+      String[] hashes = new String[hrefs.size()];
+
+      for (int i = 0; i < hashes.length; i++)
+      {
+        hashes[i] = hash((String) hrefs.elementAt(i));
+
+        if (null == hashes[i])
+          return;
+      }
+
+      m_directory.mkdirs();
+      temp = File.createTempFile(key, ".tmp", m_directory);
+
+      OutputStream os = new BufferedOutputStream(new FileOutputStream(temp));
+      try
+      {
+        ObjectOutputStream out = new ObjectOutputStream(os);
+
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT);
+        out.writeUTF(Version.getVersion());
+        out.writeUTF(key);
+        out.writeInt(hashes.length);
+
+        for (int i = 0; i < hashes.length; i++)
+        {
+          out.writeUTF((String) hrefs.elementAt(i));
+          out.writeUTF(hashes[i]);
+        }
+
+        out.writeObject(root);
+        out.flush();
+      }
+      finally
+      {
+        os.close();
+      }
+
+      if (temp.renameTo(file))
+        temp = null;
+    }
+    catch (Exception e)
+    {
+      // Not every stylesheet can be serialized; it is simply not cached.
+    }
+    finally
+    {
+      if (null != temp)
+        temp.delete();
+    }
+  }
+
+  /**
+   * Collect the base URIs of the stylesheets that a stylesheet imports
+   * or includes, directly or not.
+   *
+   * @param root The stylesheet whose own URI is part of the key.
+   * @param stylesheet The stylesheet to collect from.
+   * @param hrefs The URIs found so far, which are added to.
+   */
+  private static void collectHrefs(StylesheetRoot root, Stylesheet stylesheet,
+                                   Vector hrefs)
+  {
+
+    if (stylesheet != root)
+    {
+      String href = stylesheet.getHref();
+
+      if (null != href && !hrefs.contains(href))
+        hrefs.addElement(href);
+    }
+
+    for (int i = 0; i < stylesheet.getImportCount(); i++)
+      collectHrefs(root, stylesheet.getImport(i), hrefs);
+
+    for (int i = 0; i < stylesheet.getIncludeCount(); i++)
+      collectHrefs(root, stylesheet.getInclude(i), hrefs);
+  }
+
+  /**
+   * Get the hash of the content of a URI.
+   *
+   * @return the hash, or null if the URI can't be read.
+   */
+  private static String hash(String href)
+  {
+
+    MessageDigest md = newDigest();
+
+    if (null == md)
+      return null;
+
+    try
+    {
+      InputStream in = new URL(href).openStream();
+      try
+      {
+        byte[] buf = new byte[8192];
+        int n;
+
+        while ((n = in.read(buf)) > 0)
+          md.update(buf, 0, n);
+      }
+      finally
+      {
+        in.close();
+      }
+    }
+    catch (IOException ioe)
+    {
+      return null;
+    }
+
+    return toHex(md.digest());
+  }
+
+  /**
+   * Create the digest used for hashes.
+   *
+   * @return the digest, or null if the platform doesn't have it.
+   */
+  private static MessageDigest newDigest()
+  {
+    try
+    {
+      return MessageDigest.getInstance(DIGEST);
+    }
+    catch (NoSuchAlgorithmException nsae)
+    {
+      return null;
+    }
+  }
+
+  /**
+   * Get the UTF-8 bytes of a string.
+   */
+  private static byte[] toBytes(String s)
+  {
+    try
+    {
+      return s.getBytes("UTF-8");
+    }
+    catch (UnsupportedEncodingException uee)
+    {
+      // UTF-8 is always supported.
+      throw new IllegalStateException(uee.getMessage());
+    }
+  }
+
+  /**
+   * Write bytes as lower case hex digits.
+   */
+  private static String toHex(byte[] bytes)
+  {
+
+    StringBuffer sb = new StringBuffer(bytes.length * 2);
+
+    for (int i = 0; i < bytes.length; i++)
+    {
+      sb.append(Character.forDigit((bytes[i] >> 4) & 0xF, 16));
+      sb.append(Character.forDigit(bytes[i] & 0xF, 16));
+    }
+
+    return sb.toString();
+  }
+
+  /**
+   * Tell whether a class may be read back from a cache file: the Xalan,
+   * XPath and XML utility classes that make up a StylesheetRoot, the
+   * java.* classes they hold, and arrays of these or of primitives.
+   *
+   * @param name The class name, as given by ObjectStreamClass.getName().
+   */
+  private static boolean isStylesheetClass(String name)
+  {
+
+    int dims = 0;
+
+    while (dims < name.length() && name.charAt(dims) == '[')
+      dims++;
+
+    if (dims > 0)
+    {
+      // A primitive array is named by a single letter.
+      if (name.length() == dims + 1)
+        return true;
+
+      if (name.charAt(dims) != 'L' || !name.endsWith(";"))
+        return false;
+
+      name = name.substring(dims + 1, name.length() - 1);
+    }
+
+    return name.startsWith("org.apache.xalan.")
+           || name.startsWith("org.apache.xpath.")
+           || name.startsWith("org.apache.xml.")
+           || name.startsWith("java.");
+  }
+
+  /**
+   * An ObjectInputStream that only resolves the classes a StylesheetRoot
+   * is made of, so that a cache file can't have other objects created.
+   */
+  private static final class StylesheetInputStream extends ObjectInputStream
+  {
+
+    StylesheetInputStream(InputStream in) throws IOException
+    {
+      super(in);
+    }
+
+    protected Class<?> resolveClass(ObjectStreamClass desc)
+            throws IOException, ClassNotFoundException
+    {
+      if (!isStylesheetClass(desc.getName()))
+        throw new InvalidClassException(desc.getName(),
+                                        "not part of a stylesheet");
+
+      return super.resolveClass(desc);
+    }
+
+    protected Class<?> resolveProxyClass(String[] interfaces)
+            throws IOException
+    {
+      throw new InvalidClassException("proxy", "not part of a stylesheet");
+    }
+  }
+
+  /**
+   * An InputStream that reads the bytes of a ByteBuffer.
+   */
+  private static final class ByteBufferInputStream extends InputStream
+  {
+
+    /** The buffer, positioned at the next byte to read. */
+    private final ByteBuffer m_buffer;
+
+    ByteBufferInputStream(ByteBuffer buffer)
+    {
+      m_buffer = buffer;
+    }
+
+    public int read()
+    {
+      return m_buffer.hasRemaining() ? (m_buffer.get() & 0xFF) : -1;
+    }
+
+    public int read(byte[] b, int off, int len)
+    {
+      if (len == 0)
+        return 0;
+
+      if (!m_buffer.hasRemaining())
+        return -1;
+
+      len = Math.min(len, m_buffer.remaining());
+      m_buffer.get(b, off, len);
+      return len;
+    }
+
+    public int available()
+    {
+      return m_buffer.remaining();
+    }
+  }
+}
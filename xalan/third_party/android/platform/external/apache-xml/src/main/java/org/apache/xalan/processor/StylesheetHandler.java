@@ -83,6 +83,11 @@ public class StylesheetHandler extends DefaultHandler
    */
   private boolean m_incremental = false;
   
+  /**
+   * The flag for the setting of the streaming feature;
+   */
+  private boolean m_streaming = false;
+  
   /**
    * The flag for the setting of the source_location feature;
    */
@@ -113,6 +118,8 @@ public class StylesheetHandler extends DefaultHandler
             TransformerFactoryImpl.FEATURE_OPTIMIZE)).booleanValue();
     m_incremental = ((Boolean) processor.getAttribute(
             TransformerFactoryImpl.FEATURE_INCREMENTAL)).booleanValue();
+    m_streaming = ((Boolean) processor.getAttribute(
+            TransformerFactoryImpl.FEATURE_STREAMING)).booleanValue();
     m_source_location = ((Boolean) processor.getAttribute(
             TransformerFactoryImpl.FEATURE_SOURCE_LOCATION)).booleanValue();
     // m_schema = new XSLTSchema();
@@ -156,6 +163,8 @@ public class StylesheetHandler extends DefaultHandler
             m_funcTable);
     // Visit the expression, registering namespaces for any extension functions it includes.
     xpath.callVisitors(xpath, new ExpressionVisitor(getStylesheetRoot()));
+    if (null != owningTemplate)
+      owningTemplate.addStreamingAnalysis(xpath.getStreamingAnalysis());
     return xpath;
   }
 
@@ -177,6 +186,8 @@ public class StylesheetHandler extends DefaultHandler
         m_funcTable);
     // Visit the expression, registering namespaces for any extension functions it includes.
     xpath.callVisitors(xpath, new ExpressionVisitor(getStylesheetRoot()));
+    if (null != owningTemplate)
+      owningTemplate.addStreamingAnalysis(xpath.getStreamingAnalysis());
     return xpath;    
   }
 
@@ -1197,6 +1208,7 @@ public class StylesheetHandler extends DefaultHandler
     if (m_stylesheetRoot != null){
         m_stylesheetRoot.setOptimizer(m_optimize);
         m_stylesheetRoot.setIncremental(m_incremental);
+        m_stylesheetRoot.setStreaming(m_streaming);
         m_stylesheetRoot.setSource_location(m_source_location);  		
     }
     return m_stylesheetRoot;
@@ -1714,6 +1726,13 @@ public class StylesheetHandler extends DefaultHandler
         return m_incremental;
     }
 
+    /**
+     * @return Streaming flag
+     */
+    public boolean getStreaming() {
+        return m_streaming;
+    }
+
     /**
      * @return Source Location flag
      */
@@ -21,6 +21,7 @@
 package org.apache.xalan.processor;
 
 import java.io.BufferedInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Enumeration;
@@ -101,10 +102,18 @@ public class TransformerFactoryImpl extends SAXTransformerFactory
   public static final String FEATURE_OPTIMIZE =
                              "http://xml.apache.org/xalan/features/optimize";
 
+  /** Static string to be used for streaming feature */
+  public static final String FEATURE_STREAMING =
+                             "http://xml.apache.org/xalan/features/streaming";
+
   /** Static string to be used for source_location feature */
   public static final String FEATURE_SOURCE_LOCATION =
                              XalanProperties.SOURCE_LOCATION;
 
+  /** Static string to be used for the compiled stylesheet cache attribute */
+  public static final String PROPERTY_STYLESHEET_CACHE =
+                             "http://xml.apache.org/xalan/properties/stylesheet-cache";
+
   public javax.xml.transform.Templates processFromNode(Node node)
           throws TransformerConfigurationException
   {
@@ -500,6 +509,28 @@ public class TransformerFactoryImpl extends SAXTransformerFactory
    * default this attribute is set to false. 
    */
   private boolean m_incremental = false;
+
+  /**
+   * Flag set by FEATURE_STREAMING.
+   * This feature specifies whether a stylesheet that only walks forward
+   * through the children of the document element may transform a stream or
+   * SAX source one bounded window of those children at a time, instead of
+   * building a DTM for the whole input. Stylesheets that can't be streamed
+   * are run as usual. By default this attribute is set to false.
+   */
+  private boolean m_streaming = false;
+
+  /**
+   * The cache set by PROPERTY_STYLESHEET_CACHE, or null.
+   * The value of this attribute is a directory, as a File or a String, in
+   * which newTemplates keeps the stylesheets it compiles from a
+   * StreamSource, so that a later process can read them back rather than
+   * compile them again. The cache isn't used while FEATURE_SECURE_PROCESSING
+   * is set or a URIResolver is, since the cache checks the stylesheets
+   * imported and included by reading their URIs directly. By default there
+   * is no cache.
+   */
+  private CompiledStylesheetCache m_stylesheetCache = null;
   
   /**
    * Allows the user to set specific attributes on the underlying
@@ -551,6 +582,25 @@ public class TransformerFactoryImpl extends SAXTransformerFactory
       }
     }
     
+    else if (name.equals(FEATURE_STREAMING))
+    {
+      if(value instanceof Boolean)
+      {
+        // Accept a Boolean object..
+        m_streaming = ((Boolean)value).booleanValue();
+      }
+      else if(value instanceof String)
+      {
+        // .. or a String object
+        m_streaming = (new Boolean((String)value)).booleanValue();
+      }
+      else
+      {
+        // Give a more meaningful error message
+        throw new IllegalArgumentException(XSLMessages.createMessage(XSLTErrorResources.ER_BAD_VALUE, new Object[]{name, value})); //name + " bad value " + value);
+      }
+    }
+    
     // Custom Xalan feature: annotate DTM with SAX source locator fields.
     // This gets used during SAX2DTM instantiation. 
     //
@@ -575,6 +625,27 @@ public class TransformerFactoryImpl extends SAXTransformerFactory
       }
     }
     
+    else if (name.equals(PROPERTY_STYLESHEET_CACHE))
+    {
+      if(value == null)
+      {
+        m_stylesheetCache = null;
+      }
+      else if(value instanceof File)
+      {
+        m_stylesheetCache = new CompiledStylesheetCache((File)value);
+      }
+      else if(value instanceof String)
+      {
+        m_stylesheetCache = new CompiledStylesheetCache(new File((String)value));
+      }
+      else
+      {
+        // Give a more meaningful error message
+        throw new IllegalArgumentException(XSLMessages.createMessage(XSLTErrorResources.ER_BAD_VALUE, new Object[]{name, value})); //name + " bad value " + value);
+      }
+    }
+    
     else
     {
       throw new IllegalArgumentException(XSLMessages.createMessage(XSLTErrorResources.ER_NOT_SUPPORTED, new Object[]{name})); //name + "not supported");
@@ -601,10 +672,18 @@ public class TransformerFactoryImpl extends SAXTransformerFactory
     {
       return new Boolean(m_optimize);
     }
+    else if (name.equals(FEATURE_STREAMING))
+    {
+      return new Boolean(m_streaming);
+    }
     else if (name.equals(FEATURE_SOURCE_LOCATION))
     {
       return new Boolean(m_source_location);
     }
+    else if (name.equals(PROPERTY_STYLESHEET_CACHE))
+    {
+      return (null != m_stylesheetCache) ? m_stylesheetCache.getDirectory() : null;
+    }
     else
       throw new IllegalArgumentException(XSLMessages.createMessage(XSLTErrorResources.ER_ATTRIB_VALUE_NOT_RECOGNIZED, new Object[]{name})); //name + " attribute not recognized");
   }
@@ -845,6 +924,36 @@ public class TransformerFactoryImpl extends SAXTransformerFactory
           throws TransformerConfigurationException
   {
 
+    if (null != m_stylesheetCache && !m_isSecureProcessing
+        && null == m_uriResolver && source instanceof StreamSource)
+    {
+      String baseID = source.getSystemId();
+
+      if (null != baseID) {
+         baseID = SystemIDResolver.getAbsoluteURI(baseID);
+      }
+
+      return m_stylesheetCache.getTemplates(this, (StreamSource) source,
+                                            baseID);
+    }
+
+    return compileTemplates(source);
+  }
+
+  /**
+   * Process the source into a Templates object, without looking in the
+   * compiled stylesheet cache.
+   *
+   * @param source An object that holds a URL, input stream, etc.
+   * @return A Templates object capable of being used for transformation purposes.
+   *
+   * @throws TransformerConfigurationException May throw this during the parse when it
+   *            is constructing the Templates object and fails.
+   */
+  Templates compileTemplates(Source source)
+          throws TransformerConfigurationException
+  {
+
     String baseID = source.getSystemId();
 
     if (null != baseID) {
@@ -24,6 +24,7 @@ import java.util.Vector;
 
 import javax.xml.transform.TransformerException;
 
+import org.apache.xalan.transformer.StreamedInput;
 import org.apache.xalan.transformer.TransformerImpl;
 import org.apache.xml.dtm.DTM;
 import org.apache.xml.dtm.DTMIterator;
@@ -172,7 +173,12 @@ public class ElemApplyTemplates extends ElemCallTemplate
         }
       }
 
-      transformSelectedNodes(transformer);
+      StreamedInput streamedInput = transformer.getStreamedInput();
+
+      if (null != streamedInput)
+        streamedInput.transformSelectedNodes(this);
+      else
+        transformSelectedNodes(transformer);
     }
     finally
     {
@@ -228,6 +234,7 @@ public class ElemApplyTemplates extends ElemCallTemplate
       
       // Should be able to get this from the iterator but there must be a bug.
       DTM dtm = xctxt.getDTM(sourceNode);
+      TemplateDispatchTable dispatch = tl.getDispatchTable(dtm);
       
       int argsFrame = -1;
       if(nParams > 0)
@@ -266,6 +273,7 @@ public class ElemApplyTemplates extends ElemCallTemplate
         if(xctxt.getDTM(child) != dtm)
         {
           dtm = xctxt.getDTM(child);
+          dispatch = tl.getDispatchTable(dtm);
         }
         
         final int exNodeType = dtm.getExpandedTypeID(child);
@@ -274,8 +282,9 @@ public class ElemApplyTemplates extends ElemCallTemplate
 
         final QName mode = transformer.getMode();
 
-        ElemTemplate template = tl.getTemplateFast(xctxt, child, exNodeType, mode, 
-                                      -1, quiet, dtm);
+        ElemTemplate template = (null != dispatch)
+          ? dispatch.getTemplate(xctxt, child, exNodeType, mode, -1, quiet, dtm)
+          : tl.getTemplateFast(xctxt, child, exNodeType, mode, -1, quiet, dtm);
 
         // If that didn't locate a node, fall back to a default template rule.
         // See http://www.w3.org/TR/xslt#built-in-rule.
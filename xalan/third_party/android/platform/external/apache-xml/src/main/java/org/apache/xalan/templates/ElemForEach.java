@@ -25,6 +25,7 @@ import java.util.Vector;
 import javax.xml.transform.TransformerException;
 
 import org.apache.xalan.transformer.NodeSorter;
+import org.apache.xalan.transformer.StreamedInput;
 import org.apache.xalan.transformer.TransformerImpl;
 import org.apache.xml.dtm.DTM;
 import org.apache.xml.dtm.DTMIterator;
@@ -259,7 +260,12 @@ public class ElemForEach extends ElemTemplateElement implements ExpressionOwner
     transformer.pushCurrentTemplateRuleIsNull(true);    
     try
     {
-      transformSelectedNodes(transformer);
+      StreamedInput streamedInput = transformer.getStreamedInput();
+
+      if (null != streamedInput)
+        streamedInput.transformSelectedNodes(this);
+      else
+        transformSelectedNodes(transformer);
     }
     finally
     {
@@ -1275,6 +1275,37 @@ public class ElemTemplateElement extends UnImplNode
   }
 
 
+  /**
+   * The union of the {@link org.apache.xpath.compiler.StreamingAnalysis}
+   * bits of the expressions, patterns and attribute value templates in the
+   * attributes of this element.
+   * @serial
+   */
+  private int m_streamingAnalysis;
+
+  /**
+   * Add the streaming analysis of an expression in an attribute of this
+   * element.
+   *
+   * @param analysis The analysis bits of the expression.
+   * @see org.apache.xpath.XPath#getStreamingAnalysis()
+   */
+  public void addStreamingAnalysis(int analysis)
+  {
+    m_streamingAnalysis |= analysis;
+  }
+
+  /**
+   * Get the union of the streaming analysis bits of the expressions in the
+   * attributes of this element, not including its children.
+   *
+   * @return The analysis bits, or 0 if the element has no expressions.
+   */
+  public int getStreamingAnalysis()
+  {
+    return m_streamingAnalysis;
+  }
+
   /**
    * Parent node.
    * @serial
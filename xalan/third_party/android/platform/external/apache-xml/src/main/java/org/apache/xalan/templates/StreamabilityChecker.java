@@ -0,0 +1,496 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the  "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.xalan.templates;
+
+import java.util.Hashtable;
+import java.util.Vector;
+
+import org.apache.xml.dtm.DTMFilter;
+import org.apache.xml.utils.QName;
+import org.apache.xpath.Expression;
+import org.apache.xpath.compiler.StreamingAnalysis;
+import org.apache.xpath.patterns.NodeTest;
+import org.apache.xpath.patterns.StepPattern;
+import org.apache.xpath.patterns.UnionPattern;
+
+/**
+ * Tells whether a stylesheet only walks forward through the children of the
+ * document element, so that it can be run over a streamed source one window
+ * of those children, or records, at a time.
+ * <p>A stylesheet is run at three levels:</p>
+ * <ul>
+ * <li>The templates that match the root node may only read the root node,
+ * and may select its children with a single xsl:apply-templates.</li>
+ * <li>The templates that may match the document element in the modes
+ * selected by that xsl:apply-templates may only read the document element
+ * and its attributes, and may select its children with a single
+ * xsl:apply-templates or xsl:for-each.</li>
+ * <li>Every other instruction, which is run for the records, may read the
+ * subtree of its context node, but no further, and may not depend on the
+ * position of a node among the records.</li>
+ * </ul>
+ * <p>The checks use the {@link StreamingAnalysis} bits that each element
+ * holds for the expressions in its attributes.  The first and last levels
+ * only depend on the stylesheet.  The document element level is checked for
+ * each document element name that is seen, and cached.</p>
+ * @see org.apache.xalan.transformer.StreamedInput
+ * @xsl.usage internal
+ */
+public class StreamabilityChecker
+{
+
+  /**
+   * The analysis bits that no expression in the stylesheet may have, since
+   * they read outside of the records.
+   */
+  private static final int RECORD_MASK = StreamingAnalysis.BIT_OUTSIDE_SUBTREE
+                                         | StreamingAnalysis.BIT_ROOT
+                                         | StreamingAnalysis.BIT_CONTEXT_POSITION
+                                         | StreamingAnalysis.BIT_DOCUMENT_FUNCTION;
+
+  /**
+   * The analysis bits that no match pattern may have.  Ancestors of the
+   * records can be matched by name, but nothing else about them is known.
+   */
+  private static final int PATTERN_MASK =
+    StreamingAnalysis.BIT_OUTSIDE_SUBTREE
+    | StreamingAnalysis.BIT_CONTEXT_POSITION
+    | StreamingAnalysis.BIT_DOCUMENT_FUNCTION
+    | StreamingAnalysis.BIT_NUMERIC_PREDICATE
+    | StreamingAnalysis.BIT_ANCESTOR_PREDICATE;
+
+  /**
+   * The analysis bits that the select expression of the instruction that
+   * selects the records may not have.
+   */
+  private static final int SELECT_MASK = StreamingAnalysis.BIT_DEEP_SELECTION
+                                         | StreamingAnalysis.BIT_NUMERIC_PREDICATE;
+
+  /** The stylesheet being checked. */
+  private final StylesheetRoot m_stylesheetRoot;
+
+  /** All the templates of the stylesheet, in every import and include. */
+  private final Vector m_templates = new Vector();
+
+  /**
+   * The modes of the xsl:apply-templates instructions of the templates
+   * that match the root node, which may contain null for the default mode.
+   */
+  private final Vector m_rootModes = new Vector();
+
+  /** True if the root node and record levels of the stylesheet are streamable. */
+  private final boolean m_streamable;
+
+  /**
+   * The Boolean results of {@link #isStreamable(String, String)}, keyed by
+   * the expanded name of the document element.
+   */
+  private final Hashtable m_documentElements = new Hashtable();
+
+  /**
+   * Check a composed stylesheet.
+   *
+   * @param stylesheetRoot The stylesheet, which must have been recomposed.
+   */
+  public StreamabilityChecker(StylesheetRoot stylesheetRoot)
+  {
+    m_stylesheetRoot = stylesheetRoot;
+    m_streamable = checkStylesheets() && checkRootTemplates();
+  }
+
+  /**
+   * Tell if the stylesheet may be streamed for some document elements.
+   *
+   * @return true if the root node and record levels are streamable.
+   */
+  public boolean isStreamable()
+  {
+    return m_streamable;
+  }
+
+  /**
+   * Tell if the stylesheet can be streamed over a document with a given
+   * document element.
+   *
+   * @param namespace The namespace URI of the document element, which may be
+   *                  null or empty if it has none.
+   * @param localName The local name of the document element.
+   *
+   * @return true if the children of the document element can be transformed
+   *         one window at a time.
+   */
+  public boolean isStreamable(String namespace, String localName)
+  {
+
+    if (!m_streamable)
+      return false;
+
+    if (null != namespace && namespace.length() == 0)
+      namespace = null;
+
+    String key = (null == namespace)
+                 ? localName : "{" + namespace + "}" + localName;
+    Boolean streamable = (Boolean) m_documentElements.get(key);
+
+    if (null == streamable)
+    {
+      streamable = checkDocumentElementTemplates(namespace, localName)
+                   ? Boolean.TRUE : Boolean.FALSE;
+
+      m_documentElements.put(key, streamable);
+    }
+
+    return streamable.booleanValue();
+  }
+
+  /**
+   * Check the top-level elements of every stylesheet, and collect the
+   * templates.
+   */
+  private boolean checkStylesheets()
+  {
+
+    Vector keys = m_stylesheetRoot.getKeysComposed();
+
+    if (null != keys && keys.size() > 0)
+      return false;
+
+    int n = m_stylesheetRoot.getGlobalImportCount();
+
+    for (int i = 0; i < n; i++)
+    {
+      StylesheetComposed imported = m_stylesheetRoot.getGlobalImport(i);
+      int includedCount = imported.getIncludeCountComposed();
+
+      for (int j = -1; j < includedCount; j++)
+      {
+        Stylesheet included = imported.getIncludeComposed(j);
+
+        for (ElemTemplateElement child = included.getFirstChildElem();
+                child != null; child = child.getNextSiblingElem())
+        {
+          if (!checkTopLevel(child))
+            return false;
+        }
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Check a top-level element and its descendants.
+   */
+  private boolean checkTopLevel(ElemTemplateElement elem)
+  {
+
+    switch (elem.getXSLToken())
+    {
+    case Constants.ELEMNAME_TEMPLATE :
+      if (0 != (elem.getStreamingAnalysis() & PATTERN_MASK))
+        return false;
+
+      m_templates.addElement(elem);
+
+      return checkDescendants(elem, RECORD_MASK, false);
+    case Constants.ELEMNAME_VARIABLE :
+    case Constants.ELEMNAME_PARAMVARIABLE :
+      // Global variables are evaluated when they are first referenced, and
+      // so they may not read any node at all.
+      return checkElement(elem, RECORD_MASK | StreamingAnalysis.BIT_NODE_STEP)
+             && checkDescendants(elem, RECORD_MASK
+                                       | StreamingAnalysis.BIT_NODE_STEP, true);
+    default :
+      return checkElement(elem, RECORD_MASK)
+             && checkDescendants(elem, RECORD_MASK, false);
+    }
+  }
+
+  /**
+   * Check the descendants of an element, and their sort keys.
+   *
+   * @param elem The element whose descendants are checked.
+   * @param mask The analysis bits that no descendant may have.
+   * @param global true if the descendants may not select any node.
+   */
+  private boolean checkDescendants(ElemTemplateElement elem, int mask,
+                                   boolean global)
+  {
+
+    for (ElemTemplateElement child = elem.getFirstChildElem();
+            child != null; child = child.getNextSiblingElem())
+    {
+      if (!checkElement(child, mask))
+        return false;
+
+      switch (child.getXSLToken())
+      {
+      case Constants.ELEMNAME_FOREACH :
+      case Constants.ELEMNAME_APPLY_TEMPLATES :
+      case Constants.ELEMNAME_CALLTEMPLATE :
+        if (global)
+          return false;
+        break;
+      }
+
+      if (!checkDescendants(child, mask, global))
+        return false;
+    }
+
+    return true;
+  }
+
+  /**
+   * Check a single element, and the sort keys of an xsl:for-each or an
+   * xsl:apply-templates.
+   */
+  private static boolean checkElement(ElemTemplateElement elem, int mask)
+  {
+
+    switch (elem.getXSLToken())
+    {
+    case Constants.ELEMNAME_NUMBER :
+    case Constants.ELEMNAME_EXTENSIONCALL :
+    case Constants.ELEMNAME_EXTENSIONDECL :
+    case Constants.ELEMNAME_EXTENSIONSCRIPT :
+    case Constants.EXSLT_ELEMNAME_FUNCTION :
+      return false;
+    }
+
+    if (0 != (elem.getStreamingAnalysis() & mask))
+      return false;
+
+    if (elem instanceof ElemForEach)
+    {
+      ElemForEach forEach = (ElemForEach) elem;
+      int n = forEach.getSortElemCount();
+
+      for (int i = 0; i < n; i++)
+      {
+        if (0 != (forEach.getSortElem(i).getStreamingAnalysis() & mask))
+          return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Check the templates that match the root node in the default mode, and
+   * collect the modes that they apply templates in.
+   */
+  private boolean checkRootTemplates()
+  {
+
+    if (!checkLevel(m_stylesheetRoot.getDefaultRootRule(), false,
+                    m_rootModes))
+      return false;
+
+    int n = m_templates.size();
+
+    for (int i = 0; i < n; i++)
+    {
+      ElemTemplate template = (ElemTemplate) m_templates.elementAt(i);
+
+      if (null == template.getMode() && null != template.getMatch()
+          && mayMatch(template.getMatch().getExpression(),
+                      DTMFilter.SHOW_DOCUMENT, null, null))
+      {
+        if (!checkLevel(template, false, m_rootModes))
+          return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Check the templates that may match a document element in the modes
+   * that the root node templates apply templates in.
+   */
+  private boolean checkDocumentElementTemplates(String namespace,
+                                                String localName)
+  {
+
+    if (!checkLevel(m_stylesheetRoot.getDefaultRule(), true, null))
+      return false;
+
+    int n = m_templates.size();
+
+    for (int i = 0; i < n; i++)
+    {
+      ElemTemplate template = (ElemTemplate) m_templates.elementAt(i);
+
+      if (m_rootModes.contains(template.getMode())
+          && null != template.getMatch()
+          && mayMatch(template.getMatch().getExpression(),
+                      DTMFilter.SHOW_ELEMENT, namespace, localName))
+      {
+        if (!checkLevel(template, true, null))
+          return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Check a template that is run for the root node or the document element.
+   * It may not read any node other than its context node and attributes,
+   * and may select the children at most once, with an xsl:apply-templates
+   * or, for the document element, an xsl:for-each.  The body of that
+   * xsl:for-each is run for the records.
+   *
+   * @param template The template to check.
+   * @param allowForEach true if the template may select the children with
+   *                     an xsl:for-each.
+   * @param modes The vector to add the mode of an xsl:apply-templates to, or
+   *              null.
+   */
+  private static boolean checkLevel(ElemTemplate template,
+                                    boolean allowForEach, Vector modes)
+  {
+
+    int[] selections = new int[1];
+
+    return checkLevelDescendants(template, allowForEach, modes, selections);
+  }
+
+  /**
+   * Check the descendants of an element of a template that is run for the
+   * root node or the document element.
+   *
+   * @param elem The element whose descendants are checked.
+   * @param allowForEach true if the children may be selected by an
+   *                     xsl:for-each.
+   * @param modes The vector to add the mode of an xsl:apply-templates to, or
+   *              null.
+   * @param selections The number of instructions seen so far that select
+   *                   the children.
+   */
+  private static boolean checkLevelDescendants(ElemTemplateElement elem,
+          boolean allowForEach, Vector modes, int[] selections)
+  {
+
+    for (ElemTemplateElement child = elem.getFirstChildElem();
+            child != null; child = child.getNextSiblingElem())
+    {
+      switch (child.getXSLToken())
+      {
+      case Constants.ELEMNAME_APPLY_TEMPLATES :
+        if (!checkSelection((ElemForEach) child, selections))
+          return false;
+
+        if (null != modes)
+        {
+          QName mode = ((ElemApplyTemplates) child).getMode();
+
+          if (!modes.contains(mode))
+            modes.addElement(mode);
+        }
+
+        // The with-param children are checked like the rest of the level.
+        break;
+      case Constants.ELEMNAME_FOREACH :
+        if (!allowForEach || !checkSelection((ElemForEach) child, selections))
+          return false;
+
+        // The body is run for the records, and has already been checked.
+        continue;
+      case Constants.ELEMNAME_CALLTEMPLATE :
+      case Constants.ELEMNAME_APPLY_IMPORTS :
+        return false;
+      default :
+        if (0 != (child.getStreamingAnalysis()
+                  & StreamingAnalysis.BIT_NODE_STEP))
+          return false;
+
+        if (child instanceof ElemUse
+            && null != ((ElemUse) child).getUseAttributeSets())
+          return false;
+      }
+
+      if (!checkLevelDescendants(child, allowForEach, modes, selections))
+        return false;
+    }
+
+    return true;
+  }
+
+  /**
+   * Check the xsl:apply-templates or xsl:for-each that selects the children
+   * of the root node or the document element.  It must be the only one, it
+   * must select a single child or attribute step, and it may not sort.
+   */
+  private static boolean checkSelection(ElemForEach elem, int[] selections)
+  {
+    return (1 == ++selections[0])
+           && 0 == (elem.getStreamingAnalysis() & SELECT_MASK)
+           && 0 == elem.getSortElemCount();
+  }
+
+  /**
+   * Tell if a match pattern may match a root node or a document element.
+   *
+   * @param pattern The compiled pattern, a StepPattern or a UnionPattern.
+   * @param whatToShow DTMFilter.SHOW_DOCUMENT or DTMFilter.SHOW_ELEMENT.
+   * @param namespace The namespace of the element, or null.
+   * @param localName The local name of the element.
+   */
+  private static boolean mayMatch(Expression pattern, int whatToShow,
+                                  String namespace, String localName)
+  {
+
+    if (pattern instanceof UnionPattern)
+    {
+      StepPattern[] patterns = ((UnionPattern) pattern).getPatterns();
+
+      for (int i = 0; i < patterns.length; i++)
+      {
+        if (mayMatch(patterns[i], whatToShow, namespace, localName))
+          return true;
+      }
+
+      return false;
+    }
+
+    if (!(pattern instanceof StepPattern))
+      return true;
+
+    StepPattern step = (StepPattern) pattern;
+
+    if (0 == (step.getWhatToShow() & whatToShow))
+      return false;
+    else if (DTMFilter.SHOW_ELEMENT != whatToShow)
+      return true;
+
+    String stepNamespace = step.getNamespace();
+    String stepLocalName = step.getLocalName();
+
+    if (null != stepLocalName && !NodeTest.WILD.equals(stepLocalName)
+        && !stepLocalName.equals(localName))
+      return false;
+
+    if (NodeTest.WILD.equals(stepNamespace))
+      return true;
+    else if (null == stepNamespace)
+      return null == namespace || NodeTest.WILD.equals(stepLocalName);
+    else
+      return stepNamespace.equals(namespace);
+  }
+}
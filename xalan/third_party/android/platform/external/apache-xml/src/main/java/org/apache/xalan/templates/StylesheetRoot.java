@@ -22,10 +22,13 @@ package org.apache.xalan.templates;
 
 import java.text.DecimalFormatSymbols;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Hashtable;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Vector;
+import java.util.WeakHashMap;
 
 import javax.xml.transform.ErrorListener;
 import javax.xml.transform.Templates;
@@ -65,6 +68,11 @@ public class StylesheetRoot extends StylesheetComposed
      */    
     private boolean m_incremental = false;
 
+    /**
+     * The flag for the setting of the streaming feature;
+     */    
+    private boolean m_streaming = false;
+
     /**
      * The flag for the setting of the source_location feature;
      */  
@@ -168,6 +176,40 @@ public class StylesheetRoot extends StylesheetComposed
      return m_extNsMgr;
   }
   
+  private transient StreamabilityChecker m_streamabilityChecker = null;
+
+  /**
+   * Get the checker that tells whether this stylesheet can be run over a
+   * streamed source.  It is only created the first time it is needed, after
+   * the stylesheet has been composed.
+   *
+   * @return The streamability checker of this stylesheet.
+   */
+  public synchronized StreamabilityChecker getStreamabilityChecker()
+  {
+     if (m_streamabilityChecker == null)
+       m_streamabilityChecker = new StreamabilityChecker(this);
+     return m_streamabilityChecker;
+  }
+
+  private transient Map m_keyIndexes = null;
+
+  /**
+   * Get the table of xsl:key indexes that transformations with this
+   * stylesheet keep for their source documents, so that the keys of a DTM
+   * that is transformed again aren't built again.  The DTMs are weakly
+   * held, so the table doesn't keep documents alive.
+   *
+   * @return A synchronized map from DTM to
+   * {@link org.apache.xalan.transformer.KeyIndex}.
+   */
+  public synchronized Map getKeyIndexes()
+  {
+     if (m_keyIndexes == null)
+       m_keyIndexes = Collections.synchronizedMap(new WeakHashMap());
+     return m_keyIndexes;
+  }
+  
   /**
    * Get the vector of extension namespaces. Used to provide
    * the extensions table access to a list of extension
@@ -1395,6 +1437,20 @@ public class StylesheetRoot extends StylesheetComposed
         m_incremental = b;
     }
 
+    /**
+     * @return Streaming flag
+     */
+    public boolean getStreaming() {
+        return m_streaming;
+    }
+
+    /**
+     * @param b Streaming flag
+     */
+    public void setStreaming(boolean b) {
+        m_streaming = b;
+    }
+
     /**
      * @param b Source location flag
      */
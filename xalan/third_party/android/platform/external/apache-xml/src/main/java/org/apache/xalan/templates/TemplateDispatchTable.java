@@ -0,0 +1,329 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the  "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * $Id$
+ */
+package org.apache.xalan.templates;
+
+import javax.xml.transform.TransformerException;
+
+import org.apache.xml.dtm.DTM;
+import org.apache.xml.utils.QName;
+import org.apache.xpath.XPathContext;
+import org.apache.xpath.patterns.NodeTest;
+import org.apache.xpath.patterns.StepPattern;
+
+/**
+ * Finds the template for a node by its expanded-name ID, for the DTMs
+ * that share one ExpandedNameTable.
+ *
+ * The match patterns that could match a node depend only on its node
+ * type and name, which is what the expanded-name ID stands for. So the
+ * first time a node of a given ID is looked up, the list of associations
+ * that TemplateList keeps for its name is copied into an array held at
+ * that ID, and every later node of the same ID skips the hashing of its
+ * local name. A pattern that is nothing but a node test, such as
+ * <code>foo</code>, <code>*</code>, <code>@*</code> or <code>text()</code>,
+ * matches every node of the ID or none of them, so it is tested once
+ * when the array is built: it is dropped if it fails, and otherwise found
+ * without evaluating it again. Patterns with predicates or parent steps
+ * are evaluated for each node, in the same order as before.
+ *
+ * Only element, attribute, text, comment and document nodes are kept
+ * here; for the rarer node types the lookup is left to
+ * {@link TemplateList#getTemplateFast}.
+ * @xsl.usage internal
+ */
+final class TemplateDispatchTable
+{
+
+  /** The template list that the candidates are taken from. */
+  private final TemplateList m_templateList;
+
+  /**
+   * The candidates for each expanded-name ID, or null for an ID that
+   * hasn't been looked up yet. Read without a lock; entries are added,
+   * and the array is replaced when it grows, under the lock of this object.
+   */
+  private volatile Entry[] m_entries = new Entry[64];
+
+  /**
+   * Create a dispatch table for the templates of a TemplateList.
+   *
+   * @param templateList The composed template list.
+   */
+  TemplateDispatchTable(TemplateList templateList)
+  {
+    m_templateList = templateList;
+  }
+
+  /**
+   * Given a target node, find the template that best matches it. This
+   * gives the same answer as
+   * {@link TemplateList#getTemplateFast(XPathContext, int, int, QName, int, boolean, DTM)},
+   * and like it assumes that the current node and current expression
+   * node have already been pushed.
+   *
+   * @param xctxt The XPath runtime context.
+   * @param targetNode The node to find a template for.
+   * @param expTypeID The expanded-name ID of targetNode.
+   * @param mode The current mode, which may be null.
+   * @param maxImportLevel The maximum importCountComposed that we should
+   *        consider or -1 if we should consider all import levels.
+   * @param quietConflictWarnings true if conflicts should not be reported.
+   * @param dtm The DTM of targetNode, whose expanded name table is the
+   *        one this table was made for.
+   * @return The template that matches, or null if none does.
+   *
+   * @throws TransformerException
+   */
+  ElemTemplate getTemplate(XPathContext xctxt, int targetNode, int expTypeID,
+                           QName mode, int maxImportLevel,
+                           boolean quietConflictWarnings, DTM dtm)
+            throws TransformerException
+  {
+
+    Entry[] entries = m_entries;
+    Entry entry = (expTypeID >= 0 && expTypeID < entries.length)
+                  ? entries[expTypeID] : null;
+
+    if (null == entry)
+    {
+      if (expTypeID < 0)
+        return m_templateList.getTemplateFast(xctxt, targetNode, expTypeID,
+                                              mode, maxImportLevel,
+                                              quietConflictWarnings, dtm);
+
+      switch (dtm.getNodeType(targetNode))
+      {
+      case DTM.ELEMENT_NODE :
+      case DTM.ATTRIBUTE_NODE :
+      case DTM.TEXT_NODE :
+      case DTM.CDATA_SECTION_NODE :
+      case DTM.COMMENT_NODE :
+      case DTM.DOCUMENT_NODE :
+      case DTM.DOCUMENT_FRAGMENT_NODE :
+        entry = createEntry(xctxt, targetNode, expTypeID, dtm);
+        break;
+      default :
+        return m_templateList.getTemplateFast(xctxt, targetNode, expTypeID,
+                                              mode, maxImportLevel,
+                                              quietConflictWarnings, dtm);
+      }
+    }
+
+    final TemplateSubPatternAssociation[] candidates = entry.m_candidates;
+    final boolean[] matched = entry.m_matched;
+    final int n = candidates.length;
+    int i = 0;
+
+    // Scan up to the first candidate that needs evaluating.
+    for (; i < n; i++)
+    {
+      TemplateSubPatternAssociation head = candidates[i];
+
+      if ((maxImportLevel > -1) && (head.getImportLevel() > maxImportLevel))
+        continue;
+
+      if (!matched[i])
+        break;
+
+      if (head.matchMode(mode))
+        return found(head, xctxt, targetNode, mode, quietConflictWarnings);
+    }
+
+    if (i == n)
+      return null;
+
+    // XSLT functions, such as xsl:key, need to be able to get to
+    // current ElemTemplateElement via a cast to the prefix resolver.
+    xctxt.pushNamespaceContextNull();
+    try
+    {
+      for (; i < n; i++)
+      {
+        TemplateSubPatternAssociation head = candidates[i];
+
+        if ((maxImportLevel > -1) && (head.getImportLevel() > maxImportLevel))
+          continue;
+
+        if (matched[i])
+        {
+          if (head.matchMode(mode))
+            return found(head, xctxt, targetNode, mode, quietConflictWarnings);
+
+          continue;
+        }
+
+        xctxt.setNamespaceContext(head.getTemplate());
+
+        if ((head.m_stepPattern.execute(xctxt, targetNode, dtm, expTypeID)
+               != NodeTest.SCORE_NONE)
+            && head.matchMode(mode))
+        {
+          return found(head, xctxt, targetNode, mode, quietConflictWarnings);
+        }
+      }
+    }
+    finally
+    {
+      xctxt.popNamespaceContext();
+    }
+
+    return null;
+  }
+
+  /**
+   * Report the template of an association that has been found to match.
+   *
+   * @return the template of head.
+   */
+  private ElemTemplate found(TemplateSubPatternAssociation head,
+                             XPathContext xctxt, int targetNode, QName mode,
+                             boolean quietConflictWarnings)
+  {
+    if (quietConflictWarnings)
+      m_templateList.checkConflicts(head, xctxt, targetNode, mode);
+
+    return head.getTemplate();
+  }
+
+  /**
+   * Build and keep the candidates for the expanded-name ID of a node.
+   *
+   * @param xctxt The XPath runtime context.
+   * @param targetNode A node of the ID, used to test the patterns that
+   *        are only a node test.
+   * @param expTypeID The expanded-name ID of targetNode.
+   * @param dtm The DTM of targetNode.
+   * @return the new entry.
+   *
+   * @throws TransformerException
+   */
+  private synchronized Entry createEntry(XPathContext xctxt, int targetNode,
+                                         int expTypeID, DTM dtm)
+            throws TransformerException
+  {
+
+    Entry[] entries = m_entries;
+    if (expTypeID < entries.length && null != entries[expTypeID])
+      return entries[expTypeID];
+
+    int count = 0;
+    TemplateSubPatternAssociation head;
+
+    TemplateSubPatternAssociation first =
+      m_templateList.getHeadFast(targetNode, expTypeID, dtm);
+
+    for (head = first; null != head; head = head.getNext())
+    {
+      count++;
+    }
+
+    TemplateSubPatternAssociation[] candidates =
+      new TemplateSubPatternAssociation[count];
+    boolean[] matched = new boolean[count];
+    int n = 0;
+
+    xctxt.pushNamespaceContextNull();
+    try
+    {
+      for (head = first; null != head; head = head.getNext())
+      {
+        if (isNodeTestOnly(head.m_stepPattern))
+        {
+          xctxt.setNamespaceContext(head.getTemplate());
+
+          if (head.m_stepPattern.execute(xctxt, targetNode, dtm, expTypeID)
+                == NodeTest.SCORE_NONE)
+            continue;
+
+          matched[n] = true;
+        }
+
+        candidates[n++] = head;
+      }
+    }
+    finally
+    {
+      xctxt.popNamespaceContext();
+    }
+
+    if (n < count)
+    {
+      TemplateSubPatternAssociation[] c = new TemplateSubPatternAssociation[n];
+      boolean[] m = new boolean[n];
+      System.arraycopy(candidates, 0, c, 0, n);
+      System.arraycopy(matched, 0, m, 0, n);
+      candidates = c;
+      matched = m;
+    }
+
+    Entry entry = new Entry(candidates, matched);
+
+    if (expTypeID >= entries.length)
+    {
+      Entry[] newEntries = new Entry[Math.max(expTypeID + 1,
+                                              entries.length * 2)];
+      System.arraycopy(entries, 0, newEntries, 0, entries.length);
+      entries = newEntries;
+    }
+
+    entries[expTypeID] = entry;
+    m_entries = entries;
+
+    return entry;
+  }
+
+  /**
+   * Tell if a step pattern is only a node test, so that whether it
+   * matches a node depends on nothing but the node's type and name.
+   *
+   * @param pattern The pattern of an association.
+   * @return true if the pattern has no predicates and no parent steps.
+   */
+  private static boolean isNodeTestOnly(StepPattern pattern)
+  {
+    return pattern.getClass() == StepPattern.class
+           && pattern.getPredicateCount() == 0
+           && null == pattern.getRelativePathPattern()
+           && pattern.getWhatToShow() != NodeTest.SHOW_BYFUNCTION;
+  }
+
+  /**
+   * The candidate associations for one expanded-name ID, in the order of
+   * the TemplateList's list for that name.
+   */
+  private static final class Entry
+  {
+    /** The associations that may match, best first. */
+    final TemplateSubPatternAssociation[] m_candidates;
+
+    /**
+     * True for each candidate whose pattern is known to match every node
+     * of the ID; the others have to be evaluated.
+     */
+    final boolean[] m_matched;
+
+    Entry(TemplateSubPatternAssociation[] candidates, boolean[] matched)
+    {
+      m_candidates = candidates;
+      m_matched = matched;
+    }
+  }
+}
@@ -23,11 +23,14 @@ package org.apache.xalan.templates;
 import java.util.Enumeration;
 import java.util.Hashtable;
 import java.util.Vector;
+import java.util.WeakHashMap;
 
 import javax.xml.transform.TransformerException;
 
 import org.apache.xalan.res.XSLTErrorResources;
 import org.apache.xml.dtm.DTM;
+import org.apache.xml.dtm.ref.DTMDefaultBase;
+import org.apache.xml.dtm.ref.ExpandedNameTable;
 import org.apache.xml.utils.QName;
 import org.apache.xpath.Expression;
 import org.apache.xpath.XPath;
@@ -470,35 +473,19 @@ public class TemplateList implements java.io.Serializable
   }
   
   /**
-   * Given a target element, find the template that best
-   * matches in the given XSL document, according
-   * to the rules specified in the xsl draft.  This variation of getTemplate 
-   * assumes the current node and current expression node have already been 
-   * pushed. 
+   * Get the head of the list of associations to check for a node, based on
+   * its type and the local name of its expanded-name ID.
    *
-   * @param xctxt
-   * @param targetNode
-   * @param mode A string indicating the display mode.
-   * @param maxImportLevel The maximum importCountComposed that we should consider or -1
-   *        if we should consider all import levels.  This is used by apply-imports to
-   *        access templates that have been overridden.
-   * @param quietConflictWarnings
-   * @return Rule that best matches targetElem.
-   * @throws XSLProcessorException thrown if the active ProblemListener and XPathContext decide
-   * the error condition is severe enough to halt processing.
+   * @param targetNode The target node that will be checked for a match.
+   * @param expTypeID The expanded-name ID of targetNode.
+   * @param dtm The dtm owner for the target node.
    *
-   * @throws TransformerException
+   * @return The head of a linked list that contains all possible match
+   * pattern to template associations, or null if there are none.
    */
-  public ElemTemplate getTemplateFast(XPathContext xctxt,
-                                int targetNode,
-                                int expTypeID,
-                                QName mode,
-                                int maxImportLevel,
-                                boolean quietConflictWarnings,
-                                DTM dtm)
-            throws TransformerException
+  TemplateSubPatternAssociation getHeadFast(int targetNode, int expTypeID,
+                                            DTM dtm)
   {
-    
     TemplateSubPatternAssociation head;
 
     switch (dtm.getNodeType(targetNode))
@@ -534,12 +521,78 @@ public class TemplateList implements java.io.Serializable
         dtm.getNodeName(targetNode)); // %REVIEW% I think this is right
     }
 
-    if(null == head)
+    return (null == head) ? m_wildCardPatterns : head;
+  }
+
+  /**
+   * Get the dispatch table for the expanded-name IDs of a DTM, creating it
+   * the first time the IDs of its ExpandedNameTable are seen.
+   *
+   * @param dtm The DTM of the nodes whose templates are to be found.
+   *
+   * @return The dispatch table, or null if the DTM's expanded-name IDs
+   * can't be told apart from those of other DTMs.
+   */
+  TemplateDispatchTable getDispatchTable(DTM dtm)
+  {
+    if (!(dtm instanceof DTMDefaultBase))
+      return null;
+
+    ExpandedNameTable ent = ((DTMDefaultBase) dtm).getExpandedNameTable();
+
+    synchronized (this)
     {
-      head = m_wildCardPatterns;
-      if(null == head)
-        return null;
-    }                                              
+      if (null == m_dispatchTables)
+        m_dispatchTables = new WeakHashMap();
+
+      TemplateDispatchTable table =
+        (TemplateDispatchTable) m_dispatchTables.get(ent);
+
+      if (null == table)
+      {
+        table = new TemplateDispatchTable(this);
+        m_dispatchTables.put(ent, table);
+      }
+
+      return table;
+    }
+  }
+
+  /**
+   * Given a target element, find the template that best
+   * matches in the given XSL document, according
+   * to the rules specified in the xsl draft.  This variation of getTemplate 
+   * assumes the current node and current expression node have already been 
+   * pushed. 
+   *
+   * @param xctxt
+   * @param targetNode
+   * @param mode A string indicating the display mode.
+   * @param maxImportLevel The maximum importCountComposed that we should consider or -1
+   *        if we should consider all import levels.  This is used by apply-imports to
+   *        access templates that have been overridden.
+   * @param quietConflictWarnings
+   * @return Rule that best matches targetElem.
+   * @throws XSLProcessorException thrown if the active ProblemListener and XPathContext decide
+   * the error condition is severe enough to halt processing.
+   *
+   * @throws TransformerException
+   */
+  public ElemTemplate getTemplateFast(XPathContext xctxt,
+                                int targetNode,
+                                int expTypeID,
+                                QName mode,
+                                int maxImportLevel,
+                                boolean quietConflictWarnings,
+                                DTM dtm)
+            throws TransformerException
+  {
+    
+    TemplateSubPatternAssociation head = getHeadFast(targetNode, expTypeID,
+                                                     dtm);
+
+    if(null == head)
+      return null;
 
     // XSLT functions, such as xsl:key, need to be able to get to 
     // current ElemTemplateElement via a cast to the prefix resolver.
@@ -723,8 +776,8 @@ public class TemplateList implements java.io.Serializable
    * @param targetNode Node matching the pattern
    * @param mode reference, which may be null, to the <a href="http://www.w3.org/TR/xslt#modes">current mode</a>.
    */
-  private void checkConflicts(TemplateSubPatternAssociation head,
-                              XPathContext xctxt, int targetNode, QName mode)
+  void checkConflicts(TemplateSubPatternAssociation head,
+                      XPathContext xctxt, int targetNode, QName mode)
   {
 
     // TODO: Check for conflicts.
@@ -792,6 +845,12 @@ public class TemplateList implements java.io.Serializable
    *  @serial          */
   private TemplateSubPatternAssociation m_commentPatterns = null;
 
+  /**
+   * The TemplateDispatchTables made from this list, keyed weakly on the
+   * ExpandedNameTable whose IDs they are indexed by.
+   */
+  private transient WeakHashMap m_dispatchTables;
+
   /**
    * Get table of named Templates.
    * These are keyed on template names, and holding values
@@ -0,0 +1,472 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the  "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * $Id$
+ */
+package org.apache.xalan.transformer;
+
+import java.util.Map;
+import java.util.Vector;
+
+import javax.xml.transform.TransformerException;
+
+import org.apache.xalan.templates.FuncDocument;
+import org.apache.xalan.templates.FuncKey;
+import org.apache.xalan.templates.KeyDeclaration;
+import org.apache.xalan.templates.StylesheetRoot;
+import org.apache.xml.dtm.Axis;
+import org.apache.xml.dtm.DTM;
+import org.apache.xml.dtm.DTMAxisTraverser;
+import org.apache.xml.dtm.DTMIterator;
+import org.apache.xml.dtm.ref.DTMDefaultBase;
+import org.apache.xml.dtm.ref.sax2dtm.SAX2RTFDTM;
+import org.apache.xml.utils.PrefixResolver;
+import org.apache.xml.utils.QName;
+import org.apache.xpath.ExpressionOwner;
+import org.apache.xpath.XPath;
+import org.apache.xpath.XPathContext;
+import org.apache.xpath.XPathVisitor;
+import org.apache.xpath.functions.FuncExtFunction;
+import org.apache.xpath.functions.FuncGenerateId;
+import org.apache.xpath.functions.Function;
+import org.apache.xpath.objects.XNodeSet;
+import org.apache.xpath.objects.XObject;
+import org.apache.xpath.operations.Variable;
+
+/**
+ * The xsl:key index of one document: for each key name, a table from the
+ * string value of the use expression to the nodes that have it, in
+ * document order.
+ *
+ * The index is built in a single walk over the document that tests every
+ * node against the match patterns of all the key declarations, so a
+ * stylesheet with several keys reads the document once. Nodes are kept as
+ * DTM node identities in int arrays, which don't depend on the DTMManager
+ * the document is registered with, and the index is immutable once it has
+ * been built. That lets the StylesheetRoot keep it for a DTM that is
+ * transformed again, unless the key declarations refer to something that
+ * may change between transformations, such as a variable.
+ * @xsl.usage internal
+ */
+public class KeyIndex
+{
+  /** The identity of the document node that the index was built for. */
+  private final int m_docIdent;
+
+  /** The key names, each of which is declared by one or more xsl:keys. */
+  private final QName[] m_names;
+
+  /** The table of values for each of the key names. */
+  private final ValueTable[] m_tables;
+
+  /**
+   * Get the index for a document, building it if it hasn't been kept from
+   * an earlier transformation.
+   *
+   * @param xctxt The XPath runtime state.
+   * @param doc The document node.
+   * @param nscontext The stylesheet's namespace context.
+   * @param stylesheet The stylesheet whose xsl:key declarations are used.
+   *
+   * @return The index of the document.
+   *
+   * @throws TransformerException if a match or use expression fails.
+   */
+  public static KeyIndex getKeyIndex(XPathContext xctxt, int doc,
+                                     PrefixResolver nscontext,
+                                     StylesheetRoot stylesheet)
+          throws TransformerException
+  {
+    DTM dtm = xctxt.getDTM(doc);
+    Vector keyDeclarations = stylesheet.getKeysComposed();
+
+    // A result tree fragment DTM reuses its documents, so only documents
+    // that are finished and stay the same are worth keeping.
+    boolean keep = (dtm instanceof DTMDefaultBase)
+                   && !(dtm instanceof SAX2RTFDTM)
+                   && isCacheable(keyDeclarations);
+    Map cache = keep ? stylesheet.getKeyIndexes() : null;
+
+    if (null != cache)
+    {
+      KeyIndex index = (KeyIndex) cache.get(dtm);
+
+      if (null != index && index.m_docIdent == getIdent(dtm, doc))
+        return index;
+    }
+
+    KeyIndex index = new KeyIndex(xctxt, doc, nscontext, keyDeclarations);
+
+    if (null != cache)
+      cache.put(dtm, index);
+
+    return index;
+  }
+
+  /**
+   * Build the index for a document.
+   *
+   * @param xctxt The XPath runtime state.
+   * @param doc The document node.
+   * @param nscontext The stylesheet's namespace context.
+   * @param keyDeclarations The stylesheet's xsl:key declarations.
+   *
+   * @throws TransformerException if a match or use expression fails.
+   */
+  private KeyIndex(XPathContext xctxt, int doc, PrefixResolver nscontext,
+                   Vector keyDeclarations)
+          throws TransformerException
+  {
+    DTM dtm = xctxt.getDTM(doc);
+    int nDeclarations = keyDeclarations.size();
+    KeyDeclaration[] decls = new KeyDeclaration[nDeclarations];
+    ValueTable[] declTables = new ValueTable[nDeclarations];
+    Vector names = new Vector();
+    Vector tables = new Vector();
+
+    // Declarations with the same name share a table.
+    for (int i = 0; i < nDeclarations; i++)
+    {
+      decls[i] = (KeyDeclaration) keyDeclarations.elementAt(i);
+
+      int j = names.indexOf(decls[i].getName());
+
+      if (j < 0)
+      {
+        j = names.size();
+        names.addElement(decls[i].getName());
+        tables.addElement(new ValueTable());
+      }
+      declTables[i] = (ValueTable) tables.elementAt(j);
+    }
+
+    m_docIdent = getIdent(dtm, doc);
+    m_names = new QName[names.size()];
+    names.copyInto(m_names);
+    m_tables = new ValueTable[tables.size()];
+    tables.copyInto(m_tables);
+
+    DTMAxisTraverser traverser = dtm.getAxisTraverser(Axis.ALL);
+
+    for (int node = traverser.first(doc); DTM.NULL != node;
+         node = traverser.next(doc, node))
+    {
+      int ident = getIdent(dtm, node);
+
+      for (int i = 0; i < nDeclarations; i++)
+      {
+        if (decls[i].getMatch().getMatchScore(xctxt, node)
+            == XPath.MATCH_SCORE_NONE)
+          continue;
+
+        XObject xuse = decls[i].getUse().execute(xctxt, node, nscontext);
+
+        if (xuse.getType() != XObject.CLASS_NODESET)
+        {
+          declTables[i].add(xuse.str(), ident);
+        }
+        else
+        {
+          DTMIterator iter = ((XNodeSet) xuse).iterRaw();
+          int useNode;
+
+          while (DTM.NULL != (useNode = iter.nextNode()))
+          {
+            DTM useDTM = xctxt.getDTM(useNode);
+
+            declTables[i].add(useDTM.getStringValue(useNode).toString(),
+                              ident);
+          }
+        }
+      }
+    }
+
+    for (int i = 0; i < m_tables.length; i++)
+      m_tables[i].trim();
+  }
+
+  /**
+   * Tell whether the stylesheet declares a key with the given name.
+   *
+   * @param name The key name.
+   *
+   * @return true if there is an xsl:key with that name.
+   */
+  public boolean hasKey(QName name)
+  {
+    return getTable(name) != null;
+  }
+
+  /**
+   * Get the nodes that have a key value.
+   *
+   * @param name The key name.
+   * @param ref The key value.
+   *
+   * @return The node identities in document order, or null if no node has
+   * the value.
+   */
+  public int[] getNodeIdents(QName name, String ref)
+  {
+    ValueTable table = getTable(name);
+
+    return (null == table) ? null : table.get(ref);
+  }
+
+  /**
+   * Get the table of values for a key name.
+   *
+   * @param name The key name.
+   *
+   * @return The table, or null if there is no key with that name.
+   */
+  private ValueTable getTable(QName name)
+  {
+    for (int i = 0; i < m_names.length; i++)
+    {
+      if (m_names[i].equals(name))
+        return m_tables[i];
+    }
+    return null;
+  }
+
+  /**
+   * Get the identity of a node, which is the handle itself for a DTM that
+   * isn't a DTMDefaultBase; indexes for those are never kept.
+   *
+   * @param dtm The DTM that the node belongs to.
+   * @param node The node handle.
+   *
+   * @return The node identity.
+   */
+  static int getIdent(DTM dtm, int node)
+  {
+    return (dtm instanceof DTMDefaultBase)
+           ? ((DTMDefaultBase) dtm).getNodeIdent(node) : node;
+  }
+
+  /**
+   * Get the handle of a node in the index.
+   *
+   * @param dtm The DTM that the node belongs to.
+   * @param ident The node identity.
+   *
+   * @return The node handle.
+   */
+  static int getHandle(DTM dtm, int ident)
+  {
+    return (dtm instanceof DTMDefaultBase)
+           ? ((DTMDefaultBase) dtm).getNodeHandle(ident) : ident;
+  }
+
+  /**
+   * Tell whether the index for a document depends only on the document,
+   * so that it can be kept between transformations. Key declarations
+   * can't use variables or key() in XSLT 1.0, but they aren't rejected, so
+   * they are checked for here, along with document(), generate-id() and
+   * extension functions.
+   *
+   * @param keyDeclarations The stylesheet's xsl:key declarations.
+   *
+   * @return true if the index may be kept.
+   */
+  private static boolean isCacheable(Vector keyDeclarations)
+  {
+    CacheableChecker checker = new CacheableChecker();
+    int nDeclarations = keyDeclarations.size();
+
+    for (int i = 0; i < nDeclarations && checker.m_cacheable; i++)
+    {
+      KeyDeclaration kd = (KeyDeclaration) keyDeclarations.elementAt(i);
+
+      kd.getMatch().callVisitors(kd.getMatch(), checker);
+      kd.getUse().callVisitors(kd.getUse(), checker);
+    }
+    return checker.m_cacheable;
+  }
+
+  /**
+   * Looks for expressions whose value may change between transformations.
+   */
+  private static class CacheableChecker extends XPathVisitor
+  {
+    /** False once an expression has been found that may change. */
+    boolean m_cacheable = true;
+
+    /**
+     * Visit a function.
+     * @param owner The owner of the expression, to which the expression can
+     *              be reset if rewriting takes place.
+     * @param func The function reference object.
+     * @return true if the sub expressions should be traversed.
+     */
+    public boolean visitFunction(ExpressionOwner owner, Function func)
+    {
+      if ((func instanceof FuncExtFunction)
+          || (func instanceof FuncKey)
+          || (func instanceof FuncDocument)
+          || (func instanceof FuncGenerateId))
+        m_cacheable = false;
+      return true;
+    }
+
+    /**
+     * Visit a variable reference.
+     * @param owner The owner of the expression, to which the expression can
+     *              be reset if rewriting takes place.
+     * @param var The variable reference object.
+     * @return true if the sub expressions should be traversed.
+     */
+    public boolean visitVariableRef(ExpressionOwner owner, Variable var)
+    {
+      m_cacheable = false;
+      return true;
+    }
+  }
+
+  /**
+   * An open addressing hash table from key values to arrays of node
+   * identities.
+   */
+  private static class ValueTable
+  {
+    /** The key values, or null for an empty slot. */
+    private String[] m_values = new String[16];
+
+    /** The node identities for each key value. */
+    private int[][] m_idents = new int[16][];
+
+    /** The number of node identities in each slot of m_idents. */
+    private int[] m_counts = new int[16];
+
+    /** The number of key values in the table. */
+    private int m_size = 0;
+
+    /**
+     * Add a node to the nodes for a key value. Nodes are added in document
+     * order, so a node that has the value twice is the last one added.
+     *
+     * @param value The key value.
+     * @param ident The node identity.
+     */
+    void add(String value, int ident)
+    {
+      int slot = find(value);
+
+      if (null == m_values[slot])
+      {
+        if ((m_size + 1) * 4 > m_values.length * 3)
+        {
+          grow();
+          slot = find(value);
+        }
+        m_values[slot] = value;
+        m_idents[slot] = new int[] { ident };
+        m_counts[slot] = 1;
+        m_size++;
+        return;
+      }
+
+      int[] idents = m_idents[slot];
+      int count = m_counts[slot];
+
+      if (idents[count - 1] == ident)
+        return;
+
+      if (count == idents.length)
+      {
+        int[] newIdents = new int[count * 2];
+        System.arraycopy(idents, 0, newIdents, 0, count);
+        idents = m_idents[slot] = newIdents;
+      }
+      idents[count] = ident;
+      m_counts[slot] = count + 1;
+    }
+
+    /**
+     * Get the nodes for a key value.
+     *
+     * @param value The key value.
+     *
+     * @return The node identities, or null if no node has the value.
+     */
+    int[] get(String value)
+    {
+      return m_idents[find(value)];
+    }
+
+    /**
+     * Cut the node arrays down to their sizes, once all nodes are added.
+     */
+    void trim()
+    {
+      for (int slot = 0; slot < m_values.length; slot++)
+      {
+        int[] idents = m_idents[slot];
+
+        if (null != idents && idents.length != m_counts[slot])
+        {
+          int[] newIdents = new int[m_counts[slot]];
+          System.arraycopy(idents, 0, newIdents, 0, newIdents.length);
+          m_idents[slot] = newIdents;
+        }
+      }
+      m_counts = null;
+    }
+
+    /**
+     * Find the slot of a key value, or the empty slot where it would go.
+     */
+    private int find(String value)
+    {
+      int mask = m_values.length - 1;
+      int hash = value.hashCode();
+      int slot = (hash ^ (hash >>> 16)) & mask;
+
+      while (null != m_values[slot] && !m_values[slot].equals(value))
+        slot = (slot + 1) & mask;
+      return slot;
+    }
+
+    /**
+     * Double the size of the table.
+     */
+    private void grow()
+    {
+      String[] values = m_values;
+      int[][] idents = m_idents;
+      int[] counts = m_counts;
+
+      m_values = new String[values.length * 2];
+      m_idents = new int[values.length * 2][];
+      m_counts = new int[values.length * 2];
+
+      for (int i = 0; i < values.length; i++)
+      {
+        if (null != values[i])
+        {
+          int slot = find(values[i]);
+
+          m_values[slot] = values[i];
+          m_idents[slot] = idents[i];
+          m_counts[slot] = counts[i];
+        }
+      }
+    }
+  }
+}
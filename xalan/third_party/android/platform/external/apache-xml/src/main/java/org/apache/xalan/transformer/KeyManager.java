@@ -65,8 +65,6 @@ public class KeyManager
     if ((null != template)
             && null != template.getStylesheetRoot().getKeysComposed())
     {
-      boolean foundDoc = false;
-
       if (null == m_key_tables)
       {
         m_key_tables = new Vector(4);
@@ -79,34 +77,24 @@ public class KeyManager
         {
           KeyTable kt = (KeyTable) m_key_tables.elementAt(i);
 
-          if (kt.getKeyTableName().equals(name) && doc == kt.getDocKey())
+          if (doc == kt.getDocKey())
           {
             nl = kt.getNodeSetDTMByKey(name, ref);
 
-            if (nl != null)
-            {
-              foundDoc = true;
-
-              break;
-            }
+            break;
           }
         }
       }
 
-      if ((null == nl) &&!foundDoc /* && m_needToBuildKeysTable */)
+      if (null == nl)
       {
+        // One table holds all the keys of a document.
         KeyTable kt =
-          new KeyTable(doc, nscontext, name,
-                       template.getStylesheetRoot().getKeysComposed(),
-                       xctxt);
+          new KeyTable(doc, nscontext, template.getStylesheetRoot(), xctxt);
 
         m_key_tables.addElement(kt);
 
-        if (doc == kt.getDocKey())
-        {
-          foundDoc = true;
-          nl = kt.getNodeSetDTMByKey(name, ref);
-        }
+        nl = kt.getNodeSetDTMByKey(name, ref);
       }
     }
 
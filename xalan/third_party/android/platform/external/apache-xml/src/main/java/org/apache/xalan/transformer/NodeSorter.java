@@ -22,17 +22,25 @@ package org.apache.xalan.transformer;
 
 import java.text.CollationKey;
 import java.util.Vector;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import javax.xml.transform.TransformerException;
 
 import org.apache.xml.dtm.DTM;
 import org.apache.xml.dtm.DTMIterator;
 import org.apache.xpath.XPathContext;
-import org.apache.xpath.objects.XNodeSet;
 import org.apache.xpath.objects.XObject;
 
 /**
  * This class can sort vectors of DOM nodes according to a select pattern.
+ *
+ * The sort keys of every node are evaluated once, before sorting, into
+ * an array of doubles or of collation keys for each xsl:sort, and then an
+ * array of indexes into them is merge sorted. Comparing two nodes only
+ * reads those arrays, and the DTM for the document order of nodes whose
+ * keys are all equal, so a large input is sorted in pieces on the common
+ * fork-join pool and the pieces are merged.
  * @xsl.usage internal
  */
 public class NodeSorter
@@ -44,6 +52,36 @@ public class NodeSorter
   /** Vector of NodeSortKeys          */
   Vector m_keys;  // vector of NodeSortKeys
 
+  /**
+   * Inputs at least this long are sorted in parallel, if the common
+   * fork-join pool has more than one thread.
+   */
+  static final int PARALLEL_THRESHOLD = 8192;
+
+  /** Runs this short are sorted by insertion rather than merged. */
+  private static final int INSERTION_THRESHOLD = 16;
+
+  /** The nodes being sorted. */
+  private int[] m_nodes;
+
+  /**
+   * The values of the numeric sort keys, indexed by key and then by the
+   * position of the node in m_nodes, or null for a string key.
+   */
+  private double[][] m_numberKeys;
+
+  /**
+   * The collation keys of the string sort keys, indexed like m_numberKeys,
+   * or null for a numeric key.
+   */
+  private CollationKey[][] m_stringKeys;
+
+  /**
+   * The lower case values of the string sort keys with upper-first case
+   * order, indexed like m_numberKeys, or null for other keys.
+   */
+  private String[][] m_lowerCaseKeys;
+
 //  /**
 //   * TODO: Adjust this for locale.
 //   */
@@ -76,106 +114,123 @@ public class NodeSorter
 
     m_keys = keys;
 
-    // QuickSort2(v, 0, v.size() - 1 );
     int n = v.getLength();
 
-    // %OPT% Change mergesort to just take a DTMIterator?
-    // We would also have to adapt DTMIterator to have the function 
-    // of NodeCompareElem.
-    
-    // Create a vector of node compare elements
-    // based on the input vector of nodes
-    Vector nodes = new Vector();
+    m_nodes = new int[n];
 
     for (int i = 0; i < n; i++)
     {
-      NodeCompareElem elem = new NodeCompareElem(v.item(i));
-
-      nodes.addElement(elem);
+      m_nodes[i] = v.item(i);
     }
 
-    Vector scratchVector = new Vector();
+    evaluateKeys(n);
 
-    mergesort(nodes, scratchVector, 0, n - 1, support);
+    int[] order = new int[n];
+
+    for (int i = 0; i < n; i++)
+    {
+      order[i] = i;
+    }
+
+    if (n >= PARALLEL_THRESHOLD
+        && ForkJoinPool.getCommonPoolParallelism() > 1)
+    {
+      ForkJoinPool.commonPool().invoke(
+        new SortTask(order, new int[n], 0, n, support));
+    }
+    else
+    {
+      mergesort(order, new int[n], 0, n, support);
+    }
 
     // return sorted vector of nodes
     for (int i = 0; i < n; i++)
     {
-      v.setItem(((NodeCompareElem) nodes.elementAt(i)).m_node, i);
+      v.setItem(m_nodes[order[i]], i);
     }
     v.setCurrentPos(0);
 
-    // old code...
-    //NodeVector scratchVector = new NodeVector(n);
-    //mergesort(v, scratchVector, 0, n - 1, support);
+    m_nodes = null;
+    m_numberKeys = null;
+    m_stringKeys = null;
+    m_lowerCaseKeys = null;
   }
 
   /**
-   * Return the results of a compare of two nodes.
-   * TODO: Optimize compare -- cache the getStringExpr results, key by m_selectPat + hash of node.
+   * Evaluate every sort key for every node.
    *
-   * @param n1 First node to use in compare
-   * @param n2 Second node to use in compare
-   * @param kIndex Index of NodeSortKey to use for sort
-   * @param support XPath context to use
-   *
-   * @return The results of the compare of the two nodes.
+   * @param n The number of nodes.
    *
    * @throws TransformerException
    */
-  int compare(
-          NodeCompareElem n1, NodeCompareElem n2, int kIndex, XPathContext support)
-            throws TransformerException
+  private void evaluateKeys(int n) throws TransformerException
   {
+    int nKeys = m_keys.size();
 
-    int result = 0;
-    NodeSortKey k = (NodeSortKey) m_keys.elementAt(kIndex);
+    m_numberKeys = new double[nKeys][];
+    m_stringKeys = new CollationKey[nKeys][];
+    m_lowerCaseKeys = new String[nKeys][];
 
-    if (k.m_treatAsNumbers)
+    for (int kIndex = 0; kIndex < nKeys; kIndex++)
     {
-      double n1Num, n2Num;
-
-      if (kIndex == 0)
-      {
-        n1Num = ((Double) n1.m_key1Value).doubleValue();
-        n2Num = ((Double) n2.m_key1Value).doubleValue();
-      }
-      else if (kIndex == 1)
-      {
-        n1Num = ((Double) n1.m_key2Value).doubleValue();
-        n2Num = ((Double) n2.m_key2Value).doubleValue();
-      }
+      NodeSortKey k = (NodeSortKey) m_keys.elementAt(kIndex);
 
-      /* Leave this in case we decide to use an array later
-      if (kIndex < maxkey)
-      {
-      double n1Num = (double)n1.m_keyValue[kIndex];
-      double n2Num = (double)n2.m_keyValue[kIndex];
-      }*/
+      if (k.m_treatAsNumbers)
+        m_numberKeys[kIndex] = new double[n];
       else
-      {
+        m_stringKeys[kIndex] = new CollationKey[n];
 
-        // Get values dynamically
-        XObject r1 = k.m_selectPat.execute(m_execContext, n1.m_node,
-                                           k.m_namespaceContext);
-        XObject r2 = k.m_selectPat.execute(m_execContext, n2.m_node,
-                                           k.m_namespaceContext);
-        n1Num = r1.num();
-
-        // Can't use NaN for compare. They are never equal. Use zero instead.
-        // That way we can keep elements in document order. 
-        //n1Num = Double.isNaN(d) ? 0.0 : d;
-        n2Num = r2.num();
-        //n2Num = Double.isNaN(d) ? 0.0 : d;
-      }
+      if (!k.m_treatAsNumbers && k.m_caseOrderUpper)
+        m_lowerCaseKeys[kIndex] = new String[n];
 
-      if ((n1Num == n2Num) && ((kIndex + 1) < m_keys.size()))
+      for (int i = 0; i < n; i++)
       {
-        result = compare(n1, n2, kIndex + 1, support);
+        XObject r = k.m_selectPat.execute(m_execContext, m_nodes[i],
+                                          k.m_namespaceContext);
+
+        if (k.m_treatAsNumbers)
+        {
+          m_numberKeys[kIndex][i] = r.num();
+        }
+        else
+        {
+          CollationKey key = k.m_col.getCollationKey(r.str());
+
+          m_stringKeys[kIndex][i] = key;
+
+          if (k.m_caseOrderUpper)
+            m_lowerCaseKeys[kIndex][i] = key.getSourceString().toLowerCase();
+        }
       }
-      else
+    }
+  }
+
+  /**
+   * Return the results of a compare of two nodes.
+   *
+   * @param n1 Position in the input of the first node to compare
+   * @param n2 Position in the input of the second node to compare
+   * @param support XPath context to use
+   *
+   * @return The results of the compare of the two nodes.
+   */
+  int compare(int n1, int n2, XPathContext support)
+  {
+
+    int nKeys = m_keys.size();
+
+    for (int kIndex = 0; kIndex < nKeys; kIndex++)
+    {
+      NodeSortKey k = (NodeSortKey) m_keys.elementAt(kIndex);
+      int result;
+
+      if (k.m_treatAsNumbers)
       {
+        double n1Num = m_numberKeys[kIndex][n1];
+        double n2Num = m_numberKeys[kIndex][n2];
         double diff;
+
+        // NaN sorts before every number, and is equal to NaN.
         if (Double.isNaN(n1Num))
         {
           if (Double.isNaN(n2Num))
@@ -189,92 +244,42 @@ public class NodeSorter
           diff = n1Num - n2Num;
 
         // process order parameter 
-        result = (int) ((diff < 0.0)
-                        ? (k.m_descending ? 1 : -1)
-                        : (diff > 0.0) ? (k.m_descending ? -1 : 1) : 0);
-      }
-    }  // end treat as numbers 
-    else
-    {
-      CollationKey n1String, n2String;
-
-      if (kIndex == 0)
-      {
-        n1String = (CollationKey) n1.m_key1Value;
-        n2String = (CollationKey) n2.m_key1Value;
-      }
-      else if (kIndex == 1)
-      {
-        n1String = (CollationKey) n1.m_key2Value;
-        n2String = (CollationKey) n2.m_key2Value;
-      }
-
-      /* Leave this in case we decide to use an array later
-      if (kIndex < maxkey)
-      {
-        String n1String = (String)n1.m_keyValue[kIndex];
-        String n2String = (String)n2.m_keyValue[kIndex];
-      }*/
+        result = (diff < 0.0)
+                 ? (k.m_descending ? 1 : -1)
+                 : (diff > 0.0) ? (k.m_descending ? -1 : 1) : 0;
+      }  // end treat as numbers 
       else
       {
+        // Use collation keys for faster compare, but note that whitespaces 
+        // etc... are treated differently from if we were comparing Strings.
+        result = m_stringKeys[kIndex][n1].compareTo(m_stringKeys[kIndex][n2]);
 
-        // Get values dynamically
-        XObject r1 = k.m_selectPat.execute(m_execContext, n1.m_node,
-                                           k.m_namespaceContext);
-        XObject r2 = k.m_selectPat.execute(m_execContext, n2.m_node,
-                                           k.m_namespaceContext);
-
-        n1String = k.m_col.getCollationKey(r1.str());
-        n2String = k.m_col.getCollationKey(r2.str());
-      }
-
-      // Use collation keys for faster compare, but note that whitespaces 
-      // etc... are treated differently from if we were comparing Strings.
-      result = n1String.compareTo(n2String);
-
-      //Process caseOrder parameter
-      if (k.m_caseOrderUpper)
-      {
-        String tempN1 = n1String.getSourceString().toLowerCase();
-        String tempN2 = n2String.getSourceString().toLowerCase();
-
-        if (tempN1.equals(tempN2))
+        //Process caseOrder parameter
+        if (k.m_caseOrderUpper)
         {
+          if (m_lowerCaseKeys[kIndex][n1].equals(m_lowerCaseKeys[kIndex][n2]))
+          {
 
-          //java defaults to upper case is greater.
-          result = result == 0 ? 0 : -result;
+            //java defaults to upper case is greater.
+            result = -result;
+          }
         }
-      }
 
-      //Process order parameter
-      if (k.m_descending)
-      {
-        result = -result;
-      }
-    }  //end else
+        //Process order parameter
+        if (k.m_descending)
+        {
+          result = -result;
+        }
+      }  //end else
 
-    if (0 == result)
-    {
-      if ((kIndex + 1) < m_keys.size())
-      {
-        result = compare(n1, n2, kIndex + 1, support);
-      }
+      if (0 != result)
+        return result;
     }
 
-    if (0 == result)
-    {
+    // Nodes whose keys are all equal stay in document order.
+    DTM dtm = support.getDTM(m_nodes[n1]);
 
-      // I shouldn't have to do this except that there seems to 
-      // be a glitch in the mergesort
-      // if(r1.getType() == r1.CLASS_NODESET)
-      // {
-      DTM dtm = support.getDTM(n1.m_node); // %OPT%
-      result = dtm.isNodeAfter(n1.m_node, n2.m_node) ? -1 : 1;
-
-      // }
-    }
-
-    return result;
+    return dtm.isNodeAfter(m_nodes[n1], m_nodes[n2]) ? -1 : 1;
   }
 
   /**
@@ -284,274 +289,140 @@ public class NodeSorter
    * maintains the original document order of the input if
    * the order isn't changed by the sort.
    *
-   * @param a First vector of nodes to compare
-   * @param b Second vector of  nodes to compare 
-   * @param l Left boundary of  partition
-   * @param r Right boundary of  partition
+   * @param a The positions of the nodes to sort
+   * @param b Scratch space as long as a
+   * @param l Left boundary of partition
+   * @param r Right boundary of partition, exclusive
    * @param support XPath context to use
-   *
-   * @throws TransformerException
    */
-  void mergesort(Vector a, Vector b, int l, int r, XPathContext support)
-          throws TransformerException
+  void mergesort(int[] a, int[] b, int l, int r, XPathContext support)
   {
 
-    if ((r - l) > 0)
+    if ((r - l) <= INSERTION_THRESHOLD)
     {
-      int m = (r + l) / 2;
-
-      mergesort(a, b, l, m, support);
-      mergesort(a, b, m + 1, r, support);
-
-      int i, j, k;
-
-      for (i = m; i >= l; i--)
-      {
-
-        // b[i] = a[i];
-        // Use insert if we need to increment vector size.
-        if (i >= b.size())
-          b.insertElementAt(a.elementAt(i), i);
-        else
-          b.setElementAt(a.elementAt(i), i);
-      }
-
-      i = l;
-
-      for (j = (m + 1); j <= r; j++)
-      {
-
-        // b[r+m+1-j] = a[j];
-        if (r + m + 1 - j >= b.size())
-          b.insertElementAt(a.elementAt(j), r + m + 1 - j);
-        else
-          b.setElementAt(a.elementAt(j), r + m + 1 - j);
-      }
-
-      j = r;
+      insertionsort(a, l, r, support);
+      return;
+    }
 
-      int compVal;
+    int m = (r + l) >>> 1;
 
-      for (k = l; k <= r; k++)
-      {
-
-        // if(b[i] < b[j])
-        if (i == j)
-          compVal = -1;
-        else
-          compVal = compare((NodeCompareElem) b.elementAt(i),
-                            (NodeCompareElem) b.elementAt(j), 0, support);
+    mergesort(a, b, l, m, support);
+    mergesort(a, b, m, r, support);
+    merge(a, b, l, m, r, support);
+  }
 
-        if (compVal < 0)
-        {
+  /**
+   * Merge two sorted runs that are next to each other.
+   *
+   * @param a The positions of the nodes to sort
+   * @param b Scratch space as long as a
+   * @param l Start of the first run
+   * @param m Start of the second run
+   * @param r End of the second run, exclusive
+   * @param support XPath context to use
+   */
+  void merge(int[] a, int[] b, int l, int m, int r, XPathContext support)
+  {
 
-          // a[k]=b[i];
-          a.setElementAt(b.elementAt(i), k);
+    // Already in order, which is common for input in document order.
+    if (compare(a[m - 1], a[m], support) < 0)
+      return;
 
-          i++;
-        }
-        else if (compVal > 0)
-        {
+    System.arraycopy(a, l, b, l, r - l);
 
-          // a[k]=b[j]; 
-          a.setElementAt(b.elementAt(j), k);
+    int i = l, j = m;
 
-          j--;
-        }
-      }
+    for (int k = l; k < r; k++)
+    {
+      if (j >= r || (i < m && compare(b[i], b[j], support) < 0))
+        a[k] = b[i++];
+      else
+        a[k] = b[j++];
     }
   }
 
   /**
-   * This is a generic version of C.A.R Hoare's Quick Sort
-   * algorithm.  This will handle arrays that are already
-   * sorted, and arrays with duplicate keys.<BR>
-   *
-   * If you think of a one dimensional array as going from
-   * the lowest index on the left to the highest index on the right
-   * then the parameters to this function are lowest index or
-   * left and highest index or right.  The first time you call
-   * this function it will be with the parameters 0, a.length - 1.
-   *
-   * @param v       a vector of integers 
-   * @param lo0     left boundary of array partition
-   * @param hi0     right boundary of array partition
+   * Sort a short run by insertion.
    *
+   * @param a The positions of the nodes to sort
+   * @param l Left boundary of partition
+   * @param r Right boundary of partition, exclusive
+   * @param support XPath context to use
    */
+  void insertionsort(int[] a, int l, int r, XPathContext support)
+  {
 
-  /*  private void QuickSort2(Vector v, int lo0, int hi0, XPathContext support)
-      throws javax.xml.transform.TransformerException,
-             java.net.MalformedURLException,
-             java.io.FileNotFoundException,
-             java.io.IOException
+    for (int i = l + 1; i < r; i++)
     {
-      int lo = lo0;
-      int hi = hi0;
+      int pos = a[i];
+      int j = i - 1;
 
-      if ( hi0 > lo0)
+      while (j >= l && compare(a[j], pos, support) > 0)
       {
-        // Arbitrarily establishing partition element as the midpoint of
-        // the array.
-        Node midNode = (Node)v.elementAt( ( lo0 + hi0 ) / 2 );
-
-        // loop through the array until indices cross
-        while( lo <= hi )
-        {
-          // find the first element that is greater than or equal to
-          // the partition element starting from the left Index.
-          while( (lo < hi0) && (compare((Node)v.elementAt(lo), midNode, 0, support) < 0) )
-          {
-            ++lo;
-          } // end while
-
-          // find an element that is smaller than or equal to
-          // the partition element starting from the right Index.
-          while( (hi > lo0) && (compare((Node)v.elementAt(hi), midNode, 0, support) > 0) )
-          {
-            --hi;
-          }
-
-          // if the indexes have not crossed, swap
-          if( lo <= hi )
-          {
-            swap(v, lo, hi);
-            ++lo;
-            --hi;
-          }
-        }
-
-        // If the right index has not reached the left side of array
-        // must now sort the left partition.
-        if( lo0 < hi )
-        {
-          QuickSort2( v, lo0, hi, support );
-        }
-
-        // If the left index has not reached the right side of array
-        // must now sort the right partition.
-        if( lo < hi0 )
-        {
-          QuickSort2( v, lo, hi0, support );
-        }
+        a[j + 1] = a[j];
+        j--;
       }
-    } // end QuickSort2  */
-
-//  /**
-//   * Simple function to swap two elements in
-//   * a vector.
-//   * 
-//   * @param v Vector of nodes to swap
-//   * @param i Index of first node to swap
-//   * @param i Index of second node to swap
-//   */
-//  private void swap(Vector v, int i, int j)
-//  {
-//
-//    int node = (Node) v.elementAt(i);
-//
-//    v.setElementAt(v.elementAt(j), i);
-//    v.setElementAt(node, j);
-//  }
+      a[j + 1] = pos;
+    }
+  }
 
   /**
-   * This class holds the value(s) from executing the given
-   * node against the sort key(s). 
-   * @xsl.usage internal
+   * Sorts a partition on the fork-join pool, splitting it in two until the
+   * pieces are short enough to sort on one thread.
    */
-  class NodeCompareElem
+  class SortTask extends RecursiveAction
   {
+    static final long serialVersionUID = 2358743498721983478L;
 
-    /** Current node          */
-    int m_node;
+    /** The positions of the nodes to sort. */
+    private final int[] m_a;
 
-    /** This maxkey value was chosen arbitrarily. We are assuming that the    
-    // maxkey + 1 keys will only hit fairly rarely and therefore, we
-    // will get the node values for those keys dynamically.
-    */
-    int maxkey = 2;
+    /** Scratch space as long as m_a. */
+    private final int[] m_b;
 
-    // Keep this in case we decide to use an array. Right now
-    // using two variables is cheaper.
-    //Object[] m_KeyValue = new Object[2];
+    /** Left boundary of partition. */
+    private final int m_l;
 
-    /** Value from first sort key           */
-    Object m_key1Value;
+    /** Right boundary of partition, exclusive. */
+    private final int m_r;
 
-    /** Value from second sort key            */
-    Object m_key2Value;
+    /** XPath context to use. */
+    private final XPathContext m_support;
 
     /**
-     * Constructor NodeCompareElem
-     *
+     * Constructor SortTask
      *
-     * @param node Current node
-     *
-     * @throws javax.xml.transform.TransformerException
+     * @param a The positions of the nodes to sort
+     * @param b Scratch space as long as a
+     * @param l Left boundary of partition
+     * @param r Right boundary of partition, exclusive
+     * @param support XPath context to use
      */
-    NodeCompareElem(int node) throws javax.xml.transform.TransformerException
+    SortTask(int[] a, int[] b, int l, int r, XPathContext support)
     {
-      m_node = node;
+      m_a = a;
+      m_b = b;
+      m_l = l;
+      m_r = r;
+      m_support = support;
+    }
 
-      if (!m_keys.isEmpty())
+    /**
+     * Sort the partition.
+     */
+    protected void compute()
+    {
+      if ((m_r - m_l) < PARALLEL_THRESHOLD)
       {
-        NodeSortKey k1 = (NodeSortKey) m_keys.elementAt(0);
-        XObject r = k1.m_selectPat.execute(m_execContext, node,
-                                           k1.m_namespaceContext);
-
-        double d;
-
-        if (k1.m_treatAsNumbers)
-        {
-          d = r.num();
-
-          // Can't use NaN for compare. They are never equal. Use zero instead.  
-          m_key1Value = new Double(d);
-        }
-        else
-        {
-          m_key1Value = k1.m_col.getCollationKey(r.str());
-        }
-
-        if (r.getType() == XObject.CLASS_NODESET)
-        {
-          // %REVIEW%
-          DTMIterator ni = ((XNodeSet)r).iterRaw();
-          int current = ni.getCurrentNode();
-          if(DTM.NULL == current)
-            current = ni.nextNode();
-
-          // if (ni instanceof ContextNodeList) // %REVIEW%
-          // tryNextKey = (DTM.NULL != current);
-
-          // else abdicate... should never happen, but... -sb
-        }
-
-        if (m_keys.size() > 1)
-        {
-          NodeSortKey k2 = (NodeSortKey) m_keys.elementAt(1);
+        mergesort(m_a, m_b, m_l, m_r, m_support);
+        return;
+      }
 
-          XObject r2 = k2.m_selectPat.execute(m_execContext, node,
-                                              k2.m_namespaceContext);
+      int m = (m_r + m_l) >>> 1;
 
-          if (k2.m_treatAsNumbers) {
-            d = r2.num();
-            m_key2Value = new Double(d);
-          } else {
-            m_key2Value = k2.m_col.getCollationKey(r2.str());
-          }
-        }
-
-        /* Leave this in case we decide to use an array later
-        while (kIndex <= m_keys.size() && kIndex < maxkey)
-        {
-          NodeSortKey k = (NodeSortKey)m_keys.elementAt(kIndex);
-          XObject r = k.m_selectPat.execute(m_execContext, node, k.m_namespaceContext);
-          if(k.m_treatAsNumbers)
-            m_KeyValue[kIndex] = r.num();
-          else
-            m_KeyValue[kIndex] = r.str();
-        } */
-      }  // end if not empty    
+      invokeAll(new SortTask(m_a, m_b, m_l, m, m_support),
+                new SortTask(m_a, m_b, m, m_r, m_support));
+      merge(m_a, m_b, m_l, m, m_r, m_support);
     }
-  }  // end NodeCompareElem class
+  }
 }
@@ -0,0 +1,819 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the  "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.xalan.transformer;
+
+import java.util.Vector;
+
+import javax.xml.transform.Source;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.sax.SAXSource;
+import javax.xml.transform.stream.StreamSource;
+
+import org.apache.xalan.templates.ElemForEach;
+import org.apache.xalan.templates.StreamabilityChecker;
+import org.apache.xalan.templates.StylesheetRoot;
+import org.apache.xml.dtm.DTM;
+import org.apache.xml.dtm.DTMManager;
+import org.apache.xml.dtm.ref.DTMManagerDefault;
+import org.apache.xml.dtm.ref.IncrementalSAXSource_Filter;
+import org.apache.xml.dtm.ref.sax2dtm.SAX2DTM;
+import org.apache.xml.utils.SystemIDResolver;
+import org.apache.xml.utils.WrappedRuntimeException;
+import org.apache.xpath.XPathContext;
+import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.DTDHandler;
+import org.xml.sax.InputSource;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.ext.LexicalHandler;
+import org.xml.sax.helpers.AttributesImpl;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Parses a streamed source for a stylesheet that only walks forward through
+ * the children of the document element, so that the source never has to be
+ * held in memory as a whole.
+ * <p>The parse is run as an {@link IncrementalSAXSource_Filter}, and its
+ * events are routed to several DTMs.  The prolog and the document element,
+ * with its attributes but without its children, go to a skeleton DTM, which
+ * is transformed as usual.  The children of the document element are cut
+ * into windows of whole records, of at least {@link #WINDOW_EVENTS} events
+ * each.  Every window is a DTM of its own, with a copy of the document
+ * element that holds the records, and it is released as soon as it has been
+ * transformed.  Comments and processing instructions after the document
+ * element go to an epilog DTM.</p>
+ * <p>When the xsl:apply-templates or xsl:for-each that selects the children
+ * of the skeleton document element is executed, it is run again for the
+ * copy in each window, which is parsed just in time.  When the one that
+ * selects the children of the skeleton root is executed, it is run again
+ * for the root of the epilog.</p>
+ * <p>Whether the stylesheet can be run this way depends on the name of the
+ * document element, and is decided by the {@link StreamabilityChecker} when
+ * its start tag is parsed.  If it can't, the rest of the events go to the
+ * skeleton, which becomes the DTM of the whole document.</p>
+ * @xsl.usage internal
+ */
+public class StreamedInput
+        implements ContentHandler, LexicalHandler, DTDHandler
+{
+
+  /**
+   * The number of events after which a window is closed at the end of the
+   * next record.
+   */
+  public static final int WINDOW_EVENTS = 1024;
+
+  /** The number of events the parse delivers each time it's resumed. */
+  private static final int RETURN_FREQUENCY = 1024;
+
+  /** The handler that is set on the reader once the parse is done. */
+  private static final DefaultHandler m_defaultHandler = new DefaultHandler();
+
+  /** Events are routed to the skeleton until the document element starts. */
+  private static final int PROLOG = 0;
+
+  /** The children of the document element are routed to windows. */
+  private static final int RECORDS = 1;
+
+  /** Events after the document element are routed to the epilog. */
+  private static final int EPILOG = 2;
+
+  /** The document can't be streamed, so every event goes to the skeleton. */
+  private static final int WHOLE = 3;
+
+  /** The transformer that runs the stylesheet. */
+  private final TransformerImpl m_transformer;
+
+  /** The manager that creates and releases the DTMs. */
+  private final DTMManagerDefault m_dtmManager;
+
+  /** The checker of the stylesheet. */
+  private final StreamabilityChecker m_checker;
+
+  /** The base URI of the source, given to each DTM. */
+  private String m_baseURI;
+
+  /** The incremental parse of the source. */
+  private IncrementalSAXSource_Filter m_source;
+
+  /** The reader that parses the source. */
+  private XMLReader m_reader;
+
+  /** Which DTM events are routed to, PROLOG, RECORDS, EPILOG or WHOLE. */
+  private int m_state = PROLOG;
+
+  /** True when the parse has run to its end. */
+  private boolean m_parsed = false;
+
+  /** The DTM of the prolog and the document element. */
+  private SAX2DTM m_skeleton;
+
+  /** The root node of the skeleton. */
+  private int m_root = DTM.NULL;
+
+  /** The document element of the skeleton. */
+  private int m_documentElement = DTM.NULL;
+
+  /** The document locator of the parse. */
+  private Locator m_locator;
+
+  /**
+   * The prefix and URI pairs that were mapped before the document element
+   * started, which are mapped again in each window.
+   */
+  private final Vector m_prefixMappings = new Vector();
+
+  /** The namespace URI of the document element. */
+  private String m_namespace;
+
+  /** The local name of the document element. */
+  private String m_localName;
+
+  /** The qualified name of the document element. */
+  private String m_qName;
+
+  /** The namespace declaration attributes of the document element. */
+  private AttributesImpl m_namespaceAttributes;
+
+  /** The window that events are routed to, or null. */
+  private SAX2DTM m_window;
+
+  /** The number of events routed to the open window. */
+  private int m_windowEvents;
+
+  /**
+   * True when the open window is closed before the next event that isn't
+   * the end of a prefix mapping of the record that just ended.
+   */
+  private boolean m_closePending;
+
+  /** The element depth below the document element. */
+  private int m_depth;
+
+  /** The closed windows that haven't been transformed yet. */
+  private final Vector m_windows = new Vector();
+
+  /** The DTM of the epilog, or null if there is nothing after the document element. */
+  private SAX2DTM m_epilog;
+
+  /**
+   * Create a StreamedInput for a transformer.
+   *
+   * @param transformer The transformer that runs a streamable stylesheet.
+   * @param dtmManager The DTM manager of the transformer.
+   */
+  StreamedInput(TransformerImpl transformer, DTMManagerDefault dtmManager)
+  {
+    m_transformer = transformer;
+    m_dtmManager = dtmManager;
+    m_checker = transformer.getStylesheet().getStreamabilityChecker();
+  }
+
+  /**
+   * Tell if a source may be streamed for a stylesheet.  It must be a stream
+   * or SAX source that can be parsed, and the stylesheet must be streamable
+   * for some document elements.
+   *
+   * @param source The source to transform.
+   * @param dtmManager The DTM manager of the transformer.
+   * @param stylesheet The stylesheet, with the streaming feature set.
+   *
+   * @return true if the source should be transformed with a StreamedInput.
+   */
+  static boolean isStreamable(Source source, DTMManager dtmManager,
+                              StylesheetRoot stylesheet)
+  {
+
+    if (!(source instanceof StreamSource || source instanceof SAXSource)
+        || !(dtmManager instanceof DTMManagerDefault))
+      return false;
+
+    if (null == SAXSource.sourceToInputSource(source))
+      return false;
+
+    return stylesheet.getStreamabilityChecker().isStreamable();
+  }
+
+  /**
+   * Start parsing the source, up to the start tag of the document element.
+   * If the document can't be streamed, the source is parsed to its end.
+   *
+   * @param source The source to parse, a stream or SAX source.
+   * @param baseURI The base URI to give to the DTMs.
+   *
+   * @return The skeleton DTM if the document is streamed, or the DTM of the
+   *         whole document.
+   *
+   * @throws WrappedRuntimeException if the source can't be parsed.
+   */
+  DTM parse(Source source, String baseURI)
+  {
+
+    m_baseURI = baseURI;
+    m_reader = m_dtmManager.getXMLReader(source);
+
+    InputSource xmlSource = SAXSource.sourceToInputSource(source);
+    String urlOfSource = xmlSource.getSystemId();
+
+    if (null != urlOfSource)
+    {
+      try
+      {
+        urlOfSource = SystemIDResolver.getAbsoluteURI(urlOfSource);
+      }
+      catch (Exception e)
+      {
+        // %REVIEW% Is there a better way to send a warning?
+        System.err.println("Can not absolutize URL: " + urlOfSource);
+      }
+
+      xmlSource.setSystemId(urlOfSource);
+    }
+
+    m_skeleton = createDTM(true);
+
+    m_source = new IncrementalSAXSource_Filter();
+    m_source.setReturnFrequency(RETURN_FREQUENCY);
+    m_source.setXMLReader(m_reader);
+    m_source.setContentHandler(this);
+    m_source.setLexicalHandler(this);
+    m_source.setDTDHandler(this);
+    m_source.setErrHandler(m_skeleton);
+
+    boolean started = false;
+
+    try
+    {
+      m_source.startParse(xmlSource);
+
+      while (PROLOG == m_state && deliverMoreEvents());
+
+      if (WHOLE == m_state)
+        close(true);
+
+      started = true;
+    }
+    catch (SAXException se)
+    {
+      throw new WrappedRuntimeException(se);
+    }
+    finally
+    {
+      if (!started)
+      {
+        close(false);
+        m_dtmManager.release(m_skeleton, true);
+      }
+    }
+
+    m_root = m_skeleton.getDocument();
+
+    for (int child = m_skeleton.getFirstChild(m_root); DTM.NULL != child;
+         child = m_skeleton.getNextSibling(child))
+    {
+      if (DTM.ELEMENT_NODE == m_skeleton.getNodeType(child))
+        m_documentElement = child;
+    }
+
+    return m_skeleton;
+  }
+
+  /**
+   * Tell if the document is streamed, rather than parsed as a whole.
+   *
+   * @return true if the children of the document element are transformed
+   *         one window at a time.
+   */
+  boolean isStreaming()
+  {
+    return WHOLE != m_state;
+  }
+
+  /**
+   * Execute an xsl:apply-templates or xsl:for-each.  If its context node is
+   * the root or the document element of the skeleton, it is run again for
+   * the epilog or for each window.
+   *
+   * @param elem The xsl:apply-templates or xsl:for-each to run.
+   *
+   * @throws TransformerException if the stylesheet or the parse fails.
+   */
+  public void transformSelectedNodes(ElemForEach elem)
+          throws TransformerException
+  {
+
+    XPathContext xctxt = m_transformer.getXPathContext();
+    int current = xctxt.getCurrentNode();
+
+    elem.transformSelectedNodes(m_transformer);
+
+    if (m_documentElement == current)
+    {
+      DTM window;
+
+      while (null != (window = nextWindow()))
+      {
+        try
+        {
+          transformSelectedNodes(elem, window.getFirstChild(window.getDocument()));
+        }
+        finally
+        {
+          m_dtmManager.release(window, true);
+        }
+      }
+    }
+    else if (m_root == current)
+    {
+      DTM epilog = nextEpilog();
+
+      if (null != epilog)
+      {
+        try
+        {
+          transformSelectedNodes(elem, epilog.getDocument());
+        }
+        finally
+        {
+          m_dtmManager.release(epilog, true);
+        }
+      }
+    }
+  }
+
+  /**
+   * Execute an xsl:apply-templates or xsl:for-each with another context
+   * node.
+   */
+  private void transformSelectedNodes(ElemForEach elem, int node)
+          throws TransformerException
+  {
+
+    XPathContext xctxt = m_transformer.getXPathContext();
+
+    xctxt.pushCurrentNode(node);
+
+    try
+    {
+      elem.transformSelectedNodes(m_transformer);
+    }
+    finally
+    {
+      xctxt.popCurrentNode();
+    }
+  }
+
+  /**
+   * Get the next window, parsing the source until one is closed.
+   *
+   * @return The next window, or null if all the records have been parsed.
+   */
+  private DTM nextWindow()
+  {
+
+    while (m_windows.isEmpty() && RECORDS == m_state && deliverMoreEvents());
+
+    return m_windows.isEmpty() ? null : (DTM) m_windows.remove(0);
+  }
+
+  /**
+   * Get the epilog, after parsing the source to its end.  Windows that
+   * haven't been transformed are released.
+   *
+   * @return The epilog, or null if there is nothing after the document
+   *         element.
+   */
+  private DTM nextEpilog()
+  {
+
+    DTM window;
+
+    while (null != (window = nextWindow()))
+      m_dtmManager.release(window, true);
+
+    while (deliverMoreEvents());
+
+    DTM epilog = m_epilog;
+
+    m_epilog = null;
+
+    return epilog;
+  }
+
+  /**
+   * Resume the parse.
+   *
+   * @return true if there may be more events.
+   */
+  private boolean deliverMoreEvents()
+  {
+
+    if (m_parsed)
+      return false;
+
+    Object result = m_source.deliverMoreNodes(true);
+
+    if (Boolean.TRUE == result)
+      return true;
+
+    m_parsed = true;
+
+    // Report parse errors the way an incremental DTM does.
+    if (result instanceof RuntimeException)
+      throw (RuntimeException) result;
+    else if (result instanceof Exception)
+      throw new WrappedRuntimeException((Exception) result);
+
+    return false;
+  }
+
+  /**
+   * Finish with the source.  The DTMs that haven't been transformed are
+   * released, but not the skeleton.
+   *
+   * @param parse true to parse the rest of the source, so that errors in it
+   *              are reported, or false to stop the parse.
+   *
+   * @throws WrappedRuntimeException if the rest of the source can't be
+   *         parsed.
+   */
+  void close(boolean parse)
+  {
+
+    try
+    {
+      if (parse)
+      {
+        while (deliverMoreEvents());
+      }
+      else if (!m_parsed)
+      {
+        m_parsed = true;
+
+        m_source.deliverMoreNodes(false);
+      }
+    }
+    finally
+    {
+      for (int i = m_windows.size() - 1; i >= 0; i--)
+        m_dtmManager.release((DTM) m_windows.elementAt(i), true);
+
+      m_windows.removeAllElements();
+
+      if (null != m_window)
+        m_dtmManager.release(m_window, true);
+
+      if (null != m_epilog)
+        m_dtmManager.release(m_epilog, true);
+
+      m_window = null;
+      m_epilog = null;
+
+      if (null != m_reader)
+      {
+        m_reader.setContentHandler(m_defaultHandler);
+        m_reader.setDTDHandler(m_defaultHandler);
+        m_reader.setErrorHandler(m_defaultHandler);
+
+        try
+        {
+          m_reader.setProperty(
+            "http://xml.org/sax/properties/lexical-handler", null);
+        }
+        catch (Exception e) {}
+
+        m_dtmManager.releaseXMLReader(m_reader);
+
+        m_reader = null;
+      }
+    }
+  }
+
+  /**
+   * Create an empty DTM that is built from events.
+   *
+   * @param indexing true if the DTM should be indexed.
+   */
+  private SAX2DTM createDTM(boolean indexing)
+  {
+
+    DTM dtm = m_dtmManager.getDTM(null, false, m_transformer, false, indexing);
+
+    dtm.setDocumentBaseURI(m_baseURI);
+
+    return (SAX2DTM) dtm;
+  }
+
+  /**
+   * Get the DTM that the next event should be routed to, opening a window
+   * if the event is part of the records.
+   *
+   * @param prefixMappingEnd true if the event is the end of a prefix
+   *                         mapping.
+   */
+  private SAX2DTM getHandler(boolean prefixMappingEnd) throws SAXException
+  {
+
+    switch (m_state)
+    {
+    case RECORDS :
+      if (m_closePending && !prefixMappingEnd)
+        closeWindow();
+
+      if (null == m_window)
+        openWindow();
+
+      m_windowEvents++;
+
+      return m_window;
+    case EPILOG :
+      if (null == m_epilog)
+      {
+        m_epilog = createDTM(false);
+
+        if (null != m_locator)
+          m_epilog.setDocumentLocator(m_locator);
+
+        m_epilog.startDocument();
+      }
+
+      return m_epilog;
+    default :
+      return m_skeleton;
+    }
+  }
+
+  /**
+   * Open a window, with a copy of the document element.
+   */
+  private void openWindow() throws SAXException
+  {
+
+    m_window = createDTM(false);
+    m_windowEvents = 0;
+
+    if (null != m_locator)
+      m_window.setDocumentLocator(m_locator);
+
+    m_window.startDocument();
+
+    int n = m_prefixMappings.size();
+
+    for (int i = 0; i < n; i += 2)
+    {
+      m_window.startPrefixMapping((String) m_prefixMappings.elementAt(i),
+                                  (String) m_prefixMappings.elementAt(i + 1));
+    }
+
+    m_window.startElement(m_namespace, m_localName, m_qName,
+                          m_namespaceAttributes);
+  }
+
+  /**
+   * Close the open window, and queue it to be transformed.
+   */
+  private void closeWindow() throws SAXException
+  {
+
+    m_window.endElement(m_namespace, m_localName, m_qName);
+
+    for (int i = m_prefixMappings.size() - 2; i >= 0; i -= 2)
+      m_window.endPrefixMapping((String) m_prefixMappings.elementAt(i));
+
+    m_window.endDocument();
+    m_windows.addElement(m_window);
+
+    m_window = null;
+    m_closePending = false;
+  }
+
+  /**
+   * Start routing the children of the document element to windows, and
+   * finish the skeleton.
+   */
+  private void startRecords() throws SAXException
+  {
+
+    m_state = RECORDS;
+
+    m_skeleton.endElement(m_namespace, m_localName, m_qName);
+
+    for (int i = m_prefixMappings.size() - 2; i >= 0; i -= 2)
+      m_skeleton.endPrefixMapping((String) m_prefixMappings.elementAt(i));
+
+    m_skeleton.endDocument();
+  }
+
+  ////////////////////////////////////////////////////////////////////
+  // Implementation of ContentHandler interface.
+  ////////////////////////////////////////////////////////////////////
+
+  public void setDocumentLocator(Locator locator)
+  {
+    m_locator = locator;
+
+    m_skeleton.setDocumentLocator(locator);
+  }
+
+  public void startDocument() throws SAXException
+  {
+    m_skeleton.startDocument();
+  }
+
+  public void endDocument() throws SAXException
+  {
+
+    if (EPILOG == m_state)
+    {
+      if (null != m_epilog)
+        m_epilog.endDocument();
+    }
+    else
+      getHandler(false).endDocument();
+  }
+
+  public void startPrefixMapping(String prefix, String uri)
+          throws SAXException
+  {
+
+    if (PROLOG == m_state)
+    {
+      m_prefixMappings.addElement(prefix);
+      m_prefixMappings.addElement(uri);
+    }
+
+    getHandler(false).startPrefixMapping(prefix, uri);
+  }
+
+  public void endPrefixMapping(String prefix) throws SAXException
+  {
+
+    // The mappings of the document element end after it.
+    if (EPILOG != m_state)
+      getHandler(true).endPrefixMapping(prefix);
+  }
+
+  public void startElement(String uri, String localName, String qName,
+                           Attributes atts) throws SAXException
+  {
+
+    if (PROLOG != m_state)
+    {
+      getHandler(false).startElement(uri, localName, qName, atts);
+
+      m_depth++;
+
+      return;
+    }
+
+    m_skeleton.startElement(uri, localName, qName, atts);
+
+    if (!m_checker.isStreamable(uri, localName))
+    {
+      m_state = WHOLE;
+
+      return;
+    }
+
+    m_namespace = uri;
+    m_localName = localName;
+    m_qName = qName;
+    m_namespaceAttributes = new AttributesImpl();
+
+    int n = atts.getLength();
+
+    for (int i = 0; i < n; i++)
+    {
+      String attrQName = atts.getQName(i);
+
+      if (null != attrQName
+          && (attrQName.equals("xmlns") || attrQName.startsWith("xmlns:")))
+      {
+        m_namespaceAttributes.addAttribute(atts.getURI(i),
+                                           atts.getLocalName(i), attrQName,
+                                           atts.getType(i), atts.getValue(i));
+      }
+    }
+
+    startRecords();
+  }
+
+  public void endElement(String uri, String localName, String qName)
+          throws SAXException
+  {
+
+    if (RECORDS != m_state)
+      getHandler(false).endElement(uri, localName, qName);
+    else if (0 == m_depth)
+    {
+      if (null != m_window)
+        closeWindow();
+
+      m_state = EPILOG;
+    }
+    else
+    {
+      getHandler(false).endElement(uri, localName, qName);
+
+      if (0 == --m_depth && m_windowEvents >= WINDOW_EVENTS)
+        m_closePending = true;
+    }
+  }
+
+  public void characters(char[] ch, int start, int length)
+          throws SAXException
+  {
+    getHandler(false).characters(ch, start, length);
+  }
+
+  public void ignorableWhitespace(char[] ch, int start, int length)
+          throws SAXException
+  {
+    getHandler(false).ignorableWhitespace(ch, start, length);
+  }
+
+  public void processingInstruction(String target, String data)
+          throws SAXException
+  {
+    getHandler(false).processingInstruction(target, data);
+  }
+
+  public void skippedEntity(String name) throws SAXException
+  {
+    getHandler(false).skippedEntity(name);
+  }
+
+  ////////////////////////////////////////////////////////////////////
+  // Implementation of LexicalHandler interface.
+  ////////////////////////////////////////////////////////////////////
+
+  public void startDTD(String name, String publicId, String systemId)
+          throws SAXException
+  {
+    m_skeleton.startDTD(name, publicId, systemId);
+  }
+
+  public void endDTD() throws SAXException
+  {
+    m_skeleton.endDTD();
+  }
+
+  public void startEntity(String name) throws SAXException
+  {
+    getHandler(false).startEntity(name);
+  }
+
+  public void endEntity(String name) throws SAXException
+  {
+    getHandler(false).endEntity(name);
+  }
+
+  public void startCDATA() throws SAXException
+  {
+    getHandler(false).startCDATA();
+  }
+
+  public void endCDATA() throws SAXException
+  {
+    getHandler(false).endCDATA();
+  }
+
+  public void comment(char[] ch, int start, int length) throws SAXException
+  {
+    getHandler(false).comment(ch, start, length);
+  }
+
+  ////////////////////////////////////////////////////////////////////
+  // Implementation of DTDHandler interface.
+  ////////////////////////////////////////////////////////////////////
+
+  public void notationDecl(String name, String publicId, String systemId)
+          throws SAXException
+  {
+    m_skeleton.notationDecl(name, publicId, systemId);
+  }
+
+  public void unparsedEntityDecl(String name, String publicId,
+                                 String systemId, String notationName)
+          throws SAXException
+  {
+    m_skeleton.unparsedEntityDecl(name, publicId, systemId, notationName);
+  }
+}
@@ -70,6 +70,7 @@ import org.apache.xml.dtm.DTM;
 import org.apache.xml.dtm.DTMIterator;
 import org.apache.xml.dtm.DTMManager;
 import org.apache.xml.dtm.DTMWSFilter;
+import org.apache.xml.dtm.ref.DTMManagerDefault;
 import org.apache.xml.serializer.ToSAXHandler;
 import org.apache.xml.serializer.ToTextStream;
 import org.apache.xml.serializer.ToXMLSAXHandler;
@@ -284,6 +285,12 @@ public class TransformerImpl extends Transformer
    */    
   private boolean m_incremental = false;
 
+  /**
+   * The streamed source that is being transformed, or null if the source is
+   * transformed as a whole DTM.
+   */
+  private StreamedInput m_streamedInput = null;
+
   /**
    * The flag for the setting of the source_location feature;
    * This flag should have the same value as the FEATURE_SOURCE_LOCATION feature
@@ -603,7 +610,23 @@ public class TransformerImpl extends Transformer
           fatalError(e);
         }           
       }
-      DTM dtm = mgr.getDTM(source, false, this, true, true);
+      DTM dtm;
+
+      if (m_stylesheetRoot.getStreaming()
+          && StreamedInput.isStreamable(source, mgr, m_stylesheetRoot))
+      {
+        StreamedInput streamedInput =
+          new StreamedInput(this, (DTMManagerDefault) mgr);
+
+        dtm = streamedInput.parse(source, base);
+
+        if (streamedInput.isStreaming())
+          m_streamedInput = streamedInput;
+      }
+      else
+      {
+        dtm = mgr.getDTM(source, false, this, true, true);
+      }
       dtm.setDocumentBaseURI(base);
       
       boolean hardDelete = true;  // %REVIEW% I have to think about this. -sb
@@ -614,9 +637,19 @@ public class TransformerImpl extends Transformer
       	// only a single Document node. If it could ever be an RTF or other
       	// shared DTM, look at dtm.getDocumentRoot(nodeHandle).
         this.transformNode(dtm.getDocument());
+
+        // Parse the rest of a streamed source, to report any error in it.
+        if (null != m_streamedInput)
+          m_streamedInput.close(true);
       }
       finally
       {
+        if (null != m_streamedInput)
+        {
+          m_streamedInput.close(false);
+          m_streamedInput = null;
+        }
+
         if (shouldRelease)
           mgr.release(dtm, hardDelete);
       }
@@ -3255,6 +3288,19 @@ public class TransformerImpl extends Transformer
         return m_incremental;
     }
 
+    /**
+     * Get the streamed source that is being transformed.  The
+     * xsl:apply-templates and xsl:for-each instructions run through it, so
+     * that they also select the children of the document element that are
+     * parsed later.
+     *
+     * @return The streamed source, or null if the source is transformed as
+     *         a whole DTM.
+     */
+    public StreamedInput getStreamedInput() {
+        return m_streamedInput;
+    }
+
     /**
      * @return Optimization flag
      */
@@ -1732,6 +1732,18 @@ public abstract class DTMDefaultBase implements DTM
     return m_expandedNameTable.getNamespace(expandedNameID);
   }
 
+  /**
+   * Get the table that this DTM's expanded-name IDs are drawn from. DTMs
+   * that share a table share the IDs, so tables keyed by expanded-name ID
+   * can be kept for the table rather than for each DTM.
+   *
+   * @return the expanded name table of this DTM.
+   */
+  public ExpandedNameTable getExpandedNameTable()
+  {
+    return m_expandedNameTable;
+  }
+
   /**
    * Returns the namespace type of a specific node
    * @param nodeHandle the id of the node.
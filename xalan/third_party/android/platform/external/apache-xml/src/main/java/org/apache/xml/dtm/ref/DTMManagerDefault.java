@@ -20,6 +20,8 @@
  */
 package org.apache.xml.dtm.ref;
 
+import java.util.BitSet;
+
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.transform.Source;
@@ -34,6 +36,7 @@ import org.apache.xml.dtm.DTMIterator;
 import org.apache.xml.dtm.DTMManager;
 import org.apache.xml.dtm.DTMWSFilter;
 import org.apache.xml.dtm.ref.dom2dtm.DOM2DTM;
+import org.apache.xml.dtm.ref.sax2dtm.CompactSAX2DTM;
 import org.apache.xml.dtm.ref.sax2dtm.SAX2DTM;
 import org.apache.xml.dtm.ref.sax2dtm.SAX2RTFDTM;
 import org.apache.xml.res.XMLErrorResources;
@@ -56,19 +59,14 @@ import org.xml.sax.helpers.DefaultHandler;
 /**
  * The default implementation for the DTMManager.
  *
- * %REVIEW% There is currently a reentrancy issue, since the finalizer
- * for XRTreeFrag (which runs in the GC thread) wants to call
- * DTMManager.release(), and may do so at the same time that the main
- * transformation thread is accessing the manager. Our current solution is
- * to make most of the manager's methods <code>synchronized</code>.
- * Early tests suggest that doing so is not causing a significant
- * performance hit in Xalan. However, it should be noted that there
- * is a possible alternative solution: rewrite release() so it merely
- * posts a request for release onto a threadsafe queue, and explicitly
- * process that queue on an infrequent basis during main-thread
- * activity (eg, when getDTM() is invoked). The downside of that solution
- * would be a greater delay before the DTM's storage is actually released
- * for reuse.
+ * The manager may be shared by transformations on several threads, and the
+ * finalizer for XRTreeFrag (which runs in the GC thread) calls
+ * DTMManager.release() while the transformation threads are using it. So
+ * the DTM tables are copy-on-write: addDTM() and release() lock the manager
+ * and publish new arrays, while the lookups that run for every node handle,
+ * such as getDTM(int) and getDTMIdentity(), read the current arrays without
+ * locking. DTM IDs are reserved by getFirstFreeDTMID(), so documents can be
+ * built and parsed on several threads at once.
  * */
 public class DTMManagerDefault extends DTMManager
 {
@@ -90,8 +88,11 @@ public class DTMManagerDefault extends DTMManager
    * 
    * This array grows as necessary; see addDTM(). Growth is uncommon... but
    * access needs to be blindingly fast since it's used in node addressing.
+   * 
+   * The array is never changed once it has been assigned, so it can be read
+   * without locking; addDTM() and release() replace it with a copy.
    */
-  protected DTM m_dtms[] = new DTM[256];
+  protected volatile DTM m_dtms[] = new DTM[256];
 	
   /** Map from DTM identifier numbers to offsets. For small DTMs with a 
    * single identifier, this will always be 0. In overflow addressing, where
@@ -105,8 +106,18 @@ public class DTMManagerDefault extends DTMManager
    * access needs to be blindingly fast since it's used in node addressing.
    * (And at the moment, that includes accessing it from DTMDefaultBase,
    * which is why this is not Protected or Private.)
+   * 
+   * Like m_dtms[], the array is replaced rather than changed. It is assigned
+   * before m_dtms[], so a reader that finds a DTM in m_dtms[] also sees its
+   * offset.
    */
-  int m_dtm_offsets[] = new int[256];
+  volatile int m_dtm_offsets[] = new int[256];
+
+  /**
+   * The DTM IDs handed out by getFirstFreeDTMID() that haven't been added
+   * with addDTM() yet, so that they aren't handed out twice.
+   */
+  private final BitSet m_reservedIDs = new BitSet();
 
   /**
    * The cache for XMLReader objects to be used if the user did not
@@ -144,6 +155,7 @@ public class DTMManagerDefault extends DTMManager
   {
 		if(id>=IDENT_MAX_DTMS)
 		{
+			m_reservedIDs.clear(id);
 			// TODO: %REVIEW% Not really the right error message.
 	    throw new DTMException(XMLMessages.createXMLMessage(XMLErrorResources.ER_NO_DTMIDS_AVAIL, null)); //"No more DTM IDs are available!");			 
 		}
@@ -154,6 +166,7 @@ public class DTMManagerDefault extends DTMManager
 		// handy-dandy Fast*Vectors, but this will do for now.
 		// %REVIEW%
 		int oldlen=m_dtms.length;
+		int newlen=oldlen;
 		if(oldlen<=id)
 		{
 			// Various growth strategies are possible. I think we don't want 
@@ -161,37 +174,58 @@ public class DTMManagerDefault extends DTMManager
 			// more often to get that. See also Fast*Vector classes.
 			//
 			// %REVIEW% Should throw a more diagnostic error if we go over the max...
-			int newlen=Math.min((id+256),IDENT_MAX_DTMS);
-
-			DTM new_m_dtms[] = new DTM[newlen];
-			System.arraycopy(m_dtms,0,new_m_dtms,0,oldlen);
-			m_dtms=new_m_dtms;
-			int new_m_dtm_offsets[] = new int[newlen];
-			System.arraycopy(m_dtm_offsets,0,new_m_dtm_offsets,0,oldlen);
-			m_dtm_offsets=new_m_dtm_offsets;
+			newlen=Math.min((id+256),IDENT_MAX_DTMS);
 		}
-		
-    m_dtms[id] = dtm;
-		m_dtm_offsets[id]=offset;
+
+		// Copy on write, since lookups read the arrays without locking.
+		DTM new_m_dtms[] = new DTM[newlen];
+		System.arraycopy(m_dtms,0,new_m_dtms,0,oldlen);
+		int new_m_dtm_offsets[] = new int[newlen];
+		System.arraycopy(m_dtm_offsets,0,new_m_dtm_offsets,0,oldlen);
+    new_m_dtms[id] = dtm;
+		new_m_dtm_offsets[id]=offset;
+		m_dtm_offsets=new_m_dtm_offsets;
+		m_dtms=new_m_dtms;
+		m_reservedIDs.clear(id);
     dtm.documentRegistration();
 		// The DTM should have been told who its manager was when we created it.
 		// Do we need to allow for adopting DTMs _not_ created by this manager?
   }
 
   /**
-   * Get the first free DTM ID available. %OPT% Linear search is inefficient!
+   * Get the first free DTM ID available, and reserve it until it is passed
+   * to addDTM(), so that another thread building a DTM at the same time
+   * gets a different ID. %OPT% Linear search is inefficient!
    */
   synchronized public int getFirstFreeDTMID()
   {
-    int n = m_dtms.length;
+    DTM dtms[] = m_dtms;
+    int n = dtms.length;
     for (int i = 1; i < n; i++)
     {
-      if(null == m_dtms[i])
+      if(null == dtms[i] && !m_reservedIDs.get(i))
       {
+        m_reservedIDs.set(i);
         return i;
       }
     }
-		return n; // count on addDTM() to throw exception if out of range
+		// count on addDTM() to throw exception if out of range
+		int id = m_reservedIDs.nextClearBit(n);
+		m_reservedIDs.set(id);
+		return id;
+  }
+
+  /**
+   * Release a DTM ID reserved by getFirstFreeDTMID() that won't be passed
+   * to addDTM() after all.
+   *
+   * @param id The reserved DTM ID.
+   */
+  private synchronized void releaseDTMID(int id)
+  {
+    DTM dtms[] = m_dtms;
+    if (id >= dtms.length || null == dtms[id])
+      m_reservedIDs.clear(id);
   }
 
   /**
@@ -200,6 +234,46 @@ public class DTMManagerDefault extends DTMManager
   private ExpandedNameTable m_expandedNameTable =
     new ExpandedNameTable();
 
+  /**
+   * The system property that makes getDTM() build a {@link CompactSAX2DTM},
+   * which keeps its node columns in 16-bit blocks, instead of a SAX2DTM.
+   */
+  public static final String COMPACT_PROPERTY =
+    "org.apache.xml.dtm.compact";
+
+  /** True if SAX and stream sources are built into CompactSAX2DTMs. */
+  private static final boolean m_compact = getCompactProperty();
+
+  /**
+   * The pool of prefixed qualified names that the CompactSAX2DTMs built by
+   * this manager share. Documents may be built on several threads, so
+   * adding a name is synchronized; looking one up reads a Vector, which is
+   * already safe.
+   */
+  private final DTMStringPool m_qnamePool = new DTMStringPool()
+  {
+    public synchronized int stringToIndex(String s)
+    {
+      return super.stringToIndex(s);
+    }
+  };
+
+  /**
+   * Read the {@link #COMPACT_PROPERTY} system property, which is false if
+   * it isn't set or can't be read.
+   */
+  private static boolean getCompactProperty()
+  {
+    try
+    {
+      return "true".equals(System.getProperty(COMPACT_PROPERTY));
+    }
+    catch (SecurityException se)
+    {
+      return false;
+    }
+  }
+
   /**
    * Constructor DTMManagerDefault
    *
@@ -233,7 +307,7 @@ public class DTMManagerDefault extends DTMManager
    *
    * @return a non-null DTM reference.
    */
-  synchronized public DTM getDTM(Source source, boolean unique,
+  public DTM getDTM(Source source, boolean unique,
                                  DTMWSFilter whiteSpaceFilter,
                                  boolean incremental, boolean doIndexing)
   {
@@ -244,8 +318,38 @@ public class DTMManagerDefault extends DTMManager
                          " source: "+source.getSystemId()
                          );
 
-    XMLStringFactory xstringFactory = m_xsf;
     int dtmPos = getFirstFreeDTMID();
+    boolean created = false;
+
+    try
+    {
+      DTM dtm = createDTM(source, unique, whiteSpaceFilter, incremental,
+                          doIndexing, dtmPos);
+      created = true;
+      return dtm;
+    }
+    finally
+    {
+      // Don't leak the reserved ID if the DTM couldn't be built.
+      if (!created)
+        releaseDTMID(dtmPos);
+    }
+  }
+
+  /**
+   * Build the DTM for getDTM(Source, ...), and add it to the DTM table
+   * at a DTM ID reserved by getFirstFreeDTMID().
+   *
+   * @param dtmPos The reserved DTM ID.
+   *
+   * @return a non-null DTM reference.
+   */
+  private DTM createDTM(Source source, boolean unique,
+                        DTMWSFilter whiteSpaceFilter,
+                        boolean incremental, boolean doIndexing, int dtmPos)
+  {
+
+    XMLStringFactory xstringFactory = m_xsf;
     int documentID = dtmPos << IDENT_DTM_NODE_BITS;
 
     if ((null != source) && source instanceof DOMSource)
@@ -315,6 +419,11 @@ public class DTMManagerDefault extends DTMManager
           }
           **************************************************************/
           // Create the basic SAX2DTM.
+          else if (m_compact) {
+            dtm = new CompactSAX2DTM(this, source, documentID,
+                                     whiteSpaceFilter, xstringFactory,
+                                     doIndexing);
+          }
           else {
             dtm = new SAX2DTM(this, source, documentID, whiteSpaceFilter,
                               xstringFactory, doIndexing);
@@ -353,6 +462,18 @@ public class DTMManagerDefault extends DTMManager
               }
             }
 
+            if (coParser==null && null != xmlSource
+                && !(source instanceof SAXSource
+                     && null != ((SAXSource) source).getXMLReader())) {
+              // Pull the document in this thread, rather than running a
+              // reader on a second one, unless the caller chose the reader.
+              // A document with a DOCTYPE is still handed to the reader,
+              // which reports ID attributes and unparsed entities.
+              IncrementalSAXSource_Pull pull = new IncrementalSAXSource_Pull();
+              pull.setXMLReader(reader);
+              coParser = pull;
+            }
+
             if (coParser==null ) {
               // Create a IncrementalSAXSource to run on the secondary thread.
               if (null == reader) {
@@ -393,10 +514,12 @@ public class DTMManagerDefault extends DTMManager
               return dtm;
             }
 
-            if (null == reader.getErrorHandler()) {
-              reader.setErrorHandler(dtm);
+            if (!(coParser instanceof IncrementalSAXSource_Pull)) {
+              if (null == reader.getErrorHandler()) {
+                reader.setErrorHandler(dtm);
+              }
+              reader.setDTDHandler(dtm);
             }
-            reader.setDTDHandler(dtm);
 
             try {
               // Launch parsing coroutine.  Launches a second thread,
@@ -488,7 +611,7 @@ public class DTMManagerDefault extends DTMManager
    *
    * @return a valid DTM handle.
    */
-  synchronized public int getDTMHandleFromNode(org.w3c.dom.Node node)
+  public int getDTMHandleFromNode(org.w3c.dom.Node node)
   {
     if(null == node)
       throw new IllegalArgumentException(XMLMessages.createXMLMessage(XMLErrorResources.ER_NODE_NON_NULL, null)); //"node must be non-null for getDTMHandleFromNode!");
@@ -519,17 +642,53 @@ public class DTMManagerDefault extends DTMManager
 			// POSSIBLE SOLUTIONS: 
 			//   Generate a list of _unique_ DTM objects?
 			//   Have each DTM cache last DOM node search?
-			int max = m_dtms.length;
+			int handle=findHandleOfNode(node);
+			if(handle!=DTM.NULL) return handle;
+
+			// Create the DTM with the manager locked, so that two threads
+			// don't both wrap the same DOM. Look again, since another thread
+			// may have created it while we were searching.
+			synchronized(this)
+			{
+				handle=findHandleOfNode(node);
+				if(handle!=DTM.NULL) return handle;
+				return createHandleOfNode(node);
+			}
+    }
+  }
+
+  /**
+   * Find a W3C DOM node in the DOM2DTMs that this manager manages.
+   *
+   * @param node Non-null reference to a DOM node.
+   *
+   * @return a valid DTM handle, or DTM.NULL if no DTM contains the node.
+   */
+  private int findHandleOfNode(org.w3c.dom.Node node)
+  {
+			DTM dtms[] = m_dtms;
+			int max = dtms.length;
       for(int i = 0; i < max; i++)
         {
-          DTM thisDTM=m_dtms[i];
+          DTM thisDTM=dtms[i];
           if((null != thisDTM) && thisDTM instanceof DOM2DTM)
           {
             int handle=((DOM2DTM)thisDTM).getHandleOfNode(node);
             if(handle!=DTM.NULL) return handle;
           }
          }
+			return DTM.NULL;
+  }
 
+  /**
+   * Create a DOM2DTM for the document that contains a W3C DOM node.
+   *
+   * @param node Non-null reference to a DOM node.
+   *
+   * @return a valid DTM handle.
+   */
+  private int createHandleOfNode(org.w3c.dom.Node node)
+  {
 			// Not found; generate a new DTM.
 			//
 			// %REVIEW% Is this really desirable, or should we return null
@@ -576,7 +735,6 @@ public class DTMManagerDefault extends DTMManager
         throw new RuntimeException(XMLMessages.createXMLMessage(XMLErrorResources.ER_COULD_NOT_RESOLVE_NODE, null)); //"Could not resolve the node to a handle!");
 
       return handle;
-    }
   }
 
   /**
@@ -593,7 +751,7 @@ public class DTMManagerDefault extends DTMManager
    *
    * @return non-null XMLReader reference ready to parse.
    */
-  synchronized public XMLReader getXMLReader(Source inputSource)
+  public XMLReader getXMLReader(Source inputSource)
   {
 
     try
@@ -627,7 +785,7 @@ public class DTMManagerDefault extends DTMManager
    *
    * @param reader The XMLReader to be released.
    */
-  synchronized public void releaseXMLReader(XMLReader reader) {
+  public void releaseXMLReader(XMLReader reader) {
     if (m_readerManager != null) {
       m_readerManager.releaseXMLReader(reader);
     }
@@ -640,7 +798,7 @@ public class DTMManagerDefault extends DTMManager
    *
    * @return a reference to the DTM object containing this node.
    */
-  synchronized public DTM getDTM(int nodeHandle)
+  public DTM getDTM(int nodeHandle)
   {
     try
     {
@@ -666,7 +824,7 @@ public class DTMManagerDefault extends DTMManager
    * @return The DTM ID (as the high bits of a NodeHandle, not as our
    * internal index), or -1 if the DTM doesn't belong to this manager.
    */
-  synchronized public int getDTMIdentity(DTM dtm)
+  public int getDTMIdentity(DTM dtm)
   {
 	// Shortcut using DTMDefaultBase's extension hooks
 	// %REVIEW% Should the lookup be part of the basic DTM API?
@@ -679,13 +837,15 @@ public class DTMManagerDefault extends DTMManager
 			return -1;
 	}
 				
-    int n = m_dtms.length;
+    DTM dtms[] = m_dtms;
+    int offsets[] = m_dtm_offsets;
+    int n = dtms.length;
 
     for (int i = 0; i < n; i++)
     {
-      DTM tdtm = m_dtms[i];
+      DTM tdtm = dtms[i];
 
-      if (tdtm == dtm && m_dtm_offsets[i]==0)
+      if (tdtm == dtm && offsets[i]==0)
         return i << IDENT_DTM_NODE_BITS;
     }
 
@@ -707,7 +867,7 @@ public class DTMManagerDefault extends DTMManager
    * @return true if the DTM was released, false if shouldHardDelete was set
    * and we decided not to.
    */
-  synchronized public boolean release(DTM dtm, boolean shouldHardDelete)
+  public boolean release(DTM dtm, boolean shouldHardDelete)
   {
     if(DEBUG)
     {
@@ -733,23 +893,36 @@ public class DTMManagerDefault extends DTMManager
 		// painful.
 		//
 		// %REVIEW% Should the lookup move up into the basic DTM API?
+		removeDTM(dtm);
+
+    dtm.documentRelease();
+    return true;
+  }
+
+  /**
+   * Remove a DTM from the DTM table, under all of its DTM IDs.
+   *
+   * @param dtm the DTM to be removed.
+   */
+  private synchronized void removeDTM(DTM dtm)
+  {
+		// Copy on write, since lookups read the array without locking.
+		DTM new_m_dtms[] = m_dtms.clone();
 		if(dtm instanceof DTMDefaultBase)
 		{
 			org.apache.xml.utils.SuballocatedIntVector ids=((DTMDefaultBase)dtm).getDTMIDs();
 			for(int i=ids.size()-1;i>=0;--i)
-				m_dtms[ids.elementAt(i)>>>DTMManager.IDENT_DTM_NODE_BITS]=null;
+				new_m_dtms[ids.elementAt(i)>>>DTMManager.IDENT_DTM_NODE_BITS]=null;
 		}
 		else
 		{
 			int i = getDTMIdentity(dtm);
 		    if (i >= 0)
 			{
-				m_dtms[i >>> DTMManager.IDENT_DTM_NODE_BITS] = null;
+				new_m_dtms[i >>> DTMManager.IDENT_DTM_NODE_BITS] = null;
 			}
 		}
-
-    dtm.documentRelease();
-    return true;
+		m_dtms=new_m_dtms;
   }
 
   /**
@@ -758,7 +931,7 @@ public class DTMManagerDefault extends DTMManager
    *
    * NEEDSDOC (createDocumentFragment) @return
    */
-  synchronized public DTM createDocumentFragment()
+  public DTM createDocumentFragment()
   {
 
     try
@@ -789,7 +962,7 @@ public class DTMManagerDefault extends DTMManager
    *
    * NEEDSDOC (createDTMIterator) @return
    */
-  synchronized public DTMIterator createDTMIterator(int whatToShow, DTMFilter filter,
+  public DTMIterator createDTMIterator(int whatToShow, DTMFilter filter,
                                        boolean entityReferenceExpansion)
   {
 
@@ -806,7 +979,7 @@ public class DTMManagerDefault extends DTMManager
    *
    * NEEDSDOC (createDTMIterator) @return
    */
-  synchronized public DTMIterator createDTMIterator(String xpathString,
+  public DTMIterator createDTMIterator(String xpathString,
                                        PrefixResolver presolver)
   {
 
@@ -822,7 +995,7 @@ public class DTMManagerDefault extends DTMManager
    *
    * NEEDSDOC (createDTMIterator) @return
    */
-  synchronized public DTMIterator createDTMIterator(int node)
+  public DTMIterator createDTMIterator(int node)
   {
 
     /** @todo: implement this org.apache.xml.dtm.DTMManager abstract method */
@@ -838,7 +1011,7 @@ public class DTMManagerDefault extends DTMManager
    *
    * NEEDSDOC (createDTMIterator) @return
    */
-  synchronized public DTMIterator createDTMIterator(Object xpathCompiler, int pos)
+  public DTMIterator createDTMIterator(Object xpathCompiler, int pos)
   {
 
     /** @todo: implement this org.apache.xml.dtm.DTMManager abstract method */
@@ -856,4 +1029,16 @@ public class DTMManagerDefault extends DTMManager
   {
     return m_expandedNameTable;
   }
+
+  /**
+   * Return the pool of prefixed qualified names shared by the
+   * CompactSAX2DTMs that this manager builds. It is safe to use from
+   * several threads.
+   *
+   * @return the shared qualified name pool.
+   */
+  public DTMStringPool getQNamePool()
+  {
+    return m_qnamePool;
+  }
 }
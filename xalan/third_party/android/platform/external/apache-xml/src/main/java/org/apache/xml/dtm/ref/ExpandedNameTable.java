@@ -33,20 +33,30 @@ import org.apache.xml.dtm.DTM;
  * are combined in getExpandedTypeID() method to share the same hash calculation
  * code. We only need to implement the rehash() interface which is used to
  * expand the hash table.
+ *
+ * The table is shared by the DTMs of a DTMManagerDefault, which may be built
+ * on several threads. Lookups don't lock. Adding an expanded name is
+ * synchronized, and fills in its extended type and hash entry before the
+ * volatile count of types is incremented. A lookup reads the count first and
+ * ignores the entries it doesn't cover yet, so every entry it returns was
+ * completely written; a missed entry is found again under the lock.
  */
 public class ExpandedNameTable
 {
 
   /** Array of extended types for this document   */
-  private ExtendedType[] m_extendedTypes;
+  private volatile ExtendedType[] m_extendedTypes;
 
   /** The initial size of the m_extendedTypes array */
   private static int m_initialSize = 128;
   
-  /** Next available extended type   */
+  /**
+   * Next available extended type. Incrementing it publishes the entries
+   * of the type to lookups that don't lock.
+   */
   // %REVIEW% Since this is (should be) always equal 
   // to the length of m_extendedTypes, do we need this? 
-  private int m_nextType;
+  private volatile int m_nextType;
 
   // These are all the types prerotated, for caller convenience.
   public static final int ELEMENT = ((int)DTM.ELEMENT_NODE) ;
@@ -63,10 +73,6 @@ public class ExpandedNameTable
   public static final int NOTATION = ((int)DTM.NOTATION_NODE) ;
   public static final int NAMESPACE = ((int)DTM.NAMESPACE_NODE) ;
 
-  /** Workspace for lookup. NOT THREAD SAFE!
-   * */
-  ExtendedType hashET = new ExtendedType(-1, "", "");
-
   /** The array to store the default extended types. */
   private static ExtendedType[] m_defaultExtendedTypes;
 
@@ -99,7 +105,7 @@ public class ExpandedNameTable
    * The internal array to store the hash entries.
    * Each array member is a slot for a hash bucket.
    */
-  private HashEntry[] m_table;
+  private volatile HashEntry[] m_table;
 
   /**
    * Init default values
@@ -186,27 +192,67 @@ public class ExpandedNameTable
     // Calculate the hash code
     int hash = type + namespace.hashCode() + localName.hashCode();
     
-    // Redefine the hashET object to represent the new expanded name.
-    hashET.redefine(type, namespace, localName, hash);
-    
+    // Look up the expanded name in the hash table. Return the id if
+    // the expanded name is already in the hash table.
+    int id = lookup(namespace, localName, type, hash);
+
+    if (id != DTM.NULL || searchOnly)
+    {
+      return id;
+    }
+
+    return addExpandedTypeID(namespace, localName, type, hash);
+  }
+
+  /**
+   * Look up an expanded name in the hash table.
+   *
+   * @return the expanded-name id, or DTM.NULL if the table doesn't have it.
+   */
+  private int lookup(String namespace, String localName, int type, int hash)
+  {
+    // Read the count before the table: only the entries whose IDs it covers
+    // are known to be completely written.
+    int count = m_nextType;
+    HashEntry[] table = m_table;
+
     // Calculate the index into the HashEntry table.
-    int index = hash % m_capacity;
+    int index = hash % table.length;
     if (index < 0)
       index = -index;
 
-    // Look up the expanded name in the hash table. Return the id if
-    // the expanded name is already in the hash table.
-    for (HashEntry e = m_table[index]; e != null; e = e.next)
+    for (HashEntry e = table[index]; e != null; e = e.next)
     {
-      if (e.hash == hash && e.key.equals(hashET))
+      if (e.hash == hash && e.value < count && e.key.getNodeType() == type
+          && e.key.getLocalName().equals(localName)
+          && e.key.getNamespace().equals(namespace))
         return e.value;
     }
-    
-    if (searchOnly)
+    return DTM.NULL;
+  }
+
+  /**
+   * Add an expanded name that wasn't found in the hash table, unless another
+   * thread added it first.
+   *
+   * @return the expanded-name id of the node.
+   */
+  private synchronized int addExpandedTypeID(String namespace,
+                                             String localName, int type,
+                                             int hash)
+  {
+    int id = lookup(namespace, localName, type, hash);
+
+    if (id != DTM.NULL)
     {
-      return DTM.NULL;
+      return id;
     }
 
+    // Calculate the index into the HashEntry table.
+    int index = hash % m_capacity;
+    if (index < 0)
+      index = -index;
+
     // Expand the internal HashEntry array if necessary.
     if (m_nextType > m_threshold) {
       rehash();
@@ -219,21 +265,27 @@ public class ExpandedNameTable
     ExtendedType newET = new ExtendedType(type, namespace, localName, hash);
     
     // Expand the m_extendedTypes array if necessary.
-    if (m_extendedTypes.length == m_nextType) {
-        ExtendedType[] newArray = new ExtendedType[m_extendedTypes.length * 2];
-        System.arraycopy(m_extendedTypes, 0, newArray, 0,
-                         m_extendedTypes.length);
-        m_extendedTypes = newArray;
+    ExtendedType[] extendedTypes = m_extendedTypes;
+    if (extendedTypes.length == m_nextType) {
+        ExtendedType[] newArray = new ExtendedType[extendedTypes.length * 2];
+        System.arraycopy(extendedTypes, 0, newArray, 0,
+                         extendedTypes.length);
+        extendedTypes = newArray;
     }
     
-    m_extendedTypes[m_nextType] = newET;
+    int nextType = m_nextType;
+    extendedTypes[nextType] = newET;
+    m_extendedTypes = extendedTypes;
     
     // Create a new hash entry for the new ExtendedType and put it into 
     // the table.
-    HashEntry entry = new HashEntry(newET, m_nextType, hash, m_table[index]);
-    m_table[index] = entry;
+    HashEntry[] table = m_table;
+    table[index] = new HashEntry(newET, nextType, hash, table[index]);
 
-    return m_nextType++;
+    // Publish the entries to unsynchronized lookups.
+    m_nextType = nextType + 1;
+
+    return nextType;
   }
 
   /**
@@ -251,22 +303,21 @@ public class ExpandedNameTable
     m_capacity = newCapacity;
     m_threshold = (int)(newCapacity * m_loadFactor);
       
-    m_table = new HashEntry[newCapacity];
+    // Copy the entries, since lookups may still be walking the old table.
+    HashEntry[] newTable = new HashEntry[newCapacity];
     for (int i = oldCapacity-1; i >=0 ; i--)
     {
-      for (HashEntry old = oldTable[i]; old != null; )
+      for (HashEntry e = oldTable[i]; e != null; e = e.next)
       {
-        HashEntry e = old;
-        old = old.next;
-          
         int newIndex = e.hash % newCapacity;
         if (newIndex < 0)
           newIndex = -newIndex;
           
-        e.next = m_table[newIndex];
-        m_table[newIndex] = e;
+        newTable[newIndex] =
+          new HashEntry(e.key, e.value, e.hash, newTable[newIndex]);
       }
     }
+    m_table = newTable;
   }
 
   /**
@@ -374,10 +425,10 @@ public class ExpandedNameTable
    */
   private static final class HashEntry
   {
-    ExtendedType key;
-    int value;
-    int hash;
-    HashEntry next;
+    final ExtendedType key;
+    final int value;
+    final int hash;
+    final HashEntry next;
       
     protected HashEntry(ExtendedType key, int value, int hash, HashEntry next)
     {
@@ -0,0 +1,941 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the  "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * $Id$
+ */
+
+package org.apache.xml.dtm.ref;
+
+import java.io.ByteArrayOutputStream;
+import java.io.CharArrayWriter;
+import java.io.FilterInputStream;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.net.URL;
+import java.util.Vector;
+
+import org.apache.xml.utils.IntVector;
+import org.kxml2.io.KXmlParser;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.DTDHandler;
+import org.xml.sax.InputSource;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.ext.LexicalHandler;
+import org.xml.sax.helpers.AttributesImpl;
+import org.xmlpull.v1.XmlPullParser;
+import org.xmlpull.v1.XmlPullParserException;
+
+/**
+ * <p>IncrementalSAXSource_Pull implements IncrementalSAXSource with an
+ * XmlPullParser. Each deliverMoreNodes() request pulls a few more tokens
+ * from the parser and sends them to the SAX handlers in the calling
+ * thread, so unlike IncrementalSAXSource_Filter it needs no second thread
+ * and no coroutine hand-offs.</p>
+ *
+ * <p>The pull parser doesn't report attribute types, so it can't tell
+ * which attributes are IDs, and it reads neither external DTDs nor
+ * unparsed entity declarations. A document with a DOCTYPE is therefore
+ * handed to the XMLReader set by setXMLReader(), through an
+ * IncrementalSAXSource_Filter, as soon as the DOCTYPE is seen. Nothing
+ * is sent to the handlers before then; the prolog is read ahead and the
+ * input read so far is kept, so the XMLReader parses the whole document.
+ * Without an XMLReader, such a document is pulled anyway: its internal
+ * DTD subset is used for entities and default attributes, the latter
+ * looked up by local name.</p>
+ *
+ * <p>Like IncrementalSAXSource_Filter, this object parses a single
+ * document and is not reusable.</p>
+ * @xsl.usage internal
+ */
+public class IncrementalSAXSource_Pull
+  implements IncrementalSAXSource, Locator
+{
+
+  /** The handler that receives the content events. */
+  private ContentHandler m_contentHandler = null;
+
+  /** The handler that receives comments and CDATA sections. */
+  private LexicalHandler m_lexicalHandler = null;
+
+  /** The DTD handler, which only receives events from m_fallback. */
+  private DTDHandler m_dtdHandler = null;
+
+  /** The reader for documents with a DOCTYPE, or null to pull them too. */
+  private XMLReader m_reader = null;
+
+  /**
+   * The source that parses the document with m_reader once it has been
+   * found to have a DOCTYPE, or null.
+   */
+  private IncrementalSAXSource m_fallback = null;
+
+  /** The parser, or null before startParse(). */
+  private XmlPullParser m_parser = null;
+
+  /** The stream opened for a system ID, to be closed at the end. */
+  private InputStream m_openedStream = null;
+
+  /** The caller's byte stream, kept until the first element, or null. */
+  private PrologInputStream m_prologStream = null;
+
+  /** The caller's character stream, kept until the first element, or null. */
+  private PrologReader m_prologReader = null;
+
+  /** The encoding the caller gave for the byte stream, or null. */
+  private String m_encoding = null;
+
+  /** The public ID of the document, for the Locator. */
+  private String m_publicId = null;
+
+  /** The system ID of the document, for the Locator. */
+  private String m_systemId = null;
+
+  /** The number of tokens to deliver for each deliverMoreNodes() request. */
+  private int m_frequency = 5;
+
+  /** True once startDocument() has been sent. */
+  private boolean m_started = false;
+
+  /**
+   * True once the input has been read to the end, or dropped by
+   * deliverMoreNodes(false).
+   */
+  private boolean m_noMoreEvents = false;
+
+  /** The attributes of the current start tag, reused for each one. */
+  private final AttributesImpl m_attributes = new AttributesImpl();
+
+  /** A buffer that text is copied into, to be sent as characters. */
+  private char[] m_chars = new char[256];
+
+  /**
+   * Create an IncrementalSAXSource_Pull, which is bound to a document
+   * by startParse().
+   */
+  public IncrementalSAXSource_Pull()
+  {
+  }
+
+  /**
+   * Register a SAX-style content handler for us to output to.
+   *
+   * @param handler The content handler.
+   */
+  public void setContentHandler(ContentHandler handler)
+  {
+    m_contentHandler = handler;
+  }
+
+  /**
+   * Register a SAX-style lexical handler for us to output to.
+   *
+   * @param handler The lexical handler.
+   */
+  public void setLexicalHandler(LexicalHandler handler)
+  {
+    m_lexicalHandler = handler;
+  }
+
+  /**
+   * Register a SAX-style DTD handler for us to output to.
+   *
+   * @param handler The DTD handler.
+   */
+  public void setDTDHandler(DTDHandler handler)
+  {
+    m_dtdHandler = handler;
+  }
+
+  /**
+   * Set the XMLReader that parses documents which have a DOCTYPE.
+   *
+   * @param reader The reader, or null to pull those documents too.
+   */
+  public void setXMLReader(XMLReader reader)
+  {
+    m_reader = reader;
+  }
+
+  /**
+   * Set the number of tokens to deliver for each request.
+   *
+   * @param events The number of tokens, at least 1.
+   */
+  public void setReturnFrequency(int events)
+  {
+    m_frequency = (events < 1) ? 1 : events;
+  }
+
+  /**
+   * Bind the parser to a document. Nothing is parsed until the first
+   * deliverMoreNodes() request.
+   *
+   * @param source The document to parse.
+   *
+   * @throws SAXException if parsing has already started, or the document
+   * can't be opened.
+   */
+  public void startParse(InputSource source) throws SAXException
+  {
+
+    if (null != m_parser)
+      throw new SAXException("Parse already in progress");
+
+    m_publicId = source.getPublicId();
+    m_systemId = source.getSystemId();
+
+    try
+    {
+      XmlPullParser parser = new KXmlParser();
+
+      parser.setFeature(XmlPullParser.FEATURE_PROCESS_NAMESPACES, true);
+      parser.setFeature(XmlPullParser.FEATURE_PROCESS_DOCDECL, true);
+
+      Reader reader = source.getCharacterStream();
+      InputStream stream = source.getByteStream();
+
+      m_encoding = source.getEncoding();
+
+      if (null != reader)
+      {
+        if (null != m_reader)
+          reader = m_prologReader = new PrologReader(reader);
+
+        parser.setInput(reader);
+      }
+      else
+      {
+        if (null == stream)
+        {
+          if (null == m_systemId)
+            throw new SAXException("No input for the document");
+
+          stream = m_openedStream = new URL(m_systemId).openStream();
+        }
+        else if (null != m_reader)
+          stream = m_prologStream = new PrologInputStream(stream);
+
+        parser.setInput(stream, m_encoding);
+      }
+
+      m_parser = parser;
+    }
+    catch (XmlPullParserException xppe)
+    {
+      throw toSAXException(xppe);
+    }
+    catch (IOException ioe)
+    {
+      throw new SAXException(ioe);
+    }
+  }
+
+  /**
+   * Deliver the next few SAX events, or drop the rest of the document.
+   *
+   * @param parsemore If true, deliver more events; if false, stop and
+   * close the input.
+   *
+   * @return Boolean.TRUE if there may be more events, Boolean.FALSE if
+   * the document has ended or was dropped, or the Exception that stopped
+   * the parse.
+   */
+  public Object deliverMoreNodes(boolean parsemore)
+  {
+
+    if (null != m_fallback)
+      return m_fallback.deliverMoreNodes(parsemore);
+
+    if (m_noMoreEvents)
+      return Boolean.FALSE;
+
+    if (!parsemore || null == m_parser)
+    {
+      finish();
+      return Boolean.FALSE;
+    }
+
+    try
+    {
+      int type = m_started ? m_parser.nextToken() : startDocument();
+
+      m_started = true;
+
+      if (null != m_fallback)
+        return m_fallback.deliverMoreNodes(true);
+
+      for (int i = m_frequency; i > 0; i--)
+      {
+        if (i < m_frequency)
+          type = m_parser.nextToken();
+
+        if (!deliverToken(type))
+        {
+          finish();
+          return Boolean.FALSE;
+        }
+      }
+
+      return Boolean.TRUE;
+    }
+    catch (XmlPullParserException xppe)
+    {
+      finish();
+      return toSAXException(xppe);
+    }
+    catch (Exception e)
+    {
+      finish();
+      return e;
+    }
+  }
+
+  /**
+   * Read the prolog, up to the document element or the DOCTYPE. If there
+   * is a DOCTYPE and an XMLReader to parse it with, start m_fallback on
+   * the document. Otherwise send startDocument() and the comments and
+   * processing instructions of the prolog.
+   *
+   * @return the type of the token that ended the prolog, which is yet to
+   * be delivered.
+   *
+   * @throws XmlPullParserException
+   * @throws IOException
+   * @throws SAXException
+   */
+  private int startDocument()
+          throws XmlPullParserException, IOException, SAXException
+  {
+
+    final XmlPullParser parser = m_parser;
+    IntVector types = new IntVector(4);
+    Vector texts = new Vector(4);
+    int type;
+
+    while (true)
+    {
+      type = parser.nextToken();
+
+      if (type == XmlPullParser.COMMENT
+          || type == XmlPullParser.PROCESSING_INSTRUCTION)
+      {
+        types.addElement(type);
+        texts.addElement(parser.getText());
+      }
+      else if (type != XmlPullParser.IGNORABLE_WHITESPACE)
+        break;
+    }
+
+    if (type == XmlPullParser.DOCDECL && null != m_reader)
+    {
+      startFallback();
+      return type;
+    }
+
+    // The input no longer needs to be kept.
+    if (null != m_prologStream)
+      m_prologStream.stopRecording();
+
+    if (null != m_prologReader)
+      m_prologReader.stopRecording();
+
+    if (null != m_contentHandler)
+    {
+      m_contentHandler.setDocumentLocator(this);
+      m_contentHandler.startDocument();
+    }
+
+    for (int i = 0; i < types.size(); i++)
+    {
+      if (types.elementAt(i) == XmlPullParser.COMMENT)
+        comment((String) texts.elementAt(i));
+      else
+        processingInstruction((String) texts.elementAt(i));
+    }
+
+    return type;
+  }
+
+  /**
+   * Hand the document to an IncrementalSAXSource_Filter over m_reader,
+   * replaying the input the pull parser has read so far.
+   *
+   * @throws SAXException
+   */
+  private void startFallback() throws SAXException
+  {
+
+    InputSource source = new InputSource(m_systemId);
+
+    source.setPublicId(m_publicId);
+
+    if (null != m_prologStream)
+    {
+      source.setByteStream(m_prologStream.rewind());
+      source.setEncoding(m_encoding);
+    }
+    else if (null != m_prologReader)
+      source.setCharacterStream(m_prologReader.rewind());
+
+    // A stream opened here is opened again by the reader from the system ID.
+    finish();
+
+    IncrementalSAXSource_Filter filter = new IncrementalSAXSource_Filter();
+
+    filter.setXMLReader(m_reader);
+    filter.setContentHandler(m_contentHandler);
+    filter.setLexicalHandler(m_lexicalHandler);
+    filter.setDTDHandler(m_dtdHandler);
+    filter.setReturnFrequency(m_frequency);
+
+    m_fallback = filter;
+    filter.startParse(source);
+  }
+
+  /**
+   * Send the current token of the parser on.
+   *
+   * @param type The type of the token.
+   *
+   * @return false if the token was the end of the document.
+   *
+   * @throws XmlPullParserException
+   * @throws IOException
+   * @throws SAXException
+   */
+  private boolean deliverToken(int type)
+          throws XmlPullParserException, IOException, SAXException
+  {
+
+    final XmlPullParser parser = m_parser;
+
+    switch (type)
+    {
+    case XmlPullParser.START_TAG :
+      startElement(parser);
+      break;
+    case XmlPullParser.END_TAG :
+      endElement(parser);
+      break;
+    case XmlPullParser.TEXT :
+      characters(parser.getText());
+      break;
+    case XmlPullParser.CDSECT :
+      if (null != m_lexicalHandler)
+        m_lexicalHandler.startCDATA();
+      characters(parser.getText());
+      if (null != m_lexicalHandler)
+        m_lexicalHandler.endCDATA();
+      break;
+    case XmlPullParser.ENTITY_REF :
+    {
+      // A declared entity has been pushed back into the input, leaving
+      // only the text of a predefined or character reference here.
+      String text = parser.getText();
+
+      if (null != text && text.equals("&" + parser.getName() + ";"))
+        throw new SAXParseException("Undeclared entity: " + text, this);
+
+      characters(text);
+      break;
+    }
+    case XmlPullParser.IGNORABLE_WHITESPACE :
+      // Only reported outside the document element, where SAX has no text.
+      break;
+    case XmlPullParser.PROCESSING_INSTRUCTION :
+      processingInstruction(parser.getText());
+      break;
+    case XmlPullParser.COMMENT :
+      comment(parser.getText());
+      break;
+    case XmlPullParser.END_DOCUMENT :
+      if (null != m_contentHandler)
+        m_contentHandler.endDocument();
+      return false;
+    default :
+      // DOCDECL and the XML declaration carry nothing for the DTM.
+      break;
+    }
+
+    return true;
+  }
+
+  /**
+   * Send the namespace mappings and startElement event of a start tag.
+   *
+   * @throws XmlPullParserException
+   * @throws SAXException
+   */
+  private void startElement(XmlPullParser parser)
+          throws XmlPullParserException, SAXException
+  {
+
+    if (null == m_contentHandler)
+      return;
+
+    final int depth = parser.getDepth();
+    final int nsEnd = parser.getNamespaceCount(depth);
+
+    for (int i = parser.getNamespaceCount(depth - 1); i < nsEnd; i++)
+    {
+      String prefix = parser.getNamespacePrefix(i);
+
+      m_contentHandler.startPrefixMapping((null == prefix) ? "" : prefix,
+                                          parser.getNamespaceUri(i));
+    }
+
+    final AttributesImpl atts = m_attributes;
+    final int n = parser.getAttributeCount();
+
+    atts.clear();
+
+    for (int i = 0; i < n; i++)
+    {
+      String localName = parser.getAttributeName(i);
+
+      atts.addAttribute(parser.getAttributeNamespace(i), localName,
+                        qName(parser.getAttributePrefix(i), localName),
+                        parser.getAttributeType(i),
+                        parser.getAttributeValue(i));
+    }
+
+    String localName = parser.getName();
+
+    m_contentHandler.startElement(parser.getNamespace(), localName,
+                                  qName(parser.getPrefix(), localName), atts);
+  }
+
+  /**
+   * Send the endElement event and namespace mappings of an end tag.
+   *
+   * @throws XmlPullParserException
+   * @throws SAXException
+   */
+  private void endElement(XmlPullParser parser)
+          throws XmlPullParserException, SAXException
+  {
+
+    if (null == m_contentHandler)
+      return;
+
+    String localName = parser.getName();
+
+    m_contentHandler.endElement(parser.getNamespace(), localName,
+                                qName(parser.getPrefix(), localName));
+
+    final int depth = parser.getDepth();
+    final int nsStart = parser.getNamespaceCount(depth - 1);
+
+    for (int i = parser.getNamespaceCount(depth) - 1; i >= nsStart; i--)
+    {
+      String prefix = parser.getNamespacePrefix(i);
+
+      m_contentHandler.endPrefixMapping((null == prefix) ? "" : prefix);
+    }
+  }
+
+  /**
+   * Send text as a characters event.
+   *
+   * @throws SAXException
+   */
+  private void characters(String text) throws SAXException
+  {
+
+    if (null == m_contentHandler || null == text || text.length() == 0)
+      return;
+
+    int length = copy(text);
+
+    m_contentHandler.characters(m_chars, 0, length);
+  }
+
+  /**
+   * Send text as a comment event.
+   *
+   * @throws SAXException
+   */
+  private void comment(String text) throws SAXException
+  {
+
+    if (null == m_lexicalHandler)
+      return;
+
+    int length = copy(text);
+
+    m_lexicalHandler.comment(m_chars, 0, length);
+  }
+
+  /**
+   * Send the text of a processing instruction, which is its target
+   * followed by its data, as a processingInstruction event.
+   *
+   * @throws SAXException
+   */
+  private void processingInstruction(String text) throws SAXException
+  {
+
+    if (null == m_contentHandler)
+      return;
+
+    int length = text.length();
+    int end = 0;
+
+    while (end < length && !isWhiteSpace(text.charAt(end)))
+      end++;
+
+    int start = end;
+
+    while (start < length && isWhiteSpace(text.charAt(start)))
+      start++;
+
+    m_contentHandler.processingInstruction(text.substring(0, end),
+                                           text.substring(start));
+  }
+
+  /**
+   * Tell if a character is XML white space.
+   */
+  private static boolean isWhiteSpace(char c)
+  {
+    return c == ' ' || c == '\t' || c == '\n' || c == '\r';
+  }
+
+  /**
+   * Build the qualified name for a prefix and local name.
+   */
+  private static String qName(String prefix, String localName)
+  {
+    return (null == prefix || prefix.length() == 0)
+           ? localName : prefix + ':' + localName;
+  }
+
+  /**
+   * Copy a string into m_chars, growing it if needed.
+   *
+   * @return the length of the string.
+   */
+  private int copy(String text)
+  {
+
+    int length = text.length();
+
+    if (length > m_chars.length)
+      m_chars = new char[Math.max(length, m_chars.length * 2)];
+
+    text.getChars(0, length, m_chars, 0);
+
+    return length;
+  }
+
+  /**
+   * Stop delivering events and close the stream opened for the document.
+   */
+  private void finish()
+  {
+
+    m_noMoreEvents = true;
+    m_parser = null;
+
+    if (null != m_openedStream)
+    {
+      try
+      {
+        m_openedStream.close();
+      }
+      catch (IOException ioe)
+      {
+        // Nothing more will be read from it anyway.
+      }
+
+      m_openedStream = null;
+    }
+  }
+
+  /**
+   * Convert a parser error into a SAXParseException at the same place.
+   */
+  private SAXParseException toSAXException(XmlPullParserException xppe)
+  {
+    return new SAXParseException(xppe.getMessage(), m_publicId, m_systemId,
+                                 xppe.getLineNumber(), xppe.getColumnNumber(),
+                                 xppe);
+  }
+
+  /**
+   * A byte stream that keeps what is read from it until stopRecording(),
+   * so that it can be read again from the start.
+   */
+  private static final class PrologInputStream extends FilterInputStream
+  {
+
+    /** The bytes read so far, or null once they are no longer kept. */
+    private ByteArrayOutputStream m_record = new ByteArrayOutputStream();
+
+    /** The kept bytes being read again, or null. */
+    private byte[] m_replay = null;
+
+    /** The position of the next byte of m_replay. */
+    private int m_replayPos = 0;
+
+    PrologInputStream(InputStream in)
+    {
+      super(in);
+    }
+
+    public int read() throws IOException
+    {
+      if (null != m_replay && m_replayPos < m_replay.length)
+        return m_replay[m_replayPos++] & 0xFF;
+
+      int b = in.read();
+
+      if (b >= 0 && null != m_record)
+        m_record.write(b);
+
+      return b;
+    }
+
+    public int read(byte[] b, int off, int len) throws IOException
+    {
+      if (len == 0)
+        return 0;
+
+      if (null != m_replay && m_replayPos < m_replay.length)
+      {
+        int n = Math.min(len, m_replay.length - m_replayPos);
+
+        System.arraycopy(m_replay, m_replayPos, b, off, n);
+        m_replayPos += n;
+        return n;
+      }
+
+      int n = in.read(b, off, len);
+
+      if (n > 0 && null != m_record)
+        m_record.write(b, off, n);
+
+      return n;
+    }
+
+    public long skip(long n) throws IOException
+    {
+      byte[] buf = new byte[(int) Math.min(n, 512)];
+      long skipped = 0;
+
+      while (skipped < n)
+      {
+        int r = read(buf, 0, (int) Math.min(n - skipped, buf.length));
+
+        if (r < 0)
+          break;
+
+        skipped += r;
+      }
+
+      return skipped;
+    }
+
+    public int available() throws IOException
+    {
+      if (null != m_replay && m_replayPos < m_replay.length)
+        return m_replay.length - m_replayPos;
+
+      return in.available();
+    }
+
+    public boolean markSupported()
+    {
+      return false;
+    }
+
+    /** Stop keeping the bytes that are read. */
+    void stopRecording()
+    {
+      m_record = null;
+    }
+
+    /**
+     * Read the kept bytes again, followed by the rest of the stream.
+     *
+     * @return this stream.
+     */
+    InputStream rewind()
+    {
+      m_replay = m_record.toByteArray();
+      m_replayPos = 0;
+      m_record = null;
+
+      return this;
+    }
+  }
+
+  /**
+   * A character stream that keeps what is read from it until
+   * stopRecording(), so that it can be read again from the start.
+   */
+  private static final class PrologReader extends FilterReader
+  {
+
+    /** The characters read so far, or null once they are no longer kept. */
+    private CharArrayWriter m_record = new CharArrayWriter();
+
+    /** The kept characters being read again, or null. */
+    private char[] m_replay = null;
+
+    /** The position of the next character of m_replay. */
+    private int m_replayPos = 0;
+
+    PrologReader(Reader in)
+    {
+      super(in);
+    }
+
+    public int read() throws IOException
+    {
+      if (null != m_replay && m_replayPos < m_replay.length)
+        return m_replay[m_replayPos++];
+
+      int c = in.read();
+
+      if (c >= 0 && null != m_record)
+        m_record.write(c);
+
+      return c;
+    }
+
+    public int read(char[] cbuf, int off, int len) throws IOException
+    {
+      if (len == 0)
+        return 0;
+
+      if (null != m_replay && m_replayPos < m_replay.length)
+      {
+        int n = Math.min(len, m_replay.length - m_replayPos);
+
+        System.arraycopy(m_replay, m_replayPos, cbuf, off, n);
+        m_replayPos += n;
+        return n;
+      }
+
+      int n = in.read(cbuf, off, len);
+
+      if (n > 0 && null != m_record)
+        m_record.write(cbuf, off, n);
+
+      return n;
+    }
+
+    public long skip(long n) throws IOException
+    {
+      char[] buf = new char[(int) Math.min(n, 512)];
+      long skipped = 0;
+
+      while (skipped < n)
+      {
+        int r = read(buf, 0, (int) Math.min(n - skipped, buf.length));
+
+        if (r < 0)
+          break;
+
+        skipped += r;
+      }
+
+      return skipped;
+    }
+
+    public boolean ready() throws IOException
+    {
+      return (null != m_replay && m_replayPos < m_replay.length) || in.ready();
+    }
+
+    public boolean markSupported()
+    {
+      return false;
+    }
+
+    /** Stop keeping the characters that are read. */
+    void stopRecording()
+    {
+      m_record = null;
+    }
+
+    /**
+     * Read the kept characters again, followed by the rest of the stream.
+     *
+     * @return this reader.
+     */
+    Reader rewind()
+    {
+      m_replay = m_record.toCharArray();
+      m_replayPos = 0;
+      m_record = null;
+
+      return this;
+    }
+  }
+
+  // ------------------------------------------------------------------
+  // Locator
+  // ------------------------------------------------------------------
+
+  /**
+   * Return the public identifier of the document.
+   *
+   * @return the public identifier, or null.
+   */
+  public String getPublicId()
+  {
+    return m_publicId;
+  }
+
+  /**
+   * Return the system identifier of the document.
+   *
+   * @return the system identifier, or null.
+   */
+  public String getSystemId()
+  {
+    return m_systemId;
+  }
+
+  /**
+   * Return the line number where the current event ends.
+   *
+   * @return the line number, or -1 if none is available.
+   */
+  public int getLineNumber()
+  {
+    return (null != m_parser) ? m_parser.getLineNumber() : -1;
+  }
+
+  /**
+   * Return the column number where the current event ends.
+   *
+   * @return the column number, or -1 if none is available.
+   */
+  public int getColumnNumber()
+  {
+    return (null != m_parser) ? m_parser.getColumnNumber() : -1;
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the  "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * $Id$
+ */
+package org.apache.xml.dtm.ref.sax2dtm;
+
+import javax.xml.transform.Source;
+
+import org.apache.xml.dtm.DTMManager;
+import org.apache.xml.dtm.DTMWSFilter;
+import org.apache.xml.dtm.ref.DTMManagerDefault;
+import org.apache.xml.utils.SuballocatedDeltaVector;
+import org.apache.xml.utils.XMLStringFactory;
+
+/**
+ * A SAX2DTM that keeps its node columns small, for large source documents.
+ *
+ * The expanded type, first child, next sibling and previous sibling of a
+ * node are kept in SuballocatedDeltaVectors, which take two bytes a node
+ * for nearly all documents instead of four. The parent and the data or
+ * qualified name stay in int columns, since the parent of a node that
+ * follows a large sibling is too far away for a 16-bit distance.
+ *
+ * Expanded names are already shared by every document that a
+ * DTMManagerDefault builds. The prefixed qualified names are too: they are
+ * kept in the manager's pool (see DTMManagerDefault.getQNamePool()) rather
+ * than one for each document, so a feed of documents in the same
+ * vocabulary stores each of them once.
+ *
+ * DTMManagerDefault builds these instead of SAX2DTMs when the
+ * {@link DTMManagerDefault#COMPACT_PROPERTY} system property is true.
+ */
+public class CompactSAX2DTM extends SAX2DTM
+{
+  /**
+   * Construct a CompactSAX2DTM object ready to be constructed from SAX2
+   * ContentHandler events.
+   *
+   * @param mgr The DTMManager who owns this DTM.
+   * @param source the JAXP 1.1 Source object for this DTM.
+   * @param dtmIdentity The DTM identity ID for this DTM.
+   * @param whiteSpaceFilter The white space filter for this DTM, which may
+   *                         be null.
+   * @param xstringfactory XMLString factory for creating character content.
+   * @param doIndexing true if the caller considers it worth it to use
+   *                   indexing schemes.
+   */
+  public CompactSAX2DTM(DTMManager mgr, Source source, int dtmIdentity,
+                        DTMWSFilter whiteSpaceFilter,
+                        XMLStringFactory xstringfactory,
+                        boolean doIndexing)
+  {
+
+    super(mgr, source, dtmIdentity, whiteSpaceFilter,
+          xstringfactory, doIndexing);
+
+    // No nodes have been added yet, so the columns can simply be replaced.
+    m_exptype = new SuballocatedDeltaVector(DEFAULT_BLOCKSIZE,
+                  DEFAULT_NUMBLOCKS, SuballocatedDeltaVector.ABSOLUTE);
+    m_firstch = new SuballocatedDeltaVector(DEFAULT_BLOCKSIZE,
+                  DEFAULT_NUMBLOCKS, SuballocatedDeltaVector.FORWARD);
+    m_nextsib = new SuballocatedDeltaVector(DEFAULT_BLOCKSIZE,
+                  DEFAULT_NUMBLOCKS, SuballocatedDeltaVector.FORWARD);
+    m_prevsib = new SuballocatedDeltaVector(DEFAULT_BLOCKSIZE,
+                  DEFAULT_NUMBLOCKS, SuballocatedDeltaVector.BACKWARD);
+
+    if (mgr instanceof DTMManagerDefault)
+      m_qnames = ((DTMManagerDefault) mgr).getQNamePool();
+  }
+}
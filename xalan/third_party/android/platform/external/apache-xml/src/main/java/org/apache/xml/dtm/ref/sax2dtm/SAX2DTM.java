@@ -131,6 +131,11 @@ public class SAX2DTM extends DTMDefaultBaseIterators
   /** pool of string values that come as strings. */
   protected DTMStringPool m_valuesOrPrefixes;
 
+  /** pool of the prefixed qualified names of elements and attributes.
+   * This is m_valuesOrPrefixes unless a subclass shares one pool between
+   * documents, as CompactSAX2DTM does. */
+  protected DTMStringPool m_qnames;
+
   /** End document has been reached.
    * Made protected rather than private so SAX2RTFDTM can access it.
    */
@@ -273,6 +278,7 @@ public class SAX2DTM extends DTMDefaultBaseIterators
       m_contextIndexes = new IntStack();
       m_parents = new IntStack();
     }
+    m_qnames = m_valuesOrPrefixes;
          
     // %REVIEW%  Initial size pushed way down to reduce weight of RTFs
     // (I'm not entirely sure 0 would work, so I'm playing it safe for now.)
@@ -625,7 +631,7 @@ public class SAX2DTM extends DTMDefaultBaseIterators
         qnameIndex = m_data.elementAt(qnameIndex);
       }
 
-      return m_valuesOrPrefixes.indexToString(qnameIndex);
+      return m_qnames.indexToString(qnameIndex);
     }
   }
 
@@ -662,7 +668,7 @@ public class SAX2DTM extends DTMDefaultBaseIterators
         qnameIndex = m_data.elementAt(qnameIndex);
       }
 
-      return m_valuesOrPrefixes.indexToString(qnameIndex);
+      return m_qnames.indexToString(qnameIndex);
     }
   }
 
@@ -1148,7 +1154,7 @@ public class SAX2DTM extends DTMDefaultBaseIterators
         return "";
       else
       {
-        String qname = m_valuesOrPrefixes.indexToString(prefixIndex);
+        String qname = m_qnames.indexToString(prefixIndex);
 
         return getPrefix(qname, null);
       }
@@ -1161,7 +1167,7 @@ public class SAX2DTM extends DTMDefaultBaseIterators
       {
         prefixIndex = m_data.elementAt(-prefixIndex);
 
-        String qname = m_valuesOrPrefixes.indexToString(prefixIndex);
+        String qname = m_qnames.indexToString(prefixIndex);
 
         return getPrefix(qname, null);
       }
@@ -1878,7 +1884,7 @@ public class SAX2DTM extends DTMDefaultBaseIterators
     int exName = m_expandedNameTable.getExpandedTypeID(uri, localName, DTM.ELEMENT_NODE);
     String prefix = getPrefix(qName, uri);
     int prefixIndex = (null != prefix)
-                      ? m_valuesOrPrefixes.stringToIndex(qName) : 0;
+                      ? m_qnames.stringToIndex(qName) : 0;
 
     int elemNode = addNode(DTM.ELEMENT_NODE, exName,
                            m_parents.peek(), m_previous, prefixIndex, true);
@@ -1964,7 +1970,7 @@ public class SAX2DTM extends DTMDefaultBaseIterators
       if (null != prefix)
       {
 
-        prefixIndex = m_valuesOrPrefixes.stringToIndex(attrQName);
+        prefixIndex = m_qnames.stringToIndex(attrQName);
 
         int dataIndex = m_data.size();
 
@@ -142,6 +142,21 @@ final class CharInfo
      */
     private int firstWordNotUsed;
 
+    /**
+     * A set of bits, one for each char, that is set if the char can be
+     * written as it is in a text node, as long as it is also in the output
+     * encoding. It is built when it is first asked for, or null until then,
+     * and is shared with mutable copies until a copy adds a mapping.
+     */
+    private int m_cleanTextChars[];
+
+    /**
+     * A set of bits, one for each char, that is set if the char can be
+     * written as it is in an attribute value, as long as it is also in the
+     * output encoding. Built and shared like m_cleanTextChars.
+     */
+    private int m_cleanAttrChars[];
+
 
     /**
      * A base constructor just to explicitly create the fields,
@@ -350,6 +365,11 @@ final class CharInfo
         	// We choose not to escape the quotation mark as &quot; in text nodes.
             shouldMapTextChar_ASCII[S_QUOTE] = false;
         }
+
+        // Build the sets of clean chars now, while this object is private to
+        // the thread loading it, so that the cached copy never changes.
+        getCleanTextChars();
+        getCleanAttrChars();
     }
 
     /**
@@ -462,7 +482,68 @@ final class CharInfo
         // implementation is faster (and less general).
         return get(value);
     }
-    
+
+    /**
+     * Get the set of chars in a text node that need no treatment at all
+     * if they are in the output encoding: TAB, the ASCII chars from the
+     * space to '~', and the chars from 0xA0 up that aren't LINE SEPARATOR
+     * or half of a surrogate pair, other than those mapped to a String.
+     * <p>
+     * The char ch is in the set if
+     * <code>(set[ch >> 5] & (1 << (ch & 0x1F))) != 0</code>.
+     *
+     * @return the set of bits, which must not be changed.
+     * @xsl.usage internal
+     */
+    final int[] getCleanTextChars()
+    {
+        if (m_cleanTextChars == null)
+            m_cleanTextChars = createCleanChars(false);
+        return m_cleanTextChars;
+    }
+
+    /**
+     * Get the set of chars in an attribute value that need no treatment at
+     * all if they are in the output encoding. This is the same as
+     * {@link #getCleanTextChars()} except that TAB is never clean, and the
+     * attribute mappings are used.
+     *
+     * @return the set of bits, which must not be changed.
+     * @xsl.usage internal
+     */
+    final int[] getCleanAttrChars()
+    {
+        if (m_cleanAttrChars == null)
+            m_cleanAttrChars = createCleanChars(true);
+        return m_cleanAttrChars;
+    }
+
+    /**
+     * Build one of the sets of clean chars.
+     *
+     * @param attr true for attribute values, false for text nodes.
+     */
+    private int[] createCleanChars(boolean attr)
+    {
+        int[] bits = new int[arrayIndex(0x10000)];
+        for (int ch = 0; ch < 0x10000; ch++)
+        {
+            final boolean clean;
+            if (ch < 0x20)
+                clean = (ch == S_HORIZONAL_TAB) && !attr;
+            else if (ch < 0x7F)
+                clean = true;
+            else if (ch <= 0x9F)
+                clean = false;
+            else
+                clean = ch != S_LINE_SEPARATOR
+                        && (ch < 0xD800 || ch > 0xDFFF);
+
+            if (clean && !(attr ? shouldMapAttrChar(ch) : shouldMapTextChar(ch)))
+                bits[arrayIndex(ch)] |= bit(ch);
+        }
+        return bits;
+    }
 
      
     private static CharInfo getCharInfoBasedOnPrivilege(
@@ -560,6 +641,11 @@ final class CharInfo
     	copy.m_charToString = (HashMap) charInfo.m_charToString.clone();
     	
     	copy.onlyQuotAmpLtGt = charInfo.onlyQuotAmpLtGt;
+    	
+    	// The sets of clean chars are never changed once built, so they
+    	// can be shared until the copy gets a mapping of its own.
+    	copy.m_cleanTextChars = charInfo.m_cleanTextChars;
+    	copy.m_cleanAttrChars = charInfo.m_cleanAttrChars;
     	    	
 		return copy;
 	}
@@ -614,6 +700,8 @@ final class CharInfo
     private final void set(int i) {   
         setASCIItextDirty(i);
         setASCIIattrDirty(i); 
+        m_cleanTextChars = null;
+        m_cleanAttrChars = null;
              
         int j = (i >> SHIFT_PER_WORD); // this word is used
         int k = j + 1;       
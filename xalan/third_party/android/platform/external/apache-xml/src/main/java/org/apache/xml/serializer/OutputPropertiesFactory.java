@@ -77,6 +77,10 @@ import org.apache.xml.serializer.utils.WrappedRuntimeException;
  * <li> <b>S_OMIT_META_TAG </b> -
  * This non-standard property key is used to set a value of "yes" if the META tag should be omitted where it would
  *  otherwise be supplied.
+ * 
+ * <li> <b>S_KEY_BYTE_BUFFER_OUTPUT </b> -
+ * This non-standard property key is used to set a value of "yes" if UTF-8 output to an OutputStream
+ *  should be encoded straight into a reusable byte buffer.
  * </ul>
  * 
  * @see SerializerFactory
@@ -161,6 +165,14 @@ public final class OutputPropertiesFactory
     public static final String S_OMIT_META_TAG =
         S_BUILTIN_EXTENSIONS_UNIVERSAL + "omit-meta-tag";
 
+    /**
+     * This non-standard property key is used to set a value of "yes" if
+     * UTF-8 output to an OutputStream should be encoded straight into a
+     * reusable byte buffer, rather than through the default UTF-8 writer.
+     */
+    public static final String S_KEY_BYTE_BUFFER_OUTPUT =
+        S_BUILTIN_EXTENSIONS_UNIVERSAL + "byte-buffer-output";
+
     /**
      * The old built-in extension namespace, this is not a public API.
      */
@@ -25,6 +25,9 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.UnsupportedEncodingException;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.util.EmptyStackException;
 import java.util.Enumeration;
 import java.util.Iterator;
@@ -271,6 +274,26 @@ abstract public class ToStream extends SerializerBase
     }
 
     OutputStream m_outputStream;
+
+    /**
+     * The channel given to setOutputChannel(), or null if the output
+     * stream was set directly.
+     */
+    private WritableByteChannel m_outputChannel;
+
+    /**
+     * True if UTF-8 output to an OutputStream should be encoded straight
+     * into m_byteBuffer, see
+     * {@link OutputPropertiesFactory#S_KEY_BYTE_BUFFER_OUTPUT}.
+     */
+    private boolean m_byteBufferOutput;
+
+    /**
+     * The buffer that a WriterToUTF8Channel encodes into, kept so that it
+     * is allocated once however many times the output is set.
+     */
+    private ByteBuffer m_byteBuffer;
+
     /**
      * Get the output stream where the events will be serialized to.
      *
@@ -388,6 +411,11 @@ abstract public class ToStream extends SerializerBase
 
             char first = getFirstCharLocName(name);
             switch (first) {
+            case 'b':
+                if (OutputPropertiesFactory.S_KEY_BYTE_BUFFER_OUTPUT.equals(name)) {
+                    m_byteBufferOutput = "yes".equals(val);
+                }
+                break;
             case 'c':
                 if (OutputKeys.CDATA_SECTION_ELEMENTS.equals(name)) {
                     String cdataSectionNames = val;
@@ -706,8 +734,26 @@ abstract public class ToStream extends SerializerBase
      */
     public void setOutputStream(OutputStream output)
     {
+        m_outputChannel = null;
         setOutputStreamInternal(output, true);
     }
+
+    /**
+     * Specifies a channel to which the document should be
+     * serialized. This method should not be called while the
+     * serializer is in the process of serializing a document.
+     * <p>
+     * If the encoding is UTF-8 the characters are encoded straight
+     * into a byte buffer that is written to the channel, otherwise
+     * this is the same as setting a stream that writes to the channel.
+     *
+     * @param channel The output channel, which must be in blocking mode
+     */
+    public void setOutputChannel(WritableByteChannel channel)
+    {
+        m_outputChannel = channel;
+        setOutputStreamInternal(Channels.newOutputStream(channel), true);
+    }
     
     private void setOutputStreamInternal(OutputStream output, boolean setByUser)
     {
@@ -717,7 +763,21 @@ abstract public class ToStream extends SerializerBase
         {
             // We wrap the OutputStream with a writer, but
             // not one set by the user
-            setWriterInternal(new WriterToUTF8Buffered(output), false);
+            if (m_outputChannel != null || m_byteBufferOutput)
+            {
+                if (m_byteBuffer == null)
+                    m_byteBuffer =
+                        ByteBuffer.allocate(WriterToUTF8Channel.BUFFER_SIZE);
+                if (m_outputChannel != null)
+                    setWriterInternal(
+                        new WriterToUTF8Channel(m_outputChannel, m_byteBuffer),
+                        false);
+                else
+                    setWriterInternal(
+                        new WriterToUTF8Channel(output, m_byteBuffer), false);
+            }
+            else
+                setWriterInternal(new WriterToUTF8Buffered(output), false);
         } else if (
                 "WINDOWS-1250".equals(encoding)
                 || "US-ASCII".equals(encoding)
@@ -1519,9 +1579,17 @@ abstract public class ToStream extends SerializerBase
             if (i < end || !isAllWhitespace) 
                 m_ispreserve = true;
             
+            final int[] cleanChars = m_charInfo.getCleanTextChars();
+            final char highChar = getHighCleanChar();
             
             for (; i < end; i++)
             {
+                // Step over the run of characters that are written out
+                // as they are, which is usually most of the text.
+                i = skipCleanChars(chars, i, end, cleanChars, highChar);
+                if (i == end)
+                    break;
+
                 char ch = chars[i];
                 
                 if (m_charInfo.shouldMapTextChar(ch)) {
@@ -1652,6 +1720,55 @@ abstract public class ToStream extends SerializerBase
 		return lastProcessed;
 	}
 
+    /**
+     * Find the end of a run of characters that need no treatment when
+     * they are written out.
+     *
+     * @param chars the characters
+     * @param i the index of the first character of the run
+     * @param end the index after the last character to look at
+     * @param cleanChars the set of clean characters from the CharInfo
+     * @param highChar the highest character that is surely in the encoding
+     * @return the index of the first character that isn't clean, or end
+     */
+    private static int skipCleanChars(final char[] chars, int i, final int end,
+            final int[] cleanChars, final char highChar)
+    {
+        while (i < end)
+        {
+            final char ch = chars[i];
+            if (ch > highChar || (cleanChars[ch >> 5] & (1 << (ch & 0x1F))) == 0)
+                break;
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Get the highest character that is certainly in the output encoding,
+     * for {@link #skipCleanChars}. Only UTF-8, and no encoding at all, are
+     * known to take every character; for other encodings the characters
+     * after ASCII are left to EncodingInfo.isInEncoding() on the slow path.
+     */
+    private char getHighCleanChar()
+    {
+        if (m_highCleanCharEncoding != m_encodingInfo)
+        {
+            final String name = m_encodingInfo.name;
+            m_highCleanChar = (name == null
+                    || Encodings.DEFAULT_MIME_ENCODING.equalsIgnoreCase(name))
+                ? (char) 0xFFFF : (char) 0x7E;
+            m_highCleanCharEncoding = m_encodingInfo;
+        }
+        return m_highCleanChar;
+    }
+
+    /** The encoding that m_highCleanChar was worked out for. */
+    private EncodingInfo m_highCleanCharEncoding;
+
+    /** The value of getHighCleanChar() for m_highCleanCharEncoding. */
+    private char m_highCleanChar;
+
     private void writeOutCleanChars(final char[] chars, int i, int lastProcessed) throws IOException {
         int startClean;
         startClean = lastProcessed + 1;
@@ -2103,9 +2220,21 @@ abstract public class ToStream extends SerializerBase
         }
         string.getChars(0,len, m_attrBuff, 0);   
         final char[] stringChars = m_attrBuff;
+        final int[] cleanChars = m_charInfo.getCleanAttrChars();
+        final char highChar = getHighCleanChar();
 
         for (int i = 0; i < len; i++)
         {
+            // Write out a run of characters that need no treatment in one go
+            final int cleanEnd = skipCleanChars(stringChars, i, len, cleanChars, highChar);
+            if (cleanEnd > i)
+            {
+                writer.write(stringChars, i, cleanEnd - i);
+                i = cleanEnd;
+                if (i == len)
+                    break;
+            }
+
             char ch = stringChars[i];
             
             if (m_charInfo.shouldMapAttrChar(ch)) {
@@ -0,0 +1,366 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the  "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * $Id$
+ */
+package org.apache.xml.serializer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+
+/**
+ * This class encodes unicode characters as UTF-8 straight into a
+ * ByteBuffer, and writes the buffer to a WritableByteChannel or an
+ * OutputStream whenever it fills up. The buffer can be handed from one
+ * of these writers to the next, so a serializer that is reused for many
+ * documents allocates it once.
+ * <p>
+ * Unlike {@link WriterToUTF8Buffered} it fills the buffer to the end
+ * rather than flushing early whenever the worst case of three bytes for
+ * every char might not fit, and it never splits a long array of chars into
+ * recursive calls. Runs of ASCII chars, which is what the serializer mostly
+ * writes, are copied in a loop of their own.
+ * <p>
+ * The ToStream serializer uses this class for UTF-8 output to a channel,
+ * or to an OutputStream when the
+ * {@link OutputPropertiesFactory#S_KEY_BYTE_BUFFER_OUTPUT} property is "yes".
+ *
+ * This class is only used internally within Xalan.
+ *
+ * @xsl.usage internal
+ */
+final class WriterToUTF8Channel extends Writer implements WriterChain
+{
+
+  /** The number of bytes in a buffer created by this class. */
+  static final int BUFFER_SIZE = 16*1024;
+
+  /** The channel to write to, or null if writing to m_os. */
+  private final WritableByteChannel m_channel;
+
+  /**
+   * The byte stream to write to, or a stream over m_channel if writing
+   * to the channel.
+   */
+  private final OutputStream m_os;
+
+  /** The buffer that the bytes are encoded into. */
+  private final ByteBuffer m_buffer;
+
+  /** The array behind m_buffer. */
+  private final byte m_outputBytes[];
+
+  /** The number of valid bytes in m_outputBytes. */
+  private int count;
+
+  /** A small array to copy Strings into, a piece at a time. */
+  private final char m_inputChars[] = new char[1024];
+
+  /**
+   * Create a UTF-8 writer that writes to a stream.
+   *
+   * @param out the underlying output stream.
+   * @param buffer the buffer to encode into, which must have a backing
+   * array, or null to create one.
+   */
+  WriterToUTF8Channel(OutputStream out, ByteBuffer buffer)
+  {
+      this(null, out, buffer);
+  }
+
+  /**
+   * Create a UTF-8 writer that writes to a channel, which must be in
+   * blocking mode.
+   *
+   * @param channel the underlying channel.
+   * @param buffer the buffer to encode into, which must have a backing
+   * array, or null to create one.
+   */
+  WriterToUTF8Channel(WritableByteChannel channel, ByteBuffer buffer)
+  {
+      this(channel, Channels.newOutputStream(channel), buffer);
+  }
+
+  private WriterToUTF8Channel(WritableByteChannel channel, OutputStream out,
+                              ByteBuffer buffer)
+  {
+      m_channel = channel;
+      m_os = out;
+      m_buffer = (buffer != null) ? buffer : ByteBuffer.allocate(BUFFER_SIZE);
+      m_outputBytes = m_buffer.array();
+      count = 0;
+  }
+
+  /**
+   * Write a single character.
+   *
+   * @param c  int specifying a character to be written.
+   * @exception  IOException  If an I/O error occurs
+   */
+  public void write(final int c) throws IOException
+  {
+      if (count > m_outputBytes.length - 4)
+          flushBuffer();
+      if (c < 0x80)
+          m_outputBytes[count++] = (byte) c;
+      else
+          count = encode(c, m_outputBytes, count);
+  }
+
+  /**
+   * Write an array of characters.
+   *
+   * @param  chars  Array of characters
+   *
+   * @exception  IOException  If an I/O error occurs
+   */
+  public void write(final char chars[]) throws IOException
+  {
+      write(chars, 0, chars.length);
+  }
+
+  /**
+   * Write a portion of an array of characters.
+   *
+   * @param  chars  Array of characters
+   * @param  start   Offset from which to start writing characters
+   * @param  length   Number of characters to write
+   *
+   * @exception  IOException  If an I/O error occurs
+   */
+  public void write(final char chars[], final int start, final int length)
+          throws IOException
+  {
+      final int end = start + length;
+      int i = start;
+
+      while (i < end)
+      {
+          // Take as many chars as surely fit, at three bytes each, which
+          // leaves room for one more byte when a surrogate pair needs four
+          int n = (m_outputBytes.length - count - 1) / 3;
+          if (n == 0)
+          {
+              flushBuffer();
+              n = (m_outputBytes.length - 1) / 3;
+          }
+          if (n > end - i)
+              n = end - i;
+          else if (i + n < end && isHighSurrogate(chars[i + n - 1]))
+          {
+              // Keep the pair together
+              n = (n > 1) ? n - 1 : 2;
+          }
+
+          count = encode(chars, i, i + n, m_outputBytes, count);
+          i += n;
+      }
+  }
+
+  /**
+   * Write a string.
+   *
+   * @param  s  String to be written
+   *
+   * @exception  IOException  If an I/O error occurs
+   */
+  public void write(final String s) throws IOException
+  {
+      write(s, 0, s.length());
+  }
+
+  /**
+   * Write a portion of a string. It is copied a piece at a time into a
+   * small char array, which is faster to read than the String itself.
+   *
+   * @param  s  String to be written
+   * @param  start   Offset from which to start writing characters
+   * @param  length   Number of characters to write
+   *
+   * @exception  IOException  If an I/O error occurs
+   */
+  public void write(final String s, final int start, final int length)
+          throws IOException
+  {
+      final char[] chars = m_inputChars;
+      final int end = start + length;
+      int i = start;
+
+      while (i < end)
+      {
+          int n = Math.min(end - i, chars.length);
+          s.getChars(i, i + n, chars, 0);
+
+          // Keep a high/low surrogate pair together
+          if (i + n < end && isHighSurrogate(chars[n - 1]))
+              n--;
+
+          write(chars, 0, n);
+          i += n;
+      }
+  }
+
+  /**
+   * Tell if a char is the high char of a high/low surrogate pair.
+   */
+  private static boolean isHighSurrogate(final char c)
+  {
+      return c >= 0xD800 && c <= 0xDBFF;
+  }
+
+  /**
+   * Encode a portion of an array of characters into a byte array that is
+   * known to have room for them.
+   *
+   * @param chars the characters.
+   * @param i the index of the first character.
+   * @param end the index after the last character.
+   * @param buf the array to encode them into.
+   * @param count the index in buf to encode them at.
+   * @return the index in buf after the characters.
+   */
+  private static int encode(final char[] chars, int i, final int end,
+                            final byte[] buf, int count)
+  {
+      {
+          // A tight loop for the common case of ASCII characters
+          char c;
+          for (; i < end && (c = chars[i]) < 0x80; i++)
+              buf[count++] = (byte) c;
+      }
+
+      for (; i < end; i++)
+      {
+          final char c = chars[i];
+          if (c < 0x80)
+              buf[count++] = (byte) c;
+          else if (isHighSurrogate(c) && i + 1 < end
+                   && chars[i + 1] >= 0xDC00 && chars[i + 1] <= 0xDFFF)
+          {
+              count = encode(((c - 0xD800) << 10) + (chars[++i] - 0xDC00)
+                             + 0x10000, buf, count);
+          }
+          else
+              count = encode(c, buf, count);
+      }
+      return count;
+  }
+
+  /**
+   * Encode one character that isn't ASCII.
+   *
+   * @param c the character, which may be above 0xFFFF.
+   * @param buf the array to encode it into.
+   * @param count the index in buf to encode it at.
+   * @return the index in buf after the character.
+   */
+  private static int encode(final int c, final byte[] buf, int count)
+  {
+      if (c < 0x800)
+      {
+          buf[count++] = (byte) (0xc0 + (c >> 6));
+          buf[count++] = (byte) (0x80 + (c & 0x3f));
+      }
+      else if (c < 0x10000)
+      {
+          buf[count++] = (byte) (0xe0 + (c >> 12));
+          buf[count++] = (byte) (0x80 + ((c >> 6) & 0x3f));
+          buf[count++] = (byte) (0x80 + (c & 0x3f));
+      }
+      else
+      {
+          buf[count++] = (byte) (0xf0 + (c >> 18));
+          buf[count++] = (byte) (0x80 + ((c >> 12) & 0x3f));
+          buf[count++] = (byte) (0x80 + ((c >> 6) & 0x3f));
+          buf[count++] = (byte) (0x80 + (c & 0x3f));
+      }
+      return count;
+  }
+
+  /**
+   * Write the bytes in the buffer to the channel or stream.
+   *
+   * @throws IOException
+   */
+  public void flushBuffer() throws IOException
+  {
+      if (count > 0)
+      {
+          if (m_channel != null)
+          {
+              m_buffer.clear();
+              m_buffer.limit(count);
+              while (m_buffer.hasRemaining())
+                  m_channel.write(m_buffer);
+          }
+          else
+          {
+              m_os.write(m_outputBytes, 0, count);
+          }
+          count = 0;
+      }
+  }
+
+  /**
+   * Write the bytes in the buffer, and then flush the stream if writing
+   * to one. A channel has nothing to flush.
+   *
+   * @throws IOException
+   */
+  public void flush() throws IOException
+  {
+      flushBuffer();
+      if (m_channel == null)
+          m_os.flush();
+  }
+
+  /**
+   * Write the bytes in the buffer, and then close the channel or stream.
+   *
+   * @throws IOException
+   */
+  public void close() throws IOException
+  {
+      flushBuffer();
+      if (m_channel != null)
+          m_channel.close();
+      else
+          m_os.close();
+  }
+
+  /**
+   * Get the output stream where the events will be serialized to.
+   *
+   * @return the stream, or a stream that writes to the channel.
+   */
+  public OutputStream getOutputStream()
+  {
+      return m_os;
+  }
+
+  public Writer getWriter()
+  {
+      // This type of writer wraps an OutputStream or channel, not a Writer.
+      return null;
+  }
+}
@@ -0,0 +1,263 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the  "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * $Id$
+ */
+package org.apache.xml.utils;
+
+/**
+ * A SuballocatedIntVector that stores its values in 16-bit blocks, for
+ * the DTM node columns whose values are small or lie close to the index
+ * they are stored at.
+ *
+ * Each value is kept as a char code: 0 for -1 (DTM.NULL), 1 for -2
+ * (NOTPROCESSED), and otherwise 2 plus the value itself (ABSOLUTE, used
+ * for expanded types), plus the distance forward from the index (FORWARD,
+ * used for first child and next sibling links) or plus the distance back
+ * to it (BACKWARD, used for previous sibling links). A value that has no
+ * such code, such as the next sibling of a very large subtree, switches
+ * the block it falls in to plain ints, so that every value can be stored
+ * and the common case costs two bytes a node rather than four.
+ *
+ * The blocks aren't int arrays, so getMap0() and getMap() must not be used
+ * on this vector; SAX2DTM2, which reads the columns through them, keeps
+ * using SuballocatedIntVector.
+ * @xsl.usage internal
+ */
+public class SuballocatedDeltaVector extends SuballocatedIntVector
+{
+  /** Values are stored as they are. */
+  public static final int ABSOLUTE = 0;
+
+  /** Values are stored as the distance forward from their index. */
+  public static final int FORWARD = 1;
+
+  /** Values are stored as the distance back from their index. */
+  public static final int BACKWARD = -1;
+
+  /** The largest char code; codes run from 0 to this. */
+  private static final int MAX_CODE = 0xFFFF;
+
+  /** ABSOLUTE, FORWARD or BACKWARD. */
+  private final int m_direction;
+
+  /** Array of arrays of char codes, with null for a switched block. */
+  private char m_codes[][];
+
+  /** Array of arrays of ints, with null for a block that holds codes. */
+  private int m_wide[][];
+
+  /**
+   * Construct a SuballocatedDeltaVector, using the given block size and
+   * number of blocks. For efficiency, we will round the requested size
+   * off to a power of two.
+   *
+   * @param blocksize Size of block to allocate
+   * @param numblocks Number of blocks to allocate
+   * @param direction ABSOLUTE, FORWARD or BACKWARD
+   */
+  public SuballocatedDeltaVector(int blocksize, int numblocks, int direction)
+  {
+    // The inherited int blocks are never used, so keep them tiny.
+    super(1, 1);
+
+    for(m_SHIFT=0;0!=(blocksize>>>=1);++m_SHIFT)
+      ;
+    m_blocksize=1<<m_SHIFT;
+    m_MASK=m_blocksize-1;
+    m_numblocks = numblocks;
+    m_direction = direction;
+
+    m_codes = new char[numblocks][];
+    m_wide = new int[numblocks][];
+  }
+
+  /**
+   * Set the length of the list. This will only work to truncate the list.
+   *
+   * @param sz the new length of the list
+   */
+  public void setSize(int sz)
+  {
+    if(m_firstFree>sz)
+      m_firstFree = sz;
+  }
+
+  /**
+   * Append a int onto the vector.
+   *
+   * @param value Int to add to the list
+   */
+  public void addElement(int value)
+  {
+    setElementAt(value, m_firstFree++);
+  }
+
+  /**
+   * Wipe it out. Currently defined as equivalent to setSize(0).
+   */
+  public void removeAllElements()
+  {
+    m_firstFree = 0;
+  }
+
+  /**
+   * Sets the component at the specified index of this vector to be the
+   * specified object. The previous component at that position is discarded.
+   *
+   * @param value object to set
+   * @param at    Index of where to set the object
+   */
+  public void setElementAt(int value, int at)
+  {
+    int index=at>>>m_SHIFT;
+    int offset=at&m_MASK;
+
+    if(index>=m_codes.length)
+    {
+      int newsize=index+m_numblocks;
+      char[][] newCodes=new char[newsize][];
+      int[][] newWide=new int[newsize][];
+      System.arraycopy(m_codes, 0, newCodes, 0, m_codes.length);
+      System.arraycopy(m_wide, 0, newWide, 0, m_wide.length);
+      m_codes=newCodes;
+      m_wide=newWide;
+    }
+
+    if(at>=m_firstFree)
+      m_firstFree=at+1;
+
+    int[] wide=m_wide[index];
+    if(null!=wide)
+    {
+      wide[offset]=value;
+      return;
+    }
+
+    int code=encode(value, at);
+    if(code<0)
+    {
+      widen(index)[offset]=value;
+      return;
+    }
+
+    char[] block=m_codes[index];
+    if(null==block)
+      block=m_codes[index]=new char[m_blocksize];
+    block[offset]=(char)code;
+  }
+
+  /**
+   * Get the nth element.
+   *
+   * @param i index of object to get
+   *
+   * @return object at given index
+   */
+  public int elementAt(int i)
+  {
+    int index=i>>>m_SHIFT;
+    int[] wide=m_wide[index];
+    if(null!=wide)
+      return wide[i&m_MASK];
+
+    int code=m_codes[index][i&m_MASK];
+    if(code<2)
+      return -1-code;
+    return (m_direction==ABSOLUTE) ? code-2 : i+m_direction*(code-2);
+  }
+
+  /**
+   * Searches for the first occurence of the given argument,
+   * beginning the search at index, and testing for equality
+   * using the equals method.
+   *
+   * @param elem object to look for
+   * @param index Index of where to begin search
+   * @return the index of the first occurrence of the object
+   * argument in this vector at position index or later in the
+   * vector; returns -1 if the object is not found.
+   */
+  public int indexOf(int elem, int index)
+  {
+    for(int i=index;i<m_firstFree;++i)
+    {
+      if(elementAt(i)==elem)
+        return i;
+    }
+    return -1;
+  }
+
+  /**
+   * Searches for the first occurence of the given argument,
+   * beginning the search at index, and testing for equality
+   * using the equals method.
+   *
+   * @param elem object to look for
+   * @return the index of the first occurrence of the object
+   * argument in this vector at position index or later in the
+   * vector; returns -1 if the object is not found.
+   */
+  public int indexOf(int elem)
+  {
+    return indexOf(elem, 0);
+  }
+
+  /**
+   * Get the char code for a value stored at the given index.
+   *
+   * @return the code, or -1 if the value has none.
+   */
+  private int encode(int value, int at)
+  {
+    if(value<0)
+      return (value>=-2) ? -1-value : -1;
+
+    long delta=(m_direction==ABSOLUTE) ? value
+                                       : (long)m_direction*(value-(long)at);
+    return (delta>=0 && delta<=MAX_CODE-2) ? (int)delta+2 : -1;
+  }
+
+  /**
+   * Switch a block to plain ints, keeping the values stored in it.
+   *
+   * @param index The index of the block
+   * @return the int block
+   */
+  private int[] widen(int index)
+  {
+    int[] wide=new int[m_blocksize];
+    char[] block=m_codes[index];
+    if(null!=block)
+    {
+      int start=index<<m_SHIFT;
+      for(int offset=0;offset<m_blocksize;++offset)
+      {
+        int code=block[offset];
+        if(code<2)
+          wide[offset]=-1-code;
+        else
+          wide[offset]=(m_direction==ABSOLUTE)
+                       ? code-2 : start+offset+m_direction*(code-2);
+      }
+      m_codes[index]=null;
+    }
+    m_wide[index]=wide;
+    return wide;
+  }
+}
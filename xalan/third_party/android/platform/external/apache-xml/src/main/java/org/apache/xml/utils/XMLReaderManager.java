@@ -20,8 +20,6 @@
  */
 package org.apache.xml.utils;
 
-import java.util.Hashtable;
-
 import javax.xml.parsers.FactoryConfigurationError;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParserFactory;
@@ -33,6 +31,10 @@ import org.xml.sax.SAXException;
 /**
  * Creates XMLReader objects and caches them for re-use.
  * This class follows the singleton pattern.
+ *
+ * The cache is striped by thread: each thread has its own cached reader
+ * and in-use flag, so threads that parse at the same time don't contend
+ * for a lock.
  */
 public class XMLReaderManager {
 
@@ -49,14 +51,22 @@ public class XMLReaderManager {
     private static SAXParserFactory m_parserFactory;
 
     /**
-     * Cache of XMLReader objects
+     * Cache of XMLReader objects, one {@link CachedReader} per thread.
      */
-    private ThreadLocal m_readers;
+    private final ThreadLocal m_readers = new ThreadLocal();
 
     /**
-     * Keeps track of whether an XMLReader object is in use.
+     * A thread's cached XMLReader, and whether it is in use.  Only the
+     * owning thread reads or writes it.
      */
-    private Hashtable m_inUse;
+    private static final class CachedReader {
+        final XMLReader reader;
+        boolean inUse;
+
+        CachedReader(XMLReader reader) {
+            this.reader = reader;
+        }
+    }
 
     /**
      * Hidden constructor
@@ -77,69 +87,72 @@ public class XMLReaderManager {
      * longer needs the reader, it must release it with a call to
      * {@link #releaseXMLReader}.
      */
-    public synchronized XMLReader getXMLReader() throws SAXException {
-        XMLReader reader;
-        boolean readerInUse;
-
-        if (m_readers == null) {
-            // When the m_readers.get() method is called for the first time
-            // on a thread, a new XMLReader will automatically be created.
-            m_readers = new ThreadLocal();
+    public XMLReader getXMLReader() throws SAXException {
+        // If the cached reader for this thread is in use, construct a new
+        // one; otherwise, return the cached reader.
+        CachedReader cached = (CachedReader) m_readers.get();
+
+        if (cached != null && !cached.inUse) {
+            cached.inUse = true;
+            return cached.reader;
         }
 
-        if (m_inUse == null) {
-            m_inUse = new Hashtable();
+        XMLReader reader = createXMLReader();
+
+        // Cache the XMLReader if this is the first time we've created
+        // a reader for this thread.
+        if (cached == null && reader != null) {
+            cached = new CachedReader(reader);
+            cached.inUse = true;
+            m_readers.set(cached);
         }
 
-        // If the cached reader for this thread is in use, construct a new
-        // one; otherwise, return the cached reader.
-        reader = (XMLReader) m_readers.get();
-        boolean threadHasReader = (reader != null);
-        if (!threadHasReader || m_inUse.get(reader) == Boolean.TRUE) {
+        return reader;
+    }
+
+    /**
+     * Creates a new XMLReader with namespace support.
+     */
+    private static XMLReader createXMLReader() throws SAXException {
+        XMLReader reader = null;
+
+        try {
             try {
-                try {
-                    // According to JAXP 1.2 specification, if a SAXSource
-                    // is created using a SAX InputSource the Transformer or
-                    // TransformerFactory creates a reader via the
-                    // XMLReaderFactory if setXMLReader is not used
-                    reader = XMLReaderFactory.createXMLReader();
-                } catch (Exception e) {
-                   try {
-                        // If unable to create an instance, let's try to use
-                        // the XMLReader from JAXP
+                // According to JAXP 1.2 specification, if a SAXSource
+                // is created using a SAX InputSource the Transformer or
+                // TransformerFactory creates a reader via the
+                // XMLReaderFactory if setXMLReader is not used
+                reader = XMLReaderFactory.createXMLReader();
+            } catch (Exception e) {
+               try {
+                    // If unable to create an instance, let's try to use
+                    // the XMLReader from JAXP.  The factory isn't thread
+                    // safe, so it's only used with the class locked.
+                    synchronized (XMLReaderManager.class) {
                         if (m_parserFactory == null) {
                             m_parserFactory = SAXParserFactory.newInstance();
                             m_parserFactory.setNamespaceAware(true);
                         }
 
                         reader = m_parserFactory.newSAXParser().getXMLReader();
-                   } catch (ParserConfigurationException pce) {
-                       throw pce;   // pass along pce
-                   }
-                }
-                try {
-                    reader.setFeature(NAMESPACES_FEATURE, true);
-                    reader.setFeature(NAMESPACE_PREFIXES_FEATURE, false);
-                } catch (SAXException se) {
-                    // Try to carry on if we've got a parser that
-                    // doesn't know about namespace prefixes.
-                }
-            } catch (ParserConfigurationException ex) {
-                throw new SAXException(ex);
-            } catch (FactoryConfigurationError ex1) {
-                throw new SAXException(ex1.toString());
-            } catch (NoSuchMethodError ex2) {
-            } catch (AbstractMethodError ame) {
+                    }
+               } catch (ParserConfigurationException pce) {
+                   throw pce;   // pass along pce
+               }
             }
-
-            // Cache the XMLReader if this is the first time we've created
-            // a reader for this thread.
-            if (!threadHasReader) {
-                m_readers.set(reader);
-                m_inUse.put(reader, Boolean.TRUE);
+            try {
+                reader.setFeature(NAMESPACES_FEATURE, true);
+                reader.setFeature(NAMESPACE_PREFIXES_FEATURE, false);
+            } catch (SAXException se) {
+                // Try to carry on if we've got a parser that
+                // doesn't know about namespace prefixes.
             }
-        } else {
-            m_inUse.put(reader, Boolean.TRUE);
+        } catch (ParserConfigurationException ex) {
+            throw new SAXException(ex);
+        } catch (FactoryConfigurationError ex1) {
+            throw new SAXException(ex1.toString());
+        } catch (NoSuchMethodError ex2) {
+        } catch (AbstractMethodError ame) {
         }
 
         return reader;
@@ -151,11 +164,13 @@ public class XMLReaderManager {
      *
      * @param reader The XMLReader that's being released.
      */
-    public synchronized void releaseXMLReader(XMLReader reader) {
+    public void releaseXMLReader(XMLReader reader) {
         // If the reader that's being released is the cached reader
-        // for this thread, remove it from the m_isUse list.
-        if (m_readers.get() == reader && reader != null) {
-            m_inUse.remove(reader);
+        // for this thread, mark it as no longer in use.
+        CachedReader cached = (CachedReader) m_readers.get();
+
+        if (cached != null && cached.reader == reader && reader != null) {
+            cached.inUse = false;
         }
     }
 }
@@ -32,6 +32,8 @@ import org.apache.xml.utils.PrefixResolver;
 import org.apache.xml.utils.SAXSourceLocator;
 import org.apache.xpath.compiler.Compiler;
 import org.apache.xpath.compiler.FunctionTable;
+import org.apache.xpath.compiler.OptimizingCompiler;
+import org.apache.xpath.compiler.StreamingAnalysis;
 import org.apache.xpath.compiler.XPathParser;
 import org.apache.xpath.functions.Function;
 import org.apache.xpath.objects.XObject;
@@ -62,6 +64,63 @@ public class XPath implements Serializable, ExpressionOwner
   	      m_funcTable = new FunctionTable();
   }
 
+  /**
+   * The system property that selects the {@link OptimizingCompiler}, which
+   * specializes the compiled expressions, instead of the {@link Compiler}.
+   */
+  public static final String OPTIMIZE_PROPERTY =
+    "org.apache.xpath.compiler.optimize";
+
+  /** True if expressions are compiled with the OptimizingCompiler. */
+  private static final boolean m_optimize = getOptimizeProperty();
+
+  /**
+   * Read the {@link #OPTIMIZE_PROPERTY} system property, which is false if
+   * it isn't set or can't be read.
+   */
+  private static boolean getOptimizeProperty()
+  {
+    try
+    {
+      return "true".equals(System.getProperty(OPTIMIZE_PROPERTY));
+    }
+    catch (SecurityException se)
+    {
+      return false;
+    }
+  }
+
+  /**
+   * Create the compiler for an expression.
+   */
+  private static Compiler newCompiler(ErrorListener errorListener,
+          SourceLocator locator, FunctionTable funcTable)
+  {
+    return m_optimize
+           ? new OptimizingCompiler(errorListener, locator, funcTable)
+           : new Compiler(errorListener, locator, funcTable);
+  }
+
+  /**
+   * The {@link StreamingAnalysis} bits of the expression, which are all set
+   * if it wasn't compiled from a string.
+   *  @serial
+   */
+  private int m_streamingAnalysis = StreamingAnalysis.UNKNOWN;
+
+  /**
+   * Get the {@link StreamingAnalysis} bits of the expression, which tell
+   * what parts of the source tree it may look at besides the subtree of the
+   * context node.
+   *
+   * @return The analysis bits, or StreamingAnalysis.UNKNOWN if the
+   *         expression wasn't compiled from a string.
+   */
+  public int getStreamingAnalysis()
+  {
+    return m_streamingAnalysis;
+  }
+
   /**
    * Get the raw Expression object that this class wraps.
    *
@@ -172,7 +231,7 @@ public class XPath implements Serializable, ExpressionOwner
     m_patternString = exprString;
 
     XPathParser parser = new XPathParser(errorListener, locator);
-    Compiler compiler = new Compiler(errorListener, locator, m_funcTable);
+    Compiler compiler = newCompiler(errorListener, locator, m_funcTable);
 
     if (SELECT == type)
       parser.initXPath(compiler, exprString, prefixResolver);
@@ -183,6 +242,7 @@ public class XPath implements Serializable, ExpressionOwner
 
     // System.out.println("----------------");
     Expression expr = compiler.compile(0);
+    m_streamingAnalysis = StreamingAnalysis.analyze(compiler);
 
     // System.out.println("expr: "+expr);
     this.setExpression(expr);
@@ -221,7 +281,7 @@ public class XPath implements Serializable, ExpressionOwner
     m_patternString = exprString;
 
     XPathParser parser = new XPathParser(errorListener, locator);
-    Compiler compiler = new Compiler(errorListener, locator, m_funcTable);
+    Compiler compiler = newCompiler(errorListener, locator, m_funcTable);
 
     if (SELECT == type)
       parser.initXPath(compiler, exprString, prefixResolver);
@@ -235,6 +295,7 @@ public class XPath implements Serializable, ExpressionOwner
 
     // System.out.println("----------------");
     Expression expr = compiler.compile(0);
+    m_streamingAnalysis = StreamingAnalysis.analyze(compiler);
 
     // System.out.println("expr: "+expr);
     this.setExpression(expr);
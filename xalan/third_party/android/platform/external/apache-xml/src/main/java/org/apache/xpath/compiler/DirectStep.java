@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the  "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.xpath.compiler;
+
+import org.apache.xml.dtm.DTM;
+import org.apache.xml.dtm.DTMFilter;
+import org.apache.xml.utils.XMLString;
+import org.apache.xpath.Expression;
+import org.apache.xpath.XPathContext;
+import org.apache.xpath.axes.AttributeIterator;
+import org.apache.xpath.axes.ChildIterator;
+import org.apache.xpath.axes.ChildTestIterator;
+import org.apache.xpath.objects.XString;
+import org.apache.xpath.patterns.NodeTest;
+
+/**
+ * A single child or attribute step without predicates, such as
+ * <code>child::foo</code>, <code>*</code>, <code>node()</code> or
+ * <code>@foo</code>, that is evaluated with a direct loop over the DTM
+ * node handles instead of a cloned {@link org.apache.xml.dtm.DTMIterator}.
+ * Names are matched by comparing expanded type IDs.
+ * @xsl.usage internal
+ */
+final class DirectStep implements java.io.Serializable
+{
+    static final long serialVersionUID = 2913532826547417702L;
+
+  /** True if the step walks the attribute axis, false for the child axis. */
+  private final boolean m_attributes;
+
+  /** True if the step accepts every child node, as in <code>node()</code>. */
+  private final boolean m_anyNode;
+
+  /** The DTM node type accepted by the step. */
+  private final int m_nodeType;
+
+  /** The namespace of the name test, or null if it has no namespace. */
+  private final String m_namespace;
+
+  /** The local name of the name test, or null for a <code>*</code> test. */
+  private final String m_localName;
+
+  private DirectStep(boolean attributes, boolean anyNode, int nodeType,
+                     String namespace, String localName)
+  {
+    m_attributes = attributes;
+    m_anyNode = anyNode;
+    m_nodeType = nodeType;
+    m_namespace = namespace;
+    m_localName = localName;
+  }
+
+  /**
+   * Returns a direct step for a compiled location path, or null if the path
+   * isn't a single child or attribute step that can be walked directly.
+   *
+   * @param compiler The compiler that compiled the path.
+   * @param opPos The position of the path in the op map.
+   * @param path The compiled expression at opPos.
+   *
+   * @return A DirectStep that selects the same nodes as the path, or null.
+   */
+  static DirectStep forPath(Compiler compiler, int opPos, Expression path)
+  {
+    // Arguments and groups compile to the expression they contain.
+    while (compiler.getOp(opPos) == OpCodes.OP_ARGUMENT
+           || compiler.getOp(opPos) == OpCodes.OP_GROUP)
+      opPos += 2;
+
+    if (compiler.getOp(opPos) != OpCodes.OP_LOCATIONPATH)
+      return null;
+
+    Class pathClass = path.getClass();
+
+    if (pathClass == ChildIterator.class)
+      return new DirectStep(false, true, DTM.ELEMENT_NODE, null, null);
+
+    if (pathClass != ChildTestIterator.class
+        && pathClass != AttributeIterator.class)
+      return null;
+
+    ChildTestIterator iter = (ChildTestIterator) path;
+    boolean attributes = (pathClass == AttributeIterator.class);
+    // The iterator's getWhatToShow() doesn't tell what its node test shows.
+    int whatToShow =
+      compiler.getWhatToShow(OpMap.getFirstChildPos(opPos));
+
+    if (iter.getPredicateCount() != 0
+        || whatToShow != (attributes ? DTMFilter.SHOW_ATTRIBUTE
+                                     : DTMFilter.SHOW_ELEMENT))
+      return null;
+
+    String namespace = iter.getNamespace();
+    String localName = iter.getLocalName();
+    int nodeType = attributes ? DTM.ATTRIBUTE_NODE : DTM.ELEMENT_NODE;
+
+    if (NodeTest.WILD.equals(localName))
+    {
+      // Only "*" is handled, "prefix:*" still needs a namespace test.
+      return (null == namespace)
+             ? new DirectStep(attributes, false, nodeType, null, null) : null;
+    }
+    if (null == localName || NodeTest.WILD.equals(namespace))
+      return null;
+
+    return new DirectStep(attributes, false, nodeType, namespace, localName);
+  }
+
+  /**
+   * Returns the expanded type ID of the name test in a DTM, or DTM.NULL if
+   * the step has no name test.
+   */
+  private int getExpandedType(DTM dtm)
+  {
+    return (null == m_localName)
+           ? DTM.NULL
+           : dtm.getExpandedTypeID(m_namespace, m_localName, m_nodeType);
+  }
+
+  /**
+   * Returns the first node on the step's axis from a context node, whether
+   * it passes the node test or not.
+   */
+  private int first(DTM dtm, int context)
+  {
+    return m_attributes ? dtm.getFirstAttribute(context)
+                        : dtm.getFirstChild(context);
+  }
+
+  /**
+   * Returns the next node on the step's axis, whether it passes the node
+   * test or not.
+   */
+  private int next(DTM dtm, int node)
+  {
+    return m_attributes ? dtm.getNextAttribute(node)
+                        : dtm.getNextSibling(node);
+  }
+
+  /**
+   * Tells if a node passes the node test.
+   */
+  private boolean accept(DTM dtm, int node, int expType)
+  {
+    if (m_anyNode)
+      return true;
+    else if (DTM.NULL == expType)
+      return dtm.getNodeType(node) == m_nodeType;
+    else
+      return dtm.getExpandedTypeID(node) == expType;
+  }
+
+  /**
+   * Returns the first node selected from the current node, in document
+   * order, or DTM.NULL if the step selects no nodes.
+   */
+  int firstNode(XPathContext xctxt)
+  {
+    int context = xctxt.getCurrentNode();
+    DTM dtm = xctxt.getDTM(context);
+    int expType = getExpandedType(dtm);
+
+    for (int node = first(dtm, context); DTM.NULL != node;
+         node = next(dtm, node))
+    {
+      if (accept(dtm, node, expType))
+        return node;
+    }
+    return DTM.NULL;
+  }
+
+  /**
+   * Returns the number of nodes selected from the current node.
+   */
+  int count(XPathContext xctxt)
+  {
+    int context = xctxt.getCurrentNode();
+    DTM dtm = xctxt.getDTM(context);
+    int expType = getExpandedType(dtm);
+    int count = 0;
+
+    for (int node = first(dtm, context); DTM.NULL != node;
+         node = next(dtm, node))
+    {
+      if (accept(dtm, node, expType))
+        count++;
+    }
+    return count;
+  }
+
+  /**
+   * Returns the string value of the first node selected from the current
+   * node, which is the string value of the node-set, or an empty string if
+   * the step selects no nodes.
+   */
+  XMLString firstString(XPathContext xctxt)
+  {
+    int node = firstNode(xctxt);
+
+    if (DTM.NULL == node)
+      return XString.EMPTYSTRING;
+
+    XMLString value = xctxt.getDTM(node).getStringValue(node);
+    return (null == value) ? XString.EMPTYSTRING : value;
+  }
+
+  /**
+   * Tells if the string value of any node selected from the current node
+   * equals a string, which is how a node-set is compared to a string.
+   */
+  boolean anyStringEquals(XPathContext xctxt, XMLString value)
+  {
+    int context = xctxt.getCurrentNode();
+    DTM dtm = xctxt.getDTM(context);
+    int expType = getExpandedType(dtm);
+
+    for (int node = first(dtm, context); DTM.NULL != node;
+         node = next(dtm, node))
+    {
+      if (accept(dtm, node, expType))
+      {
+        XMLString nodeValue = dtm.getStringValue(node);
+
+        if (null != nodeValue && nodeValue.equals(value))
+          return true;
+      }
+    }
+    return false;
+  }
+}
@@ -330,7 +330,7 @@ public class FunctionTable
   {
           try{
               if (which < NUM_BUILT_IN_FUNCS) 
-                  return (Function) m_functions[which].newInstance();
+                  return newBuiltInFunction(which);
               else 
                   return (Function) m_functions_customer[
                       which-NUM_BUILT_IN_FUNCS].newInstance();                  
@@ -341,6 +341,94 @@ public class FunctionTable
           }
   }
   
+  /**
+   * Create a new built-in Function with its constructor, rather than with
+   * Class.newInstance(), so that compiling a function call doesn't need
+   * reflection.
+   *
+   * @param which A built-in FUNC_XXX function ID.
+   *
+   * @return a new Function instance.
+   */
+  private static Function newBuiltInFunction(int which)
+  {
+    switch (which)
+    {
+      case FUNC_CURRENT :
+        return new org.apache.xpath.functions.FuncCurrent();
+      case FUNC_LAST :
+        return new org.apache.xpath.functions.FuncLast();
+      case FUNC_POSITION :
+        return new org.apache.xpath.functions.FuncPosition();
+      case FUNC_COUNT :
+        return new org.apache.xpath.functions.FuncCount();
+      case FUNC_ID :
+        return new org.apache.xpath.functions.FuncId();
+      case FUNC_KEY :
+        return new org.apache.xalan.templates.FuncKey();
+      case FUNC_LOCAL_PART :
+        return new org.apache.xpath.functions.FuncLocalPart();
+      case FUNC_NAMESPACE :
+        return new org.apache.xpath.functions.FuncNamespace();
+      case FUNC_QNAME :
+        return new org.apache.xpath.functions.FuncQname();
+      case FUNC_GENERATE_ID :
+        return new org.apache.xpath.functions.FuncGenerateId();
+      case FUNC_NOT :
+        return new org.apache.xpath.functions.FuncNot();
+      case FUNC_TRUE :
+        return new org.apache.xpath.functions.FuncTrue();
+      case FUNC_FALSE :
+        return new org.apache.xpath.functions.FuncFalse();
+      case FUNC_BOOLEAN :
+        return new org.apache.xpath.functions.FuncBoolean();
+      case FUNC_LANG :
+        return new org.apache.xpath.functions.FuncLang();
+      case FUNC_NUMBER :
+        return new org.apache.xpath.functions.FuncNumber();
+      case FUNC_FLOOR :
+        return new org.apache.xpath.functions.FuncFloor();
+      case FUNC_CEILING :
+        return new org.apache.xpath.functions.FuncCeiling();
+      case FUNC_ROUND :
+        return new org.apache.xpath.functions.FuncRound();
+      case FUNC_SUM :
+        return new org.apache.xpath.functions.FuncSum();
+      case FUNC_STRING :
+        return new org.apache.xpath.functions.FuncString();
+      case FUNC_STARTS_WITH :
+        return new org.apache.xpath.functions.FuncStartsWith();
+      case FUNC_CONTAINS :
+        return new org.apache.xpath.functions.FuncContains();
+      case FUNC_SUBSTRING_BEFORE :
+        return new org.apache.xpath.functions.FuncSubstringBefore();
+      case FUNC_SUBSTRING_AFTER :
+        return new org.apache.xpath.functions.FuncSubstringAfter();
+      case FUNC_NORMALIZE_SPACE :
+        return new org.apache.xpath.functions.FuncNormalizeSpace();
+      case FUNC_TRANSLATE :
+        return new org.apache.xpath.functions.FuncTranslate();
+      case FUNC_CONCAT :
+        return new org.apache.xpath.functions.FuncConcat();
+      case FUNC_SYSTEM_PROPERTY :
+        return new org.apache.xpath.functions.FuncSystemProperty();
+      case FUNC_EXT_FUNCTION_AVAILABLE :
+        return new org.apache.xpath.functions.FuncExtFunctionAvailable();
+      case FUNC_EXT_ELEM_AVAILABLE :
+        return new org.apache.xpath.functions.FuncExtElementAvailable();
+      case FUNC_SUBSTRING :
+        return new org.apache.xpath.functions.FuncSubstring();
+      case FUNC_STRING_LENGTH :
+        return new org.apache.xpath.functions.FuncStringLength();
+      case FUNC_DOCLOCATION :
+        return new org.apache.xpath.functions.FuncDoclocation();
+      case FUNC_UNPARSED_ENTITY_URI :
+        return new org.apache.xpath.functions.FuncUnparsedEntityURI();
+      default :
+        throw new IllegalArgumentException(Integer.toString(which));
+    }
+  }
+
   /**
    * Obtain a function ID from a given function name
    * @param key the function name in a java.lang.String format.
@@ -0,0 +1,329 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the  "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.xpath.compiler;
+
+import java.util.HashSet;
+
+import javax.xml.transform.ErrorListener;
+import javax.xml.transform.SourceLocator;
+import javax.xml.transform.TransformerException;
+
+import org.apache.xpath.Expression;
+import org.apache.xpath.functions.FuncBoolean;
+import org.apache.xpath.functions.FuncCeiling;
+import org.apache.xpath.functions.FuncConcat;
+import org.apache.xpath.functions.FuncContains;
+import org.apache.xpath.functions.FuncCount;
+import org.apache.xpath.functions.FuncFalse;
+import org.apache.xpath.functions.FuncFloor;
+import org.apache.xpath.functions.FuncNormalizeSpace;
+import org.apache.xpath.functions.FuncNot;
+import org.apache.xpath.functions.FuncNumber;
+import org.apache.xpath.functions.FuncRound;
+import org.apache.xpath.functions.FuncStartsWith;
+import org.apache.xpath.functions.FuncString;
+import org.apache.xpath.functions.FuncStringLength;
+import org.apache.xpath.functions.FuncSubstring;
+import org.apache.xpath.functions.FuncSubstringAfter;
+import org.apache.xpath.functions.FuncSubstringBefore;
+import org.apache.xpath.functions.FuncTranslate;
+import org.apache.xpath.functions.FuncTrue;
+import org.apache.xpath.functions.Function;
+import org.apache.xpath.functions.Function2Args;
+import org.apache.xpath.functions.Function3Args;
+import org.apache.xpath.functions.FunctionMultiArgs;
+import org.apache.xpath.functions.FunctionOneArg;
+import org.apache.xpath.functions.WrongNumberArgsException;
+import org.apache.xpath.objects.XBoolean;
+import org.apache.xpath.objects.XNumber;
+import org.apache.xpath.objects.XObject;
+import org.apache.xpath.objects.XString;
+import org.apache.xpath.operations.And;
+import org.apache.xpath.operations.Bool;
+import org.apache.xpath.operations.Div;
+import org.apache.xpath.operations.Equals;
+import org.apache.xpath.operations.Gt;
+import org.apache.xpath.operations.Gte;
+import org.apache.xpath.operations.Lt;
+import org.apache.xpath.operations.Lte;
+import org.apache.xpath.operations.Minus;
+import org.apache.xpath.operations.Mod;
+import org.apache.xpath.operations.Mult;
+import org.apache.xpath.operations.Neg;
+import org.apache.xpath.operations.NotEquals;
+import org.apache.xpath.operations.Operation;
+import org.apache.xpath.operations.Or;
+import org.apache.xpath.operations.Plus;
+import org.apache.xpath.operations.UnaryOperation;
+
+/**
+ * A Compiler that specializes the Expression tree it builds, so that less
+ * work is left for evaluation.
+ * <ul>
+ * <li>Operations and core functions whose operands are all literals are
+ * evaluated once, and replaced with their result.</li>
+ * <li>count(), boolean(), not(), string() and number() of a single child or
+ * attribute step without predicates, and comparisons of such a step with a
+ * string literal, loop over the DTM node handles directly, and return
+ * primitive results from num(), bool() and xstr(), instead of cloning an
+ * iterator and wrapping the node-set in an XNodeSet.</li>
+ * </ul>
+ * Everything else is compiled as usual, so the expressions evaluate to the
+ * same results.  All the specializations are plain classes, so that
+ * expressions can still be serialized and no bytecode is generated.
+ * @see org.apache.xpath.XPath
+ * @xsl.usage advanced
+ */
+public class OptimizingCompiler extends Compiler
+{
+
+  /**
+   * The operation and function classes that only depend on their operands,
+   * so they can be evaluated at compile time when those are literals.
+   */
+  private static final HashSet m_foldable = new HashSet();
+
+  static
+  {
+    m_foldable.add(Or.class);
+    m_foldable.add(And.class);
+    m_foldable.add(Equals.class);
+    m_foldable.add(NotEquals.class);
+    m_foldable.add(Lt.class);
+    m_foldable.add(Lte.class);
+    m_foldable.add(Gt.class);
+    m_foldable.add(Gte.class);
+    m_foldable.add(Plus.class);
+    m_foldable.add(Minus.class);
+    m_foldable.add(Mult.class);
+    m_foldable.add(Div.class);
+    m_foldable.add(Mod.class);
+    m_foldable.add(Neg.class);
+    m_foldable.add(Bool.class);
+    m_foldable.add(org.apache.xpath.operations.Number.class);
+    m_foldable.add(org.apache.xpath.operations.String.class);
+    m_foldable.add(FuncTrue.class);
+    m_foldable.add(FuncFalse.class);
+    m_foldable.add(FuncNot.class);
+    m_foldable.add(FuncBoolean.class);
+    m_foldable.add(FuncNumber.class);
+    m_foldable.add(FuncFloor.class);
+    m_foldable.add(FuncCeiling.class);
+    m_foldable.add(FuncRound.class);
+    m_foldable.add(FuncString.class);
+    m_foldable.add(FuncStringLength.class);
+    m_foldable.add(FuncNormalizeSpace.class);
+    m_foldable.add(FuncConcat.class);
+    m_foldable.add(FuncContains.class);
+    m_foldable.add(FuncStartsWith.class);
+    m_foldable.add(FuncSubstring.class);
+    m_foldable.add(FuncSubstringBefore.class);
+    m_foldable.add(FuncSubstringAfter.class);
+    m_foldable.add(FuncTranslate.class);
+  }
+
+  /**
+   * Construct an OptimizingCompiler object with a specific ErrorListener
+   * and SourceLocator where the expression is located.
+   *
+   * @param errorHandler Error listener where messages will be sent, or null
+   *                     if messages should be sent to System err.
+   * @param locator The location object where the expression lives, which
+   *                may be null.
+   * @param fTable  The FunctionTable object where the xpath build-in
+   *                functions are stored.
+   */
+  public OptimizingCompiler(ErrorListener errorHandler, SourceLocator locator,
+            FunctionTable fTable)
+  {
+    super(errorHandler, locator, fTable);
+  }
+
+  /**
+   * Compile the expression at an opcode position, then fold or specialize
+   * it.  Sub-expressions are compiled through this method as well, so they
+   * are already folded.
+   *
+   * @param opPos The current position in the xpath.m_opMap array.
+   * @return The compiled expression.
+   *
+   * @throws TransformerException if there is a syntax or other error.
+   */
+  public Expression compile(int opPos) throws TransformerException
+  {
+    Expression expr = super.compile(opPos);
+
+    if (null == expr)
+      return null;
+    else if (m_foldable.contains(expr.getClass()) && hasConstantOperands(expr))
+      return fold(expr);
+    else
+      return specialize(expr, opPos);
+  }
+
+  /**
+   * Tell if an expression is a literal.
+   */
+  private static boolean isConstant(Expression expr)
+  {
+    return (expr instanceof XString) || (expr instanceof XNumber)
+           || (expr instanceof XBoolean);
+  }
+
+  /**
+   * Tell if all the operands of an operation or function are literals.  A
+   * function with an omitted default argument depends on the context node.
+   */
+  private static boolean hasConstantOperands(Expression expr)
+  {
+    if (expr instanceof Operation)
+    {
+      Operation op = (Operation) expr;
+
+      return isConstant(op.getLeftOperand())
+             && isConstant(op.getRightOperand());
+    }
+    else if (expr instanceof UnaryOperation)
+      return isConstant(((UnaryOperation) expr).getOperand());
+    else if (!(expr instanceof FunctionOneArg))
+      return true;  // true() and false()
+
+    if (!isConstant(((FunctionOneArg) expr).getArg0()))
+      return false;
+
+    if (expr instanceof Function2Args)
+    {
+      Expression arg1 = ((Function2Args) expr).getArg1();
+
+      if (null != arg1 && !isConstant(arg1))
+        return false;
+    }
+    if (expr instanceof Function3Args)
+    {
+      Expression arg2 = ((Function3Args) expr).getArg2();
+
+      if (null != arg2 && !isConstant(arg2))
+        return false;
+    }
+    if (expr instanceof FunctionMultiArgs)
+    {
+      Expression[] args = ((FunctionMultiArgs) expr).getArgs();
+
+      for (int i = 0; null != args && i < args.length; i++)
+      {
+        if (!isConstant(args[i]))
+          return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Evaluate an expression whose operands are literals, and return a new
+   * literal with the result.  The foldable operations and functions don't
+   * use the XPathContext when their operands are literals.
+   */
+  private static Expression fold(Expression expr) throws TransformerException
+  {
+    XObject result = expr.execute(null);
+
+    switch (result.getType())
+    {
+    case XObject.CLASS_BOOLEAN :
+      return new XBoolean(result.bool());
+    case XObject.CLASS_NUMBER :
+      return new XNumber(result.num());
+    case XObject.CLASS_STRING :
+      return new XString(result.str());
+    default :
+      return expr;
+    }
+  }
+
+  /**
+   * Replace an expression of a single child or attribute step with a
+   * specialization that walks the DTM directly, if it has one.
+   *
+   * @param expr The expression compiled at opPos.
+   * @param opPos The position of the expression in the op map.
+   */
+  private Expression specialize(Expression expr, int opPos)
+  {
+    Class exprClass = expr.getClass();
+
+    if (exprClass == Equals.class && getOp(opPos) == OpCodes.OP_EQUALS)
+    {
+      Operation op = (Operation) expr;
+      Expression left = op.getLeftOperand();
+      Expression right = op.getRightOperand();
+      int leftPos = getFirstChildPos(opPos);
+      boolean literalLeft = (left.getClass() == XString.class);
+      Expression path = literalLeft ? right : left;
+      int pathPos = literalLeft ? getNextOpPos(leftPos) : leftPos;
+      Expression literal = literalLeft ? left : right;
+      DirectStep step = (literal.getClass() == XString.class)
+                        ? DirectStep.forPath(this, pathPos, path) : null;
+
+      if (null == step)
+        return expr;
+
+      StepEquals equals = new StepEquals(path, (XString) literal, step);
+
+      equals.setLeftRight(left, right);
+      return equals;
+    }
+
+    if (!(expr instanceof FunctionOneArg)
+        || getOp(opPos) != OpCodes.OP_FUNCTION)
+      return expr;
+
+    // The function ID is followed by the first argument.
+    Expression arg = ((FunctionOneArg) expr).getArg0();
+    int argPos = getFirstChildPos(opPos) + 1;
+    DirectStep step =
+      (null != arg) ? DirectStep.forPath(this, argPos, arg) : null;
+
+    if (null == step)
+      return expr;
+
+    Function func;
+
+    if (exprClass == FuncCount.class)
+      func = new StepCount(arg, step);
+    else if (exprClass == FuncBoolean.class)
+      func = new StepBoolean(arg, step);
+    else if (exprClass == FuncNot.class)
+      func = new StepNot(arg, step);
+    else if (exprClass == FuncString.class)
+      func = new StepString(arg, step);
+    else if (exprClass == FuncNumber.class)
+      func = new StepNumber(arg, step);
+    else
+      return expr;
+
+    try
+    {
+      func.setArg(arg, 0);
+    }
+    catch (WrongNumberArgsException wnae)
+    {
+      return expr;  // can't happen, these functions take one argument.
+    }
+    return func;
+  }
+}
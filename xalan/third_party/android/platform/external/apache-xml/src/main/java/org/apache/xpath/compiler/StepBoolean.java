@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the  "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.xpath.compiler;
+
+import javax.xml.transform.TransformerException;
+
+import org.apache.xml.dtm.DTM;
+import org.apache.xpath.Expression;
+import org.apache.xpath.XPathContext;
+import org.apache.xpath.functions.FuncBoolean;
+import org.apache.xpath.objects.XBoolean;
+import org.apache.xpath.objects.XObject;
+
+/**
+ * The boolean() function of a single child or attribute step, which stops
+ * at the first node found by a {@link DirectStep} loop.
+ * @xsl.usage internal
+ */
+final class StepBoolean extends FuncBoolean
+{
+    static final long serialVersionUID = 5371640238472694735L;
+
+  /** The compiled step argument that m_step was built for. */
+  private final Expression m_path;
+
+  /** The direct evaluation of m_path. */
+  private final DirectStep m_step;
+
+  StepBoolean(Expression path, DirectStep step)
+  {
+    m_path = path;
+    m_step = step;
+  }
+
+  public XObject execute(XPathContext xctxt) throws TransformerException
+  {
+    return bool(xctxt) ? XBoolean.S_TRUE : XBoolean.S_FALSE;
+  }
+
+  public boolean bool(XPathContext xctxt) throws TransformerException
+  {
+    // The argument may have been replaced, for instance by a global variable.
+    if (getArg0() != m_path)
+      return super.execute(xctxt).bool();
+
+    return DTM.NULL != m_step.firstNode(xctxt);
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the  "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.xpath.compiler;
+
+import javax.xml.transform.TransformerException;
+
+import org.apache.xpath.Expression;
+import org.apache.xpath.XPathContext;
+import org.apache.xpath.objects.XBoolean;
+import org.apache.xpath.objects.XObject;
+import org.apache.xpath.objects.XString;
+import org.apache.xpath.operations.Equals;
+
+/**
+ * The '=' comparison of a single child or attribute step with a string
+ * literal, such as <code>@type = 'x'</code>, which compares the string
+ * values of the nodes found by a {@link DirectStep} loop without building
+ * a node-set.
+ * @xsl.usage internal
+ */
+final class StepEquals extends Equals
+{
+    static final long serialVersionUID = -6018297534401875325L;
+
+  /** The compiled step operand that m_step was built for. */
+  private final Expression m_path;
+
+  /** The string literal operand. */
+  private final XString m_value;
+
+  /** The direct evaluation of m_path. */
+  private final DirectStep m_step;
+
+  StepEquals(Expression path, XString value, DirectStep step)
+  {
+    m_path = path;
+    m_value = value;
+    m_step = step;
+  }
+
+  public XObject execute(XPathContext xctxt) throws TransformerException
+  {
+    return bool(xctxt) ? XBoolean.S_TRUE : XBoolean.S_FALSE;
+  }
+
+  public boolean bool(XPathContext xctxt) throws TransformerException
+  {
+    // The operands may have been replaced, for instance by global variables.
+    if (!(m_left == m_path && m_right == m_value)
+        && !(m_left == m_value && m_right == m_path))
+      return super.bool(xctxt);
+
+    return m_step.anyStringEquals(xctxt, m_value);
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the  "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.xpath.compiler;
+
+import javax.xml.transform.TransformerException;
+
+import org.apache.xpath.Expression;
+import org.apache.xpath.XPathContext;
+import org.apache.xpath.functions.FuncNumber;
+import org.apache.xpath.objects.XNumber;
+import org.apache.xpath.objects.XObject;
+
+/**
+ * The number() function of a single child or attribute step, which parses
+ * the string value of the first node found by a {@link DirectStep} loop.
+ * @xsl.usage internal
+ */
+final class StepNumber extends FuncNumber
+{
+    static final long serialVersionUID = 2650958273916488324L;
+
+  /** The compiled step argument that m_step was built for. */
+  private final Expression m_path;
+
+  /** The direct evaluation of m_path. */
+  private final DirectStep m_step;
+
+  StepNumber(Expression path, DirectStep step)
+  {
+    m_path = path;
+    m_step = step;
+  }
+
+  public XObject execute(XPathContext xctxt) throws TransformerException
+  {
+    return new XNumber(num(xctxt));
+  }
+
+  public double num(XPathContext xctxt) throws TransformerException
+  {
+    // The argument may have been replaced, for instance by a global variable.
+    if (getArg0() != m_path)
+      return super.execute(xctxt).num();
+
+    // An empty node-set converts to NaN, as does the empty string.
+    return m_step.firstString(xctxt).toDouble();
+  }
+}
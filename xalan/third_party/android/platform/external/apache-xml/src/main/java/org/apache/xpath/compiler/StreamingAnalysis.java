@@ -0,0 +1,435 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the  "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.xpath.compiler;
+
+import javax.xml.transform.TransformerException;
+
+/**
+ * Analyzes the op map of a compiled expression or match pattern, to tell
+ * whether it can be evaluated when only part of the source tree is
+ * available, as when a stylesheet is run over a streamed document.
+ * <p>The analysis is a set of bits, each of which marks something the
+ * expression does that needs more of the tree.  The bits of several
+ * expressions can be combined with a bitwise or.  An expression that doesn't
+ * set any bit only looks at the context node's subtree.</p>
+ * @see org.apache.xpath.XPath#getStreamingAnalysis()
+ * @xsl.usage internal
+ */
+public class StreamingAnalysis
+{
+
+  /**
+   * A step leaves the context node's subtree, on the parent, ancestor,
+   * preceding or following axes.  Match patterns may still test ancestors.
+   */
+  public static final int BIT_OUTSIDE_SUBTREE = 0x00000001;
+
+  /** A location path starts from the root of the document. */
+  public static final int BIT_ROOT = 0x00000002;
+
+  /** The expression calls position() or last(). */
+  public static final int BIT_CONTEXT_POSITION = 0x00000004;
+
+  /**
+   * The expression calls a function that looks at the whole document or at
+   * other documents, such as id(), key(), generate-id() or document(), or an
+   * extension function.
+   */
+  public static final int BIT_DOCUMENT_FUNCTION = 0x00000008;
+
+  /**
+   * The expression reads more of the context node than its attributes,
+   * through a child, descendant, self or namespace step, current(), or a
+   * string function that defaults to the string value of the context node.
+   */
+  public static final int BIT_NODE_STEP = 0x00000010;
+
+  /**
+   * The expression isn't a location path, or a union of location paths,
+   * of a single child or attribute step.
+   */
+  public static final int BIT_DEEP_SELECTION = 0x00000020;
+
+  /**
+   * A predicate may be a number, so that it tests the proximity position of
+   * a node.
+   */
+  public static final int BIT_NUMERIC_PREDICATE = 0x00000040;
+
+  /** A step of a match pattern other than the last one has a predicate. */
+  public static final int BIT_ANCESTOR_PREDICATE = 0x00000080;
+
+  /** The expression wasn't compiled from an op map, so nothing is known. */
+  public static final int UNKNOWN = 0x000000FF;
+
+  /**
+   * Analyze the op map of a compiler that has processed an expression or a
+   * match pattern.
+   *
+   * @param compiler The compiler holding the op map.
+   *
+   * @return The analysis bits of the expression.
+   *
+   * @throws TransformerException if the op map can't be walked.
+   */
+  public static int analyze(Compiler compiler) throws TransformerException
+  {
+
+    switch (compiler.getOp(0))
+    {
+    case OpCodes.OP_XPATH :
+      return analyzeExpression(compiler, OpMap.getFirstChildPos(0), true);
+    case OpCodes.OP_MATCHPATTERN :
+      return analyzePattern(compiler, OpMap.getFirstChildPos(0));
+    default :
+      return UNKNOWN;
+    }
+  }
+
+  /**
+   * Analyze the expression at an op map position.
+   *
+   * @param compiler The compiler holding the op map.
+   * @param opPos The position of the expression.
+   * @param top true if the expression is the selection of the XPath, rather
+   *            than an operand.
+   */
+  private static int analyzeExpression(Compiler compiler, int opPos,
+                                       boolean top)
+          throws TransformerException
+  {
+
+    int bits;
+
+    switch (compiler.getOp(opPos))
+    {
+    case OpCodes.OP_OR :
+    case OpCodes.OP_AND :
+    case OpCodes.OP_NOTEQUALS :
+    case OpCodes.OP_EQUALS :
+    case OpCodes.OP_LTE :
+    case OpCodes.OP_LT :
+    case OpCodes.OP_GTE :
+    case OpCodes.OP_GT :
+    case OpCodes.OP_PLUS :
+    case OpCodes.OP_MINUS :
+    case OpCodes.OP_MULT :
+    case OpCodes.OP_DIV :
+    case OpCodes.OP_MOD :
+    {
+      int leftPos = OpMap.getFirstChildPos(opPos);
+
+      bits = analyzeExpression(compiler, leftPos, false)
+             | analyzeExpression(compiler, compiler.getNextOpPos(leftPos),
+                                 false);
+      break;
+    }
+    case OpCodes.OP_NEG :
+    case OpCodes.OP_STRING :
+    case OpCodes.OP_BOOL :
+    case OpCodes.OP_NUMBER :
+    case OpCodes.OP_ARGUMENT :
+      bits = analyzeExpression(compiler, OpMap.getFirstChildPos(opPos), false);
+      break;
+    case OpCodes.OP_GROUP :
+      return analyzeExpression(compiler, OpMap.getFirstChildPos(opPos), top);
+    case OpCodes.OP_LITERAL :
+    case OpCodes.OP_NUMBERLIT :
+    case OpCodes.OP_VARIABLE :
+      bits = 0;
+      break;
+    case OpCodes.OP_FUNCTION :
+      bits = analyzeFunction(compiler, opPos);
+      break;
+    case OpCodes.OP_EXTFUNCTION :
+      bits = BIT_DOCUMENT_FUNCTION;
+      break;
+    case OpCodes.OP_UNION :
+      return analyzeUnion(compiler, opPos, top);
+    case OpCodes.OP_LOCATIONPATH :
+      return analyzeSteps(compiler, OpMap.getFirstChildPos(opPos), top, false);
+    default :
+      return UNKNOWN;
+    }
+
+    return top ? (bits | BIT_DEEP_SELECTION) : bits;
+  }
+
+  /**
+   * Analyze the location paths of a union.
+   */
+  private static int analyzeUnion(Compiler compiler, int opPos, boolean top)
+          throws TransformerException
+  {
+
+    int bits = 0;
+
+    for (int pathPos = OpMap.getFirstChildPos(opPos);
+         isPathOrFilter(compiler.getOp(pathPos));
+         pathPos = compiler.getNextOpPos(pathPos))
+    {
+      bits |= analyzeExpression(compiler, pathPos, top);
+    }
+
+    return bits;
+  }
+
+  /**
+   * Tell if an op code starts a location path, or a filter expression in
+   * a union.
+   */
+  private static boolean isPathOrFilter(int op)
+  {
+    return (OpCodes.OP_LOCATIONPATH == op)
+           || ((op >= OpCodes.FIRST_NODESET_OP)
+               && (op <= OpCodes.LAST_NODESET_OP));
+  }
+
+  /**
+   * Analyze a function call and its arguments.
+   */
+  private static int analyzeFunction(Compiler compiler, int opPos)
+          throws TransformerException
+  {
+
+    int endFunc = opPos + compiler.getOp(opPos + OpMap.MAPINDEX_LENGTH) - 1;
+    int funcPos = OpMap.getFirstChildPos(opPos);
+    int funcID = compiler.getOp(funcPos);
+    int bits = 0;
+    int argCount = 0;
+
+    for (int argPos = funcPos + 1; argPos < endFunc;
+         argPos = compiler.getNextOpPos(argPos), argCount++)
+    {
+      bits |= analyzeExpression(compiler, argPos, false);
+    }
+
+    switch (funcID)
+    {
+    case FunctionTable.FUNC_LAST :
+    case FunctionTable.FUNC_POSITION :
+      return bits | BIT_CONTEXT_POSITION;
+    case FunctionTable.FUNC_CURRENT :
+      return bits | BIT_NODE_STEP;
+    case FunctionTable.FUNC_STRING :
+    case FunctionTable.FUNC_NUMBER :
+    case FunctionTable.FUNC_NORMALIZE_SPACE :
+    case FunctionTable.FUNC_STRING_LENGTH :
+      // Without an argument, these read the string value of the context node.
+      return (0 == argCount) ? (bits | BIT_NODE_STEP) : bits;
+    case FunctionTable.FUNC_COUNT :
+    case FunctionTable.FUNC_LOCAL_PART :
+    case FunctionTable.FUNC_NAMESPACE :
+    case FunctionTable.FUNC_QNAME :
+    case FunctionTable.FUNC_NOT :
+    case FunctionTable.FUNC_TRUE :
+    case FunctionTable.FUNC_FALSE :
+    case FunctionTable.FUNC_BOOLEAN :
+    case FunctionTable.FUNC_FLOOR :
+    case FunctionTable.FUNC_CEILING :
+    case FunctionTable.FUNC_ROUND :
+    case FunctionTable.FUNC_SUM :
+    case FunctionTable.FUNC_STARTS_WITH :
+    case FunctionTable.FUNC_CONTAINS :
+    case FunctionTable.FUNC_SUBSTRING_BEFORE :
+    case FunctionTable.FUNC_SUBSTRING_AFTER :
+    case FunctionTable.FUNC_TRANSLATE :
+    case FunctionTable.FUNC_CONCAT :
+    case FunctionTable.FUNC_SUBSTRING :
+    case FunctionTable.FUNC_SYSTEM_PROPERTY :
+    case FunctionTable.FUNC_EXT_FUNCTION_AVAILABLE :
+    case FunctionTable.FUNC_EXT_ELEM_AVAILABLE :
+      return bits;
+    default :
+      // id(), key(), generate-id(), lang() and the like, or an installed
+      // function such as document().  format-number() only formats its
+      // arguments.
+      Object formatNumber =
+        compiler.getFunctionTable().getFunctionID("format-number");
+
+      if ((formatNumber instanceof Integer)
+          && ((Integer) formatNumber).intValue() == funcID)
+        return bits;
+
+      return bits | BIT_DOCUMENT_FUNCTION;
+    }
+  }
+
+  /**
+   * Analyze the steps of a location path or a location path pattern.
+   *
+   * @param compiler The compiler holding the op map.
+   * @param stepPos The position of the first step.
+   * @param top true if the path is the selection of the XPath.
+   * @param pattern true if the steps are those of a match pattern.
+   */
+  private static int analyzeSteps(Compiler compiler, int stepPos,
+                                  boolean top, boolean pattern)
+          throws TransformerException
+  {
+
+    int bits = 0;
+    int stepCount = 0;
+    int stepType = OpCodes.ENDOP;
+    int firstStepType = OpCodes.ENDOP;
+
+    while (stepPos >= 0
+           && OpCodes.ENDOP != (stepType = compiler.getOp(stepPos)))
+    {
+      if (0 == stepCount++)
+        firstStepType = stepType;
+
+      switch (stepType)
+      {
+      case OpCodes.OP_VARIABLE :
+      case OpCodes.OP_EXTFUNCTION :
+      case OpCodes.OP_FUNCTION :
+      case OpCodes.OP_GROUP :
+        bits |= analyzeExpression(compiler, stepPos, false);
+        break;
+      case OpCodes.FROM_ROOT :
+        bits |= BIT_ROOT;
+        break;
+      case OpCodes.FROM_PARENT :
+      case OpCodes.FROM_ANCESTORS :
+      case OpCodes.FROM_ANCESTORS_OR_SELF :
+      case OpCodes.FROM_PRECEDING :
+      case OpCodes.FROM_PRECEDING_SIBLINGS :
+      case OpCodes.FROM_FOLLOWING :
+      case OpCodes.FROM_FOLLOWING_SIBLINGS :
+        bits |= BIT_OUTSIDE_SUBTREE;
+        break;
+      case OpCodes.FROM_CHILDREN :
+      case OpCodes.FROM_DESCENDANTS :
+      case OpCodes.FROM_DESCENDANTS_OR_SELF :
+      case OpCodes.FROM_SELF :
+      case OpCodes.FROM_NAMESPACE :
+        bits |= BIT_NODE_STEP;
+        break;
+      case OpCodes.FROM_ATTRIBUTES :
+      case OpCodes.MATCH_ATTRIBUTE :
+      case OpCodes.MATCH_ANY_ANCESTOR :
+      case OpCodes.MATCH_IMMEDIATE_ANCESTOR :
+        break;
+      default :
+        return UNKNOWN;
+      }
+
+      int nextStepPos = compiler.getNextStepPos(stepPos);
+      boolean lastStep = (nextStepPos < 0
+                          || OpCodes.ENDOP == compiler.getOp(nextStepPos));
+
+      for (int predPos = compiler.getFirstPredicateOpPos(stepPos);
+           OpCodes.OP_PREDICATE == compiler.getOp(predPos);
+           predPos = compiler.getNextOpPos(predPos))
+      {
+        int exprPos = OpMap.getFirstChildPos(predPos);
+
+        bits |= analyzeExpression(compiler, exprPos, false);
+
+        if (!isBoolean(compiler, exprPos))
+          bits |= BIT_NUMERIC_PREDICATE;
+
+        if (pattern && !lastStep)
+          bits |= BIT_ANCESTOR_PREDICATE;
+      }
+
+      stepPos = nextStepPos;
+    }
+
+    if (top && !(1 == stepCount
+                 && (OpCodes.FROM_CHILDREN == firstStepType
+                     || OpCodes.FROM_ATTRIBUTES == firstStepType)))
+      bits |= BIT_DEEP_SELECTION;
+
+    return bits;
+  }
+
+  /**
+   * Analyze the alternatives of a match pattern.
+   */
+  private static int analyzePattern(Compiler compiler, int opPos)
+          throws TransformerException
+  {
+
+    int bits = 0;
+
+    for (; OpCodes.OP_LOCATIONPATHPATTERN == compiler.getOp(opPos);
+         opPos = compiler.getNextOpPos(opPos))
+    {
+      bits |= analyzeSteps(compiler, OpMap.getFirstChildPos(opPos), false,
+                           true);
+    }
+
+    return bits;
+  }
+
+  /**
+   * Tell if the expression at an op map position is certain not to be a
+   * number, so that as a predicate it is converted to a boolean instead of
+   * being compared with the proximity position.
+   */
+  private static boolean isBoolean(Compiler compiler, int opPos)
+  {
+
+    switch (compiler.getOp(opPos))
+    {
+    case OpCodes.OP_OR :
+    case OpCodes.OP_AND :
+    case OpCodes.OP_NOTEQUALS :
+    case OpCodes.OP_EQUALS :
+    case OpCodes.OP_LTE :
+    case OpCodes.OP_LT :
+    case OpCodes.OP_GTE :
+    case OpCodes.OP_GT :
+    case OpCodes.OP_BOOL :
+    case OpCodes.OP_STRING :
+    case OpCodes.OP_LITERAL :
+    case OpCodes.OP_UNION :
+    case OpCodes.OP_LOCATIONPATH :
+      return true;
+    case OpCodes.OP_GROUP :
+      return isBoolean(compiler, OpMap.getFirstChildPos(opPos));
+    case OpCodes.OP_FUNCTION :
+      switch (compiler.getOp(OpMap.getFirstChildPos(opPos)))
+      {
+      case FunctionTable.FUNC_NOT :
+      case FunctionTable.FUNC_TRUE :
+      case FunctionTable.FUNC_FALSE :
+      case FunctionTable.FUNC_BOOLEAN :
+      case FunctionTable.FUNC_STARTS_WITH :
+      case FunctionTable.FUNC_CONTAINS :
+      case FunctionTable.FUNC_STRING :
+      case FunctionTable.FUNC_CONCAT :
+      case FunctionTable.FUNC_SUBSTRING :
+      case FunctionTable.FUNC_SUBSTRING_BEFORE :
+      case FunctionTable.FUNC_SUBSTRING_AFTER :
+      case FunctionTable.FUNC_NORMALIZE_SPACE :
+      case FunctionTable.FUNC_TRANSLATE :
+      case FunctionTable.FUNC_LOCAL_PART :
+      case FunctionTable.FUNC_NAMESPACE :
+      case FunctionTable.FUNC_QNAME :
+        return true;
+      default :
+        return false;
+      }
+    default :
+      return false;
+    }
+  }
+}
@@ -256,6 +256,43 @@ public class NodeTest extends Expression
    */
   public NodeTest(){}
 
+  /**
+   * Read the object from a serialization stream. The wildcard and the
+   * scores are compared by identity, so the shared instances are put back
+   * in place of the copies that were read.
+   *
+   * @param stream Input stream to read from
+   *
+   * @throws java.io.IOException
+   * @throws ClassNotFoundException
+   */
+  private void readObject(java.io.ObjectInputStream stream)
+          throws java.io.IOException, ClassNotFoundException
+  {
+    stream.defaultReadObject();
+
+    if (WILD.equals(m_name))
+      m_name = WILD;
+    if (WILD.equals(m_namespace))
+      m_namespace = WILD;
+
+    if (null != m_score)
+    {
+      double score = m_score.num();
+
+      if (score == SCORE_NODETEST.num())
+        m_score = SCORE_NODETEST;
+      else if (score == SCORE_NSWILD.num())
+        m_score = SCORE_NSWILD;
+      else if (score == SCORE_QNAME.num())
+        m_score = SCORE_QNAME;
+      else if (score == SCORE_OTHER.num())
+        m_score = SCORE_OTHER;
+      else if (score == SCORE_NONE.num())
+        m_score = SCORE_NONE;
+    }
+  }
+
   /**
    * Initialize this node test by setting the whatToShow property, and
    * calculating the score that this test will return if a test succeeds.